@@ -1,115 +0,0 @@
-package com.kokabmedia.recipe.bootstrap;
-
-import com.kokabmedia.recipe.domain.Category;
-import com.kokabmedia.recipe.domain.UnitOfMeasure;
-import com.kokabmedia.recipe.repositories.CategoryRepository;
-import com.kokabmedia.recipe.repositories.RecipeRepository;
-import com.kokabmedia.recipe.repositories.UnitOfMeasureRepository;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationListener;
-import org.springframework.context.annotation.Profile;
-import org.springframework.context.event.ContextRefreshedEvent;
-import org.springframework.stereotype.Component;
-
-
-//Enables Lombok to generate a logger field.
-@Slf4j
-/*
-* This class is used for initialising hard coded initial data to MySQL database.
-* 
-* The @Component annotation allows the Spring framework to creates an instance (bean) 
-* of this class and manage it with the Spring Application Context (the IOC container)
-* that maintains all the beans for the application.  
-*
-* The @Component annotation lets the Spring framework manage class as a Spring bean. 
-* The Spring framework will find the bean with auto-detection when scanning the class 
-* path with component scanning. It turns the class into a Spring bean at the auto-scan 
-* time.
-* 
-* @Component annotation allows the BootStrapMySQL class and to be wired in as dependency
-* to a another object or a bean with the @Autowired annotation.
-* 
-* The ContextRefreshedEvent is called when the Application Context starts.
-*/
-@Component
-//Uses the application dev and prod YALM properties file with the MYSQL database
-@Profile({"dev", "prod"})
-public class BootStrapMySQL implements ApplicationListener<ContextRefreshedEvent> {
-
-    private final CategoryRepository categoryRepository;
-    private final UnitOfMeasureRepository unitOfMeasureRepository;
-
-    public BootStrapMySQL(CategoryRepository categoryRepository,
-                           UnitOfMeasureRepository unitOfMeasureRepository) {
-        this.categoryRepository = categoryRepository;
-        this.unitOfMeasureRepository = unitOfMeasureRepository;
-    }
-
-    @Override
-    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
-
-        if (categoryRepository.count() == 0L){
-            log.debug("Loading Categories");
-            loadCategories();
-        }
-
-        if (unitOfMeasureRepository.count() == 0L){
-            log.debug("Loading UOMs");
-            loadUom();
-        }
-    }
-
-    // Initialise category into to the database
-    private void loadCategories(){
-        Category cat1 = new Category();
-        cat1.setDescription("American");
-        categoryRepository.save(cat1);
-
-        Category cat2 = new Category();
-        cat2.setDescription("Italian");
-        categoryRepository.save(cat2);
-
-        Category cat3 = new Category();
-        cat3.setDescription("Mexican");
-        categoryRepository.save(cat3);
-
-        Category cat4 = new Category();
-        cat4.setDescription("Fast Food");
-        categoryRepository.save(cat4);
-    }
-
- // Initialise unit of measure into the database
-    private void loadUom(){
-        UnitOfMeasure uom1 = new UnitOfMeasure();
-        uom1.setDescription("Teaspoon");
-        unitOfMeasureRepository.save(uom1);
-
-        UnitOfMeasure uom2 = new UnitOfMeasure();
-        uom2.setDescription("Tablespoon");
-        unitOfMeasureRepository.save(uom2);
-
-        UnitOfMeasure uom3 = new UnitOfMeasure();
-        uom3.setDescription("Cup");
-        unitOfMeasureRepository.save(uom3);
-
-        UnitOfMeasure uom4 = new UnitOfMeasure();
-        uom4.setDescription("Pinch");
-        unitOfMeasureRepository.save(uom4);
-
-        UnitOfMeasure uom5 = new UnitOfMeasure();
-        uom5.setDescription("Ounce");
-        unitOfMeasureRepository.save(uom5);
-
-        UnitOfMeasure uom6 = new UnitOfMeasure();
-        uom6.setDescription("Each");
-        unitOfMeasureRepository.save(uom6);
-
-        UnitOfMeasure uom7 = new UnitOfMeasure();
-        uom7.setDescription("Pint");
-        unitOfMeasureRepository.save(uom7);
-
-        UnitOfMeasure uom8 = new UnitOfMeasure();
-        uom8.setDescription("Dash");
-        unitOfMeasureRepository.save(uom8);
-    }
-}
@@ -0,0 +1,53 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import com.kokabmedia.recipe.services.CategoryRecipeCountService;
+import com.kokabmedia.recipe.services.CategoryService;
+import com.kokabmedia.recipe.services.RecipeChangeListener;
+import com.kokabmedia.recipe.services.UnitOfMeasureConversionService;
+import com.kokabmedia.recipe.services.UnitOfMeasureService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * The last warm-up step, after the database was seeded. Builds the unit of measure list and
+ * conversion matrix, the category list and recipe counts and the search, pantry, typeahead and
+ * facet indexes, so that the first requests to the node do not pay for them.
+ *
+ * The indexes are built again even when an early request already built them, a request can
+ * come in before the seeding and would have built them from an empty database. The port is
+ * already open, so recipes can be saved while the indexes are rebuilt. The IndexHolder of every
+ * index service plays those changes again onto the new index before it is used, and the
+ * recipe counts apply them after the counts were read again.
+ */
+@Component
+@Order(2)
+public class CacheWarmUp implements WarmUpStep {
+
+    private final UnitOfMeasureConversionService unitOfMeasureConversionService;
+    private final UnitOfMeasureService unitOfMeasureService;
+    private final CategoryService categoryService;
+    private final CategoryRecipeCountService categoryRecipeCountService;
+    private final List<RecipeChangeListener> recipeChangeListeners;
+
+    public CacheWarmUp(UnitOfMeasureConversionService unitOfMeasureConversionService,
+                       UnitOfMeasureService unitOfMeasureService, CategoryService categoryService,
+                       CategoryRecipeCountService categoryRecipeCountService,
+                       List<RecipeChangeListener> recipeChangeListeners) {
+        this.unitOfMeasureConversionService = unitOfMeasureConversionService;
+        this.unitOfMeasureService = unitOfMeasureService;
+        this.categoryService = categoryService;
+        this.categoryRecipeCountService = categoryRecipeCountService;
+        this.recipeChangeListeners = recipeChangeListeners;
+    }
+
+    @Override
+    public void warmUp() {
+        unitOfMeasureConversionService.reload();
+        unitOfMeasureService.refresh();
+        categoryService.listAllCategories();
+        categoryRecipeCountService.rebuild();
+        recipeChangeListeners.forEach(RecipeChangeListener::rebuild);
+    }
+}
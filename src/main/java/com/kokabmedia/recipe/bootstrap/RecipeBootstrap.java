@@ -5,16 +5,16 @@ import com.kokabmedia.recipe.repositories.CategoryRepository;
 import com.kokabmedia.recipe.repositories.RecipeRepository;
 import com.kokabmedia.recipe.repositories.UnitOfMeasureRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Profile;
-import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 //Enables Lombok to generate a logger field.
 @Slf4j
@@ -34,12 +34,15 @@ import java.util.Optional;
 * @Component annotation allows the RecipeBootstrap class and to be wired in as dependency
 * to a another object or a bean with the @Autowired annotation.
 * 
-* The ContextRefreshedEvent is called when the Application Context starts.
+* This is the first warm-up step, the WarmUpCoordinator calls it after the application is
+* ready. The recipes are only saved into an empty database, a catalog that was restored,
+* imported or generated at startup is kept as it is.
 */
 @Component
 // Uses the default properties file with the database.
 @Profile("default") 
-public class RecipeBootstrap implements ApplicationListener<ContextRefreshedEvent> {
+@Order(1)
+public class RecipeBootstrap implements WarmUpStep {
 	
 	private final CategoryRepository categoryRepository;
 	private final RecipeRepository recipeRepository;
@@ -83,7 +86,11 @@ public class RecipeBootstrap implements ApplicationListener<ContextRefreshedEven
 	 * transaction with its own Persistence Context.
 	 */
 	@Transactional
-	public void onApplicationEvent(ContextRefreshedEvent event) {
+	public void warmUp() {
+		if (recipeRepository.count() > 0) {
+			log.debug("Recipes found, skipping Bootstrap Data");
+			return;
+		}
 		recipeRepository.saveAll(getRecipes());
 		log.debug("Loading Bootstrap Data");
 	}
@@ -92,68 +99,22 @@ public class RecipeBootstrap implements ApplicationListener<ContextRefreshedEven
 		
 		List<Recipe> recipes = new ArrayList<>(2);
 		
-		// get UOMs
-		Optional<UnitOfMeasure> eachUomOptional = unitOfMeasureRepository.findByDescription("Each");
-		
-		if(!eachUomOptional.isPresent()) {
-			throw new RuntimeException("Expected UOM Not Found");
-		}
-		
-		Optional<UnitOfMeasure> tableSpoonUomOptional = unitOfMeasureRepository.findByDescription("Tablespoon");
+		// get UOMs and categories, all of them are read with one query per table
+		Map<String, UnitOfMeasure> uoms = new HashMap<>();
+		unitOfMeasureRepository.findAll().forEach(uom -> uoms.put(uom.getDescription(), uom));
 		
-		if(!tableSpoonUomOptional.isPresent()) {
-			throw new RuntimeException("Expected UOM Not Found");
-		}
-		
-		Optional<UnitOfMeasure> teaSpoonUomOptional = unitOfMeasureRepository.findByDescription("Teaspoon");
-		
-		if(!teaSpoonUomOptional.isPresent()) {
-			throw new RuntimeException("Expected UOM Not Found");
-		}
+		Map<String, Category> categories = new HashMap<>();
+		categoryRepository.findAll().forEach(category -> categories.put(category.getDescription(), category));
 		
-		Optional<UnitOfMeasure> dashUomOptional = unitOfMeasureRepository.findByDescription("Dash");
+		UnitOfMeasure eachUom = expected(uoms, "Each", "Expected UOM Not Found");
+		UnitOfMeasure tableSpoonUom = expected(uoms, "Tablespoon", "Expected UOM Not Found");
+		UnitOfMeasure teaspoonUom = expected(uoms, "Teaspoon", "Expected UOM Not Found");
+		UnitOfMeasure dashUom = expected(uoms, "Dash", "Expected UOM Not Found");
+		UnitOfMeasure pintUom = expected(uoms, "Pint", "Expected UOM Not Found");
+		UnitOfMeasure cupsUom = expected(uoms, "Cup", "Expected UOM Not Found");
 		
-		if(!dashUomOptional.isEmpty()) {
-			throw new RuntimeException("Expected UOM Not Found");
-		}
-		
-		Optional<UnitOfMeasure> pintUomOptional = unitOfMeasureRepository.findByDescription("Pint");
-		
-		if(!pintUomOptional.isPresent()) {
-			throw new RuntimeException("Expected UOM Not Found");
-		}
-		
-		Optional<UnitOfMeasure> cupsUomOptional = unitOfMeasureRepository.findByDescription("Cup");
-		
-		if(!cupsUomOptional.isPresent()) {
-			throw new RuntimeException("Expected UOM Not Found");
-		}
-		
-		
-		//get optional
-		UnitOfMeasure eachUom = eachUomOptional.get();
-		UnitOfMeasure tableSpoonUom = tableSpoonUomOptional.get();
-		UnitOfMeasure teaspoonUom = tableSpoonUomOptional.get();
-		UnitOfMeasure dashUom = dashUomOptional.get();
-		UnitOfMeasure pintUom = dashUomOptional.get();
-		UnitOfMeasure cupsUom = cupsUomOptional.get();
-		
-		
-		//get categories
-		Optional<Category> americanCategoryOptional = categoryRepository.findByDescription("American");
-		
-		if(!americanCategoryOptional.isPresent()) {
-			throw new RuntimeException("Expected Category Not Found");
-		}
-		
-		Optional<Category> mexicanCategoryOptional = categoryRepository.findByDescription("Mexican");
-		
-		if(!mexicanCategoryOptional.isPresent()) {
-			throw new RuntimeException("Expected Category Not Found");
-		}
-		
-		Category americanCategory = americanCategoryOptional.get();
-		Category mexicanCategory = mexicanCategoryOptional.get();
+		Category americanCategory = expected(categories, "American", "Expected Category Not Found");
+		Category mexicanCategory = expected(categories, "Mexican", "Expected Category Not Found");
 		
 		
 		// Set new recipe
@@ -241,10 +202,10 @@ public class RecipeBootstrap implements ApplicationListener<ContextRefreshedEven
         tacosRecipe.setNotes(tacoNotes);
 
         tacosRecipe.addIngredient(new Ingredient("Ancho Chili Powder", new BigDecimal(2), tableSpoonUom));
-        tacosRecipe.addIngredient(new Ingredient("Dried Oregano", new BigDecimal(1), teapoonUom));
-        tacosRecipe.addIngredient(new Ingredient("Dried Cumin", new BigDecimal(1), teapoonUom));
-        tacosRecipe.addIngredient(new Ingredient("Sugar", new BigDecimal(1), teapoonUom));
-        tacosRecipe.addIngredient(new Ingredient("Salt", new BigDecimal(".5"), teapoonUom));
+        tacosRecipe.addIngredient(new Ingredient("Dried Oregano", new BigDecimal(1), teaspoonUom));
+        tacosRecipe.addIngredient(new Ingredient("Dried Cumin", new BigDecimal(1), teaspoonUom));
+        tacosRecipe.addIngredient(new Ingredient("Sugar", new BigDecimal(1), teaspoonUom));
+        tacosRecipe.addIngredient(new Ingredient("Salt", new BigDecimal(".5"), teaspoonUom));
         tacosRecipe.addIngredient(new Ingredient("Clove of Garlic, Choppedr", new BigDecimal(1), eachUom));
         tacosRecipe.addIngredient(new Ingredient("finely grated orange zestr", new BigDecimal(1), tableSpoonUom));
         tacosRecipe.addIngredient(new Ingredient("fresh-squeezed orange juice", new BigDecimal(3), tableSpoonUom));
@@ -272,5 +233,15 @@ public class RecipeBootstrap implements ApplicationListener<ContextRefreshedEven
 		
 	}
 	
+	// The UOM or category with the given description, they are loaded by the ReferenceDataLoader
+	private static <T> T expected(Map<String, T> byDescription, String description, String message) {
+		T value = byDescription.get(description);
+		
+		if(value == null) {
+			throw new RuntimeException(message);
+		}
+		return value;
+	}
+	
 
 }
@@ -0,0 +1,49 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kokabmedia.recipe.domain.MeasureType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * The categories and units of measure that every database of the application must have, as
+ * they are read from the seed/reference-data.json file. Categories and units of measure are
+ * identified by their description, the ids are given by the database.
+ *
+ * Getter and Setter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+@Setter
+public class ReferenceData {
+
+    static final String SEED_FILE = "seed/reference-data.json";
+
+    private List<String> categories = new ArrayList<>();
+    private List<UnitOfMeasure> unitsOfMeasure = new ArrayList<>();
+
+    // The reference data of the seed file, the ReferenceDataLoader and the CatalogGenerator use it
+    public static ReferenceData readSeedFile() {
+        try (InputStream input = new ClassPathResource(SEED_FILE).getInputStream()) {
+            return new ObjectMapper().readValue(input, ReferenceData.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the reference data of " + SEED_FILE, e);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class UnitOfMeasure {
+
+        private String description;
+        private MeasureType measureType;
+        private BigDecimal baseUnitFactor;
+    }
+}
@@ -0,0 +1,137 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import com.kokabmedia.recipe.services.UnitOfMeasureConversionService;
+import com.kokabmedia.recipe.services.UnitOfMeasureService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Component annotation allows the Spring framework to creates an instance (bean)
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.
+*
+* The @Component annotation lets the Spring framework manage class as a Spring bean.
+* The Spring framework will find the bean with auto-detection when scanning the class
+* path with component scanning. It turns the class into a Spring bean at the auto-scan
+* time.
+*
+* @Component annotation allows the ReferenceDataLoader class and to be wired in as dependency
+* to a another object or a bean with the @Autowired annotation.
+*
+* The ContextRefreshedEvent is called when the Application Context starts, also when a child
+* context starts, the loader only runs for its own context.
+*/
+@Component
+/*
+ * The @Order annotation runs this listener before all other listeners of the
+ * ContextRefreshedEvent, the other listeners and the runners find the categories and units of
+ * measure they need in the database.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+/*
+ * This class makes sure that the categories and units of measure of the seed/reference-data.json
+ * file are in the database, in every profile. The descriptions that are already in the database
+ * are read with one query per table, and only the missing rows are inserted with one JDBC batch
+ * per table. Rows that are already there are never changed, so the loader can run on every start
+ * and a database that is up to date costs two selects, however large the seed file is.
+ *
+ * After units of measure were inserted the UOM list and the conversion matrix are built again,
+ * the services are optional so the loader also runs in the repository test slices.
+ *
+ * Unlike the recipes and the caches of the warm-up, the reference data is still loaded before the
+ * application is ready, the restore, import and generate runners need the categories and units
+ * of measure.
+ */
+public class ReferenceDataLoader implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final String INSERT_CATEGORY = "insert into category (description) values (?)";
+    private static final String INSERT_UNIT_OF_MEASURE = "insert into unit_of_measure (description, measure_type, "
+            + "base_unit_factor) values (?, ?, ?)";
+
+    private final ApplicationContext applicationContext;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<UnitOfMeasureConversionService> unitOfMeasureConversionService;
+    private final ObjectProvider<UnitOfMeasureService> unitOfMeasureService;
+
+    public ReferenceDataLoader(ApplicationContext applicationContext, JdbcTemplate jdbcTemplate,
+                               ObjectProvider<UnitOfMeasureConversionService> unitOfMeasureConversionService,
+                               ObjectProvider<UnitOfMeasureService> unitOfMeasureService) {
+        this.applicationContext = applicationContext;
+        this.jdbcTemplate = jdbcTemplate;
+        this.unitOfMeasureConversionService = unitOfMeasureConversionService;
+        this.unitOfMeasureService = unitOfMeasureService;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (event.getApplicationContext() == applicationContext) {
+            load(ReferenceData.readSeedFile());
+        }
+    }
+
+    void load(ReferenceData referenceData) {
+        long started = System.currentTimeMillis();
+
+        int categories = insertCategories(referenceData.getCategories());
+        int unitsOfMeasure = insertUnitsOfMeasure(referenceData.getUnitsOfMeasure());
+
+        if (unitsOfMeasure > 0) {
+            unitOfMeasureConversionService.ifAvailable(UnitOfMeasureConversionService::reload);
+            unitOfMeasureService.ifAvailable(UnitOfMeasureService::refresh);
+        }
+
+        log.info("Loaded reference data in " + (System.currentTimeMillis() - started) + " ms, inserted "
+                + categories + " of " + referenceData.getCategories().size() + " categories and "
+                + unitsOfMeasure + " of " + referenceData.getUnitsOfMeasure().size() + " units of measure");
+    }
+
+    private int insertCategories(List<String> categories) {
+        Set<String> existing = descriptions("select description from category");
+        List<Object[]> rows = new ArrayList<>();
+
+        for (String description : categories) {
+            if (existing.add(description)) {
+                rows.add(new Object[]{description});
+            }
+        }
+        return insert(INSERT_CATEGORY, rows);
+    }
+
+    private int insertUnitsOfMeasure(List<ReferenceData.UnitOfMeasure> unitsOfMeasure) {
+        Set<String> existing = descriptions("select description from unit_of_measure");
+        List<Object[]> rows = new ArrayList<>();
+
+        for (ReferenceData.UnitOfMeasure uom : unitsOfMeasure) {
+            if (existing.add(uom.getDescription())) {
+                rows.add(new Object[]{uom.getDescription(),
+                        uom.getMeasureType() == null ? null : uom.getMeasureType().name(), uom.getBaseUnitFactor()});
+            }
+        }
+        return insert(INSERT_UNIT_OF_MEASURE, rows);
+    }
+
+    private Set<String> descriptions(String sql) {
+        return new HashSet<>(jdbcTemplate.queryForList(sql, String.class));
+    }
+
+    private int insert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+        return rows.size();
+    }
+}
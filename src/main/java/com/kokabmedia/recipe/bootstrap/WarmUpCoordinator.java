@@ -0,0 +1,121 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Component annotation allows the Spring framework to creates an instance (bean)
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.
+*
+* The ApplicationReadyEvent is called after the Application Context started, the web server
+* listens and the command line runners finished.
+*/
+@Component
+/*
+ * This class runs the warm-up steps once the application is ready. The port is open while the
+ * steps run, the WarmUpHealthIndicator reports the node as OUT_OF_SERVICE until the last step
+ * finished, so a load balancer that checks /actuator/health only sends requests to a node that
+ * is warm.
+ *
+ * The steps run on the application task executor when there is a web server. Without one, in
+ * tests with a mock web environment and in command line jobs, nobody can wait for the health
+ * check, the steps run right away and a failing step fails the startup.
+ *
+ * Only the ApplicationReadyEvent of its own context starts the warm-up, and only once, the
+ * events of child contexts are ignored.
+ */
+public class WarmUpCoordinator implements ApplicationListener<ApplicationReadyEvent> {
+
+    public enum State {
+        STARTING, RUNNING, UP, FAILED
+    }
+
+    private final ApplicationContext applicationContext;
+    private final List<WarmUpStep> steps;
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile State state = State.STARTING;
+    private volatile String currentStep;
+    private volatile long durationMillis;
+    private volatile Throwable failure;
+
+    public WarmUpCoordinator(ApplicationContext applicationContext, List<WarmUpStep> steps,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                     TaskExecutor taskExecutor) {
+        this.applicationContext = applicationContext;
+        this.steps = steps;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (event.getApplicationContext() != applicationContext || !started.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (applicationContext instanceof WebServerApplicationContext
+                && ((WebServerApplicationContext) applicationContext).getWebServer() != null) {
+            state = State.RUNNING;
+            taskExecutor.execute(this::warmUp);
+        } else {
+            warmUp();
+            if (failure != null) {
+                throw new IllegalStateException("Warm-up failed in " + currentStep, failure);
+            }
+        }
+    }
+
+    void warmUp() {
+        state = State.RUNNING;
+        long started = System.currentTimeMillis();
+
+        try {
+            for (WarmUpStep step : steps) {
+                currentStep = ClassUtils.getUserClass(step).getSimpleName();
+                long stepStarted = System.currentTimeMillis();
+                step.warmUp();
+                log.info("Warm-up step " + currentStep + " took " + (System.currentTimeMillis() - stepStarted) + " ms");
+            }
+            currentStep = null;
+            durationMillis = System.currentTimeMillis() - started;
+            state = State.UP;
+            log.info("Warm-up of " + steps.size() + " steps took " + durationMillis + " ms, the node is ready");
+        } catch (RuntimeException e) {
+            durationMillis = System.currentTimeMillis() - started;
+            failure = e;
+            state = State.FAILED;
+            log.error("Warm-up failed in " + currentStep + " after " + durationMillis + " ms", e);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getCurrentStep() {
+        return currentStep;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+}
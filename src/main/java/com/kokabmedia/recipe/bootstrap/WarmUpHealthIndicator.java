@@ -0,0 +1,38 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/*
+ * The warmUp entry of /actuator/health. The health endpoint answers with 503 while the status is
+ * OUT_OF_SERVICE or DOWN, a load balancer takes the node out of rotation until the warm-up
+ * finished, and for good when it failed.
+ */
+@Component
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpCoordinator warmUpCoordinator;
+
+    public WarmUpHealthIndicator(WarmUpCoordinator warmUpCoordinator) {
+        this.warmUpCoordinator = warmUpCoordinator;
+    }
+
+    @Override
+    public Health health() {
+        switch (warmUpCoordinator.getState()) {
+            case UP:
+                return Health.up().withDetail("durationMillis", warmUpCoordinator.getDurationMillis()).build();
+            case FAILED:
+                return Health.down(toException(warmUpCoordinator.getFailure()))
+                        .withDetail("step", String.valueOf(warmUpCoordinator.getCurrentStep())).build();
+            default:
+                return Health.outOfService().withDetail("state", warmUpCoordinator.getState())
+                        .withDetail("step", String.valueOf(warmUpCoordinator.getCurrentStep())).build();
+        }
+    }
+
+    private static Exception toException(Throwable failure) {
+        return failure instanceof Exception ? (Exception) failure : new IllegalStateException(failure);
+    }
+}
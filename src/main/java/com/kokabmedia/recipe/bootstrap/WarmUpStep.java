@@ -0,0 +1,12 @@
+package com.kokabmedia.recipe.bootstrap;
+
+/*
+ * A step of the warm-up that runs after the application is ready, like seeding the database or
+ * building the caches and indexes. The WarmUpCoordinator runs the steps one after the other in
+ * the order of their @Order annotation, the node is only reported as ready to the load balancer
+ * after the last step.
+ */
+public interface WarmUpStep {
+
+    void warmUp();
+}
@@ -54,6 +54,38 @@ import lombok.Setter;
  * This POJO is not Entity model beans.
  */
 public class CategoryCommand {
-	private Long id;
+
+    private Long id;
     private String description;
+
+    private CategoryCommand(Long id, String description) {
+        this.id = id;
+        this.description = description;
+    }
+
+    /*
+     * A category command that cannot be changed, the setters throw an UnsupportedOperationException.
+     * The converters hand out one such command per category to every recipe and request, a
+     * command that is bound to a form is always created with the no-args constructor.
+     */
+    public static CategoryCommand immutable(Long id, String description) {
+        return new Immutable(id, description);
+    }
+
+    private static final class Immutable extends CategoryCommand {
+
+        private Immutable(Long id, String description) {
+            super(id, description);
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw new UnsupportedOperationException("A shared category command cannot be changed");
+        }
+
+        @Override
+        public void setDescription(String description) {
+            throw new UnsupportedOperationException("A shared category command cannot be changed");
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.kokabmedia.recipe.commands;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/*
+ * This class describes the image of a recipe without holding the image bytes. The bytes are
+ * only read from the database by the /recipe/{id}/recipeimage endpoint.
+ * 
+ * Getter and Setter methods and constructors of this class is provided with the Lombok framework. 
+ * Getter setter methods and  constructors will be automatically generated by Lombok framework 
+ * under the hood.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+public class ImageHandle {
+    private Long recipeId;
+    private String hash;
+    private Long size;
+}
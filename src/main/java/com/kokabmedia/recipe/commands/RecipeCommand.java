@@ -91,7 +91,7 @@ public class RecipeCommand {
     private String directions;
 
     private Set<IngredientCommand> ingredients = new HashSet<>();
-    private Byte[] image;
+    private ImageHandle image;
     private Difficulty difficulty;
     private NotesCommand notes;
     private Set<CategoryCommand> categories = new HashSet<>();
@@ -0,0 +1,52 @@
+package com.kokabmedia.recipe.config;
+
+import com.kokabmedia.recipe.monitoring.ConnectionHoldTracker;
+import com.kokabmedia.recipe.monitoring.ConnectionHoldersEndpoint;
+import com.kokabmedia.recipe.monitoring.TrackingConnectionProvider;
+import com.kokabmedia.recipe.monitoring.TrackingDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/*
+ * This class configures the measurement of how long request paths hold database connections.
+ * 
+ * The @Configuration annotation lets the Spring framework create the beans declared with the
+ * @Bean annotation in this class and manage them with the Spring Application Context.
+ * 
+ * The HikariCP pool metrics (active, idle, pending, acquire and usage time) are published by
+ * Spring Boot Actuator, this configuration adds which request paths held the connections.
+ */
+@Configuration
+public class ConnectionPoolDiagnosticsConfig {
+
+    @Bean
+    public ConnectionHoldTracker connectionHoldTracker() {
+        return new ConnectionHoldTracker();
+    }
+
+    // Hibernate takes its connections through the TrackingConnectionProvider
+    @Bean
+    public HibernatePropertiesCustomizer connectionTrackingCustomizer(ConnectionHoldTracker connectionHoldTracker) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_PROVIDER,
+                new TrackingConnectionProvider(connectionHoldTracker));
+    }
+
+    /*
+     * The JdbcTemplate takes its connections through the TrackingDataSource, this replaces the
+     * JdbcTemplate of Spring Boot, the reference data loader and the catalog snapshot use it.
+     */
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource, ConnectionHoldTracker connectionHoldTracker) {
+        return new JdbcTemplate(new TrackingDataSource(dataSource, connectionHoldTracker));
+    }
+
+    @Bean
+    public ConnectionHoldersEndpoint connectionHoldersEndpoint(ConnectionHoldTracker connectionHoldTracker) {
+        return new ConnectionHoldersEndpoint(connectionHoldTracker);
+    }
+}
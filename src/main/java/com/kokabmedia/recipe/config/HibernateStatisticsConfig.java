@@ -0,0 +1,31 @@
+package com.kokabmedia.recipe.config;
+
+import com.kokabmedia.recipe.monitoring.MeteredStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * This class publishes the Hibernate statistics as metrics.
+ *
+ * The @Configuration annotation lets the Spring framework create the beans declared with the
+ * @Bean annotation in this class and manage them with the Spring Application Context.
+ *
+ * Hibernate creates its Statistics object with the StatisticsFactory of the hibernate.stats.factory
+ * setting, the factory of this configuration creates MeteredStatistics that register their
+ * meters in the Micrometer MeterRegistry of Spring Boot Actuator. Statistics are only collected
+ * when hibernate.generate_statistics is true.
+ */
+@Configuration
+public class HibernateStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer meteredStatisticsCustomizer(MeterRegistry meterRegistry) {
+        StatisticsFactory statisticsFactory = sessionFactory -> new MeteredStatistics(sessionFactory, meterRegistry);
+
+        return hibernateProperties -> hibernateProperties.put(StatisticsInitiator.STATS_BUILDER, statisticsFactory);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kokabmedia.recipe.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.Set;
+
+/*
+ * Marks the bean definitions as lazy, the beans are created when they are first used instead
+ * of at startup. This is the lazy initialization of later Spring Boot versions
+ * (spring.main.lazy-initialization), Spring Boot 2.1 does not have it yet.
+ *
+ * Some beans must still be created at startup:
+ *  - the beans that are given as eager, like the EntityManagerFactory that validates the schema,
+ *    a node with a wrong schema must fail at startup and not at its first request
+ *  - the infrastructure beans of Spring
+ *  - SmartInitializingSingleton beans, they are only called back when they are created at startup
+ *
+ * Post processors, application listeners and runners are created at startup anyway.
+ */
+public class LazyInitializationBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    private final Set<String> eagerBeans;
+
+    public LazyInitializationBeanFactoryPostProcessor(Set<String> eagerBeans) {
+        this.eagerBeans = eagerBeans;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+
+            if (!eagerBeans.contains(beanName) && beanDefinition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE
+                    && !isSmartInitializingSingleton(beanDefinition, beanFactory)) {
+                beanDefinition.setLazyInit(true);
+            }
+        }
+    }
+
+    // Only the bean class is checked, beans of @Bean methods and factory beans are not created for it
+    private static boolean isSmartInitializingSingleton(BeanDefinition beanDefinition,
+                                                        ConfigurableListableBeanFactory beanFactory) {
+        String className = beanDefinition.getBeanClassName();
+        if (className == null || !ClassUtils.isPresent(className, beanFactory.getBeanClassLoader())) {
+            return false;
+        }
+        return SmartInitializingSingleton.class.isAssignableFrom(
+                ClassUtils.resolveClassName(className, beanFactory.getBeanClassLoader()));
+    }
+}
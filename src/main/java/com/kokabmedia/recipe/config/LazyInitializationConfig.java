@@ -0,0 +1,35 @@
+package com.kokabmedia.recipe.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/*
+ * This class configures the lazy startup of the lazy profile, together with another profile:
+ *
+ * java -jar recipe-application.jar --spring.profiles.active=prod,lazy
+ *
+ * The @Configuration annotation lets the Spring framework create the beans declared with the
+ * @Bean annotation in this class and manage them with the Spring Application Context.
+ *
+ * Controllers, services, converters and most of the auto configured beans are created by the
+ * first request that needs them instead of at startup, the node starts faster and its first
+ * requests are slower. The beans of recipe.lazy-initialization.eager-beans in
+ * application-lazy.properties are still created at startup.
+ *
+ * The bean method is static, a bean factory post processor has to be created before all other
+ * beans.
+ */
+@Configuration
+@Profile("lazy")
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationBeanFactoryPostProcessor lazyInitializationBeanFactoryPostProcessor(
+            Environment environment) {
+        return new LazyInitializationBeanFactoryPostProcessor(StringUtils.commaDelimitedListToSet(
+                environment.getProperty("recipe.lazy-initialization.eager-beans", "")));
+    }
+}
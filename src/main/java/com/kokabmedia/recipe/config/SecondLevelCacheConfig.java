@@ -0,0 +1,41 @@
+package com.kokabmedia.recipe.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URISyntaxException;
+
+/*
+ * This class configures the cache manager that Hibernate uses for the second level cache.
+ * 
+ * The @Configuration annotation lets the Spring framework create the beans declared with the
+ * @Bean annotation in this class and manage them with the Spring Application Context.
+ * 
+ * Hibernate can not read the ehcache.xml file from the class path by itself, so the JCache
+ * CacheManager is created here from the ehcache.xml file and handed to Hibernate.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /*
+     * The CacheManager is closed by the Spring framework when the Application Context shuts down.
+     * Every Application Context gets a CacheManager of its own, a JCache provider hands out the
+     * same CacheManager for the same file, and closing the context would close it for all other
+     * contexts of the JVM as well.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() throws URISyntaxException {
+        return new EhcacheCachingProvider()
+                .getCacheManager(getClass().getResource("/ehcache.xml").toURI(), getClass().getClassLoader());
+    }
+
+    // Adds the CacheManager to the properties Spring Boot uses to create the Hibernate session factory
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
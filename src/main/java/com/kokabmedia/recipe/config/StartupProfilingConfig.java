@@ -0,0 +1,52 @@
+package com.kokabmedia.recipe.config;
+
+import com.kokabmedia.recipe.monitoring.StartupProfiler;
+import com.kokabmedia.recipe.monitoring.StartupTimingBeanPostProcessor;
+import com.kokabmedia.recipe.monitoring.TimingApplicationEventMulticaster;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Paths;
+
+/*
+ * This class configures the startup profiling, it is turned on with recipe.startup.profile:
+ *
+ * java -jar recipe-application.jar --recipe.startup.profile=true --recipe.startup.report-file=startup.txt
+ *
+ * The @Configuration annotation lets the Spring framework create the beans declared with the
+ * @Bean annotation in this class and manage them with the Spring Application Context.
+ *
+ * The @ConditionalOnProperty annotation only creates the beans when the property is true.
+ *
+ * The bean methods are static, so the post processor and the multicaster are created before the
+ * other beans without creating this configuration first. The application context takes the
+ * multicaster of the applicationEventMulticaster bean instead of its default one.
+ * recipe.startup.report-size gives the number of beans and listeners of the report (30).
+ */
+@Configuration
+@ConditionalOnProperty(name = "recipe.startup.profile", havingValue = "true")
+public class StartupProfilingConfig {
+
+    @Bean
+    public static StartupProfiler startupProfiler(Environment environment) {
+        String reportFile = environment.getProperty("recipe.startup.report-file");
+
+        return new StartupProfiler(environment.getProperty("recipe.startup.report-size", Integer.class, 30),
+                reportFile == null ? null : Paths.get(reportFile));
+    }
+
+    @Bean
+    public static StartupTimingBeanPostProcessor startupTimingBeanPostProcessor(StartupProfiler startupProfiler) {
+        return new StartupTimingBeanPostProcessor(startupProfiler);
+    }
+
+    @Bean(name = AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+    public static TimingApplicationEventMulticaster applicationEventMulticaster(BeanFactory beanFactory,
+                                                                                StartupProfiler startupProfiler) {
+        return new TimingApplicationEventMulticaster(beanFactory, startupProfiler);
+    }
+}
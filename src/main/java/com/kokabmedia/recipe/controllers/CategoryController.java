@@ -0,0 +1,77 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.exceptions.NotFoundException;
+import com.kokabmedia.recipe.services.CategoryRecipeCountService;
+import com.kokabmedia.recipe.services.CategoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.ModelAndView;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/* 
+* The @Controller annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* @Controller annotation allows the CategoryController class and to be wired in as dependency 
+* to a another object or a bean with the @Autowired annotation.
+*/
+@Controller
+public class CategoryController {
+
+    private final CategoryService categoryService;
+    private final CategoryRecipeCountService categoryRecipeCountService;
+
+    public CategoryController(CategoryService categoryService, CategoryRecipeCountService categoryRecipeCountService) {
+        this.categoryService = categoryService;
+        this.categoryRecipeCountService = categoryRecipeCountService;
+    }
+
+    /*
+     * Lists all categories together with the number of recipes in each category, the numbers 
+     * are read from memory and not counted in the database for every request.
+     */
+    @GetMapping("/categories")
+    public String listCategories(Model model) {
+
+        model.addAttribute("categories", categoryService.listAllCategories());
+        model.addAttribute("recipeCounts", categoryRecipeCountService.getRecipeCounts());
+
+        return "category/list";
+    }
+
+    /*
+     * Shows one page of the recipes of a category, the "page" request parameter is optional 
+     * and starts with 0.
+     */
+    @GetMapping("/category/{id}/show")
+    public String showById(@PathVariable String id, @RequestParam(defaultValue = "0") int page, Model model) {
+
+        Long categoryId = Long.valueOf(id);
+
+        model.addAttribute("category", categoryService.findCommandById(categoryId));
+        model.addAttribute("recipeCount", categoryRecipeCountService.getRecipeCount(categoryId));
+        model.addAttribute("recipes", categoryService.findRecipesByCategoryId(categoryId, page));
+
+        return "category/show";
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(NotFoundException.class)
+    public ModelAndView handleNotFound(Exception exception){
+
+        log.error("Handling not found exception");
+        log.error(exception.getMessage());
+
+        ModelAndView modelAndView = new ModelAndView();
+
+        modelAndView.setViewName("404error");
+        modelAndView.addObject("exception", exception);
+
+        return modelAndView;
+    }
+}
@@ -1,9 +1,8 @@
 package com.kokabmedia.recipe.controllers;
 
-import com.kokabmedia.recipe.commands.RecipeCommand;
 import com.kokabmedia.recipe.services.ImageService;
 import com.kokabmedia.recipe.services.RecipeService;
-import org.apache.tomcat.util.http.fileupload.IOUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -17,11 +16,10 @@ import org.springframework.web.servlet.ModelAndView;
 import org.springframework.http.HttpStatus;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-
 
+//Enables Lombok to generate a logger field.
+@Slf4j
 /*  
  * This class will function as a controller and as servlet that responds to HTTP requests.
  * 
@@ -50,7 +48,51 @@ import java.io.InputStream;
 */
 @Controller
 public class ImageController {
-	
+
+    private final ImageService imageService;
+    private final RecipeService recipeService;
+
+    public ImageController(ImageService imageService, RecipeService recipeService) {
+        this.imageService = imageService;
+        this.recipeService = recipeService;
+    }
+
+    // The upload form only needs the id of the recipe, the image bytes are not loaded
+    @GetMapping("recipe/{id}/image")
+    public String showUploadForm(@PathVariable String id, Model model){
+        model.addAttribute("recipe", recipeService.findCommandById(Long.valueOf(id)));
+
+        return "recipe/imageuploadform";
+    }
+
+    /*
+     * The @RequestParam annotation binds the uploaded file of the multipart form field with the
+     * name "imagefile" to the MultipartFile method argument.
+     */
+    @PostMapping("recipe/{id}/image")
+    public String handleImagePost(@PathVariable String id, @RequestParam("imagefile") MultipartFile file){
+
+        imageService.saveImageFile(Long.valueOf(id), file);
+
+        return "redirect:/recipe/" + id + "/show";
+    }
+
+    /*
+     * This is the only place where the image bytes of a recipe are read from the database, the
+     * bytes are written directly to the HTTP response.
+     */
+    @GetMapping("recipe/{id}/recipeimage")
+    public void renderImageFromDB(@PathVariable String id, HttpServletResponse response) throws IOException {
+
+        byte[] image = imageService.findImageByRecipeId(Long.valueOf(id));
+
+        if (image != null) {
+            response.setContentType("image/jpeg");
+            response.setContentLength(image.length);
+            response.getOutputStream().write(image);
+        }
+    }
+
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(NumberFormatException.class)
     public ModelAndView handleNumberFormat(Exception exception){
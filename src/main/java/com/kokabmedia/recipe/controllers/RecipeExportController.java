@@ -0,0 +1,46 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.exporter.RecipeExportFormat;
+import com.kokabmedia.recipe.services.RecipeExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/* 
+* The @RestController annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application. 
+*
+* The export is returned as a StreamingResponseBody, Spring MVC writes it to the response on a
+* thread of the task executor while the recipes are read, the request thread is given back to
+* the server right away and the whole export is never held in memory.
+*/
+@RestController
+public class RecipeExportController {
+
+    private final RecipeExportService recipeExportService;
+
+    public RecipeExportController(RecipeExportService recipeExportService) {
+        this.recipeExportService = recipeExportService;
+    }
+
+    /*
+     * Downloads all recipes, as JSON Lines or with the "format=CSV" request parameter as CSV.
+     * A JSON Lines export can be posted to /import/recipes again.
+     */
+    @GetMapping("/export/recipes")
+    public ResponseEntity<StreamingResponseBody> exportRecipes(
+            @RequestParam(defaultValue = "NDJSON") RecipeExportFormat format) {
+
+        StreamingResponseBody body = output -> recipeExportService.exportRecipes(output, format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.importer.RecipeImportReport;
+import com.kokabmedia.recipe.services.RecipeImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/* 
+* The @RestController annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application. 
+*
+* The @RestController annotation combines @Controller and @ResponseBody, the return values 
+* of the methods are written to the response as JSON instead of naming a view.
+*
+* The body of an import request is read while it arrives, a catalog is never held in memory
+* as a whole.
+*/
+@RestController
+public class RecipeImportController {
+
+    private final RecipeImportService recipeImportService;
+
+    public RecipeImportController(RecipeImportService recipeImportService) {
+        this.recipeImportService = recipeImportService;
+    }
+
+    /*
+     * Imports the recipes of the request body, one recipe in JSON per line. The optional "skip"
+     * request parameter resumes an import, it is the lastCommittedLine of the report of the
+     * import that failed. The response is the report, with status 500 when the import failed.
+     */
+    @PostMapping(value = "/import/recipes", consumes = {"application/x-ndjson", "text/plain"})
+    public ResponseEntity<RecipeImportReport> importRecipes(@RequestParam(defaultValue = "0") long skip,
+                                                            InputStream body) {
+
+        RecipeImportReport report = recipeImportService.importRecipes(
+                new InputStreamReader(body, StandardCharsets.UTF_8), Math.max(0, skip),
+                progress -> log.info("Importing recipes, " + progress));
+
+        return ResponseEntity.status(report.getFailure() == null ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(report);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.services.FacetService;
+import com.kokabmedia.recipe.services.PantrySearchService;
+import com.kokabmedia.recipe.services.RecipeSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/* 
+* The @Controller annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* @Controller annotation allows the SearchController class and to be wired in as dependency 
+* to a another object or a bean with the @Autowired annotation.
+*/
+@Controller
+public class SearchController {
+
+    private final RecipeSearchService recipeSearchService;
+    private final PantrySearchService pantrySearchService;
+    private final FacetService facetService;
+
+    public SearchController(RecipeSearchService recipeSearchService, PantrySearchService pantrySearchService,
+                            FacetService facetService) {
+        this.recipeSearchService = recipeSearchService;
+        this.pantrySearchService = pantrySearchService;
+        this.facetService = facetService;
+    }
+
+    /*
+     * Shows one page of the recipes that match the "q" request parameter, the best match first.
+     * The "page" request parameter is optional and starts with 0, with the "fuzzy" request
+     * parameter misspelled words of the descriptions are found too.
+     *
+     * Every "facet" request parameter selects a facet value, like "category:Mexican", only the
+     * recipes with all selected values are shown. The counts of the facet values are counted
+     * over all recipes that match, not only over the shown page.
+     */
+    @GetMapping("/search")
+    public String search(@RequestParam(defaultValue = "") String q, @RequestParam(defaultValue = "0") int page,
+                         @RequestParam(defaultValue = "false") boolean fuzzy,
+                         @RequestParam(name = "facet", required = false) List<String> facets, Model model) {
+
+        log.debug("Searching recipes for " + q);
+
+        List<String> selectedFacets = facets == null ? Collections.emptyList() : facets;
+        Predicate<Long> filter = facetService.filter(selectedFacets);
+
+        model.addAttribute("query", q);
+        model.addAttribute("fuzzy", fuzzy);
+        model.addAttribute("selectedFacets", selectedFacets);
+        model.addAttribute("hits", recipeSearchService.search(q, Math.max(0, page), fuzzy, filter));
+        model.addAttribute("facets",
+                facetService.countFacets(recipeSearchService.findRecipeIds(q, fuzzy), selectedFacets));
+
+        return "search/results";
+    }
+
+    /*
+     * Shows one page of the recipes that can be cooked with the ingredients of the pantry. The
+     * "ingredients" request parameter holds one ingredient per line, ingredient descriptions
+     * may contain commas.
+     */
+    @GetMapping("/pantry")
+    public String pantry(@RequestParam(defaultValue = "") String ingredients,
+                         @RequestParam(defaultValue = "0") int page, Model model) {
+
+        List<String> pantry = Arrays.stream(ingredients.split("\\R"))
+                .map(String::trim)
+                .filter(ingredient -> !ingredient.isEmpty())
+                .collect(Collectors.toList());
+
+        log.debug("Searching recipes for pantry " + pantry);
+
+        model.addAttribute("ingredients", ingredients);
+        model.addAttribute("matches", pantrySearchService.findRecipes(pantry, Math.max(0, page)));
+
+        return "search/pantry";
+    }
+}
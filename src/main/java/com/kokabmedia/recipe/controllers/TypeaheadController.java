@@ -0,0 +1,40 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.search.Suggestion;
+import com.kokabmedia.recipe.services.TypeaheadService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/* 
+* The @RestController annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application. 
+*
+* The @RestController annotation combines @Controller and @ResponseBody, the return values 
+* of the methods are written to the response as JSON instead of naming a view.
+*
+* The forms call this controller on every keystroke, the completions are answered from 
+* memory by the TypeaheadService.
+*/
+@RestController
+public class TypeaheadController {
+
+    private final TypeaheadService typeaheadService;
+
+    public TypeaheadController(TypeaheadService typeaheadService) {
+        this.typeaheadService = typeaheadService;
+    }
+
+    @GetMapping("/typeahead/ingredients")
+    public List<Suggestion> completeIngredients(@RequestParam(defaultValue = "") String q) {
+        return typeaheadService.completeIngredients(q);
+    }
+
+    @GetMapping("/typeahead/recipes")
+    public List<Suggestion> completeRecipes(@RequestParam(defaultValue = "") String q) {
+        return typeaheadService.completeRecipes(q);
+    }
+}
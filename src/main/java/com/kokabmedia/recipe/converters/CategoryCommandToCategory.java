@@ -2,7 +2,6 @@ package com.kokabmedia.recipe.converters;
 
 import com.kokabmedia.recipe.commands.CategoryCommand;
 import com.kokabmedia.recipe.domain.Category;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
@@ -30,7 +29,6 @@ import org.springframework.stereotype.Component;
  */
 public class CategoryCommandToCategory implements Converter<CategoryCommand, Category> {
 	
-	@Synchronized
     @Nullable
     @Override
     public Category convert(CategoryCommand source) {
@@ -2,11 +2,14 @@ package com.kokabmedia.recipe.converters;
 
 import com.kokabmedia.recipe.commands.CategoryCommand;
 import com.kokabmedia.recipe.domain.Category;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /*
 * The @Component annotation allows the Spring framework to creates an instance (bean) 
 * of this class and manage it with the Spring Application Context (the IOC container)
@@ -29,22 +32,29 @@ import org.springframework.stereotype.Component;
  * takes one type and converts it to the other type and returns that object.
  */
 public class CategoryToCategoryCommand implements Converter<Category, CategoryCommand> {
-	
-	@Synchronized
+
+    /*
+     * Like the units of measure, every category is converted once to an immutable command that
+     * every recipe and request gets, and again when its description changed. The map holds one
+     * command per row of the category table.
+     */
+    private final ConcurrentMap<Long, CategoryCommand> commands = new ConcurrentHashMap<>();
+
     @Nullable
     @Override
     public CategoryCommand convert(Category source) {
         if (source == null) {
             return null;
         }
+        if (source.getId() == null) {
+            return CategoryCommand.immutable(null, source.getDescription());
+        }
 
-        final CategoryCommand categoryCommand = new CategoryCommand();
-
-        categoryCommand.setId(source.getId());
-        categoryCommand.setDescription(source.getDescription());
-
+        CategoryCommand categoryCommand = commands.get(source.getId());
+        if (categoryCommand == null || !Objects.equals(categoryCommand.getDescription(), source.getDescription())) {
+            categoryCommand = CategoryCommand.immutable(source.getId(), source.getDescription());
+            commands.put(source.getId(), categoryCommand);
+        }
         return categoryCommand;
     }
-	
-
 }
@@ -57,4 +57,5 @@ public class IngredientCommandToIngredient implements Converter<IngredientComman
         ingredient.setDescription(source.getDescription());
         ingredient.setUom(uomConverter.convert(source.getUom()));
         return ingredient;
-    }
\ No newline at end of file
+    }
+}
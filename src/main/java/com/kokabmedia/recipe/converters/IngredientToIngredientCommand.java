@@ -2,7 +2,6 @@ package com.kokabmedia.recipe.converters;
 
 import com.kokabmedia.recipe.commands.IngredientCommand;
 import com.kokabmedia.recipe.domain.Ingredient;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
@@ -36,7 +35,6 @@ public class IngredientToIngredientCommand implements Converter<Ingredient, Ingr
         this.uomConverter = uomConverter;
     }
 
-    @Synchronized
     @Nullable
     @Override
     public IngredientCommand convert(Ingredient ingredient) {
@@ -2,7 +2,6 @@ package com.kokabmedia.recipe.converters;
 
 import com.kokabmedia.recipe.commands.NotesCommand;
 import com.kokabmedia.recipe.domain.Notes;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
@@ -30,7 +29,6 @@ import org.springframework.stereotype.Component;
  */
 public class NotesCommandToNotes implements Converter<NotesCommand, Notes> {
 
-    @Synchronized
     @Nullable
     @Override
     public Notes convert(NotesCommand source) {
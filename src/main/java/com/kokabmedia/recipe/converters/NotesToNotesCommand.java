@@ -2,7 +2,6 @@ package com.kokabmedia.recipe.converters;
 
 import com.kokabmedia.recipe.commands.NotesCommand;
 import com.kokabmedia.recipe.domain.Notes;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
@@ -30,7 +29,6 @@ import org.springframework.stereotype.Component;
  */
 public class NotesToNotesCommand implements Converter<Notes, NotesCommand>{
 
-    @Synchronized
     @Nullable
     @Override
     public NotesCommand convert(Notes source) {
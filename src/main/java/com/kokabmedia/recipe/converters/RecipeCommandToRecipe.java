@@ -2,7 +2,6 @@ package com.kokabmedia.recipe.converters;
 
 import com.kokabmedia.recipe.commands.RecipeCommand;
 import com.kokabmedia.recipe.domain.Recipe;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
@@ -41,8 +40,10 @@ public class RecipeCommandToRecipe implements Converter<RecipeCommand, Recipe> {
         this.notesConverter = notesConverter;
     }
 
-    // The @Synchronized annotation guarantees thread safety, this id done with project Lombok
-    @Synchronized
+    /*
+     * Converters are stateless singletons, every call only works on local variables and the final
+     * converter fields, so many request threads can convert at the same time without a lock.
+     */
     @Nullable
     @Override
     public Recipe convert(RecipeCommand source) {
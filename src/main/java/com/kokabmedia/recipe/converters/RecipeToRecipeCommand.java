@@ -1,13 +1,16 @@
 package com.kokabmedia.recipe.converters;
 
+import com.kokabmedia.recipe.commands.ImageHandle;
 import com.kokabmedia.recipe.commands.RecipeCommand;
 import com.kokabmedia.recipe.domain.Category;
 import com.kokabmedia.recipe.domain.Recipe;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /*
 * The @Component annotation allows the Spring framework to creates an instance (bean) 
 * of this class and manage it with the Spring Application Context (the IOC container)
@@ -42,7 +45,6 @@ public class RecipeToRecipeCommand implements Converter<Recipe, RecipeCommand>{
         this.notesConverter = notesConverter;
     }
 
-    @Synchronized
     @Nullable
     @Override
     public RecipeCommand convert(Recipe source) {
@@ -60,18 +62,39 @@ public class RecipeToRecipeCommand implements Converter<Recipe, RecipeCommand>{
         command.setServings(source.getServings());
         command.setSource(source.getSource());
         command.setUrl(source.getUrl());
-        command.setImage(source.getImage());
+        command.setImage(imageHandle(source));
         command.setNotes(notesConverter.convert(source.getNotes()));
 
         if (source.getCategories() != null && source.getCategories().size() > 0){
+            command.setCategories(newHashSet(source.getCategories().size()));
             source.getCategories()
                     .forEach((Category category) -> command.getCategories().add(categoryConveter.convert(category)));
         }
 
         if (source.getIngredients() != null && source.getIngredients().size() > 0){
+            command.setIngredients(newHashSet(source.getIngredients().size()));
             source.getIngredients()
                     .forEach(ingredient -> command.getIngredients().add(ingredientConverter.convert(ingredient)));
         }
 
         return command;
     }
+
+    // A HashSet big enough to hold the categories or ingredients without growing
+    private static <T> Set<T> newHashSet(int expectedSize) {
+        return new HashSet<>(Math.max(expectedSize * 4 / 3 + 1, 16));
+    }
+
+    // Only the size and the hash are copied, the image bytes are only read by the image endpoint
+    private ImageHandle imageHandle(Recipe source) {
+        if (source.getImageSize() == null) {
+            return null;
+        }
+
+        ImageHandle imageHandle = new ImageHandle();
+        imageHandle.setRecipeId(source.getId());
+        imageHandle.setHash(source.getImageHash());
+        imageHandle.setSize(source.getImageSize());
+        return imageHandle;
+    }
+}
@@ -2,11 +2,14 @@ package com.kokabmedia.recipe.converters;
 
 import com.kokabmedia.recipe.commands.UnitOfMeasureCommand;
 import com.kokabmedia.recipe.domain.UnitOfMeasure;
-import lombok.Synchronized;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /*
 * The @Component annotation allows the Spring framework to creates an instance (bean) 
 * of this class and manage it with the Spring Application Context (the IOC container)
@@ -30,17 +33,30 @@ import org.springframework.stereotype.Component;
  */
 public class UnitOfMeasureToUnitOfMeasureCommand implements Converter<UnitOfMeasure, UnitOfMeasureCommand> {
 
-    @Synchronized
+    /*
+     * The recipes share a handful of units of measure, every unit of measure is converted once
+     * to an immutable command that every ingredient, recipe and request gets. A unit of measure
+     * whose description changed, after a restore for example, is converted again. The map holds
+     * one command per row of the unit_of_measure table.
+     */
+    private final ConcurrentMap<Long, UnitOfMeasureCommand> commands = new ConcurrentHashMap<>();
+
     @Nullable
     @Override
     public UnitOfMeasureCommand convert(UnitOfMeasure unitOfMeasure) {
 
-        if (unitOfMeasure != null) {
-            final UnitOfMeasureCommand uomc = new UnitOfMeasureCommand();
-            uomc.setId(unitOfMeasure.getId());
-            uomc.setDescription(unitOfMeasure.getDescription());
-            return uomc;
+        if (unitOfMeasure == null) {
+            return null;
+        }
+        if (unitOfMeasure.getId() == null) {
+            return UnitOfMeasureCommand.immutable(null, unitOfMeasure.getDescription());
+        }
+
+        UnitOfMeasureCommand uomc = commands.get(unitOfMeasure.getId());
+        if (uomc == null || !Objects.equals(uomc.getDescription(), unitOfMeasure.getDescription())) {
+            uomc = UnitOfMeasureCommand.immutable(unitOfMeasure.getId(), unitOfMeasure.getDescription());
+            commands.put(unitOfMeasure.getId(), uomc);
         }
-        return null;
+        return uomc;
     }
-}
\ No newline at end of file
+}
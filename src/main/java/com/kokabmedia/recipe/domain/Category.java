@@ -3,6 +3,8 @@ package com.kokabmedia.recipe.domain;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -36,6 +38,21 @@ import java.util.Set;
  * configuration create a Category table in the database.
  */
 @Entity
+/*
+ * The @Cacheable annotation stores the Category entities in the Hibernate second level cache,
+ * only entities with this annotation are cached because of the ENABLE_SELECTIVE shared cache mode.
+ * 
+ * The @Cache annotation sets the READ_WRITE strategy so cached entries are updated when a
+ * Category is changed and the cache never returns stale data.
+ */
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+/*
+ * The @Table annotation declares the idx_category_description index on the description column, the index is
+ * used by the queries that look up or sort Category rows by description. On MySQL the index is
+ * created by the Flyway migrations in db/migration/mysql.
+ */
+@Table(name = "category", indexes = @Index(name = "idx_category_description", columnList = "description"))
 public class Category {
 
 
@@ -3,6 +3,8 @@ package com.kokabmedia.recipe.domain;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
@@ -42,13 +44,14 @@ public class Ingredient {
 	 * 
 	 * The @GeneratedValue annotation makes the Hibernate generate the primary key value.
 	 * 
-	 * The GenerationType.IDENTITY parameter indicates that the id will be generated by the
-	 * database.
+	 * The GenerationType.SEQUENCE parameter indicates that the id will be taken from the
+	 * ingredient_seq sequence, see the id of Recipe for why.
 	 * 
 	 * Primary key will uniquely identify each row in a database table.
 	 */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_seq")
+    @SequenceGenerator(name = "ingredient_seq", sequenceName = "ingredient_seq", allocationSize = 50)
     private Long id;
     private String description;
     private BigDecimal amount;
@@ -66,8 +69,12 @@ public class Ingredient {
   	 * 
   	 * Ingredient has unidirectional association with UnitOfMeasure. OneToOne annotation makes it possible 
   	 * to navigate to the UnitOfMeasure.
+  	 * 
+  	 * The @Fetch(FetchMode.SELECT) annotation loads the UnitOfMeasure by its id instead of joining the 
+  	 * unit_of_measure table, so it is served from the second level cache without a database query.
   	 */
     @OneToOne(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
     private UnitOfMeasure uom;
 
     /*
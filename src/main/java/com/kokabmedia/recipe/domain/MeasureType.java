@@ -0,0 +1,11 @@
+package com.kokabmedia.recipe.domain;
+
+/*
+* This enum describes what kind of quantity a unit of measure measures, units can only
+* be converted into other units of the same measure type.
+*/
+
+public enum MeasureType {
+
+    VOLUME, WEIGHT, COUNT
+}
@@ -36,13 +36,14 @@ public class Notes {
 	 * 
 	 * The @GeneratedValue annotation makes the Hibernate generate the primary key value.
 	 * 
-	 * The GenerationType.IDENTITY parameter indicates that the id will be generated by the
-	 * database.
+	 * The GenerationType.SEQUENCE parameter indicates that the id will be taken from the
+	 * notes_seq sequence, see the id of Recipe for why.
 	 * 
 	 * Primary key will uniquely identify each row in a database table.
 	 */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notes_seq")
+    @SequenceGenerator(name = "notes_seq", sequenceName = "notes_seq", allocationSize = 50)
     private Long id;
 
     /*
@@ -28,6 +28,12 @@ import java.util.Set;
  * configuration create a Recipe table in the database.
  */
 @Entity
+/*
+ * The @Table annotation declares the idx_recipe_description index on the description column, the index is
+ * used by the queries that look up or sort Recipe rows by description. On MySQL the index is
+ * created by the Flyway migrations in db/migration/mysql.
+ */
+@Table(name = "recipe", indexes = @Index(name = "idx_recipe_description", columnList = "description"))
 public class Recipe {
 
 	/*
@@ -35,13 +41,18 @@ public class Recipe {
 	 * 
 	 * The @GeneratedValue annotation makes the Hibernate generate the primary key value.
 	 * 
-	 * The GenerationType.IDENTITY parameter indicates that the id will be generated by the
-	 * database.
+	 * The GenerationType.SEQUENCE parameter indicates that the id will be taken from the
+	 * recipe_seq sequence. With IDENTITY Hibernate has to run every INSERT on its own to read the
+	 * generated id, with a sequence the ids are known before the INSERT and Hibernate can send
+	 * the INSERT statements to the database in JDBC batches. The allocationSize of 50 lets
+	 * Hibernate reserve 50 ids with one call to the sequence. On MySQL, which has no sequences,
+	 * Hibernate uses a table with the name of the sequence.
 	 * 
 	 * Primary key will uniquely identify each row in a database table.
 	 */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
+    @SequenceGenerator(name = "recipe_seq", sequenceName = "recipe_seq", allocationSize = 50)
     private Long id;
 
     private String description;
@@ -89,11 +100,12 @@ public class Recipe {
     private Set<Ingredient> ingredients = new HashSet<>();
 
     /*
-     * @Lob annotation Specifies that a persistent property or field should be persisted as a large object 
-     * to a database-supported large object type. This is needed for images.
+     * The image itself is a RecipeImage in a table of its own, a recipe never loads it. The size
+     * and the hash of the image are stored with the recipe when it is uploaded, so the recipe
+     * can describe its image without loading the image bytes.
      */
-    @Lob
-    private Byte[] image;
+    private Long imageSize;
+    private String imageHash;
 
     /*
      * The @Enumerated persist the Difficulty Enum objects and maps it as an enum value to and from 
@@ -110,11 +122,18 @@ public class Recipe {
 	 * column with a foreign key value in the Recipe table. The notes_id column will link to a 
 	 * specific row in the Notes table. 
 	 * 
-	 * Notes and Recipe have FetchType.Eager by default.
+	 * Notes and Recipe have FetchType.Eager by default, the notes of a Recipe are loaded lazily
+	 * here because the recipe lists only show the description and would otherwise run one extra
+	 * select for the notes of every recipe in the list. Pages that show the notes load them 
+	 * explicitly in RecipeServiceImpl.findById().
+	 * 
+	 * The recipe table holds the notes_id foreign key, so Hibernate can hand out a proxy for the
+	 * notes and load them on first use. This works with and without the bytecode enhancement of
+	 * the entities.
 	 * 
 	 * Recipe has a bidirectional association with Notes.
 	 */
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Notes notes;
 
     /*
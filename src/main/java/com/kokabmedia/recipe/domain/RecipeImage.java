@@ -0,0 +1,38 @@
+package com.kokabmedia.recipe.domain;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+/*
+ * The image of a recipe, kept in a recipe_image table of its own. The image can be several
+ * megabytes and is only needed by the image endpoint, a select of a Recipe never reads it, with
+ * or without the bytecode enhancement of the entities. The size and the hash of the image are
+ * columns of the recipe, the views describe the image without loading it.
+ *
+ * Getter and Setter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "recipe_image")
+public class RecipeImage {
+
+    /*
+     * The image has the id of its recipe, the @MapsId annotation takes the primary key from the
+     * recipe association, the recipe_id column is the primary key and the foreign key to the
+     * recipe.
+     */
+    @Id
+    private Long recipeId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipe_id")
+    private Recipe recipe;
+
+    // @Lob persists the image as a large object, like the database-supported type of a blob
+    @Lob
+    private Byte[] image;
+}
@@ -2,11 +2,20 @@ package com.kokabmedia.recipe.domain;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.math.BigDecimal;
 
 /*
  * This class will handle the modelling of the database tables and also function as model for 
@@ -29,6 +38,21 @@ import javax.persistence.Id;
  * configuration create a UnitOfMeasure table in the database.
  */
 @Entity
+/*
+ * The @Cacheable annotation stores the UnitOfMeasure entities in the Hibernate second level cache,
+ * only entities with this annotation are cached because of the ENABLE_SELECTIVE shared cache mode.
+ * 
+ * The @Cache annotation sets the READ_WRITE strategy so cached entries are updated when a
+ * UnitOfMeasure is changed and the cache never returns stale data.
+ */
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+/*
+ * The @Table annotation declares the idx_unit_of_measure_description index on the description column, the index is
+ * used by the queries that look up or sort UnitOfMeasure rows by description. On MySQL the index is
+ * created by the Flyway migrations in db/migration/mysql.
+ */
+@Table(name = "unit_of_measure", indexes = @Index(name = "idx_unit_of_measure_description", columnList = "description"))
 public class UnitOfMeasure {
 
 	/* 
@@ -45,4 +69,20 @@ public class UnitOfMeasure {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String description;
+
+    /*
+     * The @Enumerated persist the MeasureType Enum objects and maps it as an enum value to and from 
+     * its database representation. A unit can only be converted to units of the same measure type.
+     */
+    @Enumerated(value = EnumType.STRING)
+    private MeasureType measureType;
+
+    /*
+     * How many of the base unit of the measure type one of this unit holds. The base unit for volume
+     * is the Teaspoon, so a Tablespoon has the factor 3 and a Cup has the factor 48.
+     * 
+     * The @Column annotation gives the column enough decimals for the small units like Pinch.
+     */
+    @Column(precision = 19, scale = 6)
+    private BigDecimal baseUnitFactor;
 }
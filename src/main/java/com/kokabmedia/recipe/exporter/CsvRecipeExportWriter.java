@@ -0,0 +1,104 @@
+package com.kokabmedia.recipe.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Writes one CSV row per recipe after a header row, quoted as described in RFC 4180. The
+ * categories and the ingredients are joined with "; " into one column each, an ingredient is
+ * written as it is shown on the recipe page, "2 Tablespoon fresh lime juice". The directions
+ * and notes keep their line breaks inside the quoted column.
+ */
+public class CsvRecipeExportWriter implements RecipeExportWriter {
+
+    static final String HEADER = "id,description,difficulty,prep_time,cook_time,servings,source,url,"
+            + "categories,ingredients,directions,notes";
+
+    private static final String LIST_SEPARATOR = "; ";
+
+    private final Writer writer;
+    private boolean headerWritten;
+
+    public CsvRecipeExportWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void write(ExportedRecipe recipe) throws IOException {
+        writeHeader();
+
+        List<String> ingredients = new ArrayList<>();
+        for (ExportedRecipe.Ingredient ingredient : recipe.getIngredients()) {
+            ingredients.add(ingredientText(ingredient));
+        }
+
+        writeValue(recipe.getId(), ',');
+        writeValue(recipe.getDescription(), ',');
+        writeValue(recipe.getDifficulty() == null ? null : recipe.getDifficulty().name(), ',');
+        writeValue(recipe.getPrepTime(), ',');
+        writeValue(recipe.getCookTime(), ',');
+        writeValue(recipe.getServings(), ',');
+        writeValue(recipe.getSource(), ',');
+        writeValue(recipe.getUrl(), ',');
+        writeValue(String.join(LIST_SEPARATOR, recipe.getCategories()), ',');
+        writeValue(String.join(LIST_SEPARATOR, ingredients), ',');
+        writeValue(recipe.getDirections(), ',');
+        writeValue(recipe.getNotes(), '\r');
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // an export without recipes still has the header row
+        writeHeader();
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            headerWritten = true;
+        }
+    }
+
+    private void writeValue(Object value, char separator) throws IOException {
+        if (value != null) {
+            writer.write(quote(value.toString()));
+        }
+        writer.write(separator);
+    }
+
+    static String ingredientText(ExportedRecipe.Ingredient ingredient) {
+        StringBuilder text = new StringBuilder();
+        BigDecimal amount = ingredient.getAmount();
+        if (amount != null) {
+            text.append(amount.stripTrailingZeros().toPlainString()).append(' ');
+        }
+        if (ingredient.getUom() != null) {
+            text.append(ingredient.getUom()).append(' ');
+        }
+        if (ingredient.getDescription() != null) {
+            text.append(ingredient.getDescription());
+        }
+        return text.toString().trim();
+    }
+
+    // A value with a comma, quote or line break is quoted, the quotes in it are doubled
+    static String quote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
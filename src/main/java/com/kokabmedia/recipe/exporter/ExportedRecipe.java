@@ -0,0 +1,48 @@
+package com.kokabmedia.recipe.exporter;
+
+import com.kokabmedia.recipe.domain.Difficulty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * One recipe of an export as it is read from the database rows, with the descriptions of its
+ * categories and units of measure instead of the entities. The export service fills one of
+ * these per recipe and hands it to a RecipeExportWriter, it is never kept after it was written.
+ *
+ * Getter and Setter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+@Setter
+public class ExportedRecipe {
+
+    private Long id;
+    private String description;
+    private Integer prepTime;
+    private Integer cookTime;
+    private Integer servings;
+    private String source;
+    private String url;
+    private Difficulty difficulty;
+    private String directions;
+    private String notes;
+    private List<String> categories = new ArrayList<>();
+    private List<Ingredient> ingredients = new ArrayList<>();
+
+    @Getter
+    public static class Ingredient {
+
+        private final String description;
+        private final BigDecimal amount;
+        private final String uom;
+
+        public Ingredient(String description, BigDecimal amount, String uom) {
+            this.description = description;
+            this.amount = amount;
+            this.uom = uom;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.kokabmedia.recipe.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/*
+ * Writes every recipe as one line of JSON, in the format the RecipeImportService reads, so an
+ * export can be imported into another database again. The fields are written one by one with
+ * a JsonGenerator, no RecipeCommand or tree of the recipe is built, and empty fields are left
+ * out.
+ */
+public class JsonLinesRecipeExportWriter implements RecipeExportWriter {
+
+    private final JsonGenerator generator;
+
+    public JsonLinesRecipeExportWriter(ObjectMapper objectMapper, OutputStream output) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // the recipes are separated by a line break instead of the default space
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(ExportedRecipe recipe) throws IOException {
+        generator.writeStartObject();
+        writeField("id", recipe.getId());
+        writeField("description", recipe.getDescription());
+        writeField("prepTime", recipe.getPrepTime());
+        writeField("cookTime", recipe.getCookTime());
+        writeField("servings", recipe.getServings());
+        writeField("source", recipe.getSource());
+        writeField("url", recipe.getUrl());
+        if (recipe.getDifficulty() != null) {
+            writeField("difficulty", recipe.getDifficulty().name());
+        }
+        writeField("directions", recipe.getDirections());
+
+        if (recipe.getNotes() != null) {
+            generator.writeObjectFieldStart("notes");
+            writeField("recipeNotes", recipe.getNotes());
+            generator.writeEndObject();
+        }
+
+        generator.writeArrayFieldStart("categories");
+        for (String category : recipe.getCategories()) {
+            generator.writeStartObject();
+            writeField("description", category);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("ingredients");
+        for (ExportedRecipe.Ingredient ingredient : recipe.getIngredients()) {
+            generator.writeStartObject();
+            writeField("description", ingredient.getDescription());
+            writeField("amount", ingredient.getAmount());
+            if (ingredient.getUom() != null) {
+                generator.writeObjectFieldStart("uom");
+                writeField("description", ingredient.getUom());
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    private void writeField(String name, Object value) throws IOException {
+        if (value instanceof String) {
+            generator.writeStringField(name, (String) value);
+        } else if (value instanceof Long) {
+            generator.writeNumberField(name, (Long) value);
+        } else if (value instanceof Integer) {
+            generator.writeNumberField(name, (Integer) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumberField(name, (BigDecimal) value);
+        }
+    }
+}
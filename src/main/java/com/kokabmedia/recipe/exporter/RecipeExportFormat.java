@@ -0,0 +1,30 @@
+package com.kokabmedia.recipe.exporter;
+
+import lombok.Getter;
+
+/*
+ * The file formats of a recipe export. JSON Lines holds one recipe per line in the format of
+ * the recipe import, CSV holds one row per recipe with the categories and ingredients joined
+ * into one column each, for spreadsheets and analytics tools.
+ *
+ * Getter methods of this enum are provided with the Lombok framework.
+ */
+@Getter
+public enum RecipeExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    RecipeExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    // The format of a file by the extension of its name, JSON Lines unless it ends with .csv
+    public static RecipeExportFormat of(String fileName) {
+        return fileName.toLowerCase().endsWith("." + CSV.extension) ? CSV : NDJSON;
+    }
+}
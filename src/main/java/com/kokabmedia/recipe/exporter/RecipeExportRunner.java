@@ -0,0 +1,59 @@
+package com.kokabmedia.recipe.exporter;
+
+import com.kokabmedia.recipe.services.RecipeExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/*
+ * Exports the recipe catalog from the command line, for example from a nightly job. The file
+ * is given with the recipe.export.file property, a file name that ends with .csv is written as
+ * CSV and any other as JSON Lines:
+ *
+ * java -jar recipe-application.jar --spring.main.web-application-type=none --recipe.export.file=recipes.csv
+ *
+ * The export is written to a file next to it that ends with .part and only renamed to the
+ * given name when it is complete, a job that picks up the file never reads half an export.
+ *
+ * The @ConditionalOnProperty annotation only creates the bean when the property is set.
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.export.file")
+public class RecipeExportRunner implements ApplicationRunner {
+
+    private final RecipeExportService recipeExportService;
+    private final Environment environment;
+
+    public RecipeExportRunner(RecipeExportService recipeExportService, Environment environment) {
+        this.recipeExportService = recipeExportService;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path file = Paths.get(environment.getProperty("recipe.export.file"));
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        RecipeExportFormat format = RecipeExportFormat.of(file.getFileName().toString());
+
+        long exported;
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+            exported = recipeExportService.exportRecipes(output, format);
+        }
+        Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+
+        log.info("Exported " + exported + " recipes to " + file);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kokabmedia.recipe.exporter;
+
+import java.io.IOException;
+
+/*
+ * Writes the recipes of an export to an output stream in one RecipeExportFormat. A writer
+ * buffers what it writes, flush() sends the buffered recipes on, the export service flushes
+ * after every batch. The output stream is not closed by the writer, it belongs to the caller.
+ */
+public interface RecipeExportWriter {
+
+    void write(ExportedRecipe recipe) throws IOException;
+
+    void flush() throws IOException;
+}
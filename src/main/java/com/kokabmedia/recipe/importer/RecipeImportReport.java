@@ -0,0 +1,77 @@
+package com.kokabmedia.recipe.importer;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * The progress and the result of one recipe import. The report is handed to the progress
+ * listener after every committed batch and returned when the import ends.
+ *
+ * An interrupted import is resumed by reading the same file again and skipping the first
+ * lastCommittedLine lines, every recipe up to that line is in the database. Only the first
+ * MAX_ERRORS errors are kept, so an import of a broken file does not fill the memory with
+ * messages.
+ *
+ * Getter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+public class RecipeImportReport {
+
+    public static final int MAX_ERRORS = 100;
+
+    private final long skippedLines;
+    private long linesRead;
+    private long recipesImported;
+    private long invalidLines;
+    private long lastCommittedLine;
+    private String failure;
+    private boolean complete;
+
+    private final List<String> errors = new ArrayList<>();
+
+    public RecipeImportReport(long skippedLines) {
+        this.skippedLines = skippedLines;
+        this.lastCommittedLine = skippedLines;
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public void lineRead(long lineNumber) {
+        linesRead = lineNumber;
+    }
+
+    // The line could not be imported, the other lines are imported anyway
+    public void invalidLine(long lineNumber, String message) {
+        invalidLines++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("line " + lineNumber + ": " + message);
+        }
+    }
+
+    public void batchCommitted(int recipes, long lastLine) {
+        recipesImported += recipes;
+        lastCommittedLine = lastLine;
+    }
+
+    // A batch could not be saved, the import stops after the last committed batch
+    public void failed(String message) {
+        failure = message;
+    }
+
+    // All lines are read and the recipes of the last line are committed
+    public void completed(long lastLine) {
+        complete = true;
+        lastCommittedLine = lastLine;
+    }
+
+    @Override
+    public String toString() {
+        return "imported " + recipesImported + " recipes, " + invalidLines + " invalid lines, committed up to line "
+                + lastCommittedLine + (failure == null ? "" : ", failed: " + failure);
+    }
+}
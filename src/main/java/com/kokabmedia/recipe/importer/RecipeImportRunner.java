@@ -0,0 +1,90 @@
+package com.kokabmedia.recipe.importer;
+
+import com.kokabmedia.recipe.services.RecipeImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/*
+ * Imports a recipe catalog from the command line, the file is given with the recipe.import.file
+ * property:
+ *
+ * java -jar recipe-application.jar --spring.main.web-application-type=none --recipe.import.file=catalog.ndjson
+ *
+ * Without a web server the application ends when the import is done.
+ *
+ * After every committed batch the last committed line is written to a checkpoint file next to
+ * the catalog, catalog.ndjson.checkpoint. When the import is started again for the same file
+ * it skips the committed lines and goes on from there. The checkpoint file is deleted when the
+ * whole file was imported. A batch that was committed just before the application stopped, but
+ * whose checkpoint was not written anymore, is imported a second time.
+ *
+ * The @ConditionalOnProperty annotation only creates the bean when the property is set, a
+ * normal start of the application does not import anything.
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.import.file")
+public class RecipeImportRunner implements ApplicationRunner {
+
+    private final RecipeImportService recipeImportService;
+    private final Environment environment;
+
+    public RecipeImportRunner(RecipeImportService recipeImportService, Environment environment) {
+        this.recipeImportService = recipeImportService;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path file = Paths.get(environment.getProperty("recipe.import.file"));
+        Path checkpoint = checkpointOf(file);
+
+        long skipLines = Files.exists(checkpoint)
+                ? Long.parseLong(new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim()) : 0;
+        if (skipLines > 0) {
+            log.info("Resuming the import of " + file + " after line " + skipLines);
+        }
+
+        RecipeImportReport report;
+        try (Reader input = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = recipeImportService.importRecipes(input, skipLines, progress -> {
+                writeCheckpoint(checkpoint, progress.getLastCommittedLine());
+                log.info("Importing " + file + ", " + progress);
+            });
+        }
+
+        report.getErrors().forEach(error -> log.warn("Not imported, " + error));
+
+        if (report.isComplete()) {
+            Files.deleteIfExists(checkpoint);
+        } else {
+            log.error("The import of " + file + " stopped, start it again to resume after line "
+                    + report.getLastCommittedLine());
+        }
+    }
+
+    static Path checkpointOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    private static void writeCheckpoint(Path checkpoint, long line) {
+        try {
+            Files.write(checkpoint, String.valueOf(line).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
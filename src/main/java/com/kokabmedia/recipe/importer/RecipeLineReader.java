@@ -0,0 +1,88 @@
+package com.kokabmedia.recipe.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/*
+ * Reads recipes from JSON Lines (NDJSON), one RecipeCommand per line. Only the current line is
+ * held in memory, so a file of any size is read with the same memory. A line that is not a
+ * valid RecipeCommand is returned with the error and the lines after it are read as usual.
+ *
+ * Blank lines are skipped but counted, the line numbers are the line numbers of the file.
+ */
+public class RecipeLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long lineNumber;
+
+    public RecipeLineReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader, BUFFER_SIZE);
+        this.objectReader = objectMapper.readerFor(RecipeCommand.class);
+    }
+
+    // Reads over lines without parsing them, an import is resumed after its committed lines
+    public void skip(long lines) throws IOException {
+        while (lineNumber < lines && reader.readLine() != null) {
+            lineNumber++;
+        }
+    }
+
+    // The next line that is not blank, or null at the end of the input
+    public RecipeLine next() throws IOException {
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            try {
+                return new RecipeLine(lineNumber, objectReader.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new RecipeLine(lineNumber, null, "not a valid recipe, " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    // The number of the last line that was read
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /*
+     * One line of the input with its recipe, or with the error when the line could not be read.
+     *
+     * Getter methods of this class are provided with the Lombok framework.
+     */
+    @Getter
+    public static class RecipeLine {
+
+        private final long number;
+        private final RecipeCommand command;
+        private final String error;
+
+        RecipeLine(long number, RecipeCommand command, String error) {
+            this.number = number;
+            this.command = command;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/*
+ * This class measures how long JDBC connections are held and by which request path. The
+ * TrackingConnectionProvider tells the tracker when Hibernate takes a connection from the pool
+ * and when it gives the connection back, the TrackingDataSource does the same for the
+ * JdbcTemplate, the tracker notes the request path and the time in between.
+ * 
+ * The request path is the URL pattern of the controller method, like "GET /recipe/{id}/show",
+ * so all recipes are counted under one path. Requests that no controller method matched are
+ * counted under "UNMATCHED", so a client that requests made up URLs cannot add a path for
+ * every URL. Connections taken outside of a web request are counted under "background".
+ */
+public class ConnectionHoldTracker {
+
+    public static final String BACKGROUND = "background";
+    public static final String UNMATCHED = "UNMATCHED";
+
+    private final Map<String, PathStatistics> statisticsByPath = new ConcurrentHashMap<>();
+    private final Map<Connection, OpenHold> openHolds = new ConcurrentHashMap<>();
+
+    // A connection was just taken from the pool
+    public void acquired(Connection connection) {
+        openHolds.put(connection, new OpenHold(currentPath(), Thread.currentThread().getName(), System.nanoTime()));
+    }
+
+    // A connection is given back to the pool
+    public void released(Connection connection) {
+        OpenHold hold = openHolds.remove(connection);
+
+        if (hold != null) {
+            record(hold.path, System.nanoTime() - hold.startNanos);
+        }
+    }
+
+    void record(String path, long holdNanos) {
+        statisticsByPath.computeIfAbsent(path, key -> new PathStatistics()).record(holdNanos);
+    }
+
+    // Request paths ordered by the total time they held connections, the longest first
+    public List<Map<String, Object>> getHolders() {
+        return statisticsByPath.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, PathStatistics> entry) -> entry.getValue().totalNanos.sum())
+                        .reversed())
+                .map(entry -> entry.getValue().toMap(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    // Connections that are held right now, the oldest first
+    public List<Map<String, Object>> getOpenHolds() {
+        long now = System.nanoTime();
+
+        List<OpenHold> holds = new ArrayList<>(openHolds.values());
+        holds.sort(Comparator.comparingLong(hold -> hold.startNanos));
+
+        List<Map<String, Object>> result = new ArrayList<>(holds.size());
+        for (OpenHold hold : holds) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("path", hold.path);
+            map.put("thread", hold.thread);
+            map.put("heldMillis", TimeUnit.NANOSECONDS.toMillis(now - hold.startNanos));
+            result.add(map);
+        }
+        return result;
+    }
+
+    public void reset() {
+        statisticsByPath.clear();
+    }
+
+    private String currentPath() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return BACKGROUND;
+        }
+
+        HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern != null ? request.getMethod() + " " + pattern : UNMATCHED;
+    }
+
+    private static final class PathStatistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long holdNanos) {
+            count.increment();
+            totalNanos.add(holdNanos);
+            maxNanos.accumulateAndGet(holdNanos, Math::max);
+        }
+
+        Map<String, Object> toMap(String path) {
+            long holds = count.sum();
+            long total = totalNanos.sum();
+
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("path", path);
+            map.put("count", holds);
+            map.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(total));
+            map.put("averageMillis", holds == 0 ? 0d : total / (double) holds / TimeUnit.MILLISECONDS.toNanos(1));
+            map.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            return map;
+        }
+    }
+
+    private static final class OpenHold {
+
+        private final String path;
+        private final String thread;
+        private final long startNanos;
+
+        OpenHold(String path, String thread, long startNanos) {
+            this.path = path;
+            this.thread = thread;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Spring Boot Actuator endpoint that is available at /actuator/connectionholders.
+ * 
+ * A GET request shows the request paths that held database connections the longest and the
+ * connections that are held right now, a DELETE request starts the measurement from zero.
+ * Together with the HikariCP pool metrics under /actuator/metrics/hikaricp.connections.* this
+ * shows which requests use up the connection pool.
+ * 
+ * The connections of Hibernate and of the JdbcTemplate are counted. Flyway takes its
+ * connections straight from the pool while the application starts, they are not counted.
+ */
+@Endpoint(id = "connectionholders")
+public class ConnectionHoldersEndpoint {
+
+    private final ConnectionHoldTracker connectionHoldTracker;
+
+    public ConnectionHoldersEndpoint(ConnectionHoldTracker connectionHoldTracker) {
+        this.connectionHoldTracker = connectionHoldTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> connectionHolders() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("holders", connectionHoldTracker.getHolders());
+        result.put("open", connectionHoldTracker.getOpenHolds());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        connectionHoldTracker.reset();
+    }
+}
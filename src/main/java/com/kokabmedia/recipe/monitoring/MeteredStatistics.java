@@ -0,0 +1,169 @@
+package com.kokabmedia.recipe.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Hibernate reports every executed query, every loaded or fetched entity and collection and
+ * every second level cache lookup to its Statistics object. This Statistics object keeps the
+ * totals of Hibernate and also publishes them as Micrometer meters, tagged with the query, the
+ * entity, the collection role or the cache region, so they can be read from /actuator/metrics
+ * instead of from the debug log.
+ *
+ * Spring Boot Actuator already publishes the totals of the Statistics object (hibernate.flushes,
+ * hibernate.entities.loads, hibernate.second.level.cache.requests ...), the meters of this class
+ * show which query, entity or region the numbers belong to. A new N+1 problem shows up as a
+ * rising hibernate.entity.fetches or hibernate.collection.fetches count of one entity.
+ *
+ * The meters are looked up once per name and kept in maps, Hibernate calls these methods for
+ * every query and every loaded entity.
+ */
+public class MeteredStatistics extends StatisticsImpl {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> entityLoadCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> entityFetchCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collectionFetchCounters = new ConcurrentHashMap<>();
+    private final Map<String, RegionRequests> regionRequests = new ConcurrentHashMap<>();
+
+    public MeteredStatistics(SessionFactoryImplementor sessionFactory, MeterRegistry meterRegistry) {
+        super(sessionFactory);
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Execution count and time of every HQL query, the time is reported in milliseconds
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+
+        queryTimers.computeIfAbsent(hql, query -> Timer.builder("hibernate.query")
+                .description("Executions and execution time of an HQL query")
+                .tag("query", query)
+                .register(meterRegistry))
+                .record(time, TimeUnit.MILLISECONDS);
+    }
+
+    // An entity was loaded by a query, a find or a join
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+
+        counter(entityLoadCounters, "hibernate.entity.loads", "Entities loaded", "entity", entityName).increment();
+    }
+
+    // An entity was loaded by an extra select of its own, like a lazy association or an N+1 select
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+
+        counter(entityFetchCounters, "hibernate.entity.fetches", "Entities fetched with an extra select",
+                "entity", entityName).increment();
+    }
+
+    // A collection was loaded by an extra select of its own
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+
+        counter(collectionFetchCounters, "hibernate.collection.fetches", "Collections fetched with an extra select",
+                "role", role).increment();
+    }
+
+    @Override
+    public void entityCacheHit(NavigableRole entityName, String regionName) {
+        super.entityCacheHit(entityName, regionName);
+        regionRequests(regionName).hit();
+    }
+
+    @Override
+    public void entityCacheMiss(NavigableRole entityName, String regionName) {
+        super.entityCacheMiss(entityName, regionName);
+        regionRequests(regionName).miss();
+    }
+
+    @Override
+    public void collectionCacheHit(NavigableRole collectionRole, String regionName) {
+        super.collectionCacheHit(collectionRole, regionName);
+        regionRequests(regionName).hit();
+    }
+
+    @Override
+    public void collectionCacheMiss(NavigableRole collectionRole, String regionName) {
+        super.collectionCacheMiss(collectionRole, regionName);
+        regionRequests(regionName).miss();
+    }
+
+    @Override
+    public void queryCacheHit(String hql, String regionName) {
+        super.queryCacheHit(hql, regionName);
+        regionRequests(regionName).hit();
+    }
+
+    @Override
+    public void queryCacheMiss(String hql, String regionName) {
+        super.queryCacheMiss(hql, regionName);
+        regionRequests(regionName).miss();
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String description, String tagKey, String tagValue) {
+        return counters.computeIfAbsent(tagValue, value -> Counter.builder(name)
+                .description(description)
+                .tag(tagKey, value)
+                .register(meterRegistry));
+    }
+
+    private RegionRequests regionRequests(String regionName) {
+        return regionRequests.computeIfAbsent(regionName, region -> new RegionRequests(meterRegistry, region));
+    }
+
+    /*
+     * Hits and misses of one second level cache region. The hit ratio is a gauge that is
+     * computed from both counters when the metric is read.
+     */
+    private static final class RegionRequests {
+
+        private final Counter hits;
+        private final Counter misses;
+
+        RegionRequests(MeterRegistry meterRegistry, String region) {
+            hits = Counter.builder("hibernate.cache.region.requests")
+                    .description("Second level cache lookups of a region")
+                    .tags("region", region, "result", "hit")
+                    .register(meterRegistry);
+            misses = Counter.builder("hibernate.cache.region.requests")
+                    .description("Second level cache lookups of a region")
+                    .tags("region", region, "result", "miss")
+                    .register(meterRegistry);
+
+            Gauge.builder("hibernate.cache.region.hit.ratio", this, RegionRequests::hitRatio)
+                    .description("Share of second level cache lookups of a region that were hits")
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+
+        void hit() {
+            hits.increment();
+        }
+
+        void miss() {
+            misses.increment();
+        }
+
+        double hitRatio() {
+            double total = hits.count() + misses.count();
+
+            return total == 0 ? Double.NaN : hits.count() / total;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.kokabmedia.recipe.monitoring;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/*
+ * This class measures where the startup of the application goes. The
+ * StartupTimingBeanPostProcessor tells the profiler when the creation of a bean starts and
+ * when it is finished, the TimingApplicationEventMulticaster how long every application
+ * listener took for an event, like the RecipeBootstrap for the ContextRefreshedEvent.
+ *
+ * A bean that needs other beans creates them while it is created itself, so the time of a bean
+ * is counted twice: the total time includes the beans it created, the own time does not. The
+ * report ranks the beans by their own time, the sum of the own times is the time of all beans.
+ *
+ * When the application is ready the report is written to the log, and to a file when one is
+ * given. Nothing is measured after that.
+ */
+public class StartupProfiler implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final int reportSize;
+    private final Path reportFile;
+
+    private final ThreadLocal<Deque<Creation>> creations = ThreadLocal.withInitial(ArrayDeque::new);
+    private final List<Timing> beanTimings = new ArrayList<>();
+    private final Map<String, Timing> listenerTimings = new LinkedHashMap<>();
+    private volatile boolean finished;
+
+    // The report lists the reportSize slowest beans and listeners, the file may be null
+    public StartupProfiler(int reportSize, Path reportFile) {
+        this.reportSize = reportSize;
+        this.reportFile = reportFile;
+    }
+
+    void beanStarted(String beanName) {
+        if (!finished) {
+            creations.get().push(new Creation(beanName, System.nanoTime()));
+        }
+    }
+
+    void beanFinished(String beanName) {
+        Deque<Creation> stack = creations.get();
+        // a bean that failed never finishes, and the objects of a FactoryBean finish without a start
+        if (finished || stack.stream().noneMatch(creation -> creation.beanName.equals(beanName))) {
+            return;
+        }
+
+        Creation creation = stack.pop();
+        while (!creation.beanName.equals(beanName)) {
+            creation = stack.pop();
+        }
+
+        long totalNanos = System.nanoTime() - creation.startNanos;
+        if (!stack.isEmpty()) {
+            stack.peek().childNanos += totalNanos;
+        }
+        synchronized (beanTimings) {
+            beanTimings.add(new Timing(beanName, totalNanos - creation.childNanos, totalNanos, 1));
+        }
+    }
+
+    void listenerFinished(String listener, String event, long nanos) {
+        if (finished) {
+            return;
+        }
+
+        String name = listener + " (" + event + ")";
+        synchronized (listenerTimings) {
+            Timing timing = listenerTimings.get(name);
+            listenerTimings.put(name, timing == null ? new Timing(name, nanos, nanos, 1)
+                    : new Timing(name, timing.ownNanos + nanos, timing.totalNanos + nanos, timing.count + 1));
+        }
+    }
+
+    // The beans that were created, the one that took the longest itself first
+    public List<Timing> getBeanTimings() {
+        synchronized (beanTimings) {
+            return ranked(beanTimings);
+        }
+    }
+
+    // The listeners with the events they got, the one that took the longest first
+    public List<Timing> getListenerTimings() {
+        synchronized (listenerTimings) {
+            return ranked(listenerTimings.values());
+        }
+    }
+
+    public String report(long startupMillis) {
+        List<Timing> beans = getBeanTimings();
+        List<Timing> listeners = getListenerTimings();
+        long beanNanos = beans.stream().mapToLong(Timing::getOwnNanos).sum();
+        long listenerNanos = listeners.stream().mapToLong(Timing::getOwnNanos).sum();
+
+        StringBuilder report = new StringBuilder();
+        report.append("Startup took ").append(startupMillis).append(" ms, ").append(beans.size())
+                .append(" beans were created in ").append(TimeUnit.NANOSECONDS.toMillis(beanNanos))
+                .append(" ms and the application listeners took ")
+                .append(TimeUnit.NANOSECONDS.toMillis(listenerNanos)).append(" ms\n");
+
+        report.append("Slowest beans, own time (total time with the beans they created):\n");
+        append(report, beans);
+        report.append("Slowest application listeners:\n");
+        append(report, listeners);
+        return report.toString();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        String report = report(ManagementFactory.getRuntimeMXBean().getUptime());
+        log.info(report);
+
+        if (reportFile != null) {
+            try {
+                Files.write(reportFile, report.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                log.warn("Could not write the startup report to " + reportFile, e);
+            }
+        }
+    }
+
+    private void append(StringBuilder report, List<Timing> timings) {
+        int rank = 0;
+        for (Timing timing : timings.subList(0, Math.min(reportSize, timings.size()))) {
+            report.append(String.format("%4d. %7d ms (%7d ms)  %s%n", ++rank,
+                    TimeUnit.NANOSECONDS.toMillis(timing.ownNanos), TimeUnit.NANOSECONDS.toMillis(timing.totalNanos),
+                    timing.name));
+        }
+    }
+
+    private static List<Timing> ranked(Iterable<Timing> timings) {
+        List<Timing> ranked = new ArrayList<>();
+        timings.forEach(ranked::add);
+        ranked.sort(Comparator.comparingLong(Timing::getOwnNanos).reversed());
+        return ranked;
+    }
+
+    private static class Creation {
+
+        private final String beanName;
+        private final long startNanos;
+        private long childNanos;
+
+        Creation(String beanName, long startNanos) {
+            this.beanName = beanName;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /*
+     * The time of a bean or of a listener, a listener that got an event more than once has the
+     * sum of the times and the count.
+     */
+    @Getter
+    public static class Timing {
+
+        private final String name;
+        private final long ownNanos;
+        private final long totalNanos;
+        private final int count;
+
+        Timing(String name, long ownNanos, long totalNanos, int count) {
+            this.name = name;
+            this.ownNanos = ownNanos;
+            this.totalNanos = totalNanos;
+            this.count = count;
+        }
+    }
+}
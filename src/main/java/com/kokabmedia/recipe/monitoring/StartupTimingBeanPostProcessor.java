@@ -0,0 +1,32 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+
+/*
+ * Tells the StartupProfiler when the creation of a bean starts, before it is instantiated, and
+ * when it is finished, after all init methods and the other post processors have run. The time
+ * in between includes the constructor, the injection of the dependencies and the proxies.
+ *
+ * Post processors are created before all other beans, the beans that are created before this
+ * one are not measured.
+ */
+public class StartupTimingBeanPostProcessor implements InstantiationAwareBeanPostProcessor {
+
+    private final StartupProfiler startupProfiler;
+
+    public StartupTimingBeanPostProcessor(StartupProfiler startupProfiler) {
+        this.startupProfiler = startupProfiler;
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        startupProfiler.beanStarted(beanName);
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        startupProfiler.beanFinished(beanName);
+        return bean;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.util.ClassUtils;
+
+/*
+ * Delivers the application events like the default multicaster of the application context and
+ * tells the StartupProfiler how long every listener took for an event. The listeners are named
+ * by their class, listeners of @EventListener methods by their method.
+ */
+public class TimingApplicationEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    private final StartupProfiler startupProfiler;
+
+    public TimingApplicationEventMulticaster(BeanFactory beanFactory, StartupProfiler startupProfiler) {
+        super(beanFactory);
+        this.startupProfiler = startupProfiler;
+    }
+
+    @Override
+    protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        long started = System.nanoTime();
+        try {
+            super.invokeListener(listener, event);
+        } finally {
+            startupProfiler.listenerFinished(name(listener), event.getClass().getSimpleName(),
+                    System.nanoTime() - started);
+        }
+    }
+
+    private static String name(ApplicationListener<?> listener) {
+        if (listener instanceof ApplicationListenerMethodAdapter) {
+            return listener.toString();
+        }
+        return ClassUtils.getUserClass(AopProxyUtils.ultimateTargetClass(listener)).getSimpleName();
+    }
+}
@@ -0,0 +1,35 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/*
+ * Hibernate takes every JDBC connection from its ConnectionProvider and gives it back to it.
+ * This ConnectionProvider works like the default one of Hibernate, that takes the connections
+ * from the DataSource (the HikariCP pool), and reports every connection to the
+ * ConnectionHoldTracker. The DataSource itself is not wrapped, so Spring Boot still binds the
+ * HikariCP pool metrics to it.
+ */
+public class TrackingConnectionProvider extends DatasourceConnectionProviderImpl {
+
+    private final ConnectionHoldTracker connectionHoldTracker;
+
+    public TrackingConnectionProvider(ConnectionHoldTracker connectionHoldTracker) {
+        this.connectionHoldTracker = connectionHoldTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        connectionHoldTracker.acquired(connection);
+        return connection;
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        connectionHoldTracker.released(connection);
+        super.closeConnection(connection);
+    }
+}
@@ -0,0 +1,74 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.springframework.core.InfrastructureProxy;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/*
+ * The JdbcTemplate of the application takes its connections from this DataSource, which takes
+ * them from the HikariCP pool and reports every connection to the ConnectionHoldTracker, like
+ * the TrackingConnectionProvider does for Hibernate. The connection is handed out behind a
+ * proxy that tells the tracker when it is closed, that is given back to the pool.
+ *
+ * Only the JdbcTemplate uses this DataSource, the DataSource bean stays the pool itself, so
+ * Spring Boot still binds the HikariCP pool metrics to it. As an InfrastructureProxy it is
+ * the same DataSource as the pool for the transactions of Spring, a JdbcTemplate in a JPA
+ * transaction uses the connection of the transaction, which the TrackingConnectionProvider
+ * already tracks.
+ */
+public class TrackingDataSource extends DelegatingDataSource implements InfrastructureProxy {
+
+    private final ConnectionHoldTracker connectionHoldTracker;
+
+    public TrackingDataSource(DataSource targetDataSource, ConnectionHoldTracker connectionHoldTracker) {
+        super(targetDataSource);
+        this.connectionHoldTracker = connectionHoldTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public Object getWrappedObject() {
+        return obtainTargetDataSource();
+    }
+
+    private Connection track(Connection connection) {
+        connectionHoldTracker.acquired(connection);
+
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTargetConnection":
+                            return connection;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            connectionHoldTracker.released(connection);
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
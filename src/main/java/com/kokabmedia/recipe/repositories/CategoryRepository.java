@@ -1,8 +1,13 @@
 package com.kokabmedia.recipe.repositories;
 
 import com.kokabmedia.recipe.domain.Category;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
+import javax.persistence.QueryHint;
+
+import java.util.List;
 import java.util.Optional;
 
 /*
@@ -16,6 +21,18 @@ public interface CategoryRepository extends CrudRepository<Category, Long> {
 	/* 
 	 * JPA custom method with special designed names lets Spring understands that we 
 	 * want to retrieve a specific column from the database. 
+	 * 
+	 * The @QueryHints annotation marks the query as cacheable, the result is kept in the Hibernate
+	 * query cache and the Category itself is read from the second level cache.
 	 */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Category> findByDescription(String description);
+
+    /*
+     * The @Query annotation defines a custom JPQL query. This query counts the recipes of every
+     * category in one go and returns rows of category id and recipe count. It is only used to
+     * fill the in-memory recipe counts, never per request.
+     */
+    @Query("select c.id, count(r.id) from Category c join c.recipes r group by c.id")
+    List<Object[]> countRecipesPerCategory();
 }
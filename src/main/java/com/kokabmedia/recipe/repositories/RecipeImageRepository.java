@@ -0,0 +1,25 @@
+package com.kokabmedia.recipe.repositories;
+
+import com.kokabmedia.recipe.domain.RecipeImage;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+/*
+ * Interface that gives access to to CRUD methods for handling data in a database,
+ * the CrudRepository interface has methods that perform SQL queries and lets the 
+ * application create and update data in the database, it takes an entity class 
+ * and the primary key type of that entity as argument.
+ */
+public interface RecipeImageRepository extends CrudRepository<RecipeImage, Long> {
+
+	// Reads only the image bytes of a recipe, null when the recipe has no image
+	@Query("select i.image from RecipeImage i where i.recipeId = :recipeId")
+	Byte[] findImageByRecipeId(@Param("recipeId") Long recipeId);
+
+	// Deletes the image of a recipe without reading it first, the image has to go before its recipe
+	@Modifying
+	@Query("delete from RecipeImage i where i.recipeId = :recipeId")
+	int deleteByRecipeId(@Param("recipeId") Long recipeId);
+}
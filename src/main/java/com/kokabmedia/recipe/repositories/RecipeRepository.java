@@ -1,7 +1,16 @@
 package com.kokabmedia.recipe.repositories;
 
 import com.kokabmedia.recipe.domain.Recipe;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /*
  * Interface that gives access to to CRUD methods for handling data in a database,
@@ -10,4 +19,68 @@ import org.springframework.data.repository.CrudRepository;
  * and the primary key type of that entity as argument.
  */
 public interface RecipeRepository extends CrudRepository<Recipe, Long> {
+
+	/*
+	 * The open session in view is disabled, so everything that the recipe pages read from a 
+	 * Recipe must be loaded before the transaction ends. The @EntityGraph annotation declares 
+	 * this fetch plan, the categories, the notes and the ingredients with their unit of measure
+	 * are loaded together with the recipe in one select with joins instead of one lazy select
+	 * per association.
+	 */
+	@Override
+	@EntityGraph(attributePaths = {"categories", "notes", "ingredients", "ingredients.uom"})
+	Optional<Recipe> findById(Long id);
+
+	/*
+	 * Returns the ids of the categories of a recipe by reading only the recipe_category join table
+	 * and without loading the Recipe or Category entities.
+	 */
+	@Query("select c.id from Recipe r join r.categories c where r.id = :recipeId")
+	Set<Long> findCategoryIdsByRecipeId(@Param("recipeId") Long recipeId);
+
+	/*
+	 * JPA custom method with special designed names lets Spring understands that we want the 
+	 * recipes of one category. The Slice return type reads one page of recipes without running 
+	 * a count query over all recipes of the category.
+	 */
+	Slice<Recipe> findByCategoriesId(Long categoryId, Pageable pageable);
+
+	/*
+	 * Reads the searchable text of the recipes with an id above afterId, ordered by id. The 
+	 * search index is built in pages of recipes by passing the last id of the previous page, 
+	 * the rows are not entities and are not kept in the persistence context.
+	 */
+	@Query("select r.id, r.description, r.directions, n.recipeNotes from Recipe r left join r.notes n "
+			+ "where r.id > :afterId order by r.id")
+	List<Object[]> findSearchTextAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+	// The id and description of the recipes with an id above afterId, ordered by id
+	@Query("select r.id, r.description from Recipe r where r.id > :afterId order by r.id")
+	List<Object[]> findDescriptionsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+	// The recipe id and description of the ingredients of the recipes with an id in the range
+	@Query("select i.recipe.id, i.description from Ingredient i where i.recipe.id > :fromId and i.recipe.id <= :toId")
+	List<Object[]> findIngredientDescriptions(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+	// The id, difficulty, preparation time and cooking time of the recipes with an id above afterId
+	@Query("select r.id, r.difficulty, r.prepTime, r.cookTime from Recipe r where r.id > :afterId order by r.id")
+	List<Object[]> findFacetsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+	// The recipe id and description of the categories of the recipes with an id in the range
+	@Query("select r.id, c.description from Recipe r join r.categories c where r.id > :fromId and r.id <= :toId")
+	List<Object[]> findCategoryDescriptions(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+	/*
+	 * Reads the columns of the recipes with an id above afterId for an export, ordered by id.
+	 * Like the rows of the search index the rows are not entities, the image is never read and
+	 * nothing is kept in the persistence context between the pages of an export.
+	 */
+	@Query("select r.id, r.description, r.prepTime, r.cookTime, r.servings, r.source, r.url, r.difficulty, "
+			+ "r.directions, n.recipeNotes from Recipe r left join r.notes n where r.id > :afterId order by r.id")
+	List<Object[]> findExportAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+	// The recipe id, description, amount and unit of measure of the ingredients of the recipes with an id in the range
+	@Query("select i.recipe.id, i.description, i.amount, u.description from Ingredient i left join i.uom u "
+			+ "where i.recipe.id > :fromId and i.recipe.id <= :toId order by i.id")
+	List<Object[]> findIngredientsForExport(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
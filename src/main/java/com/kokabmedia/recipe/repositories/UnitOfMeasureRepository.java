@@ -1,8 +1,11 @@
 package com.kokabmedia.recipe.repositories;
 
 import com.kokabmedia.recipe.domain.UnitOfMeasure;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
+import javax.persistence.QueryHint;
+
 import java.util.Optional;
 
 /*
@@ -16,6 +19,10 @@ public interface UnitOfMeasureRepository extends CrudRepository<UnitOfMeasure, L
 	/* 
 	 * JPA custom method with special designed names lets Spring understands that we 
 	 * want to retrieve a specific column from the database. 
+	 * 
+	 * The @QueryHints annotation marks the query as cacheable, the result is kept in the Hibernate
+	 * query cache and the UnitOfMeasure itself is read from the second level cache.
 	 */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<UnitOfMeasure> findByDescription(String description);
 }
@@ -0,0 +1,84 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.Arrays;
+
+/*
+ * A set of document numbers with one bit per document, like a java.util.BitSet. Other than a
+ * BitSet it counts the documents that two bitmaps have in common without building their
+ * intersection, the FacetIndex counts every facet value of a result set this way.
+ *
+ * The class is not thread safe, the FacetIndex only uses it under its lock.
+ */
+class Bitmap {
+
+    private long[] words;
+
+    Bitmap() {
+        this(64);
+    }
+
+    // A bitmap with room for the given number of documents, it grows when more are set
+    Bitmap(int documents) {
+        words = new long[Math.max(1, (documents + 63) >>> 6)];
+    }
+
+    void set(int document) {
+        int word = document >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        words[word] |= 1L << document;
+    }
+
+    void clear(int document) {
+        int word = document >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << document);
+        }
+    }
+
+    boolean get(int document) {
+        int word = document >>> 6;
+        return word < words.length && (words[word] & (1L << document)) != 0;
+    }
+
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    // The number of documents in both bitmaps, the size of their intersection
+    int andCardinality(Bitmap other) {
+        long[] otherWords = other.words;
+        int length = Math.min(words.length, otherWords.length);
+        int cardinality = 0;
+
+        for (int i = 0; i < length; i++) {
+            cardinality += Long.bitCount(words[i] & otherWords[i]);
+        }
+        return cardinality;
+    }
+
+    // Keeps only the documents that are in the other bitmap too
+    void and(Bitmap other) {
+        long[] otherWords = other.words;
+        int length = Math.min(words.length, otherWords.length);
+
+        for (int i = 0; i < length; i++) {
+            words[i] &= otherWords[i];
+        }
+        Arrays.fill(words, length, words.length, 0);
+    }
+}
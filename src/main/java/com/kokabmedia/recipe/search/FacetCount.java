@@ -0,0 +1,32 @@
+package com.kokabmedia.recipe.search;
+
+import lombok.Getter;
+
+/*
+ * One value of a facet with the number of recipes of a result set that have it, for example
+ * the category "Mexican" with 1204 recipes.
+ *
+ * Getter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+public class FacetCount {
+
+    private final String facet;
+    private final String value;
+    private final String label;
+    private final int count;
+    private final boolean selected;
+
+    public FacetCount(String facet, String value, String label, int count, boolean selected) {
+        this.facet = facet;
+        this.value = value;
+        this.label = label;
+        this.count = count;
+        this.selected = selected;
+    }
+
+    // The facet and the value as they are written in a request parameter, "category:Mexican"
+    public String getKey() {
+        return FacetIndex.key(facet, value);
+    }
+}
@@ -0,0 +1,247 @@
+package com.kokabmedia.recipe.search;
+
+import com.kokabmedia.recipe.domain.Difficulty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Counts the recipes of a result set per difficulty, category and total time, the facets that
+ * are shown next to the search results ("Mexican (1,204) · Easy (830) · 30 min or less (412)").
+ *
+ * Every recipe gets a document number, and every value of a facet has a Bitmap with the
+ * numbers of the recipes that have the value. A result set is turned into a bitmap too, the
+ * count of a value is the number of bits the two bitmaps have in common. Counting never looks
+ * at the recipes themselves and never asks the database to group them, it reads one word for
+ * every 64 recipes and value.
+ *
+ * A recipe is in the time bucket of every limit its preparation and cooking time is within, a
+ * recipe of 20 minutes is counted for 30 and for 60 minutes or less. The numbers of removed
+ * recipes are given to the next new recipes, so the bitmaps do not grow with every change.
+ *
+ * The index is safe for concurrent use, any number of counts run at the same time and a change
+ * waits until they are finished.
+ */
+public class FacetIndex {
+
+    public static final String DIFFICULTY = "difficulty";
+    public static final String CATEGORY = "category";
+    public static final String TIME = "time";
+
+    // The limits of the time buckets in minutes, longer recipes are in the LONGER bucket
+    static final int[] TIME_LIMITS = {15, 30, 60};
+    static final String LONGER = "longer";
+
+    private static final List<String> FACETS = Arrays.asList(DIFFICULTY, CATEGORY, TIME);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // The bitmap of every facet value, the key is the facet and the value, "category:Mexican"
+    private final Map<String, Bitmap> bitmaps = new HashMap<>();
+
+    private final LongIntMap documentsByRecipeId = new LongIntMap();
+    private String[][] documentValues = new String[64][];
+    private int[] freeDocuments = new int[16];
+    private int freeCount;
+    private int documentCount;
+
+    public static String key(String facet, String value) {
+        return facet + ":" + value;
+    }
+
+    // The facet values of a recipe, the categories are given by their description
+    public static List<String> values(Difficulty difficulty, Collection<String> categories,
+                                      Integer prepTime, Integer cookTime) {
+        List<String> values = new ArrayList<>();
+
+        if (difficulty != null) {
+            values.add(key(DIFFICULTY, difficulty.name()));
+        }
+        for (String category : categories) {
+            if (category != null) {
+                values.add(key(CATEGORY, category));
+            }
+        }
+        if (prepTime != null || cookTime != null) {
+            int totalTime = (prepTime == null ? 0 : prepTime) + (cookTime == null ? 0 : cookTime);
+            for (int limit : TIME_LIMITS) {
+                if (totalTime <= limit) {
+                    values.add(key(TIME, String.valueOf(limit)));
+                }
+            }
+            if (totalTime > TIME_LIMITS[TIME_LIMITS.length - 1]) {
+                values.add(key(TIME, LONGER));
+            }
+        }
+        return values;
+    }
+
+    // Adds the recipe with its facet values to the index or replaces it
+    public void put(Long recipeId, Collection<String> values) {
+        String[] keys = new LinkedHashSet<>(values).toArray(new String[0]);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(recipeId);
+
+            int document = freeCount > 0 ? freeDocuments[--freeCount] : documentCount++;
+            if (document == documentValues.length) {
+                documentValues = Arrays.copyOf(documentValues, document * 2);
+            }
+
+            for (String key : keys) {
+                bitmaps.computeIfAbsent(key, newKey -> new Bitmap()).set(document);
+            }
+            documentValues[document] = keys;
+            documentsByRecipeId.put(recipeId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The number of indexed recipes
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsByRecipeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Counts the recipes of the result set that have the selected values, per facet value. The
+     * facets are returned in the order difficulty, category and time, values that no recipe of
+     * the result set has are left out unless they are selected. Recipe ids that are not in the
+     * index are ignored.
+     */
+    public Map<String, List<FacetCount>> count(long[] recipeIds, Collection<String> selected) {
+        Set<String> selectedKeys = new HashSet<>(selected);
+        Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+
+        lock.readLock().lock();
+        try {
+            Bitmap results = new Bitmap(documentCount);
+            for (long recipeId : recipeIds) {
+                int document = documentsByRecipeId.get(recipeId);
+                if (document >= 0) {
+                    results.set(document);
+                }
+            }
+            for (String key : selectedKeys) {
+                results.and(bitmaps.getOrDefault(key, new Bitmap()));
+            }
+
+            for (String facet : FACETS) {
+                counts.put(facet, new ArrayList<>());
+            }
+            for (Map.Entry<String, Bitmap> entry : bitmaps.entrySet()) {
+                String key = entry.getKey();
+                int count = results.andCardinality(entry.getValue());
+                if (count > 0 || selectedKeys.contains(key)) {
+                    counts.get(facet(key)).add(facetCount(key, count, selectedKeys.contains(key)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        counts.get(DIFFICULTY).sort(Comparator.comparing(count -> Difficulty.valueOf(count.getValue())));
+        counts.get(CATEGORY).sort(Comparator.comparing(FacetCount::getCount).reversed()
+                .thenComparing(FacetCount::getLabel));
+        counts.get(TIME).sort(Comparator.comparing(count -> timeOrder(count.getValue())));
+
+        counts.values().removeIf(List::isEmpty);
+        return counts;
+    }
+
+    // True when the recipe has all of the selected values
+    public boolean matches(Long recipeId, Collection<String> selected) {
+        lock.readLock().lock();
+        try {
+            int document = documentsByRecipeId.get(recipeId);
+            if (document < 0) {
+                return selected.isEmpty();
+            }
+
+            for (String key : selected) {
+                Bitmap bitmap = bitmaps.get(key);
+                if (bitmap == null || !bitmap.get(document)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long recipeId) {
+        int document = documentsByRecipeId.remove(recipeId);
+        if (document < 0) {
+            return;
+        }
+
+        for (String key : documentValues[document]) {
+            Bitmap bitmap = bitmaps.get(key);
+            bitmap.clear(document);
+            // the value of a deleted category or of a recipe that changed is not shown anymore
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+        documentValues[document] = null;
+
+        if (freeCount == freeDocuments.length) {
+            freeDocuments = Arrays.copyOf(freeDocuments, freeCount * 2);
+        }
+        freeDocuments[freeCount++] = document;
+    }
+
+    private static String facet(String key) {
+        return key.substring(0, key.indexOf(':'));
+    }
+
+    private static FacetCount facetCount(String key, int count, boolean selected) {
+        String facet = facet(key);
+        String value = key.substring(facet.length() + 1);
+        return new FacetCount(facet, value, label(facet, value), count, selected);
+    }
+
+    private static String label(String facet, String value) {
+        switch (facet) {
+            case DIFFICULTY:
+                // KIND_OF_HARD is shown as "Kind of hard"
+                return value.charAt(0) + value.substring(1).toLowerCase().replace('_', ' ');
+            case TIME:
+                return LONGER.equals(value) ? "Over " + TIME_LIMITS[TIME_LIMITS.length - 1] + " min"
+                        : value + " min or less";
+            default:
+                return value;
+        }
+    }
+
+    private static int timeOrder(String value) {
+        return LONGER.equals(value) ? Integer.MAX_VALUE : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,65 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Maps the normalized descriptions of the ingredients to dense ids, the first ingredient gets
+ * id 0, the next one id 1 and so on. The ids are the bit positions of the ingredient sets of
+ * the PantryIndex.
+ *
+ * Two descriptions are the same ingredient when they have the same terms, "Kosher Salt" and
+ * "kosher  salt" get the same id. The ingredients that are registered first get the smallest
+ * ids, when the most common ingredients are registered first their bits share the first words
+ * of the bit sets.
+ *
+ * The vocabulary is not thread safe, the PantryIndex only changes it under its write lock.
+ */
+public class IngredientVocabulary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    // The terms of the description in lower case separated by single spaces
+    public static String normalize(String description) {
+        StringBuilder normalized = new StringBuilder();
+
+        Tokenizer.tokenize(description, (term, start, end) -> {
+            if (normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(term);
+        });
+
+        return normalized.toString();
+    }
+
+    // Returns the id of a normalized description and registers descriptions that are new
+    public int id(String normalized) {
+        Integer id = ids.get(normalized);
+
+        if (id == null) {
+            id = names.size();
+            ids.put(normalized, id);
+            names.add(normalized);
+        }
+        return id;
+    }
+
+    // Returns the id of a normalized description or -1 when the ingredient is not known
+    public int find(String normalized) {
+        Integer id = ids.get(normalized);
+
+        return id == null ? -1 : id;
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
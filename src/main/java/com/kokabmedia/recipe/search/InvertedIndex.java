@@ -0,0 +1,476 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/*
+ * In memory inverted index over the text of the recipes, ranked with BM25.
+ *
+ * Every indexed recipe gets a dense document number. For every term the index keeps a posting
+ * list, the numbers of the documents that contain the term and how often they contain it, in
+ * two int arrays. A search only reads the posting lists of the query terms, so its cost depends
+ * on how many recipes contain the terms and not on the number of recipes.
+ *
+ * The fields are weighted by counting a term in the description three times and in an
+ * ingredient twice, a recipe that has the query in its title ranks above a recipe that only
+ * mentions it in the directions.
+ *
+ * A fuzzy search also finds the recipes whose description has a word that is spelled like a
+ * query term. The words of the descriptions are kept in a TrigramIndex, every query term is
+ * expanded with the similar words, which count less the more edits they are away from it.
+ *
+ * A replaced or removed recipe is only marked as deleted, its postings are skipped by the
+ * search. When a quarter of the documents are deleted the posting lists are compacted.
+ *
+ * Searches run in parallel under the read lock, changes take the write lock.
+ */
+public class InvertedIndex {
+
+    // BM25 term frequency saturation and document length normalisation
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    static final int DESCRIPTION_WEIGHT = 3;
+    static final int INGREDIENT_WEIGHT = 2;
+    static final int TEXT_WEIGHT = 1;
+
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+
+    /*
+     * The scores of one search, one entry per document. Allocating new arrays for every search
+     * would create megabytes of garbage per search on a large index, every thread reuses its
+     * Scores. A score only counts when its document is stamped with the generation of the
+     * current search, so a search never has to clear the scores of the one before, also not
+     * when it failed half way, and a score of 0 is not mistaken for an untouched document.
+     */
+    private static final class Scores {
+        float[] values = new float[0];
+        int[] generations = new int[0];
+        int generation;
+
+        void start(int documentCount) {
+            if (values.length < documentCount) {
+                int capacity = Math.max(documentCount, values.length * 2);
+                values = new float[capacity];
+                generations = new int[capacity];
+            }
+            if (++generation == 0) {
+                Arrays.fill(generations, 0);
+                generation = 1;
+            }
+        }
+
+        // Returns true the first time the document is scored in this search
+        boolean touch(int document) {
+            if (generations[document] == generation) {
+                return false;
+            }
+            generations[document] = generation;
+            values[document] = 0;
+            return true;
+        }
+    }
+
+    private final ThreadLocal<Scores> scoreArrays = ThreadLocal.withInitial(Scores::new);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TrigramIndex descriptionWords = new TrigramIndex();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[][] postingDocuments = new int[64][];
+    private int[][] postingFrequencies = new int[64][];
+    private int[] postingSizes = new int[64];
+    private int[] documentFrequencies = new int[64];
+    private int termCount;
+
+    private final Map<Long, Integer> documentsByRecipeId = new HashMap<>();
+    private SearchDocument[] documents = new SearchDocument[64];
+    private int[] documentLengths = new int[64];
+    private int[][] documentTerms = new int[64][];
+    private final BitSet deleted = new BitSet();
+    private int documentCount;
+    private int deletedCount;
+    private long totalLength;
+
+    // Adds the recipe of the document to the index or replaces it
+    public void put(SearchDocument document) {
+        Map<String, Integer> frequencies = termFrequencies(document);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.getRecipeId());
+            addDocument(document, frequencies);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(recipeId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The number of indexed recipes
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsByRecipeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int maxHits) {
+        return search(query, maxHits, false);
+    }
+
+    /*
+     * Returns the best maxHits recipes for the query, the best first. A recipe matches when it
+     * contains at least one of the query terms, or with fuzzy a word that is spelled like one.
+     */
+    public List<SearchHit> search(String query, int maxHits, boolean fuzzy) {
+        return search(query, maxHits, fuzzy, recipeId -> true);
+    }
+
+    /*
+     * Like search(query, maxHits, fuzzy), but only the recipes the filter accepts are hits. The
+     * filter is only asked about the recipes that would be among the best maxHits, not about
+     * every recipe that matches.
+     */
+    public List<SearchHit> search(String query, int maxHits, boolean fuzzy, Predicate<Long> filter) {
+        Set<String> queryTerms = Tokenizer.terms(query);
+
+        if (queryTerms.isEmpty() || maxHits <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Float> terms;
+
+        List<SearchDocument> topDocuments = new ArrayList<>();
+        List<Float> topScores = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            int liveDocuments = documentsByRecipeId.size();
+            if (liveDocuments == 0) {
+                return Collections.emptyList();
+            }
+
+            terms = fuzzy ? fuzzyTerms(queryTerms) : exactTerms(queryTerms);
+
+            float averageLength = (float) totalLength / liveDocuments;
+            Scores documentScores = scoreArrays.get();
+            documentScores.start(documentCount);
+            float[] scores = documentScores.values;
+
+            // The documents with a score, the top hits are only looked for among them
+            int[] matches = new int[64];
+            int matchCount = 0;
+
+            for (Map.Entry<String, Float> term : terms.entrySet()) {
+                Integer termId = termIds.get(term.getKey());
+                if (termId == null || documentFrequencies[termId] == 0) {
+                    continue;
+                }
+
+                float idf = idf(documentFrequencies[termId], liveDocuments) * term.getValue();
+                int[] postings = postingDocuments[termId];
+                int[] frequencies = postingFrequencies[termId];
+                int size = postingSizes[termId];
+
+                for (int i = 0; i < size; i++) {
+                    int document = postings[i];
+                    if (deleted.get(document)) {
+                        continue;
+                    }
+                    if (documentScores.touch(document)) {
+                        if (matchCount == matches.length) {
+                            matches = Arrays.copyOf(matches, matchCount * 2);
+                        }
+                        matches[matchCount++] = document;
+                    }
+                    float frequency = frequencies[i];
+                    float norm = K1 * (1 - B + B * documentLengths[document] / averageLength);
+                    scores[document] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+
+            for (int document : topDocuments(scores, matches, matchCount, maxHits, filter)) {
+                topDocuments.add(documents[document]);
+                topScores.add(scores[document]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // The documents never change, the snippets are built outside of the lock
+        List<SearchHit> hits = new ArrayList<>(topDocuments.size());
+        for (int i = 0; i < topDocuments.size(); i++) {
+            SearchDocument document = topDocuments.get(i);
+            hits.add(new SearchHit(document.getRecipeId(), document.getDescription(), topScores.get(i),
+                    Snippets.build(document, terms.keySet())));
+        }
+        return hits;
+    }
+
+    /*
+     * Returns the ids of all recipes that match the query, in no particular order. Nothing is
+     * scored, the facet counts of a search are counted over these recipes.
+     */
+    public long[] findRecipeIds(String query, boolean fuzzy) {
+        Set<String> queryTerms = Tokenizer.terms(query);
+
+        if (queryTerms.isEmpty()) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Float> terms = fuzzy ? fuzzyTerms(queryTerms) : exactTerms(queryTerms);
+
+            BitSet found = new BitSet(documentCount);
+            for (String term : terms.keySet()) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    continue;
+                }
+
+                int[] postings = postingDocuments[termId];
+                for (int i = 0; i < postingSizes[termId]; i++) {
+                    found.set(postings[i]);
+                }
+            }
+            found.andNot(deleted);
+
+            long[] recipeIds = new long[found.cardinality()];
+            int i = 0;
+            for (int document = found.nextSetBit(0); document >= 0; document = found.nextSetBit(document + 1)) {
+                recipeIds[i++] = documents[document].getRecipeId();
+            }
+            return recipeIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Float> exactTerms(Set<String> queryTerms) {
+        Map<String, Float> terms = new LinkedHashMap<>();
+        for (String term : queryTerms) {
+            terms.put(term, 1f);
+        }
+        return terms;
+    }
+
+    // The query terms and the words of the descriptions that are spelled like them
+    private Map<String, Float> fuzzyTerms(Set<String> queryTerms) {
+        Map<String, Float> terms = exactTerms(queryTerms);
+
+        for (String queryTerm : queryTerms) {
+            for (Map.Entry<String, Integer> word : descriptionWords.similarWords(queryTerm).entrySet()) {
+                terms.merge(word.getKey(), 1f / (1 + word.getValue()), Math::max);
+            }
+        }
+        return terms;
+    }
+
+    static float idf(int documentFrequency, int documents) {
+        return (float) Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    // Keeps the best documents in a min heap of maxHits entries, equal scores keep the older recipe first
+    private int[] topDocuments(float[] scores, int[] matches, int matchCount, int maxHits, Predicate<Long> filter) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(maxHits + 1,
+                (a, b) -> scores[a] != scores[b] ? Float.compare(scores[a], scores[b]) : Integer.compare(b, a));
+
+        // The matches are in the order they were found, not in document order, equal scores
+        // compare the document numbers
+        for (int i = 0; i < matchCount; i++) {
+            int document = matches[i];
+            float score = scores[document];
+            if (heap.size() < maxHits) {
+                if (filter.test(documents[document].getRecipeId())) {
+                    heap.add(document);
+                }
+            } else if (heap.comparator().compare(document, heap.peek()) > 0
+                    && filter.test(documents[document].getRecipeId())) {
+                heap.poll();
+                heap.add(document);
+            }
+        }
+
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    private static Map<String, Integer> termFrequencies(SearchDocument document) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+
+        count(frequencies, document.getDescription(), DESCRIPTION_WEIGHT);
+        for (String ingredient : document.getIngredients()) {
+            count(frequencies, ingredient, INGREDIENT_WEIGHT);
+        }
+        count(frequencies, document.getDirections(), TEXT_WEIGHT);
+        count(frequencies, document.getNotes(), TEXT_WEIGHT);
+
+        return frequencies;
+    }
+
+    private static void count(Map<String, Integer> frequencies, String text, int weight) {
+        Tokenizer.tokenize(text, (term, start, end) -> frequencies.merge(term, weight, Integer::sum));
+    }
+
+    private void addDocument(SearchDocument document, Map<String, Integer> frequencies) {
+        int number = documentCount++;
+        ensureDocumentCapacity(documentCount);
+
+        int[] terms = new int[frequencies.size()];
+        int length = 0;
+        int i = 0;
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            int termId = termId(entry.getKey());
+            appendPosting(termId, number, entry.getValue());
+            documentFrequencies[termId]++;
+            terms[i++] = termId;
+            length += entry.getValue();
+        }
+
+        for (String word : Tokenizer.terms(document.getDescription())) {
+            descriptionWords.add(word);
+        }
+
+        documents[number] = document;
+        documentLengths[number] = length;
+        documentTerms[number] = terms;
+        documentsByRecipeId.put(document.getRecipeId(), number);
+        totalLength += length;
+    }
+
+    private void removeDocument(Long recipeId) {
+        Integer number = documentsByRecipeId.remove(recipeId);
+        if (number == null) {
+            return;
+        }
+
+        for (int termId : documentTerms[number]) {
+            documentFrequencies[termId]--;
+        }
+
+        for (String word : Tokenizer.terms(documents[number].getDescription())) {
+            descriptionWords.remove(word);
+        }
+
+        totalLength -= documentLengths[number];
+        documents[number] = null;
+        documentTerms[number] = null;
+        deleted.set(number);
+        deletedCount++;
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_DELETED_FOR_COMPACTION || deletedCount * 4 < documentCount) {
+            return;
+        }
+
+        // The documents keep their order, so the posting lists stay sorted
+        int[] newNumbers = new int[documentCount];
+        int next = 0;
+        for (int number = 0; number < documentCount; number++) {
+            if (deleted.get(number)) {
+                newNumbers[number] = -1;
+            } else {
+                newNumbers[number] = next;
+                documents[next] = documents[number];
+                documentLengths[next] = documentLengths[number];
+                documentTerms[next] = documentTerms[number];
+                next++;
+            }
+        }
+        Arrays.fill(documents, next, documentCount, null);
+        Arrays.fill(documentTerms, next, documentCount, null);
+
+        for (int termId = 0; termId < termCount; termId++) {
+            int[] postings = postingDocuments[termId];
+            int[] frequencies = postingFrequencies[termId];
+            int size = 0;
+
+            for (int i = 0; i < postingSizes[termId]; i++) {
+                int newNumber = newNumbers[postings[i]];
+                if (newNumber >= 0) {
+                    postings[size] = newNumber;
+                    frequencies[size] = frequencies[i];
+                    size++;
+                }
+            }
+            postingSizes[termId] = size;
+        }
+
+        documentsByRecipeId.replaceAll((recipeId, number) -> newNumbers[number]);
+        deleted.clear();
+        deletedCount = 0;
+        documentCount = next;
+    }
+
+    private int termId(String term) {
+        Integer termId = termIds.get(term);
+        if (termId != null) {
+            return termId;
+        }
+
+        if (termCount == postingDocuments.length) {
+            int capacity = termCount * 2;
+            postingDocuments = Arrays.copyOf(postingDocuments, capacity);
+            postingFrequencies = Arrays.copyOf(postingFrequencies, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+            documentFrequencies = Arrays.copyOf(documentFrequencies, capacity);
+        }
+
+        postingDocuments[termCount] = new int[4];
+        postingFrequencies[termCount] = new int[4];
+        termIds.put(term, termCount);
+        return termCount++;
+    }
+
+    private void appendPosting(int termId, int document, int frequency) {
+        int size = postingSizes[termId];
+
+        if (size == postingDocuments[termId].length) {
+            postingDocuments[termId] = Arrays.copyOf(postingDocuments[termId], size * 2);
+            postingFrequencies[termId] = Arrays.copyOf(postingFrequencies[termId], size * 2);
+        }
+
+        postingDocuments[termId][size] = document;
+        postingFrequencies[termId][size] = frequency;
+        postingSizes[termId] = size + 1;
+    }
+
+    private void ensureDocumentCapacity(int capacity) {
+        if (capacity > documents.length) {
+            int newCapacity = Math.max(capacity, documents.length * 2);
+            documents = Arrays.copyOf(documents, newCapacity);
+            documentLengths = Arrays.copyOf(documentLengths, newCapacity);
+            documentTerms = Arrays.copyOf(documentTerms, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.Arrays;
+
+/*
+ * A hash map from long keys to int values, for the document numbers of the recipe ids. The
+ * keys and values are kept in two arrays with open addressing, a lookup reads one or two
+ * neighbouring slots instead of following a HashMap node to a boxed Long and Integer. The
+ * FacetIndex looks up every recipe of a result set, that is where the time of a count goes.
+ *
+ * Values must not be negative, get() returns -1 for a missing key.
+ *
+ * The class is not thread safe, the FacetIndex only uses it under its lock.
+ */
+class LongIntMap {
+
+    private static final int MISSING = -1;
+
+    private long[] keys = new long[16];
+    private int[] values = newValues(16);
+    private int size;
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            int value = values[slot];
+            if (value == MISSING || keys[slot] == key) {
+                return value;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        // at most half of the slots are used, the probe sequences stay short
+        if (size * 2 >= keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (values[slot] != MISSING && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == MISSING) {
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    // Removes the key and returns its value, or -1 when it is missing
+    int remove(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (values[slot] != MISSING && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        int value = values[slot];
+        if (value == MISSING) {
+            return MISSING;
+        }
+        size--;
+
+        // The following keys of the probe sequence move up, so no lookup stops at the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != MISSING; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = MISSING;
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new long[capacity];
+        values = newValues(capacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != MISSING) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int[] newValues(int capacity) {
+        int[] values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        return values;
+    }
+}
@@ -0,0 +1,365 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * In memory index of the ingredient sets of the recipes for the "what can I cook" search.
+ *
+ * Every ingredient has a dense id in the IngredientVocabulary and the ingredients of a recipe
+ * are kept as a bit set with one bit per ingredient id. A recipe only has a few ingredients
+ * out of thousands, so its bit set is stored sparse, only the 64 bit words that have a bit set
+ * are kept together with their position. The pantry of a search is a normal bit set, the
+ * number of ingredients of a recipe that are in the pantry is the popcount of the AND of the
+ * words of the recipe with the same words of the pantry.
+ *
+ * The words of all recipes are stored one after the other in two flat arrays, a search reads
+ * them from start to end instead of following two array references per recipe. A replaced or
+ * removed recipe leaves its words unused, the arrays are compacted when half of the words are
+ * unused.
+ *
+ * A search looks at every recipe. The recipes are split into chunks that are searched in
+ * parallel on the common fork join pool, every chunk keeps its best recipes and the best of
+ * all chunks are the result. The recipes are ranked by the share of their ingredients that
+ * are in the pantry, then by the number of these ingredients.
+ *
+ * Searches run in parallel under the read lock, changes take the write lock.
+ */
+public class PantryIndex {
+
+    static final int CHUNK_SIZE = 16384;
+
+    private static final int MIN_UNUSED_WORDS_FOR_COMPACTION = 4096;
+
+    private static final long[] NO_WORDS = new long[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IngredientVocabulary vocabulary = new IngredientVocabulary();
+
+    private final Map<Long, Integer> documentsByRecipeId = new HashMap<>();
+    // The recipe ids are not boxed, equal scores compare them for every recipe
+    private long[] recipeIds = new long[64];
+    private String[] descriptions = new String[64];
+    private int[] ingredientCounts = new int[64];
+    private int[] firstWords = new int[64];
+    private int[] wordCounts = new int[64];
+    private int documentCount;
+
+    // The position of every word in the bit set of its recipe and the bits of the word
+    private int[] wordPositions = new int[256];
+    private long[] wordBits = new long[256];
+    private int usedWords;
+    private int unusedWords;
+
+    public PantryIndex() {
+    }
+
+    /*
+     * Creates an index whose vocabulary starts with the given normalized ingredients, the most
+     * common ingredients should come first so that most bit sets only need a few words.
+     */
+    public PantryIndex(Collection<String> commonIngredients) {
+        for (String ingredient : commonIngredients) {
+            vocabulary.id(ingredient);
+        }
+    }
+
+    // Adds the ingredients of a recipe to the index or replaces them
+    public void put(Long recipeId, String description, Collection<String> ingredients) {
+        lock.writeLock().lock();
+        try {
+            TreeSet<Integer> ids = new TreeSet<>();
+            for (String ingredient : ingredients) {
+                String normalized = IngredientVocabulary.normalize(ingredient);
+                if (!normalized.isEmpty()) {
+                    ids.add(vocabulary.id(normalized));
+                }
+            }
+
+            Integer number = documentsByRecipeId.get(recipeId);
+            if (number == null) {
+                number = documentCount++;
+                ensureDocumentCapacity(documentCount);
+                documentsByRecipeId.put(recipeId, number);
+            } else {
+                unusedWords += wordCounts[number];
+            }
+
+            recipeIds[number] = recipeId;
+            descriptions[number] = description;
+            ingredientCounts[number] = ids.size();
+            appendWords(number, ids);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Removes a recipe, the last recipe takes its place so the recipes stay dense
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            Integer number = documentsByRecipeId.remove(recipeId);
+            if (number == null) {
+                return;
+            }
+
+            unusedWords += wordCounts[number];
+
+            int last = --documentCount;
+            if (number != last) {
+                recipeIds[number] = recipeIds[last];
+                descriptions[number] = descriptions[last];
+                ingredientCounts[number] = ingredientCounts[last];
+                firstWords[number] = firstWords[last];
+                wordCounts[number] = wordCounts[last];
+                documentsByRecipeId.put(recipeIds[number], number);
+            }
+
+            recipeIds[last] = 0;
+            descriptions[last] = null;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The number of indexed recipes
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The number of different ingredients of all recipes
+    public int ingredientCount() {
+        lock.readLock().lock();
+        try {
+            return vocabulary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Returns the best maxHits recipes for the ingredients in the pantry, the best first. A
+     * recipe is found when at least one of its ingredients is in the pantry.
+     */
+    public List<PantryMatch> search(Collection<String> pantry, int maxHits) {
+        if (maxHits <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] pantryWords = pantryWords(pantry);
+            if (pantryWords.length == 0) {
+                return Collections.emptyList();
+            }
+
+            int chunks = (documentCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+            // The read lock of this thread keeps the index from changing while the chunks are searched
+            List<Candidate> best = IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(chunk -> searchChunk(chunk, pantryWords, maxHits))
+                    .flatMap(List::stream)
+                    .sorted(bestFirst())
+                    .limit(maxHits)
+                    .collect(Collectors.toList());
+
+            List<PantryMatch> matches = new ArrayList<>(best.size());
+            for (Candidate candidate : best) {
+                int number = candidate.document;
+                matches.add(new PantryMatch(recipeIds[number], descriptions[number], candidate.matched,
+                        ingredientCounts[number], missingIngredients(number, pantryWords)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The pantry as a bit set of ingredient ids, empty when none of the ingredients is known
+    private long[] pantryWords(Collection<String> pantry) {
+        long[] pantryWords = NO_WORDS;
+
+        for (String ingredient : pantry) {
+            int id = vocabulary.find(IngredientVocabulary.normalize(ingredient));
+            if (id < 0) {
+                continue;
+            }
+            if (id >> 6 >= pantryWords.length) {
+                pantryWords = Arrays.copyOf(pantryWords, (id >> 6) + 1);
+            }
+            pantryWords[id >> 6] |= 1L << id;
+        }
+        return pantryWords;
+    }
+
+    // Keeps the best recipes of one chunk in a min heap of maxHits entries
+    private List<Candidate> searchChunk(int chunk, long[] pantryWords, int maxHits) {
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(maxHits + 1, bestFirst().reversed());
+
+        int end = Math.min(documentCount, (chunk + 1) * CHUNK_SIZE);
+        for (int number = chunk * CHUNK_SIZE; number < end; number++) {
+            int word = firstWords[number];
+            int lastWord = word + wordCounts[number];
+            int matched = 0;
+
+            for (; word < lastWord && wordPositions[word] < pantryWords.length; word++) {
+                matched += Long.bitCount(wordBits[word] & pantryWords[wordPositions[word]]);
+            }
+
+            if (matched == 0) {
+                continue;
+            }
+
+            // Most recipes are not better than the worst of the heap, they are skipped without allocating
+            if (heap.size() < maxHits || isBetter(number, matched, heap.peek())) {
+                if (heap.size() == maxHits) {
+                    heap.poll();
+                }
+                heap.add(new Candidate(number, matched, ingredientCounts[number], recipeIds[number]));
+            }
+        }
+        return new ArrayList<>(heap);
+    }
+
+    private boolean isBetter(int number, int matched, Candidate other) {
+        long coverage = (long) matched * other.ingredientCount;
+        long otherCoverage = (long) other.matched * ingredientCounts[number];
+
+        if (coverage != otherCoverage) {
+            return coverage > otherCoverage;
+        }
+        if (matched != other.matched) {
+            return matched > other.matched;
+        }
+        return recipeIds[number] < other.recipeId;
+    }
+
+    // The higher share of matched ingredients first, then more matched ingredients, then the older recipe
+    private static Comparator<Candidate> bestFirst() {
+        return (a, b) -> {
+            int coverage = Long.compare((long) b.matched * a.ingredientCount, (long) a.matched * b.ingredientCount);
+            if (coverage != 0) {
+                return coverage;
+            }
+            if (a.matched != b.matched) {
+                return Integer.compare(b.matched, a.matched);
+            }
+            return Long.compare(a.recipeId, b.recipeId);
+        };
+    }
+
+    private List<String> missingIngredients(int number, long[] pantryWords) {
+        List<String> missing = new ArrayList<>();
+        int lastWord = firstWords[number] + wordCounts[number];
+
+        for (int word = firstWords[number]; word < lastWord; word++) {
+            int position = wordPositions[word];
+            long bits = position < pantryWords.length ? wordBits[word] & ~pantryWords[position] : wordBits[word];
+            while (bits != 0) {
+                missing.add(vocabulary.name(position * 64 + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return missing;
+    }
+
+    // Appends the sorted ingredient ids of a recipe as the words of a sparse bit set
+    private void appendWords(int number, TreeSet<Integer> ids) {
+        ensureWordCapacity(usedWords + ids.size());
+
+        int first = usedWords;
+        int last = first - 1;
+
+        for (int id : ids) {
+            if (last < first || wordPositions[last] != id >> 6) {
+                last++;
+                wordPositions[last] = id >> 6;
+                wordBits[last] = 0;
+            }
+            wordBits[last] |= 1L << id;
+        }
+
+        firstWords[number] = first;
+        wordCounts[number] = last - first + 1;
+        usedWords = last + 1;
+    }
+
+    // Copies the words of the recipes in their order into new arrays without the unused words
+    private void compactIfNeeded() {
+        if (unusedWords < MIN_UNUSED_WORDS_FOR_COMPACTION || unusedWords * 2 < usedWords) {
+            return;
+        }
+
+        int capacity = Math.max(256, (usedWords - unusedWords) * 3 / 2);
+        int[] newPositions = new int[capacity];
+        long[] newBits = new long[capacity];
+        int next = 0;
+
+        for (int number = 0; number < documentCount; number++) {
+            System.arraycopy(wordPositions, firstWords[number], newPositions, next, wordCounts[number]);
+            System.arraycopy(wordBits, firstWords[number], newBits, next, wordCounts[number]);
+            firstWords[number] = next;
+            next += wordCounts[number];
+        }
+
+        wordPositions = newPositions;
+        wordBits = newBits;
+        usedWords = next;
+        unusedWords = 0;
+    }
+
+    private void ensureWordCapacity(int capacity) {
+        if (capacity > wordPositions.length) {
+            int newCapacity = Math.max(capacity, wordPositions.length * 2);
+            wordPositions = Arrays.copyOf(wordPositions, newCapacity);
+            wordBits = Arrays.copyOf(wordBits, newCapacity);
+        }
+    }
+
+    private void ensureDocumentCapacity(int capacity) {
+        if (capacity > recipeIds.length) {
+            int newCapacity = Math.max(capacity, recipeIds.length * 2);
+            recipeIds = Arrays.copyOf(recipeIds, newCapacity);
+            descriptions = Arrays.copyOf(descriptions, newCapacity);
+            ingredientCounts = Arrays.copyOf(ingredientCounts, newCapacity);
+            firstWords = Arrays.copyOf(firstWords, newCapacity);
+            wordCounts = Arrays.copyOf(wordCounts, newCapacity);
+        }
+    }
+
+    private static final class Candidate {
+
+        final int document;
+        final int matched;
+        final int ingredientCount;
+        final long recipeId;
+
+        Candidate(int document, int matched, int ingredientCount, long recipeId) {
+            this.document = document;
+            this.matched = matched;
+            this.ingredientCount = ingredientCount;
+            this.recipeId = recipeId;
+        }
+    }
+}
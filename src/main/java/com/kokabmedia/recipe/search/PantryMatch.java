@@ -0,0 +1,35 @@
+package com.kokabmedia.recipe.search;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+ * One recipe found by a pantry search, with the number of its ingredients that are in the
+ * pantry and the ingredients that are missing.
+ *
+ * Getter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+public class PantryMatch {
+
+    private final Long recipeId;
+    private final String description;
+    private final int matchedIngredients;
+    private final int ingredientCount;
+    private final List<String> missingIngredients;
+
+    public PantryMatch(Long recipeId, String description, int matchedIngredients, int ingredientCount,
+                       List<String> missingIngredients) {
+        this.recipeId = recipeId;
+        this.description = description;
+        this.matchedIngredients = matchedIngredients;
+        this.ingredientCount = ingredientCount;
+        this.missingIngredients = missingIngredients;
+    }
+
+    // The share of the ingredients of the recipe that are in the pantry, between 0 and 1
+    public double getCoverage() {
+        return ingredientCount == 0 ? 0 : (double) matchedIngredients / ingredientCount;
+    }
+}
@@ -0,0 +1,355 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * In memory index for typeahead completions. The index counts how often every text was added
+ * and completes a prefix with the most frequent texts that start with it.
+ *
+ * The texts are kept in a radix tree, a trie whose edges are labeled with whole strings
+ * instead of single characters, so the tree only has about two nodes per text. Every node
+ * keeps the MAX_SUGGESTIONS most frequent texts below it, a completion walks down the
+ * characters of the prefix and returns the list of the node it ends in. Its cost does not
+ * depend on how many texts start with the prefix.
+ *
+ * Adding or removing a text changes the count of one node, only the lists of the nodes on
+ * the path from the root to this node change. A text whose count goes up can only move up in
+ * these lists, a list is only merged again from the lists of the children when a text whose
+ * count goes down may have to leave it.
+ *
+ * Texts are compared in lower case with single spaces, "Red  Onion" and "red onion" are the
+ * same text. The completions show the spelling that was added first.
+ *
+ * Completions run in parallel under the read lock, changes take the write lock.
+ */
+public class PrefixIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // More frequent texts first, equal counts in alphabetical order
+    private static final Comparator<Node> MOST_FREQUENT_FIRST =
+            Comparator.comparingInt((Node node) -> -node.count).thenComparing(node -> node.key);
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node("");
+    private int size;
+
+    // Lower case with single spaces and without leading and trailing spaces
+    public static String normalize(String text) {
+        return normalizePrefix(text).trim();
+    }
+
+    // A prefix keeps a trailing space, "red " is only completed by texts with a second word
+    static String normalizePrefix(String text) {
+        return collapseWhitespace(text).toLowerCase(Locale.ROOT);
+    }
+
+    private static String collapseWhitespace(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        StringBuilder collapsed = new StringBuilder(text.length());
+        boolean space = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!space) {
+                    collapsed.append(' ');
+                    space = true;
+                }
+            } else {
+                collapsed.append(c);
+                space = false;
+            }
+        }
+        return collapsed.toString();
+    }
+
+    // Counts one more use of the text
+    public void add(String text) {
+        change(text, 1);
+    }
+
+    // Counts one use of the text less, texts that are no longer used are not completed
+    public void remove(String text) {
+        change(text, -1);
+    }
+
+    // The number of different texts
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The most frequent texts that start with the prefix, the most frequent first
+    public List<Suggestion> complete(String prefix, int maxSuggestions) {
+        String key = normalizePrefix(prefix);
+        if (key.isEmpty() || maxSuggestions <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+
+            while (position < key.length()) {
+                int index = node.childIndex(key.charAt(position));
+                if (index < 0) {
+                    return Collections.emptyList();
+                }
+
+                node = node.children[index];
+                String label = node.label;
+                for (int i = 0; i < label.length() && position < key.length(); i++, position++) {
+                    if (label.charAt(i) != key.charAt(position)) {
+                        return Collections.emptyList();
+                    }
+                }
+            }
+
+            int count = Math.min(maxSuggestions, node.top.length);
+            List<Suggestion> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                suggestions.add(new Suggestion(node.top[i].text, node.top[i].count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(String text, int delta) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int position = 0;
+
+            while (position < key.length()) {
+                int index = node.childIndex(key.charAt(position));
+
+                if (index < 0) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    Node child = new Node(key.substring(position));
+                    node.addChild(child);
+                    node = child;
+                    path.add(node);
+                    break;
+                }
+
+                Node child = node.children[index];
+                int common = commonPrefixLength(child.label, key, position);
+                if (common < child.label.length()) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    child = node.split(index, common);
+                }
+
+                node = child;
+                path.add(node);
+                position += common;
+            }
+
+            if (node.count + delta < 0) {
+                return;
+            }
+            if (node.count == 0) {
+                node.key = key;
+                node.text = collapseWhitespace(text).trim();
+                size++;
+            }
+            node.count += delta;
+            if (node.count == 0) {
+                size--;
+            }
+
+            // The lists of the path are updated from the node up to the root, empty leaves are removed
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node pathNode = path.get(i);
+                if (i > 0 && pathNode.count == 0 && pathNode.children.length == 0) {
+                    path.get(i - 1).removeChild(pathNode);
+                } else if (delta > 0) {
+                    pathNode.promote(node);
+                } else {
+                    pathNode.demote(node);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int position) {
+        int length = 0;
+        while (length < label.length() && position + length < key.length()
+                && label.charAt(length) == key.charAt(position + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static final class Node {
+
+        String label;
+
+        // The children ordered by the first character of their label
+        Node[] children = NO_NODES;
+
+        // The count, normalized key and first spelling of the text that ends in this node
+        int count;
+        String key;
+        String text;
+
+        // The most frequent texts of this node and all nodes below it
+        Node[] top = NO_NODES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void addChild(Node child) {
+            int index = -(childIndex(child.label.charAt(0)) + 1);
+
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            children = newChildren;
+        }
+
+        void removeChild(Node child) {
+            int index = childIndex(child.label.charAt(0));
+
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            children = newChildren;
+        }
+
+        // Puts a new node with the first length characters of the label between this node and the child
+        Node split(int index, int length) {
+            Node child = children[index];
+            Node middle = new Node(child.label.substring(0, length));
+
+            child.label = child.label.substring(length);
+            middle.children = new Node[]{child};
+            middle.top = child.top.clone();
+            children[index] = middle;
+
+            return middle;
+        }
+
+        // The count of the text went up, it can only move up in the list
+        void promote(Node text) {
+            int index = indexOf(text);
+
+            if (index < 0) {
+                if (top.length == MAX_SUGGESTIONS
+                        && MOST_FREQUENT_FIRST.compare(text, top[MAX_SUGGESTIONS - 1]) >= 0) {
+                    return;
+                }
+                index = Math.min(top.length, MAX_SUGGESTIONS - 1);
+                top = Arrays.copyOf(top, index + 1);
+                top[index] = text;
+            }
+
+            for (; index > 0 && MOST_FREQUENT_FIRST.compare(text, top[index - 1]) < 0; index--) {
+                top[index] = top[index - 1];
+                top[index - 1] = text;
+            }
+        }
+
+        // The count of the text went down, a full list may have to take a text of a child instead
+        void demote(Node text) {
+            int index = indexOf(text);
+
+            if (index < 0) {
+                return;
+            }
+            if (top.length == MAX_SUGGESTIONS) {
+                computeTop();
+                return;
+            }
+
+            // The list holds all texts of the node, the text moves down or leaves the list
+            if (text.count == 0) {
+                Node[] newTop = new Node[top.length - 1];
+                System.arraycopy(top, 0, newTop, 0, index);
+                System.arraycopy(top, index + 1, newTop, index, top.length - index - 1);
+                top = newTop;
+                return;
+            }
+            for (; index < top.length - 1 && MOST_FREQUENT_FIRST.compare(text, top[index + 1]) > 0; index++) {
+                top[index] = top[index + 1];
+                top[index + 1] = text;
+            }
+        }
+
+        private int indexOf(Node text) {
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == text) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Merges the lists of the children and the text of this node
+        private void computeTop() {
+            List<Node> candidates = new ArrayList<>();
+            if (count > 0) {
+                candidates.add(this);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+
+            candidates.sort(MOST_FREQUENT_FIRST);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(NO_NODES);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kokabmedia.recipe.search;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Recipe;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * The searchable text of one recipe. The InvertedIndex keeps the document of every indexed
+ * recipe in memory, the search results show the description and a snippet of the text without
+ * reading the recipe from the database.
+ *
+ * Getter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+public class SearchDocument {
+
+    private final Long recipeId;
+    private final String description;
+    private final String directions;
+    private final String notes;
+    private final List<String> ingredients;
+
+    public SearchDocument(Long recipeId, String description, String directions, String notes, List<String> ingredients) {
+        this.recipeId = recipeId;
+        this.description = description;
+        this.directions = directions;
+        this.notes = notes;
+        this.ingredients = ingredients == null ? Collections.<String>emptyList() : ingredients;
+    }
+
+    // Reads the text of a recipe, the lazy notes and ingredients must be loadable
+    public static SearchDocument from(Recipe recipe) {
+        List<String> ingredients = new ArrayList<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                ingredients.add(ingredient.getDescription());
+            }
+        }
+
+        String notes = recipe.getNotes() == null ? null : recipe.getNotes().getRecipeNotes();
+
+        return new SearchDocument(recipe.getId(), recipe.getDescription(), recipe.getDirections(), notes, ingredients);
+    }
+}
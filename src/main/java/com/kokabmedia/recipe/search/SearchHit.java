@@ -0,0 +1,25 @@
+package com.kokabmedia.recipe.search;
+
+import lombok.Getter;
+
+/*
+ * One recipe found by a search. The snippet is a short part of the recipe text around the
+ * search terms, it is HTML escaped and the search terms are marked with <b> tags.
+ *
+ * Getter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+public class SearchHit {
+
+    private final Long recipeId;
+    private final String description;
+    private final float score;
+    private final String snippet;
+
+    public SearchHit(Long recipeId, String description, float score, String snippet) {
+        this.recipeId = recipeId;
+        this.description = description;
+        this.score = score;
+        this.snippet = snippet;
+    }
+}
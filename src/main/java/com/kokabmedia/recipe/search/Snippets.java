@@ -0,0 +1,166 @@
+package com.kokabmedia.recipe.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Builds the snippet of a search hit. The snippet is the part of the recipe text, at most
+ * maxLength characters long, that contains the most different search terms. The directions,
+ * the ingredients, the notes and the description are looked at in this order, the first field
+ * with the best part wins. The text is HTML escaped and every search term is marked with <b>
+ * tags, so the snippet can be written into the page unescaped.
+ */
+public final class Snippets {
+
+    public static final int MAX_LENGTH = 160;
+
+    private static final String ELLIPSIS = "...";
+
+    private Snippets() {
+    }
+
+    public static String build(SearchDocument document, Set<String> terms) {
+        return build(document, terms, MAX_LENGTH);
+    }
+
+    public static String build(SearchDocument document, Set<String> terms, int maxLength) {
+        List<String> fields = Arrays.asList(document.getDirections(), String.join(", ", document.getIngredients()),
+                document.getNotes(), document.getDescription());
+        List<String> termList = new ArrayList<>(terms);
+
+        Window best = null;
+        for (String field : fields) {
+            Window window = bestWindow(field, termList, maxLength);
+            if (window != null && (best == null || window.isBetterThan(best))) {
+                best = window;
+            }
+        }
+
+        if (best == null) {
+            // none of the terms is in the text, show the start of the first field with text
+            for (String field : fields) {
+                if (field != null && !field.trim().isEmpty()) {
+                    return render(field, 0, Math.min(field.length(), maxLength), new ArrayList<>());
+                }
+            }
+            return "";
+        }
+
+        return render(best.text, best.start, best.end, best.matches);
+    }
+
+    /*
+     * Slides a window of maxLength characters over the matches of the terms in the text and
+     * keeps the window with the most different terms, and then the most matches.
+     */
+    private static Window bestWindow(String text, List<String> terms, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        Tokenizer.tokenize(text, (term, start, end) -> {
+            int termIndex = terms.indexOf(term);
+            if (termIndex >= 0) {
+                matches.add(new int[]{start, end, termIndex});
+            }
+        });
+
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        int[] termCounts = new int[terms.size()];
+        int distinct = 0;
+        int bestFirst = 0;
+        int bestLast = 0;
+        int bestDistinct = 0;
+        int first = 0;
+
+        for (int last = 0; last < matches.size(); last++) {
+            if (termCounts[matches.get(last)[2]]++ == 0) {
+                distinct++;
+            }
+
+            while (matches.get(last)[1] - matches.get(first)[0] > maxLength) {
+                if (--termCounts[matches.get(first)[2]] == 0) {
+                    distinct--;
+                }
+                first++;
+            }
+
+            if (distinct > bestDistinct || (distinct == bestDistinct && last - first > bestLast - bestFirst)) {
+                bestDistinct = distinct;
+                bestFirst = first;
+                bestLast = last;
+            }
+        }
+
+        // Center the matches in the window and start it at the beginning of a word
+        int matchStart = matches.get(bestFirst)[0];
+        int matchEnd = matches.get(bestLast)[1];
+        int start = Math.max(0, matchStart - (maxLength - (matchEnd - matchStart)) / 2);
+        while (start > 0 && start < matchStart && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start++;
+        }
+        int end = Math.min(text.length(), Math.max(matchEnd, start + maxLength));
+
+        return new Window(text, start, end, bestDistinct, bestLast - bestFirst + 1, matches);
+    }
+
+    // Escapes the text between start and end and marks the matches that lie inside it
+    private static String render(String text, int start, int end, List<int[]> matches) {
+        StringBuilder snippet = new StringBuilder(end - start + 32);
+
+        if (start > 0) {
+            snippet.append(ELLIPSIS);
+        }
+
+        int position = start;
+        for (int[] match : matches) {
+            if (match[0] < position || match[1] > end) {
+                continue;
+            }
+            snippet.append(HtmlUtils.htmlEscape(text.substring(position, match[0])))
+                    .append("<b>")
+                    .append(HtmlUtils.htmlEscape(text.substring(match[0], match[1])))
+                    .append("</b>");
+            position = match[1];
+        }
+        snippet.append(HtmlUtils.htmlEscape(text.substring(position, end)));
+
+        if (end < text.length()) {
+            snippet.append(ELLIPSIS);
+        }
+
+        return snippet.toString();
+    }
+
+    private static final class Window {
+
+        final String text;
+        final int start;
+        final int end;
+        final int distinctTerms;
+        final int matchCount;
+        final List<int[]> matches;
+
+        Window(String text, int start, int end, int distinctTerms, int matchCount, List<int[]> matches) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.distinctTerms = distinctTerms;
+            this.matchCount = matchCount;
+            this.matches = matches;
+        }
+
+        boolean isBetterThan(Window other) {
+            return distinctTerms > other.distinctTerms
+                    || (distinctTerms == other.distinctTerms && matchCount > other.matchCount);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.kokabmedia.recipe.search;
+
+import lombok.Getter;
+
+/*
+ * One completion of a typeahead prefix and how often the text is used, by how many
+ * ingredients or recipes.
+ *
+ * Getter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+public class Suggestion {
+
+    private final String text;
+    private final int count;
+
+    public Suggestion(String text, int count) {
+        this.text = text;
+        this.count = count;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * Splits text into search terms. A term is a run of letters and digits in lower case, every
+ * other character separates two terms. The same tokenizer is used for the indexed text and for
+ * the search query, so "Chili-Peppers" in a recipe is found by the query "chili peppers".
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    // Receives every term together with its start and end position in the text
+    public interface TokenConsumer {
+
+        void accept(String term, int start, int end);
+    }
+
+    public static void tokenize(String text, TokenConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+
+        int length = text.length();
+        int position = 0;
+
+        while (position < length) {
+            while (position < length && !Character.isLetterOrDigit(text.charAt(position))) {
+                position++;
+            }
+
+            int start = position;
+            while (position < length && Character.isLetterOrDigit(text.charAt(position))) {
+                position++;
+            }
+
+            if (position > start) {
+                consumer.accept(text.substring(start, position).toLowerCase(Locale.ROOT), start, position);
+            }
+        }
+    }
+
+    // The distinct terms of the text in the order they first appear
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, (term, start, end) -> terms.add(term));
+        return terms;
+    }
+}
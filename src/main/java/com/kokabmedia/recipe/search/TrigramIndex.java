@@ -0,0 +1,174 @@
+package com.kokabmedia.recipe.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Finds the words that are spelled like a search term, "guacomole" finds "guacamole".
+ *
+ * Every word is split into trigrams, the three letter pieces of the word padded with two
+ * '$' at both ends ("$$g", "$gu", "gua" ... "e$$"). For every trigram the index keeps the
+ * words that contain it. A word within edit distance d of the term shares all but at most
+ * 3 * d of the trigrams of the term, because one edit changes at most three trigrams. The
+ * candidates are the words that share enough trigrams, only they are verified with the edit
+ * distance. A lookup reads the posting lists of the trigrams of one term and never compares
+ * the term with every word.
+ *
+ * Words are counted, a word that is added twice has to be removed twice before it is no
+ * longer found. Removed words keep their id and their postings and are skipped.
+ *
+ * The index is not thread safe, the InvertedIndex only uses it under its lock.
+ */
+public class TrigramIndex {
+
+    private static final String PADDING = "$$";
+
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private String[] words = new String[64];
+    private int[] wordCounts = new int[64];
+    private int wordCount;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    // The number of edits a term of this length may have, short terms have to be spelled right
+    public static int maxDistance(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 6 ? 1 : 2;
+    }
+
+    public void add(String word) {
+        Integer id = wordIds.get(word);
+
+        if (id == null) {
+            id = wordCount++;
+            if (id == words.length) {
+                words = Arrays.copyOf(words, id * 2);
+                wordCounts = Arrays.copyOf(wordCounts, id * 2);
+            }
+            words[id] = word;
+            wordIds.put(word, id);
+
+            for (String trigram : trigrams(word)) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(id);
+            }
+        }
+        wordCounts[id]++;
+    }
+
+    public void remove(String word) {
+        Integer id = wordIds.get(word);
+
+        if (id != null && wordCounts[id] > 0) {
+            wordCounts[id]--;
+        }
+    }
+
+    /*
+     * Returns the words within the allowed edit distance of the term, together with their
+     * distance. The term itself is included with distance 0 when it is a word of the index.
+     */
+    public Map<String, Integer> similarWords(String term) {
+        Map<String, Integer> similar = new LinkedHashMap<>();
+        int maxDistance = maxDistance(term.length());
+
+        String[] trigrams = trigrams(term);
+        int minShared = trigrams.length - 3 * maxDistance;
+
+        // Counts the trigrams every word shares with the term, only words that share one are touched
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams) {
+            Postings wordsOfTrigram = postings.get(trigram);
+            if (wordsOfTrigram == null) {
+                continue;
+            }
+            for (int i = 0; i < wordsOfTrigram.size; i++) {
+                shared.merge(wordsOfTrigram.ids[i], 1, Integer::sum);
+            }
+        }
+
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            int id = entry.getKey();
+            if (entry.getValue() < minShared || wordCounts[id] == 0) {
+                continue;
+            }
+
+            int distance = editDistance(term, words[id], maxDistance);
+            if (distance <= maxDistance) {
+                similar.put(words[id], distance);
+            }
+        }
+        return similar;
+    }
+
+    /*
+     * The Levenshtein distance of the two words, or maxDistance + 1 when it is larger. Only
+     * the band of maxDistance cells around the diagonal is computed and the computation stops
+     * as soon as a row has no cell within maxDistance.
+     */
+    static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int tooFar = maxDistance + 1;
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j <= maxDistance ? j : tooFar;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(b.length(), i + maxDistance);
+
+            Arrays.fill(current, tooFar);
+            current[0] = i <= maxDistance ? i : tooFar;
+            int rowMinimum = current[0];
+
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(distance, tooFar);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+
+            if (rowMinimum > maxDistance) {
+                return tooFar;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    static String[] trigrams(String word) {
+        String padded = PADDING + word + PADDING;
+        String[] trigrams = new String[padded.length() - 2];
+
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = padded.substring(i, i + 3);
+        }
+        return trigrams;
+    }
+
+    // The ids of the words that contain one trigram
+    private static final class Postings {
+
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
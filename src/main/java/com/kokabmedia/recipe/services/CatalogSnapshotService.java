@@ -0,0 +1,24 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.snapshot.CatalogGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface CatalogSnapshotService {
+
+    // Writes the whole catalog to the file and returns the number of recipes
+    long writeSnapshot(Path file) throws IOException;
+
+    // Replaces the recipes of the database with the recipes of the file and returns their number
+    long restoreSnapshot(Path file) throws IOException;
+
+    // Adds the given number of generated recipes to the database and returns their number
+    long generateCatalog(CatalogGenerator generator, long recipes) throws IOException;
+}
@@ -0,0 +1,461 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Notes;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.snapshot.CatalogGenerator;
+import com.kokabmedia.recipe.snapshot.CatalogSnapshotReader;
+import com.kokabmedia.recipe.snapshot.CatalogSnapshotWriter;
+import com.kokabmedia.recipe.snapshot.SnapshotRecipe;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the CatalogSnapshotServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class writes the catalog to a binary snapshot file and restores it from one, so a
+ * staging or performance test environment starts with millions of recipes in seconds instead
+ * of saving them one by one through Hibernate.
+ *
+ * Both directions work on the rows of the tables with JDBC, no entity is loaded and nothing is
+ * kept in a persistence context. A snapshot is written in batches of BATCH_SIZE recipes ordered
+ * by id, and restored in batches of BATCH_SIZE recipes with one JDBC batch insert per table,
+ * every batch in its own transaction.
+ *
+ * A restore deletes all recipes first. The units of measure and categories of the snapshot are
+ * matched by their description with the ones of the database and only inserted when they are
+ * missing. The recipes, ingredients and notes get new ids from the Hibernate id generators of
+ * their entities, so the sequences are never behind the restored rows and the recipes that are
+ * saved afterwards do not collide with them.
+ *
+ * The whole snapshot is read once before anything is deleted, a file that is truncated, broken
+ * or refers to unknown units of measure or categories leaves the catalog as it is. A restore
+ * that fails in the database after that leaves the recipes of the batches before the failure,
+ * it is simply started again.
+ *
+ * The recipes of a CatalogGenerator are inserted the same way as the recipes of a snapshot, but
+ * without deleting the recipes of the database first.
+ *
+ * After a restore the second level cache is emptied and the snapshots and indexes of the other
+ * services, the unit of measure conversion matrix among them, are built again from the restored
+ * rows.
+ */
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    // The number of recipes read or inserted with one batch of statements
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_RECIPE = "insert into recipe (id, description, prep_time, cook_time, servings, "
+            + "source, url, difficulty, directions, image_size, image_hash) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RECIPE_IMAGE = "insert into recipe_image (recipe_id, image) values (?, ?)";
+    private static final String INSERT_NOTES = "insert into notes (id, recipe_id, recipe_notes) values (?, ?, ?)";
+    private static final String UPDATE_RECIPE_NOTES = "update recipe set notes_id = ? where id = ?";
+    private static final String INSERT_INGREDIENT = "insert into ingredient (id, description, amount, recipe_id, uom_id) "
+            + "values (?, ?, ?, ?, ?)";
+    private static final String INSERT_RECIPE_CATEGORY = "insert into recipe_category (recipe_id, category_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final UnitOfMeasureService unitOfMeasureService;
+    private final UnitOfMeasureConversionService unitOfMeasureConversionService;
+    private final CategoryRecipeCountService categoryRecipeCountService;
+    private final List<RecipeChangeListener> recipeChangeListeners;
+
+    public CatalogSnapshotServiceImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                      PlatformTransactionManager transactionManager,
+                                      UnitOfMeasureService unitOfMeasureService,
+                                      UnitOfMeasureConversionService unitOfMeasureConversionService,
+                                      CategoryRecipeCountService categoryRecipeCountService,
+                                      List<RecipeChangeListener> recipeChangeListeners) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unitOfMeasureService = unitOfMeasureService;
+        this.unitOfMeasureConversionService = unitOfMeasureConversionService;
+        this.categoryRecipeCountService = categoryRecipeCountService;
+        this.recipeChangeListeners = recipeChangeListeners;
+    }
+
+    /*
+     * Writes the snapshot to a file next to the given one that ends with .part and renames it
+     * when it is complete.
+     */
+    @Override
+    public long writeSnapshot(Path file) throws IOException {
+        long started = System.currentTimeMillis();
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        long recipes;
+
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(partFile)) {
+            for (Object[] row : jdbcTemplate.query("select id, description, measure_type, base_unit_factor "
+                    + "from unit_of_measure order by id", CatalogSnapshotServiceImpl::columns)) {
+                writer.writeUnitOfMeasure(toLong(row[0]), (String) row[1], (String) row[2], (BigDecimal) row[3]);
+            }
+            for (Object[] row : jdbcTemplate.query("select id, description from category order by id",
+                    CatalogSnapshotServiceImpl::columns)) {
+                writer.writeCategory(toLong(row[0]), (String) row[1]);
+            }
+
+            long afterId = 0;
+            while (true) {
+                List<SnapshotRecipe> batch = readRecipes(afterId);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (SnapshotRecipe recipe : batch) {
+                    writer.writeRecipe(recipe);
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+
+            recipes = writer.finish();
+        }
+        Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+
+        log.info("Wrote a snapshot of " + recipes + " recipes to " + file + " in "
+                + (System.currentTimeMillis() - started) + " ms");
+        return recipes;
+    }
+
+    @Override
+    public long restoreSnapshot(Path file) throws IOException {
+        long started = System.currentTimeMillis();
+        long recipes;
+
+        // the mapped file is read a second time, that costs far less than a partly restored catalog
+        try (CatalogSnapshotReader reader = new CatalogSnapshotReader(file)) {
+            reader.read(new Validation());
+        }
+
+        try (CatalogSnapshotReader reader = new CatalogSnapshotReader(file)) {
+            transactionTemplate.execute(status -> {
+                deleteRecipes();
+                return null;
+            });
+
+            Restore restore = new Restore();
+            recipes = reader.read(restore);
+            restore.insertBatch();
+        } finally {
+            rebuildAfterBulkInsert();
+        }
+
+        log.info("Restored " + recipes + " recipes from " + file + " in "
+                + (System.currentTimeMillis() - started) + " ms");
+        return recipes;
+    }
+
+    /*
+     * The generated recipes are inserted like the recipes of a snapshot, but the recipes of the
+     * database are kept.
+     */
+    @Override
+    public long generateCatalog(CatalogGenerator generator, long recipes) throws IOException {
+        long started = System.currentTimeMillis();
+        long generated;
+
+        try {
+            Restore restore = new Restore();
+            generated = generator.generate(recipes, restore);
+            restore.insertBatch();
+        } finally {
+            rebuildAfterBulkInsert();
+        }
+
+        log.info("Generated " + generated + " recipes in " + (System.currentTimeMillis() - started) + " ms");
+        return generated;
+    }
+
+    private void rebuildAfterBulkInsert() {
+        // the rows were changed without Hibernate, nothing that was read before is valid anymore
+        entityManagerFactory.getCache().evictAll();
+        unitOfMeasureService.refresh();
+        unitOfMeasureConversionService.reload();
+        categoryRecipeCountService.rebuild();
+        recipeChangeListeners.forEach(RecipeChangeListener::rebuild);
+    }
+
+    // Reads the next batch of recipes with an id above afterId, with four queries
+    private List<SnapshotRecipe> readRecipes(long afterId) {
+        List<SnapshotRecipe> recipes = jdbcTemplate.query("select r.id, r.description, r.prep_time, r.cook_time, "
+                + "r.servings, r.source, r.url, r.difficulty, r.directions, i.image, r.image_size, r.image_hash "
+                + "from recipe r left join recipe_image i on i.recipe_id = r.id where r.id > ? "
+                + "order by r.id limit ?", (rs, rowNum) -> {
+            SnapshotRecipe recipe = new SnapshotRecipe();
+            recipe.setId(rs.getLong(1));
+            recipe.setDescription(rs.getString(2));
+            recipe.setPrepTime(toInteger(rs.getObject(3)));
+            recipe.setCookTime(toInteger(rs.getObject(4)));
+            recipe.setServings(toInteger(rs.getObject(5)));
+            recipe.setSource(rs.getString(6));
+            recipe.setUrl(rs.getString(7));
+            recipe.setDifficulty(rs.getString(8));
+            recipe.setDirections(rs.getString(9));
+            recipe.setImage(rs.getBytes(10));
+            recipe.setImageSize(toLong(rs.getObject(11)));
+            recipe.setImageHash(rs.getString(12));
+            return recipe;
+        }, afterId, BATCH_SIZE);
+
+        if (recipes.isEmpty()) {
+            return recipes;
+        }
+
+        long lastId = recipes.get(recipes.size() - 1).getId();
+        Map<Long, SnapshotRecipe> recipesById = new HashMap<>();
+        for (SnapshotRecipe recipe : recipes) {
+            recipesById.put(recipe.getId(), recipe);
+        }
+
+        jdbcTemplate.query("select r.id, n.recipe_notes from recipe r join notes n on n.id = r.notes_id "
+                + "where r.id > ? and r.id <= ?", rs -> {
+            recipesById.get(rs.getLong(1)).setNotes(rs.getString(2));
+        }, afterId, lastId);
+
+        jdbcTemplate.query("select recipe_id, description, amount, uom_id from ingredient "
+                + "where recipe_id > ? and recipe_id <= ? order by id", rs -> {
+            recipesById.get(rs.getLong(1)).getIngredients().add(new SnapshotRecipe.Ingredient(
+                    rs.getString(2), rs.getBigDecimal(3), toLong(rs.getObject(4))));
+        }, afterId, lastId);
+
+        jdbcTemplate.query("select recipe_id, category_id from recipe_category where recipe_id > ? and recipe_id <= ?",
+                rs -> {
+            recipesById.get(rs.getLong(1)).getCategoryIds().add(rs.getLong(2));
+        }, afterId, lastId);
+
+        return recipes;
+    }
+
+    private void deleteRecipes() {
+        // the recipe and its notes reference each other, the reference of the recipe goes first
+        jdbcTemplate.update("update recipe set notes_id = null");
+        jdbcTemplate.update("delete from recipe_category");
+        jdbcTemplate.update("delete from recipe_image");
+        jdbcTemplate.update("delete from ingredient");
+        jdbcTemplate.update("delete from notes");
+        jdbcTemplate.update("delete from recipe");
+    }
+
+    /*
+     * Checks the records of a snapshot without changing the database, every recipe may only use
+     * the units of measure and categories of the snapshot. The reader checks the rest of the
+     * file up to the record counts of the END record.
+     */
+    private static class Validation implements CatalogSnapshotReader.Handler {
+
+        private final Set<Long> unitOfMeasureIds = new HashSet<>();
+        private final Set<Long> categoryIds = new HashSet<>();
+
+        @Override
+        public void unitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor) {
+            unitOfMeasureIds.add(id);
+        }
+
+        @Override
+        public void category(long id, String description) {
+            categoryIds.add(id);
+        }
+
+        @Override
+        public void recipe(SnapshotRecipe recipe) throws IOException {
+            for (Long categoryId : recipe.getCategoryIds()) {
+                if (!categoryIds.contains(categoryId)) {
+                    throw new IOException("Recipe " + recipe.getId() + " has the unknown category " + categoryId);
+                }
+            }
+            for (SnapshotRecipe.Ingredient ingredient : recipe.getIngredients()) {
+                if (ingredient.getUomId() != null && !unitOfMeasureIds.contains(ingredient.getUomId())) {
+                    throw new IOException("Recipe " + recipe.getId() + " has the unknown unit of measure "
+                            + ingredient.getUomId());
+                }
+            }
+        }
+    }
+
+    /*
+     * Restores the records of a snapshot. The ids of the units of measure and categories of the
+     * snapshot are mapped to the ids in the database, the recipes are collected until a batch
+     * is full and then inserted.
+     */
+    private class Restore implements CatalogSnapshotReader.Handler {
+
+        private final Map<Long, Long> unitOfMeasureIds = new HashMap<>();
+        private final Map<Long, Long> categoryIds = new HashMap<>();
+        private final Map<String, Long> existingUnitsOfMeasure = idsByDescription("select id, description from unit_of_measure");
+        private final Map<String, Long> existingCategories = idsByDescription("select id, description from category");
+
+        private final List<SnapshotRecipe> batch = new ArrayList<>(BATCH_SIZE);
+
+        @Override
+        public void unitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor) {
+            Long existingId = existingUnitsOfMeasure.get(key(description));
+            unitOfMeasureIds.put(id, existingId != null ? existingId : insert(
+                    "insert into unit_of_measure (description, measure_type, base_unit_factor) values (?, ?, ?)",
+                    description, measureType, baseUnitFactor));
+        }
+
+        @Override
+        public void category(long id, String description) {
+            Long existingId = existingCategories.get(key(description));
+            categoryIds.put(id, existingId != null ? existingId : insert(
+                    "insert into category (description) values (?)", description));
+        }
+
+        @Override
+        public void recipe(SnapshotRecipe recipe) {
+            batch.add(recipe);
+            if (batch.size() == BATCH_SIZE) {
+                insertBatch();
+            }
+        }
+
+        void insertBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            transactionTemplate.execute(status -> {
+                insertRecipes(batch);
+                return null;
+            });
+            batch.clear();
+        }
+
+        private void insertRecipes(List<SnapshotRecipe> recipes) {
+            SharedSessionContractImplementor session = EntityManagerFactoryUtils
+                    .getTransactionalEntityManager(entityManagerFactory).unwrap(SharedSessionContractImplementor.class);
+            IdentifierGenerator recipeIdGenerator = idGenerator(Recipe.class);
+            IdentifierGenerator notesIdGenerator = idGenerator(Notes.class);
+            IdentifierGenerator ingredientIdGenerator = idGenerator(Ingredient.class);
+
+            List<Object[]> recipeRows = new ArrayList<>(recipes.size());
+            List<Object[]> notesRows = new ArrayList<>(recipes.size());
+            List<Object[]> recipeNotesRows = new ArrayList<>(recipes.size());
+            List<Object[]> ingredientRows = new ArrayList<>();
+            List<Object[]> categoryRows = new ArrayList<>();
+            List<Object[]> imageRows = new ArrayList<>();
+
+            for (SnapshotRecipe recipe : recipes) {
+                Object recipeId = recipeIdGenerator.generate(session, null);
+                recipeRows.add(new Object[]{recipeId, recipe.getDescription(), recipe.getPrepTime(),
+                        recipe.getCookTime(), recipe.getServings(), recipe.getSource(), recipe.getUrl(),
+                        recipe.getDifficulty(), recipe.getDirections(), recipe.getImageSize(), recipe.getImageHash()});
+
+                if (recipe.getImage() != null) {
+                    imageRows.add(new Object[]{recipeId, recipe.getImage()});
+                }
+
+                if (recipe.getNotes() != null) {
+                    Object notesId = notesIdGenerator.generate(session, null);
+                    notesRows.add(new Object[]{notesId, recipeId, recipe.getNotes()});
+                    recipeNotesRows.add(new Object[]{notesId, recipeId});
+                }
+                for (SnapshotRecipe.Ingredient ingredient : recipe.getIngredients()) {
+                    ingredientRows.add(new Object[]{ingredientIdGenerator.generate(session, null),
+                            ingredient.getDescription(), ingredient.getAmount(), recipeId,
+                            unitOfMeasureIds.get(ingredient.getUomId())});
+                }
+                for (Long categoryId : recipe.getCategoryIds()) {
+                    categoryRows.add(new Object[]{recipeId, categoryIds.get(categoryId)});
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_RECIPE, recipeRows);
+            jdbcTemplate.batchUpdate(INSERT_RECIPE_IMAGE, imageRows);
+            jdbcTemplate.batchUpdate(INSERT_NOTES, notesRows);
+            jdbcTemplate.batchUpdate(UPDATE_RECIPE_NOTES, recipeNotesRows);
+            jdbcTemplate.batchUpdate(INSERT_INGREDIENT, ingredientRows);
+            jdbcTemplate.batchUpdate(INSERT_RECIPE_CATEGORY, categoryRows);
+        }
+
+        private IdentifierGenerator idGenerator(Class<?> entity) {
+            return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel()
+                    .entityPersister(entity).getIdentifierGenerator();
+        }
+
+        private Map<String, Long> idsByDescription(String query) {
+            Map<String, Long> ids = new HashMap<>();
+            jdbcTemplate.query(query, rs -> {
+                ids.putIfAbsent(key(rs.getString(2)), rs.getLong(1));
+            });
+            return ids;
+        }
+
+        private Long insert(String statement, Object... values) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement preparedStatement = connection.prepareStatement(statement,
+                        Statement.RETURN_GENERATED_KEYS);
+                for (int i = 0; i < values.length; i++) {
+                    preparedStatement.setObject(i + 1, values[i]);
+                }
+                return preparedStatement;
+            }, keyHolder);
+            return keyHolder.getKey().longValue();
+        }
+    }
+
+    private static String key(String description) {
+        return description == null ? "" : description.trim().toLowerCase();
+    }
+
+    private static Object[] columns(ResultSet rs, int rowNum) throws SQLException {
+        Object[] columns = new Object[rs.getMetaData().getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = rs.getObject(i + 1);
+        }
+        return columns;
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,21 @@
+package com.kokabmedia.recipe.services;
+
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface CategoryRecipeCountService {
+
+    Map<Long, Long> getRecipeCounts();
+
+    long getRecipeCount(Long categoryId);
+
+    void updateRecipeCounts(Set<Long> oldCategoryIds, Set<Long> newCategoryIds);
+
+    void rebuild();
+}
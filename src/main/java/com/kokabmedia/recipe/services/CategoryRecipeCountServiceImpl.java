@@ -0,0 +1,142 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.repositories.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the CategoryRecipeCountServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class keeps the number of recipes per category in memory. The counts are read from the
+ * database once with a single grouped query and from then on are only changed by the deltas
+ * of saved and deleted recipes, so showing the counts never needs a COUNT query.
+ */
+public class CategoryRecipeCountServiceImpl implements CategoryRecipeCountService {
+
+    private final CategoryRepository categoryRepository;
+
+    private final Map<Long, AtomicLong> recipeCounts = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public CategoryRecipeCountServiceImpl(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public Map<Long, Long> getRecipeCounts() {
+        loadIfNeeded();
+
+        Map<Long, Long> counts = new HashMap<>(recipeCounts.size() * 2);
+        recipeCounts.forEach((categoryId, count) -> counts.put(categoryId, count.get()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public long getRecipeCount(Long categoryId) {
+        loadIfNeeded();
+
+        AtomicLong count = recipeCounts.get(categoryId);
+        return count == null ? 0L : count.get();
+    }
+
+    /*
+     * Applies the difference between the categories a recipe had before and after it was saved
+     * or deleted. Inside a transaction the counts are only changed after the commit, so a rolled
+     * back save never changes them.
+     */
+    @Override
+    public void updateRecipeCounts(Set<Long> oldCategoryIds, Set<Long> newCategoryIds) {
+        final Set<Long> before = oldCategoryIds == null ? Collections.<Long>emptySet() : oldCategoryIds;
+        final Set<Long> after = newCategoryIds == null ? Collections.<Long>emptySet() : newCategoryIds;
+
+        if (before.equals(after)) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    applyDelta(before, after);
+                }
+            });
+        } else {
+            applyDelta(before, after);
+        }
+    }
+
+    // Read all counts again from the database, this is needed after data was loaded in bulk
+    @Override
+    public synchronized void rebuild() {
+        Map<Long, AtomicLong> counts = new HashMap<>();
+
+        for (Object[] row : categoryRepository.countRecipesPerCategory()) {
+            counts.put((Long) row[0], new AtomicLong((Long) row[1]));
+        }
+
+        recipeCounts.clear();
+        recipeCounts.putAll(counts);
+        loaded = true;
+
+        log.debug("Loaded recipe counts for " + counts.size() + " categories");
+    }
+
+    private void loadIfNeeded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /*
+     * Synchronized with rebuild(), a delta that is committed while the counts are read again
+     * waits for the new counts instead of changing the old ones that are about to be replaced.
+     */
+    private synchronized void applyDelta(Set<Long> before, Set<Long> after) {
+        // before the first load the database already holds the change, the load will read it
+        if (!loaded) {
+            return;
+        }
+
+        for (Long categoryId : before) {
+            if (!after.contains(categoryId)) {
+                recipeCounts.computeIfAbsent(categoryId, id -> new AtomicLong()).decrementAndGet();
+            }
+        }
+
+        for (Long categoryId : after) {
+            if (!before.contains(categoryId)) {
+                recipeCounts.computeIfAbsent(categoryId, id -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+}
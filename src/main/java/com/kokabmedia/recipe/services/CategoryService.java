@@ -0,0 +1,22 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.commands.CategoryCommand;
+import com.kokabmedia.recipe.domain.Recipe;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface CategoryService {
+
+    List<CategoryCommand> listAllCategories();
+
+    CategoryCommand findCommandById(Long id);
+
+    Slice<Recipe> findRecipesByCategoryId(Long categoryId, int page);
+}
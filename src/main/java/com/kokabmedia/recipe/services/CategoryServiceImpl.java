@@ -0,0 +1,89 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.commands.CategoryCommand;
+import com.kokabmedia.recipe.converters.CategoryToCategoryCommand;
+import com.kokabmedia.recipe.domain.Category;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.exceptions.NotFoundException;
+import com.kokabmedia.recipe.repositories.CategoryRepository;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the CategoryServiceImpl class and to be wired in as dependency 
+* to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+public class CategoryServiceImpl implements CategoryService {
+
+    // number of recipes shown on one page of a category
+    public static final int RECIPES_PAGE_SIZE = 20;
+
+    private final CategoryRepository categoryRepository;
+    private final RecipeRepository recipeRepository;
+    private final CategoryToCategoryCommand categoryToCategoryCommand;
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository, RecipeRepository recipeRepository,
+                               CategoryToCategoryCommand categoryToCategoryCommand) {
+        this.categoryRepository = categoryRepository;
+        this.recipeRepository = recipeRepository;
+        this.categoryToCategoryCommand = categoryToCategoryCommand;
+    }
+
+    @Override
+    public List<CategoryCommand> listAllCategories() {
+
+        return StreamSupport.stream(categoryRepository.findAll()
+                .spliterator(), false)
+                .map(categoryToCategoryCommand::convert)
+                .sorted(Comparator.comparing(CategoryCommand::getDescription,
+                        Comparator.nullsLast(Comparator.<String>naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CategoryCommand findCommandById(Long id) {
+
+        Optional<Category> categoryOptional = categoryRepository.findById(id);
+
+        if (!categoryOptional.isPresent()) {
+            throw new NotFoundException("Category Not Found. For ID value: " + id);
+        }
+
+        return categoryToCategoryCommand.convert(categoryOptional.get());
+    }
+
+    /*
+     * Only one page of recipes is read from the database, the total number of recipes of the
+     * category comes from the precomputed counts of the CategoryRecipeCountService.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Recipe> findRecipesByCategoryId(Long categoryId, int page) {
+
+        return recipeRepository.findByCategoriesId(categoryId,
+                PageRequest.of(Math.max(page, 0), RECIPES_PAGE_SIZE, Sort.by("description")));
+    }
+}
@@ -0,0 +1,23 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.search.FacetCount;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface FacetService extends RecipeChangeListener {
+
+    Map<String, List<FacetCount>> countFacets(long[] recipeIds, Collection<String> selected);
+
+    Predicate<Long> filter(Collection<String> selected);
+
+    void rebuild();
+}
@@ -0,0 +1,145 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Category;
+import com.kokabmedia.recipe.domain.Difficulty;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.FacetCount;
+import com.kokabmedia.recipe.search.FacetIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the FacetServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class counts the recipes of a search per difficulty, category and total time with the
+ * bitmaps of a FacetIndex. A GROUP BY query would have to join and group all recipes of the
+ * result set for every search, the index counts them from memory.
+ *
+ * Like the other search services the index is built once, on the first use, and then kept up
+ * to date with the recipes that are saved or deleted, so the counts are never stale.
+ */
+public class FacetServiceImpl implements FacetService {
+
+    // The number of recipes read from the database with one query while the index is built
+    static final int BUILD_BATCH_SIZE = 1000;
+
+    private final RecipeRepository recipeRepository;
+
+    private final IndexHolder<FacetIndex> index;
+
+    public FacetServiceImpl(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+        this.index = new IndexHolder<>(this::build);
+    }
+
+    /*
+     * Counts the recipes per facet value, of the recipes with the given ids that have all of
+     * the selected values. A selected value is written "facet:value", like "difficulty:EASY".
+     */
+    @Override
+    public Map<String, List<FacetCount>> countFacets(long[] recipeIds, Collection<String> selected) {
+        return index.get().count(recipeIds, selected);
+    }
+
+    // Accepts the recipes that have all of the selected values
+    @Override
+    public Predicate<Long> filter(Collection<String> selected) {
+        if (selected.isEmpty()) {
+            return recipeId -> true;
+        }
+
+        FacetIndex currentIndex = index.get();
+        List<String> values = new ArrayList<>(selected);
+        return recipeId -> currentIndex.matches(recipeId, values);
+    }
+
+    /*
+     * Reads the facet values of a saved recipe right away and puts them into the index after
+     * the commit, a rolled back save never changes the index.
+     */
+    @Override
+    public void indexRecipe(Recipe recipe) {
+        Long recipeId = recipe.getId();
+        List<String> categories = new ArrayList<>();
+        if (recipe.getCategories() != null) {
+            for (Category category : recipe.getCategories()) {
+                categories.add(category.getDescription());
+            }
+        }
+        List<String> values = FacetIndex.values(recipe.getDifficulty(), categories,
+                recipe.getPrepTime(), recipe.getCookTime());
+
+        index.afterCommit(currentIndex -> currentIndex.put(recipeId, values));
+    }
+
+    @Override
+    public void removeRecipe(Long recipeId) {
+        index.afterCommit(currentIndex -> currentIndex.remove(recipeId));
+    }
+
+    /*
+     * Builds a new index from the database and replaces the current one. The recipes are read
+     * in batches ordered by id, every batch takes one query for the recipes and one for the
+     * descriptions of their categories.
+     */
+    @Override
+    public void rebuild() {
+        index.rebuild();
+    }
+
+    private FacetIndex build() {
+        FacetIndex newIndex = new FacetIndex();
+        Long afterId = 0L;
+
+        while (true) {
+            List<Object[]> recipes = recipeRepository.findFacetsAfterId(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            if (recipes.isEmpty()) {
+                break;
+            }
+
+            Long lastId = (Long) recipes.get(recipes.size() - 1)[0];
+
+            Map<Long, List<String>> categories = new HashMap<>();
+            for (Object[] row : recipeRepository.findCategoryDescriptions(afterId, lastId)) {
+                categories.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+
+            for (Object[] row : recipes) {
+                Long recipeId = (Long) row[0];
+                newIndex.put(recipeId, FacetIndex.values((Difficulty) row[1],
+                        categories.getOrDefault(recipeId, new ArrayList<>()), (Integer) row[2], (Integer) row[3]));
+            }
+
+            afterId = lastId;
+        }
+
+        log.debug("Built facet index for " + newIndex.size() + " recipes");
+        return newIndex;
+    }
+}
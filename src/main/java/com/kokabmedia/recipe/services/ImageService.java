@@ -11,4 +11,6 @@ import org.springframework.web.multipart.MultipartFile;
 public interface ImageService {
 
     void saveImageFile(Long recipeId, MultipartFile file);
+
+    byte[] findImageByRecipeId(Long recipeId);
 }
\ No newline at end of file
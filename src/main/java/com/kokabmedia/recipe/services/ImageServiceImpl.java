@@ -1,10 +1,13 @@
 package com.kokabmedia.recipe.services;
 
 import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.domain.RecipeImage;
+import com.kokabmedia.recipe.repositories.RecipeImageRepository;
 import com.kokabmedia.recipe.repositories.RecipeRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -32,10 +35,12 @@ public class ImageServiceImpl implements ImageService {
 
 
     private final RecipeRepository recipeRepository;
+    private final RecipeImageRepository recipeImageRepository;
 
-    public ImageServiceImpl( RecipeRepository recipeService) {
+    public ImageServiceImpl( RecipeRepository recipeService, RecipeImageRepository recipeImageRepository) {
 
         this.recipeRepository = recipeService;
+        this.recipeImageRepository = recipeImageRepository;
     }
 
     @Override
@@ -75,16 +80,25 @@ public class ImageServiceImpl implements ImageService {
         try {
             Recipe recipe = recipeRepository.findById(recipeId).get();
 
-            Byte[] byteObjects = new Byte[file.getBytes().length];
+            byte[] bytes = file.getBytes();
+            Byte[] byteObjects = new Byte[bytes.length];
 
             int i = 0;
 
-            for (byte b : file.getBytes()){
+            for (byte b : bytes){
                 byteObjects[i++] = b;
             }
 
-            
-            recipe.setImage(byteObjects);
+            // the image has a table of its own, an existing image is deleted without reading it
+            recipeImageRepository.deleteByRecipeId(recipeId);
+            RecipeImage recipeImage = new RecipeImage();
+            recipeImage.setRecipe(recipe);
+            recipeImage.setImage(byteObjects);
+            recipeImageRepository.save(recipeImage);
+
+            // size and hash describe the image to the views without loading the image bytes
+            recipe.setImageSize((long) bytes.length);
+            recipe.setImageHash(DigestUtils.md5DigestAsHex(bytes));
 
             /* Entity object get mapped and stored in database by Hibernate and Spring JPA. If the 
     		 * detached object is new it will create a new object (row) if it existing the save()
@@ -99,4 +113,25 @@ public class ImageServiceImpl implements ImageService {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] findImageByRecipeId(Long recipeId) {
+
+        Byte[] byteObjects = recipeImageRepository.findImageByRecipeId(recipeId);
+
+        if (byteObjects == null) {
+            return null;
+        }
+
+        byte[] bytes = new byte[byteObjects.length];
+
+        int i = 0;
+
+        for (Byte b : byteObjects){
+            bytes[i++] = b;
+        }
+
+        return bytes;
+    }
+}
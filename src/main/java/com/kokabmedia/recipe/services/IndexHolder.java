@@ -0,0 +1,105 @@
+package com.kokabmedia.recipe.services;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/*
+ * Holds the in memory index of a RecipeChangeListener service. The index is built with the
+ * builder on its first use and rebuilt on request, the changes of saved and deleted recipes
+ * are applied to it after their transaction is committed.
+ *
+ * A rebuild reads the database while recipes are still saved. A change that is committed after
+ * the builder read that recipe would be lost when the new index replaced the current one, so
+ * the changes that arrive during a rebuild are applied to the current index and also buffered,
+ * and played again onto the new index before it is published. The changes only put or remove
+ * whole recipes, playing one again that the builder already read does not change the index.
+ *
+ * Before the first build the changes are dropped, the database already holds them and the
+ * build will read them.
+ */
+class IndexHolder<T> {
+
+    private final Supplier<T> builder;
+    private final Object rebuildLock = new Object();
+
+    private volatile T index;
+
+    // The changes applied while a rebuild runs, null when no rebuild runs, guarded by this
+    private List<Consumer<T>> pendingChanges;
+
+    IndexHolder(Supplier<T> builder) {
+        this.builder = builder;
+    }
+
+    T get() {
+        T currentIndex = index;
+
+        if (currentIndex == null) {
+            synchronized (rebuildLock) {
+                if (index == null) {
+                    rebuild();
+                }
+                currentIndex = index;
+            }
+        }
+        return currentIndex;
+    }
+
+    /*
+     * Builds a new index and replaces the current one, readers use the current index until
+     * the new one is complete. Only one rebuild runs at a time.
+     */
+    void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+
+            T newIndex;
+            try {
+                newIndex = builder.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                pendingChanges.forEach(change -> change.accept(newIndex));
+                pendingChanges = null;
+                index = newIndex;
+            }
+        }
+    }
+
+    // Applies the change after the commit of the current transaction, or right away without one
+    void afterCommit(Consumer<T> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Consumer<T> change) {
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+
+        T currentIndex = index;
+        if (currentIndex != null) {
+            change.accept(currentIndex);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 //Causes Lombok to generate a logger field.
@@ -38,17 +39,21 @@ public class IngredientServiceImpl implements IngredientService {
     private final IngredientCommandToIngredient ingredientCommandToIngredient;
     private final RecipeRepository recipeRepository;
     private final UnitOfMeasureRepository unitOfMeasureRepository;
+    private final List<RecipeChangeListener> recipeChangeListeners;
 
     public IngredientServiceImpl(IngredientToIngredientCommand ingredientToIngredientCommand,
                                  IngredientCommandToIngredient ingredientCommandToIngredient,
-                                 RecipeRepository recipeRepository, UnitOfMeasureRepository unitOfMeasureRepository) {
+                                 RecipeRepository recipeRepository, UnitOfMeasureRepository unitOfMeasureRepository,
+                                 List<RecipeChangeListener> recipeChangeListeners) {
         this.ingredientToIngredientCommand = ingredientToIngredientCommand;
         this.ingredientCommandToIngredient = ingredientCommandToIngredient;
         this.recipeRepository = recipeRepository;
         this.unitOfMeasureRepository = unitOfMeasureRepository;
+        this.recipeChangeListeners = recipeChangeListeners;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public IngredientCommand findByRecipeIdAndIngredientId(Long recipeId, Long ingredientId) {
 
         Optional<Recipe> recipeOptional = recipeRepository.findById(recipeId);
@@ -141,6 +146,7 @@ public class IngredientServiceImpl implements IngredientService {
     		 * will return back the saved object,
     		 */
             Recipe savedRecipe = recipeRepository.save(recipe);
+            recipeChangeListeners.forEach(listener -> listener.indexRecipe(savedRecipe));
 
             Optional<Ingredient> savedIngredientOptional = savedRecipe.getIngredients().stream()
                     .filter(recipeIngredients -> recipeIngredients.getId().equals(command.getId()))
@@ -164,6 +170,7 @@ public class IngredientServiceImpl implements IngredientService {
 
     // Delete an specific ingredient 
     @Override
+    @Transactional
     public void deleteById(Long recipeId, Long idToDelete) {
 
         log.debug("Deleting ingredient: " + recipeId + ":" + idToDelete);
@@ -186,6 +193,7 @@ public class IngredientServiceImpl implements IngredientService {
                 ingredientToDelete.setRecipe(null);
                 recipe.getIngredients().remove(ingredientOptional.get());
                 recipeRepository.save(recipe);
+                recipeChangeListeners.forEach(listener -> listener.indexRecipe(recipe));
             }
         } else {
             log.debug("Recipe Id Not found. Id:" + recipeId);
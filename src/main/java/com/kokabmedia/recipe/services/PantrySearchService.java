@@ -0,0 +1,19 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.search.PantryMatch;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface PantrySearchService extends RecipeChangeListener {
+
+    Slice<PantryMatch> findRecipes(Collection<String> pantry, int page);
+
+    void rebuild();
+}
@@ -0,0 +1,156 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.IngredientVocabulary;
+import com.kokabmedia.recipe.search.PantryIndex;
+import com.kokabmedia.recipe.search.PantryMatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the PantrySearchServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class finds the recipes that can be cooked with the ingredients of a pantry, with the
+ * ingredient bit sets of a PantryIndex. A SQL join of the ingredients with an IN list of the
+ * pantry would have to group and count the ingredients of every recipe for every search, the
+ * index answers from memory.
+ *
+ * Like the RecipeSearchServiceImpl the index is built once, on the first search, and then kept
+ * up to date with the recipes that are saved or deleted.
+ */
+public class PantrySearchServiceImpl implements PantrySearchService {
+
+    public static final int PAGE_SIZE = 20;
+
+    // The number of recipes read from the database with one query while the index is built
+    static final int BUILD_BATCH_SIZE = 1000;
+
+    private final RecipeRepository recipeRepository;
+
+    private final IndexHolder<PantryIndex> index;
+
+    public PantrySearchServiceImpl(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+        this.index = new IndexHolder<>(this::build);
+    }
+
+    // Returns one page of the recipes that use the ingredients of the pantry, the best match first
+    @Override
+    public Slice<PantryMatch> findRecipes(Collection<String> pantry, int page) {
+        int first = page * PAGE_SIZE;
+
+        // One more match than the page is read to know if there is a next page
+        List<PantryMatch> matches = index.get().search(pantry, first + PAGE_SIZE + 1);
+
+        List<PantryMatch> content = matches.size() <= first ? new ArrayList<>()
+                : new ArrayList<>(matches.subList(first, Math.min(matches.size(), first + PAGE_SIZE)));
+
+        return new SliceImpl<>(content, PageRequest.of(page, PAGE_SIZE), matches.size() > first + PAGE_SIZE);
+    }
+
+    /*
+     * Reads the ingredients of a saved recipe right away and puts them into the index after
+     * the commit, a rolled back save never changes the index.
+     */
+    @Override
+    public void indexRecipe(Recipe recipe) {
+        Long recipeId = recipe.getId();
+        String description = recipe.getDescription();
+        List<String> ingredients = new ArrayList<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                ingredients.add(ingredient.getDescription());
+            }
+        }
+
+        index.afterCommit(currentIndex -> currentIndex.put(recipeId, description, ingredients));
+    }
+
+    @Override
+    public void removeRecipe(Long recipeId) {
+        index.afterCommit(currentIndex -> currentIndex.remove(recipeId));
+    }
+
+    /*
+     * Builds a new index from the database and replaces the current one. All ingredients are
+     * read first and counted, the most common ingredients get the smallest ids so that the bit
+     * sets of most recipes only need the first words.
+     */
+    @Override
+    public void rebuild() {
+        index.rebuild();
+    }
+
+    private PantryIndex build() {
+        List<Object[]> recipes = new ArrayList<>();
+        Map<Long, List<String>> ingredients = new HashMap<>();
+        Long afterId = 0L;
+
+        while (true) {
+            List<Object[]> batch = recipeRepository.findDescriptionsAfterId(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Long lastId = (Long) batch.get(batch.size() - 1)[0];
+
+            for (Object[] row : recipeRepository.findIngredientDescriptions(afterId, lastId)) {
+                ingredients.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+
+            recipes.addAll(batch);
+            afterId = lastId;
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (List<String> recipeIngredients : ingredients.values()) {
+            for (String ingredient : recipeIngredients) {
+                frequencies.merge(IngredientVocabulary.normalize(ingredient), 1, Integer::sum);
+            }
+        }
+
+        List<String> commonIngredients = frequencies.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        PantryIndex newIndex = new PantryIndex(commonIngredients);
+        for (Object[] row : recipes) {
+            Long recipeId = (Long) row[0];
+            newIndex.put(recipeId, (String) row[1], ingredients.getOrDefault(recipeId, new ArrayList<>()));
+        }
+
+        log.debug("Built pantry index for " + newIndex.size() + " recipes and "
+                + newIndex.ingredientCount() + " ingredients");
+        return newIndex;
+    }
+}
@@ -0,0 +1,22 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Recipe;
+
+/*
+ * Interface for the services that keep an in memory index of the recipes.
+ *
+ * The recipe and ingredient services call every RecipeChangeListener bean of the Spring
+ * Application Context when a recipe is saved or deleted. A listener reads what it needs from
+ * the recipe right away and changes its index after the transaction is committed.
+ *
+ * When the recipes are replaced in bulk, without the recipe service, like by the restore of a
+ * catalog snapshot, rebuild() is called instead and the index is read again from the database.
+ */
+public interface RecipeChangeListener {
+
+    void indexRecipe(Recipe recipe);
+
+    void removeRecipe(Long recipeId);
+
+    void rebuild();
+}
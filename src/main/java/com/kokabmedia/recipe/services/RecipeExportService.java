@@ -0,0 +1,18 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.exporter.RecipeExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface RecipeExportService {
+
+    // Writes all recipes to the output stream and returns their number
+    long exportRecipes(OutputStream output, RecipeExportFormat format) throws IOException;
+}
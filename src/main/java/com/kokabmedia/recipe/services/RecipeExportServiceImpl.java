@@ -0,0 +1,126 @@
+package com.kokabmedia.recipe.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kokabmedia.recipe.domain.Difficulty;
+import com.kokabmedia.recipe.exporter.CsvRecipeExportWriter;
+import com.kokabmedia.recipe.exporter.ExportedRecipe;
+import com.kokabmedia.recipe.exporter.JsonLinesRecipeExportWriter;
+import com.kokabmedia.recipe.exporter.RecipeExportFormat;
+import com.kokabmedia.recipe.exporter.RecipeExportWriter;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the RecipeExportServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class exports the whole recipe catalog with its ingredients, notes and categories.
+ * findAll() would load every recipe with its associations into one persistence context, the
+ * export reads the recipes in batches of EXPORT_BATCH_SIZE ordered by id instead, like the
+ * search indexes are built. Every batch takes one query for the recipes and their notes, one
+ * for the ingredients and one for the categories, the rows are written and flushed to the
+ * output before the next batch is read, so the memory that is used is the same for ten
+ * recipes or ten million.
+ *
+ * Every query runs in its own read only transaction. An export that is written to a slow
+ * client does not hold a connection of the pool for its whole length, a recipe that is
+ * changed during the export is written as it was when its batch was read.
+ */
+public class RecipeExportServiceImpl implements RecipeExportService {
+
+    // The number of recipes read from the database with one query
+    static final int EXPORT_BATCH_SIZE = 1000;
+
+    private final RecipeRepository recipeRepository;
+    private final ObjectMapper objectMapper;
+
+    public RecipeExportServiceImpl(RecipeRepository recipeRepository, ObjectMapper objectMapper) {
+        this.recipeRepository = recipeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long exportRecipes(OutputStream output, RecipeExportFormat format) throws IOException {
+        RecipeExportWriter writer = format == RecipeExportFormat.CSV ? new CsvRecipeExportWriter(output)
+                : new JsonLinesRecipeExportWriter(objectMapper, output);
+        long exported = 0;
+        Long afterId = 0L;
+
+        while (true) {
+            List<Object[]> recipes = recipeRepository.findExportAfterId(afterId, PageRequest.of(0, EXPORT_BATCH_SIZE));
+            if (recipes.isEmpty()) {
+                break;
+            }
+
+            Long lastId = (Long) recipes.get(recipes.size() - 1)[0];
+
+            Map<Long, List<String>> categories = new HashMap<>();
+            for (Object[] row : recipeRepository.findCategoryDescriptions(afterId, lastId)) {
+                categories.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+
+            Map<Long, List<ExportedRecipe.Ingredient>> ingredients = new HashMap<>();
+            for (Object[] row : recipeRepository.findIngredientsForExport(afterId, lastId)) {
+                ingredients.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(new ExportedRecipe.Ingredient((String) row[1], (BigDecimal) row[2], (String) row[3]));
+            }
+
+            for (Object[] row : recipes) {
+                ExportedRecipe recipe = exportedRecipe(row);
+                recipe.setCategories(categories.getOrDefault(recipe.getId(), new ArrayList<>()));
+                recipe.setIngredients(ingredients.getOrDefault(recipe.getId(), new ArrayList<>()));
+                writer.write(recipe);
+            }
+            writer.flush();
+
+            exported += recipes.size();
+            afterId = lastId;
+        }
+
+        writer.flush();
+
+        log.debug("Exported " + exported + " recipes as " + format);
+        return exported;
+    }
+
+    private static ExportedRecipe exportedRecipe(Object[] row) {
+        ExportedRecipe recipe = new ExportedRecipe();
+        recipe.setId((Long) row[0]);
+        recipe.setDescription((String) row[1]);
+        recipe.setPrepTime((Integer) row[2]);
+        recipe.setCookTime((Integer) row[3]);
+        recipe.setServings((Integer) row[4]);
+        recipe.setSource((String) row[5]);
+        recipe.setUrl((String) row[6]);
+        recipe.setDifficulty((Difficulty) row[7]);
+        recipe.setDirections((String) row[8]);
+        recipe.setNotes((String) row[9]);
+        return recipe;
+    }
+}
@@ -0,0 +1,17 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.importer.RecipeImportReport;
+
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface RecipeImportService {
+
+    RecipeImportReport importRecipes(Reader input, long skipLines, Consumer<RecipeImportReport> progress);
+}
@@ -0,0 +1,253 @@
+package com.kokabmedia.recipe.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kokabmedia.recipe.commands.CategoryCommand;
+import com.kokabmedia.recipe.commands.IngredientCommand;
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import com.kokabmedia.recipe.commands.UnitOfMeasureCommand;
+import com.kokabmedia.recipe.converters.RecipeCommandToRecipe;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.importer.RecipeImportReport;
+import com.kokabmedia.recipe.importer.RecipeLineReader;
+import com.kokabmedia.recipe.importer.RecipeLineReader.RecipeLine;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the RecipeImportServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class imports recipe catalogs in JSON Lines, one RecipeCommand per line. The lines are
+ * read one at a time, the categories and units of measure are found by their description in
+ * the snapshots of the CategoryService and UnitOfMeasureService, and every recipe is validated
+ * like a recipe of the recipe form. Lines that are not valid are reported and left out.
+ *
+ * The valid recipes are saved in batches of BATCH_SIZE recipes, every batch in its own
+ * transaction. The JDBC batching of Hibernate sends the inserts of a batch in a few statements,
+ * and the persistence context ends with the transaction, so the memory that is used does not
+ * grow with the size of the file. The category counts and the search indexes are updated after
+ * every commit, like for a recipe that is saved with the form.
+ *
+ * When a batch fails the import stops, the report tells the last committed line and the import
+ * is resumed by skipping that many lines of the same file.
+ */
+public class RecipeImportServiceImpl implements RecipeImportService {
+
+    // The number of recipes saved in one transaction, a multiple of the JDBC batch size
+    static final int BATCH_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeCommandToRecipe recipeCommandToRecipe;
+    private final UnitOfMeasureService unitOfMeasureService;
+    private final CategoryService categoryService;
+    private final CategoryRecipeCountService categoryRecipeCountService;
+    private final List<RecipeChangeListener> recipeChangeListeners;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    int batchSize = BATCH_SIZE;
+
+    public RecipeImportServiceImpl(RecipeRepository recipeRepository, RecipeCommandToRecipe recipeCommandToRecipe,
+                                   UnitOfMeasureService unitOfMeasureService, CategoryService categoryService,
+                                   CategoryRecipeCountService categoryRecipeCountService,
+                                   List<RecipeChangeListener> recipeChangeListeners, Validator validator,
+                                   ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.recipeCommandToRecipe = recipeCommandToRecipe;
+        this.unitOfMeasureService = unitOfMeasureService;
+        this.categoryService = categoryService;
+        this.categoryRecipeCountService = categoryRecipeCountService;
+        this.recipeChangeListeners = recipeChangeListeners;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /*
+     * Imports the recipes of the input, after skipping its first skipLines lines. The progress
+     * listener gets the report after every committed batch.
+     */
+    @Override
+    public RecipeImportReport importRecipes(Reader input, long skipLines, Consumer<RecipeImportReport> progress) {
+        RecipeImportReport report = new RecipeImportReport(skipLines);
+
+        Map<String, UnitOfMeasureCommand> uoms = byDescription(unitOfMeasureService.listAllUoms(),
+                UnitOfMeasureCommand::getDescription);
+        Map<String, CategoryCommand> categories = byDescription(categoryService.listAllCategories(),
+                CategoryCommand::getDescription);
+
+        List<RecipeCommand> batch = new ArrayList<>(batchSize);
+
+        try (RecipeLineReader reader = new RecipeLineReader(input, objectMapper)) {
+            reader.skip(skipLines);
+
+            RecipeLine line;
+            while ((line = reader.next()) != null) {
+                report.lineRead(line.getNumber());
+
+                String error = line.getError() != null ? line.getError()
+                        : prepare(line.getCommand(), uoms, categories);
+                if (error != null) {
+                    report.invalidLine(line.getNumber(), error);
+                    continue;
+                }
+
+                batch.add(line.getCommand());
+                if (batch.size() == batchSize) {
+                    saveBatch(batch, reader.getLineNumber(), report, progress);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                saveBatch(batch, reader.getLineNumber(), report, progress);
+            }
+            report.completed(reader.getLineNumber());
+        } catch (IOException e) {
+            log.error("Recipe import could not read the input after line " + report.getLinesRead(), e);
+            report.failed("could not read the input after line " + report.getLinesRead() + ", " + e.getMessage());
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Recipe import could not save the recipes after line " + report.getLastCommittedLine(), e);
+            report.failed("could not save the recipes after line " + report.getLastCommittedLine() + ", "
+                    + e.getMessage());
+        }
+
+        log.info("Recipe import finished, " + report);
+        return report;
+    }
+
+    /*
+     * Replaces the categories and units of measure of the recipe with the known ones of the
+     * same description and validates the recipe. Returns why the recipe cannot be imported, or
+     * null when it can.
+     */
+    private String prepare(RecipeCommand command, Map<String, UnitOfMeasureCommand> uoms,
+                           Map<String, CategoryCommand> categories) {
+
+        // The recipes of a catalog are always new recipes, ids of the file are not used
+        command.setId(null);
+        command.setImage(null);
+        if (command.getNotes() != null) {
+            command.getNotes().setId(null);
+        }
+
+        Set<CategoryCommand> knownCategories = new HashSet<>();
+        if (command.getCategories() != null) {
+            for (CategoryCommand category : command.getCategories()) {
+                CategoryCommand known = categories.get(key(category.getDescription()));
+                if (known == null) {
+                    return "unknown category " + category.getDescription();
+                }
+                knownCategories.add(known);
+            }
+        }
+        command.setCategories(knownCategories);
+
+        if (command.getIngredients() == null) {
+            command.setIngredients(new HashSet<>());
+        }
+        for (IngredientCommand ingredient : command.getIngredients()) {
+            ingredient.setId(null);
+            ingredient.setRecipeId(null);
+
+            if (ingredient.getDescription() == null || ingredient.getDescription().trim().isEmpty()) {
+                return "ingredient without description";
+            }
+            if (ingredient.getUom() != null) {
+                UnitOfMeasureCommand known = uoms.get(key(ingredient.getUom().getDescription()));
+                if (known == null) {
+                    return "unknown unit of measure " + ingredient.getUom().getDescription();
+                }
+                ingredient.setUom(known);
+            }
+        }
+
+        Set<ConstraintViolation<RecipeCommand>> violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private void saveBatch(List<RecipeCommand> batch, long lastLine, RecipeImportReport report,
+                           Consumer<RecipeImportReport> progress) {
+
+        transactionTemplate.execute(status -> {
+            List<Recipe> recipes = new ArrayList<>(batch.size());
+            for (RecipeCommand command : batch) {
+                Recipe recipe = recipeCommandToRecipe.convert(command);
+                // the converter only links the ingredients of a recipe that already has an id
+                recipe.getIngredients().forEach(ingredient -> ingredient.setRecipe(recipe));
+                recipes.add(recipe);
+            }
+
+            for (Recipe savedRecipe : recipeRepository.saveAll(recipes)) {
+                categoryRecipeCountService.updateRecipeCounts(new HashSet<>(), categoryIds(savedRecipe));
+                recipeChangeListeners.forEach(listener -> listener.indexRecipe(savedRecipe));
+            }
+            return null;
+        });
+
+        report.batchCommitted(batch.size(), lastLine);
+        progress.accept(report);
+    }
+
+    private Set<Long> categoryIds(Recipe recipe) {
+        Set<Long> categoryIds = new HashSet<>();
+        recipe.getCategories().forEach(category -> categoryIds.add(category.getId()));
+        return categoryIds;
+    }
+
+    private static <T> Map<String, T> byDescription(Collection<T> commands, Function<T, String> description) {
+        Map<String, T> byDescription = new HashMap<>();
+        for (T command : commands) {
+            byDescription.put(key(description.apply(command)), command);
+        }
+        return byDescription;
+    }
+
+    // Descriptions are compared without case and surrounding spaces, "cup " is the unit "Cup"
+    private static String key(String description) {
+        return description == null ? "" : description.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,23 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.search.SearchHit;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Predicate;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface RecipeSearchService extends RecipeChangeListener {
+
+    Slice<SearchHit> search(String query, int page, boolean fuzzy);
+
+    Slice<SearchHit> search(String query, int page, boolean fuzzy, Predicate<Long> filter);
+
+    long[] findRecipeIds(String query, boolean fuzzy);
+
+    void rebuild();
+}
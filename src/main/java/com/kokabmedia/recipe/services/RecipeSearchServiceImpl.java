@@ -0,0 +1,145 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.InvertedIndex;
+import com.kokabmedia.recipe.search.SearchDocument;
+import com.kokabmedia.recipe.search.SearchHit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the RecipeSearchServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class searches the recipes with an in memory InvertedIndex. The index is built from the
+ * database once, on the first search, and from then on is only changed by the recipes that are
+ * saved or deleted, so a search never touches the database.
+ */
+public class RecipeSearchServiceImpl implements RecipeSearchService {
+
+    public static final int PAGE_SIZE = 20;
+
+    // The number of recipes read from the database with one query while the index is built
+    static final int BUILD_BATCH_SIZE = 1000;
+
+    private final RecipeRepository recipeRepository;
+
+    private final IndexHolder<InvertedIndex> index;
+
+    public RecipeSearchServiceImpl(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+        this.index = new IndexHolder<>(this::build);
+    }
+
+    /*
+     * Returns one page of the recipes that match the query, the best match first. A fuzzy
+     * search also finds the descriptions with words that are spelled like a query term.
+     */
+    @Override
+    public Slice<SearchHit> search(String query, int page, boolean fuzzy) {
+        return search(query, page, fuzzy, recipeId -> true);
+    }
+
+    // Like search(query, page, fuzzy) but only with the recipes that the filter accepts
+    @Override
+    public Slice<SearchHit> search(String query, int page, boolean fuzzy, Predicate<Long> filter) {
+        int first = page * PAGE_SIZE;
+
+        // One more hit than the page is read to know if there is a next page
+        List<SearchHit> hits = index.get().search(query, first + PAGE_SIZE + 1, fuzzy, filter);
+
+        List<SearchHit> content = hits.size() <= first ? new ArrayList<>()
+                : new ArrayList<>(hits.subList(first, Math.min(hits.size(), first + PAGE_SIZE)));
+
+        return new SliceImpl<>(content, PageRequest.of(page, PAGE_SIZE), hits.size() > first + PAGE_SIZE);
+    }
+
+    // The ids of all recipes that match the query, for the facet counts of the search
+    @Override
+    public long[] findRecipeIds(String query, boolean fuzzy) {
+        return index.get().findRecipeIds(query, fuzzy);
+    }
+
+    /*
+     * Reads the text of a saved recipe and puts it into the index. The text is read right away
+     * while the lazy associations of the recipe can be loaded, inside a transaction the index is
+     * only changed after the commit, so a rolled back save never changes it.
+     */
+    @Override
+    public void indexRecipe(Recipe recipe) {
+        SearchDocument document = SearchDocument.from(recipe);
+
+        index.afterCommit(currentIndex -> currentIndex.put(document));
+    }
+
+    @Override
+    public void removeRecipe(Long recipeId) {
+        index.afterCommit(currentIndex -> currentIndex.remove(recipeId));
+    }
+
+    /*
+     * Builds a new index from the database and replaces the current one, searches use the
+     * current index until the new one is complete. The recipes are read in batches ordered by
+     * id, every batch takes one query for the recipes and one for their ingredients.
+     */
+    @Override
+    public void rebuild() {
+        index.rebuild();
+    }
+
+    private InvertedIndex build() {
+        InvertedIndex newIndex = new InvertedIndex();
+        Long afterId = 0L;
+
+        while (true) {
+            List<Object[]> recipes = recipeRepository.findSearchTextAfterId(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            if (recipes.isEmpty()) {
+                break;
+            }
+
+            Long lastId = (Long) recipes.get(recipes.size() - 1)[0];
+
+            Map<Long, List<String>> ingredients = new HashMap<>();
+            for (Object[] row : recipeRepository.findIngredientDescriptions(afterId, lastId)) {
+                ingredients.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+
+            for (Object[] row : recipes) {
+                Long recipeId = (Long) row[0];
+                newIndex.put(new SearchDocument(recipeId, (String) row[1], (String) row[2], (String) row[3],
+                        ingredients.get(recipeId)));
+            }
+
+            afterId = lastId;
+        }
+
+        log.debug("Built search index for " + newIndex.size() + " recipes");
+        return newIndex;
+    }
+}
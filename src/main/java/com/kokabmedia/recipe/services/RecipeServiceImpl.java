@@ -5,6 +5,7 @@ import com.kokabmedia.recipe.converters.RecipeCommandToRecipe;
 import com.kokabmedia.recipe.converters.RecipeToRecipeCommand;
 import com.kokabmedia.recipe.domain.Recipe;
 import com.kokabmedia.recipe.exceptions.NotFoundException;
+import com.kokabmedia.recipe.repositories.RecipeImageRepository;
 import com.kokabmedia.recipe.repositories.RecipeRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,6 +14,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -39,14 +41,21 @@ import javax.validation.Valid;
 public class RecipeServiceImpl implements RecipeService {
 
 	private final RecipeRepository recipeRepository;
+	private final RecipeImageRepository recipeImageRepository;
 	private final RecipeCommandToRecipe recipeCommandToRecipe;
 	private final RecipeToRecipeCommand recipeToRecipeCommand;
+	private final CategoryRecipeCountService categoryRecipeCountService;
+	private final List<RecipeChangeListener> recipeChangeListeners;
 
-	public RecipeServiceImpl(RecipeRepository recipeRepository, RecipeCommandToRecipe recipeCommandToRecipe,
-			RecipeToRecipeCommand recipeToRecipeCommand) {
+	public RecipeServiceImpl(RecipeRepository recipeRepository, RecipeImageRepository recipeImageRepository,
+			RecipeCommandToRecipe recipeCommandToRecipe, RecipeToRecipeCommand recipeToRecipeCommand,
+			CategoryRecipeCountService categoryRecipeCountService, List<RecipeChangeListener> recipeChangeListeners) {
 		this.recipeRepository = recipeRepository;
+		this.recipeImageRepository = recipeImageRepository;
 		this.recipeCommandToRecipe = recipeCommandToRecipe;
 		this.recipeToRecipeCommand = recipeToRecipeCommand;
+		this.categoryRecipeCountService = categoryRecipeCountService;
+		this.recipeChangeListeners = recipeChangeListeners;
 	}
 
 	@Override
@@ -58,7 +67,12 @@ public class RecipeServiceImpl implements RecipeService {
 		return recipeSet;
 	}
 
+	/*
+	 * The recipe is shown after the transaction has ended, the repository fetches its 
+	 * collections and its notes together with the recipe.
+	 */
 	@Override
+	@Transactional(readOnly = true)
 	public Recipe findById(Long l) {
 
 		Optional<Recipe> recipeOptional = recipeRepository.findById(l);
@@ -122,6 +136,17 @@ public class RecipeServiceImpl implements RecipeService {
 		 */
 		Recipe detachedRecipe = recipeCommandToRecipe.convert(command);
 
+		/*
+		 * The categories before the save are needed to keep the recipe counts per category up to
+		 * date. The recipe is loaded with its categories, ingredients and notes in one select, the
+		 * merge of the save below finds all of them in the persistence context and reads nothing.
+		 */
+		Set<Long> oldCategoryIds = new HashSet<>();
+		if (detachedRecipe.getId() != null) {
+			recipeRepository.findById(detachedRecipe.getId())
+					.ifPresent(recipe -> oldCategoryIds.addAll(categoryIds(recipe)));
+		}
+
 		/* Entity object get mapped and stored in database by Hibernate and Spring JPA. If the 
 		 * detached object is new it will create a new object (row) if it existing the save()
 		 * method will do a merge operation and update the existing entity. The repository object 
@@ -129,14 +154,31 @@ public class RecipeServiceImpl implements RecipeService {
 		 */
 		Recipe savedRecipe = recipeRepository.save(detachedRecipe);
 		log.debug("Saved RecipeId:" + savedRecipe.getId());
+
+		categoryRecipeCountService.updateRecipeCounts(oldCategoryIds, categoryIds(savedRecipe));
+		recipeChangeListeners.forEach(listener -> listener.indexRecipe(savedRecipe));
 		
 		// The saved Hibernate Entity object gets converted back to Command object 
 		return recipeToRecipeCommand.convert(savedRecipe);
 	}
 
 	@Override
+	@Transactional
 	public void deleteById(Long idToDelete) {
+		Set<Long> oldCategoryIds = recipeRepository.findCategoryIdsByRecipeId(idToDelete);
+
+		recipeImageRepository.deleteByRecipeId(idToDelete);
 		recipeRepository.deleteById(idToDelete);
 
+		categoryRecipeCountService.updateRecipeCounts(oldCategoryIds, new HashSet<>());
+		recipeChangeListeners.forEach(listener -> listener.removeRecipe(idToDelete));
+	}
+
+	private Set<Long> categoryIds(Recipe recipe) {
+		Set<Long> categoryIds = new HashSet<>();
+		if (recipe.getCategories() != null) {
+			recipe.getCategories().forEach(category -> categoryIds.add(category.getId()));
+		}
+		return categoryIds;
 	}
 }
\ No newline at end of file
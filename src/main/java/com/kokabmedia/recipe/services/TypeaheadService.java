@@ -0,0 +1,20 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.search.Suggestion;
+
+import java.util.List;
+
+/*
+ * Interface for service layer object.
+ * 
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface TypeaheadService extends RecipeChangeListener {
+
+    List<Suggestion> completeIngredients(String prefix);
+
+    List<Suggestion> completeRecipes(String prefix);
+
+    void rebuild();
+}
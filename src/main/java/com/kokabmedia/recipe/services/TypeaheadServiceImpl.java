@@ -0,0 +1,174 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.PrefixIndex;
+import com.kokabmedia.recipe.search.Suggestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean) 
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.  
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean. 
+* The Spring framework will find the bean with auto-detection when scanning the class 
+* path with component scanning. It turns the class into a Spring bean at the auto-scan 
+* time.
+* 
+* @Service annotation allows the TypeaheadServiceImpl class and to be wired in as 
+* dependency to a another object or a bean with the @Autowired annotation.
+* 
+* The @Service annotation is a specialisation of @Component annotation for more specific 
+* use cases.
+*/
+@Service
+/*
+ * This class completes the ingredient descriptions and recipe titles that are typed into the
+ * forms, with one PrefixIndex for the ingredients and one for the recipes. The completions
+ * are ranked by how many ingredients or recipes use the text, so the common spelling of an
+ * ingredient is offered first and new ingredients reuse it.
+ *
+ * The indexes are built once, on the first completion, and then kept up to date with the
+ * recipes that are saved or deleted. The texts of every recipe are remembered, a saved recipe
+ * removes its old texts from the counts and adds the new ones.
+ */
+public class TypeaheadServiceImpl implements TypeaheadService {
+
+    // The number of recipes read from the database with one query while the indexes are built
+    static final int BUILD_BATCH_SIZE = 1000;
+
+    private final RecipeRepository recipeRepository;
+
+    private final IndexHolder<Indexes> indexes;
+
+    public TypeaheadServiceImpl(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+        this.indexes = new IndexHolder<>(this::build);
+    }
+
+    @Override
+    public List<Suggestion> completeIngredients(String prefix) {
+        return indexes.get().ingredients.complete(prefix, PrefixIndex.MAX_SUGGESTIONS);
+    }
+
+    @Override
+    public List<Suggestion> completeRecipes(String prefix) {
+        return indexes.get().recipes.complete(prefix, PrefixIndex.MAX_SUGGESTIONS);
+    }
+
+    /*
+     * Reads the title and the ingredients of a saved recipe right away and changes the counts
+     * after the commit, a rolled back save never changes the indexes.
+     */
+    @Override
+    public void indexRecipe(Recipe recipe) {
+        Long recipeId = recipe.getId();
+        String description = recipe.getDescription();
+        List<String> ingredients = new ArrayList<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                ingredients.add(ingredient.getDescription());
+            }
+        }
+
+        indexes.afterCommit(currentIndexes -> currentIndexes.put(recipeId, description, ingredients));
+    }
+
+    @Override
+    public void removeRecipe(Long recipeId) {
+        indexes.afterCommit(currentIndexes -> currentIndexes.remove(recipeId));
+    }
+
+    /*
+     * Builds new indexes from the database and replaces the current ones. The recipes are read
+     * in batches ordered by id, every batch takes one query for the titles and one for the
+     * ingredients.
+     */
+    @Override
+    public void rebuild() {
+        indexes.rebuild();
+    }
+
+    private Indexes build() {
+        Indexes newIndexes = new Indexes();
+        Long afterId = 0L;
+
+        while (true) {
+            List<Object[]> recipes = recipeRepository.findDescriptionsAfterId(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            if (recipes.isEmpty()) {
+                break;
+            }
+
+            Long lastId = (Long) recipes.get(recipes.size() - 1)[0];
+
+            Map<Long, List<String>> ingredients = new HashMap<>();
+            for (Object[] row : recipeRepository.findIngredientDescriptions(afterId, lastId)) {
+                ingredients.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+
+            for (Object[] row : recipes) {
+                Long recipeId = (Long) row[0];
+                newIndexes.put(recipeId, (String) row[1], ingredients.getOrDefault(recipeId, Collections.emptyList()));
+            }
+
+            afterId = lastId;
+        }
+
+        log.debug("Built typeahead indexes for " + newIndexes.recipes.size() + " recipe titles and "
+                + newIndexes.ingredients.size() + " ingredients");
+        return newIndexes;
+    }
+
+    /*
+     * The two prefix indexes and the texts that were counted for every recipe. Changes of
+     * different recipes are applied one after the other, the completions read the prefix
+     * indexes without waiting for them.
+     */
+    private static final class Indexes {
+
+        final PrefixIndex ingredients = new PrefixIndex();
+        final PrefixIndex recipes = new PrefixIndex();
+
+        private final Map<Long, RecipeTexts> recipeTexts = new HashMap<>();
+
+        synchronized void put(Long recipeId, String description, List<String> ingredientDescriptions) {
+            remove(recipeId);
+
+            recipes.add(description);
+            ingredientDescriptions.forEach(ingredients::add);
+            recipeTexts.put(recipeId, new RecipeTexts(description, ingredientDescriptions));
+        }
+
+        synchronized void remove(Long recipeId) {
+            RecipeTexts texts = recipeTexts.remove(recipeId);
+
+            if (texts != null) {
+                recipes.remove(texts.description);
+                texts.ingredients.forEach(ingredients::remove);
+            }
+        }
+    }
+
+    private static final class RecipeTexts {
+
+        final String description;
+        final List<String> ingredients;
+
+        RecipeTexts(String description, List<String> ingredients) {
+            this.description = description;
+            this.ingredients = ingredients;
+        }
+    }
+}
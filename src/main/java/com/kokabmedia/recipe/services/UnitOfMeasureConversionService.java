@@ -0,0 +1,18 @@
+package com.kokabmedia.recipe.services;
+
+import java.math.BigDecimal;
+
+/*
+ * Interface for service layer object.
+ *
+ * The practise of coding against an interface implements loose coupling with
+ * the @Autowired annotation allowing dependency injection and better unit testing.
+ */
+public interface UnitOfMeasureConversionService {
+
+    boolean isConvertible(Long fromUomId, Long toUomId);
+
+    BigDecimal convert(BigDecimal amount, Long fromUomId, Long toUomId);
+
+    void reload();
+}
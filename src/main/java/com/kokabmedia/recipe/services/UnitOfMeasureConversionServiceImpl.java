@@ -0,0 +1,182 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.UnitOfMeasure;
+import com.kokabmedia.recipe.exceptions.NotFoundException;
+import com.kokabmedia.recipe.repositories.UnitOfMeasureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Causes Lombok to generate a logger field.
+@Slf4j
+/*
+* The @Service annotation allows the Spring framework to creates an instance (bean)
+* of this class and manage it with the Spring Application Context (the IOC container)
+* that maintains all the beans for the application.
+*
+* The@Service annotation lets the Spring framework manage class as a Spring bean.
+* The Spring framework will find the bean with auto-detection when scanning the class
+* path with component scanning. It turns the class into a Spring bean at the auto-scan
+* time.
+*
+* @Service annotation allows the UnitOfMeasureConversionServiceImpl class and to be wired in as
+* dependency to a another object or a bean with the @Autowired annotation.
+*
+* The @Service annotation is a specialisation of @Component annotation for more specific
+* use cases.
+*/
+@Service
+/*
+ * This class converts amounts between units of measure. All conversion factors are computed
+ * once from the unit of measure table and kept in memory as a dense matrix, so converting an
+ * amount is a single array lookup and never touches the database.
+ */
+public class UnitOfMeasureConversionServiceImpl implements UnitOfMeasureConversionService {
+
+    private final UnitOfMeasureRepository unitOfMeasureRepository;
+
+    /*
+     * The matrix is immutable and replaced as a whole on reload(), the volatile keyword makes
+     * a new matrix visible to all request threads without any locking.
+     */
+    private volatile ConversionMatrix matrix;
+
+    public UnitOfMeasureConversionServiceImpl(UnitOfMeasureRepository unitOfMeasureRepository) {
+        this.unitOfMeasureRepository = unitOfMeasureRepository;
+    }
+
+    @Override
+    public boolean isConvertible(Long fromUomId, Long toUomId) {
+        ConversionMatrix conversionMatrix = getMatrix();
+
+        int from = conversionMatrix.indexOf(fromUomId);
+        int to = conversionMatrix.indexOf(toUomId);
+
+        return from >= 0 && to >= 0 && !Double.isNaN(conversionMatrix.factor(from, to));
+    }
+
+    @Override
+    public BigDecimal convert(BigDecimal amount, Long fromUomId, Long toUomId) {
+        if (amount == null) {
+            return null;
+        }
+
+        ConversionMatrix conversionMatrix = getMatrix();
+
+        int from = conversionMatrix.indexOf(fromUomId);
+        if (from < 0) {
+            throw new NotFoundException("Unit Of Measure Not Found. For ID value: " + fromUomId);
+        }
+
+        int to = conversionMatrix.indexOf(toUomId);
+        if (to < 0) {
+            throw new NotFoundException("Unit Of Measure Not Found. For ID value: " + toUomId);
+        }
+
+        double factor = conversionMatrix.factor(from, to);
+        if (Double.isNaN(factor)) {
+            throw new IllegalArgumentException("Unit Of Measure " + fromUomId + " can not be converted to " + toUomId);
+        }
+
+        return amount.multiply(BigDecimal.valueOf(factor), MathContext.DECIMAL64);
+    }
+
+    // Rebuild the matrix, this is needed after units of measure have been added or changed
+    @Override
+    public void reload() {
+        matrix = buildMatrix();
+    }
+
+    private ConversionMatrix getMatrix() {
+        ConversionMatrix conversionMatrix = matrix;
+
+        if (conversionMatrix == null) {
+            synchronized (this) {
+                conversionMatrix = matrix;
+                if (conversionMatrix == null) {
+                    conversionMatrix = buildMatrix();
+                    matrix = conversionMatrix;
+                }
+            }
+        }
+        return conversionMatrix;
+    }
+
+    private ConversionMatrix buildMatrix() {
+        List<UnitOfMeasure> uoms = new ArrayList<>();
+        unitOfMeasureRepository.findAll().forEach(uoms::add);
+
+        long maxId = 0;
+        for (UnitOfMeasure uom : uoms) {
+            maxId = Math.max(maxId, uom.getId());
+        }
+
+        // Map every id to a dense row and column number of the matrix
+        int[] indexById = new int[(int) maxId + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < uoms.size(); i++) {
+            indexById[uoms.get(i).getId().intValue()] = i;
+        }
+
+        int size = uoms.size();
+        double[] factors = new double[size * size];
+
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                factors[from * size + to] = computeFactor(uoms.get(from), uoms.get(to));
+            }
+        }
+
+        log.debug("Built unit of measure conversion matrix for " + size + " units");
+
+        return new ConversionMatrix(indexById, factors, size);
+    }
+
+    // NaN marks two units that can not be converted into each other
+    private double computeFactor(UnitOfMeasure from, UnitOfMeasure to) {
+        if (from.getId().equals(to.getId())) {
+            return 1d;
+        }
+
+        if (from.getMeasureType() == null || from.getMeasureType() != to.getMeasureType()
+                || from.getBaseUnitFactor() == null || to.getBaseUnitFactor() == null
+                || to.getBaseUnitFactor().signum() == 0) {
+            return Double.NaN;
+        }
+
+        return from.getBaseUnitFactor().doubleValue() / to.getBaseUnitFactor().doubleValue();
+    }
+
+    /*
+     * Immutable snapshot of all conversion factors. The factor to convert the unit in row
+     * "from" to the unit in column "to" is stored at position from * size + to.
+     */
+    private static final class ConversionMatrix {
+
+        private final int[] indexById;
+        private final double[] factors;
+        private final int size;
+
+        ConversionMatrix(int[] indexById, double[] factors, int size) {
+            this.indexById = indexById;
+            this.factors = factors;
+            this.size = size;
+        }
+
+        int indexOf(Long uomId) {
+            if (uomId == null || uomId < 0 || uomId >= indexById.length) {
+                return -1;
+            }
+            return indexById[uomId.intValue()];
+        }
+
+        double factor(int from, int to) {
+            return factors[from * size + to];
+        }
+    }
+}
@@ -13,4 +13,6 @@ import java.util.Set;
 public interface UnitOfMeasureService {
 
     Set<UnitOfMeasureCommand> listAllUoms();
+
+    void refresh();
 }
\ No newline at end of file
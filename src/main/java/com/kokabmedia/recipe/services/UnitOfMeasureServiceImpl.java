@@ -5,6 +5,9 @@ import com.kokabmedia.recipe.converters.UnitOfMeasureToUnitOfMeasureCommand;
 import com.kokabmedia.recipe.repositories.UnitOfMeasureRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -31,6 +34,16 @@ public class UnitOfMeasureServiceImpl implements UnitOfMeasureService {
     private final UnitOfMeasureRepository unitOfMeasureRepository;
     private final UnitOfMeasureToUnitOfMeasureCommand unitOfMeasureToUnitOfMeasureCommand;
 
+    /*
+     * Units of measure are reference data that almost never change, so they are read and converted
+     * once and kept as an unmodifiable, sorted snapshot. The volatile keyword makes a refreshed
+     * snapshot visible to all request threads at once without any locking.
+     *
+     * The converter hands out immutable commands, so every request and the importer get the same
+     * snapshot and no caller can change a command in the list of another one.
+     */
+    private volatile Set<UnitOfMeasureCommand> uomSnapshot;
+
     public UnitOfMeasureServiceImpl(UnitOfMeasureRepository unitOfMeasureRepository, UnitOfMeasureToUnitOfMeasureCommand unitOfMeasureToUnitOfMeasureCommand) {
         this.unitOfMeasureRepository = unitOfMeasureRepository;
         this.unitOfMeasureToUnitOfMeasureCommand = unitOfMeasureToUnitOfMeasureCommand;
@@ -38,10 +51,35 @@ public class UnitOfMeasureServiceImpl implements UnitOfMeasureService {
 
     @Override
     public Set<UnitOfMeasureCommand> listAllUoms() {
+        Set<UnitOfMeasureCommand> snapshot = uomSnapshot;
+
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = uomSnapshot;
+                if (snapshot == null) {
+                    snapshot = loadSnapshot();
+                    uomSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    // Replace the snapshot, this is needed after units of measure have been added or changed
+    @Override
+    public void refresh() {
+        uomSnapshot = loadSnapshot();
+    }
 
-        return StreamSupport.stream(unitOfMeasureRepository.findAll()
+    private Set<UnitOfMeasureCommand> loadSnapshot() {
+
+        Set<UnitOfMeasureCommand> uoms = StreamSupport.stream(unitOfMeasureRepository.findAll()
                 .spliterator(), false)
                 .map(unitOfMeasureToUnitOfMeasureCommand::convert)
-                .collect(Collectors.toSet());
+                .sorted(Comparator.comparing(UnitOfMeasureCommand::getDescription,
+                        Comparator.nullsLast(Comparator.<String>naturalOrder())))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return Collections.unmodifiableSet(uoms);
     }
-}
+}
\ No newline at end of file
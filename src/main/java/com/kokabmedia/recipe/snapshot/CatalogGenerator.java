@@ -0,0 +1,344 @@
+package com.kokabmedia.recipe.snapshot;
+
+import com.kokabmedia.recipe.bootstrap.ReferenceData;
+import com.kokabmedia.recipe.domain.Difficulty;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/*
+ * Generates a synthetic recipe catalog of any size for load and scale tests. The recipes look
+ * like the recipes of a real catalog: a few ingredients, categories and words are very common
+ * and most are rare, the number of ingredients, the length of the directions and notes and the
+ * size of the images vary around a typical value with a long tail of large recipes.
+ *
+ *  - 2 to 30 ingredients, 9 for a typical recipe, chosen from a vocabulary where "salt" is far
+ *    more common than "star anise"
+ *  - 1 to 3 categories, the popular cuisines are given to many more recipes than the others
+ *  - notes for 70 percent of the recipes, 45 words for a typical recipe and up to 2000 words
+ *  - an image for the given share of the recipes, 120 KB for a typical image and up to 4 MB
+ *
+ * The catalog is the same for the same seed, recipe n is even the same for every number of
+ * recipes, so a test that fails at a million recipes is repeated with the same data. Every
+ * recipe is generated with its own random numbers, nothing is kept between recipes except a
+ * small pool of images, so generating a million recipes needs no more memory than ten.
+ *
+ * The recipes are handed to a CatalogSnapshotReader.Handler one by one, like the recipes of a
+ * snapshot file. The CatalogSnapshotService inserts them with the bulk inserts of a restore,
+ * write() writes them to a snapshot file that is restored later.
+ *
+ * Images are turned off by default, a million recipes with images do not fit into the memory of
+ * the H2 database. The image bytes are not a picture, only the size and the hash are realistic.
+ *
+ * The class is not thread safe, every thread needs its own generator.
+ */
+public class CatalogGenerator {
+
+    // The units of measure of the seed file, a generated catalog has the same units as a seeded database
+    private static final List<ReferenceData.UnitOfMeasure> UNITS_OF_MEASURE =
+            ReferenceData.readSeedFile().getUnitsOfMeasure();
+
+    // The weight of a unit of measure in an ingredient list, a unit that is not listed is rare
+    private static final Map<String, Double> UOM_WEIGHTS = new HashMap<>();
+    private static final double RARE_UOM_WEIGHT = 1;
+
+    static {
+        UOM_WEIGHTS.put("Teaspoon", 20.0);
+        UOM_WEIGHTS.put("Tablespoon", 20.0);
+        UOM_WEIGHTS.put("Cup", 18.0);
+        UOM_WEIGHTS.put("Pinch", 3.0);
+        UOM_WEIGHTS.put("Ounce", 5.0);
+        UOM_WEIGHTS.put("Each", 30.0);
+        UOM_WEIGHTS.put("Dash", 2.0);
+        UOM_WEIGHTS.put("Pint", 2.0);
+    }
+
+    // From the most popular to the least popular category
+    private static final String[] CATEGORIES = {"American", "Italian", "Mexican", "Fast Food", "Chinese", "Indian",
+            "French", "Thai", "Japanese", "Mediterranean", "Greek", "Spanish", "Middle Eastern", "Korean",
+            "Vietnamese", "Vegetarian", "Vegan", "Breakfast", "Dessert", "Baking", "Soup", "Salad", "Barbecue",
+            "Seafood", "Caribbean", "Moroccan", "German", "British", "Brazilian", "Ethiopian"};
+
+    // From the most common to the least common ingredient
+    private static final String[] INGREDIENTS = {"salt", "olive oil", "garlic", "onion", "butter", "black pepper",
+            "sugar", "all-purpose flour", "eggs", "water", "milk", "lemon juice", "tomatoes", "vegetable oil",
+            "cilantro", "parmesan cheese", "chicken breast", "carrots", "brown sugar", "ground cumin", "lime juice",
+            "baking powder", "vanilla extract", "heavy cream", "soy sauce", "red onion", "celery", "chili powder",
+            "ginger", "paprika", "bell pepper", "honey", "basil", "parsley", "oregano", "thyme", "cheddar cheese",
+            "sour cream", "avocados", "potatoes", "rice", "chicken broth", "ground beef", "baking soda",
+            "green onions", "mushrooms", "cinnamon", "red pepper flakes", "spinach", "jalapeno", "white wine",
+            "balsamic vinegar", "dijon mustard", "mayonnaise", "bacon", "shrimp", "tortillas", "black beans",
+            "corn", "zucchini", "coconut milk", "chickpeas", "feta cheese", "mozzarella", "pasta", "rosemary",
+            "sesame oil", "maple syrup", "walnuts", "almonds", "cream cheese", "yogurt", "cabbage", "lentils",
+            "pork shoulder", "salmon", "tofu", "fish sauce", "turmeric", "coriander", "nutmeg", "cloves",
+            "bay leaves", "smoked paprika", "cayenne pepper", "capers", "olives", "anchovies", "pine nuts",
+            "arugula", "radishes", "cherry tomatoes", "sweet potatoes", "eggplant", "leeks", "fennel", "dill",
+            "mint", "tahini", "miso", "star anise", "cardamom", "saffron", "lemongrass", "kaffir lime leaves"};
+
+    private static final String[] ADJECTIVES = {"Easy", "Classic", "Spicy", "Creamy", "Quick", "Grilled", "Roasted",
+            "Homemade", "Crispy", "Healthy", "Smoky", "Slow Cooker", "Garlic", "Lemon", "Honey Glazed", "Rustic",
+            "One Pot", "Sheet Pan", "Baked", "Stuffed"};
+
+    private static final String[] MAINS = {"Chicken", "Beef", "Vegetable", "Shrimp", "Pork", "Salmon", "Tofu",
+            "Mushroom", "Bean", "Lentil", "Turkey", "Lamb", "Chickpea", "Potato", "Cauliflower", "Eggplant"};
+
+    private static final String[] DISHES = {"Tacos", "Pasta", "Salad", "Soup", "Curry", "Stir Fry", "Burgers",
+            "Casserole", "Stew", "Sandwiches", "Skewers", "Bowls", "Enchiladas", "Risotto", "Pie", "Chili",
+            "Fried Rice", "Wraps", "Frittata", "Noodles"};
+
+    private static final String[] SOURCES = {"Simply Recipes", "Serious Eats", "Food Network", "Bon Appetit",
+            "Budget Bytes", "Smitten Kitchen", "Minimalist Baker", "Cookie and Kate"};
+
+    private static final String[] STEPS = {"Heat the %s in a large pan over medium heat for %d minutes.",
+            "Add the %s and stir until it is soft, about %d minutes.",
+            "Mix the %s in a bowl and let it rest for %d minutes.",
+            "Season the %s with salt and pepper and cook for %d minutes.",
+            "Chop the %s finely and set it aside for %d minutes.",
+            "Bring the %s to a boil, then simmer for %d minutes.",
+            "Whisk the %s until smooth, this takes about %d minutes.",
+            "Bake the %s in the oven for %d minutes until golden."};
+
+    private static final String[] NOTES = {"This recipe keeps well in the fridge for up to three days.",
+            "You can replace the chicken with tofu for a vegetarian version.",
+            "Use fresh herbs if you can, dried herbs work but the taste is less bright.",
+            "The sauce can be made a day ahead and warmed up before serving.",
+            "Leftovers freeze well, thaw them overnight in the fridge.",
+            "If the dish is too spicy, serve it with a spoonful of yogurt or sour cream.",
+            "A cast iron pan gives the best crust, a nonstick pan works as well.",
+            "Double the recipe for a crowd, the cooking time stays the same.",
+            "Taste and adjust the seasoning just before serving.",
+            "Kids love this one, leave out the chili for them."};
+
+    private static final int[] SERVINGS = {1, 2, 2, 4, 4, 4, 4, 6, 6, 8, 10, 12};
+    private static final String[] AMOUNTS = {"0.25", "0.5", "1", "1", "1", "1.5", "2", "2", "3", "4"};
+
+    // Easy recipes are the most common, hard ones the rarest
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final double[] DIFFICULTY_WEIGHTS = {45, 35, 15, 5};
+
+    private static final int IMAGE_POOL_SIZE = 32;
+
+    private static final Sampler CATEGORY_SAMPLER = Sampler.zipf(CATEGORIES.length, 1.1);
+    private static final Sampler INGREDIENT_SAMPLER = Sampler.zipf(INGREDIENTS.length, 1.0);
+    private static final Sampler ADJECTIVE_SAMPLER = Sampler.zipf(ADJECTIVES.length, 0.8);
+    private static final Sampler MAIN_SAMPLER = Sampler.zipf(MAINS.length, 0.8);
+    private static final Sampler DISH_SAMPLER = Sampler.zipf(DISHES.length, 0.8);
+    private static final Sampler UOM_SAMPLER = Sampler.weighted(UNITS_OF_MEASURE.stream()
+            .mapToDouble(uom -> UOM_WEIGHTS.getOrDefault(uom.getDescription(), RARE_UOM_WEIGHT)).toArray());
+    private static final Sampler DIFFICULTY_SAMPLER = Sampler.weighted(DIFFICULTY_WEIGHTS);
+
+    private final long seed;
+    private double imageRatio;
+    private byte[][] imagePool;
+    private String[] imagePoolHashes;
+
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    // The share of the recipes that have an image, between 0 and 1
+    public void setImageRatio(double imageRatio) {
+        if (imageRatio < 0 || imageRatio > 1) {
+            throw new IllegalArgumentException("The image ratio must be between 0 and 1: " + imageRatio);
+        }
+        this.imageRatio = imageRatio;
+    }
+
+    /*
+     * Hands the units of measure, the categories and the given number of recipes to the handler
+     * and returns the number of recipes. The units of measure and categories have the ids 1 to n,
+     * the recipes reference them by these ids like in a snapshot file.
+     */
+    public long generate(long recipes, CatalogSnapshotReader.Handler handler) throws IOException {
+        for (int i = 0; i < UNITS_OF_MEASURE.size(); i++) {
+            ReferenceData.UnitOfMeasure uom = UNITS_OF_MEASURE.get(i);
+            handler.unitOfMeasure(i + 1, uom.getDescription(),
+                    uom.getMeasureType() == null ? null : uom.getMeasureType().name(), uom.getBaseUnitFactor());
+        }
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            handler.category(i + 1, CATEGORIES[i]);
+        }
+
+        for (long index = 1; index <= recipes; index++) {
+            handler.recipe(recipe(index));
+        }
+        return recipes;
+    }
+
+    // Writes the generated catalog to a snapshot file and returns the number of recipes
+    public long write(long recipes, CatalogSnapshotWriter writer) throws IOException {
+        generate(recipes, new CatalogSnapshotReader.Handler() {
+
+            @Override
+            public void unitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor)
+                    throws IOException {
+                writer.writeUnitOfMeasure(id, description, measureType, baseUnitFactor);
+            }
+
+            @Override
+            public void category(long id, String description) throws IOException {
+                writer.writeCategory(id, description);
+            }
+
+            @Override
+            public void recipe(SnapshotRecipe recipe) throws IOException {
+                writer.writeRecipe(recipe);
+            }
+        });
+        return writer.finish();
+    }
+
+    // Recipe number index of the catalog, it only depends on the seed and the index
+    SnapshotRecipe recipe(long index) {
+        Random random = new Random(mix(seed + index * 0x9E3779B97F4A7C15L));
+        SnapshotRecipe recipe = new SnapshotRecipe();
+        recipe.setId(index);
+
+        String main = MAINS[MAIN_SAMPLER.next(random)];
+        recipe.setDescription(ADJECTIVES[ADJECTIVE_SAMPLER.next(random)] + " " + main + " "
+                + DISHES[DISH_SAMPLER.next(random)]);
+        recipe.setPrepTime(logNormal(random, 15, 0.6, 1, 240));
+        recipe.setCookTime(random.nextDouble() < 0.15 ? 0 : logNormal(random, 30, 0.8, 1, 600));
+        recipe.setServings(SERVINGS[random.nextInt(SERVINGS.length)]);
+        recipe.setDifficulty(DIFFICULTIES[DIFFICULTY_SAMPLER.next(random)].name());
+
+        String source = SOURCES[random.nextInt(SOURCES.length)];
+        recipe.setSource(source);
+        recipe.setUrl("https://www." + source.toLowerCase().replace(" ", "") + ".com/recipes/"
+                + recipe.getDescription().toLowerCase().replace(' ', '-') + "-" + index);
+
+        List<String> ingredients = new ArrayList<>();
+        int ingredientCount = logNormal(random, 9, 0.35, 2, 30);
+        for (int i = 0; i < ingredientCount; i++) {
+            String ingredient = INGREDIENTS[INGREDIENT_SAMPLER.next(random)];
+            int uom = UOM_SAMPLER.next(random);
+            ingredients.add(ingredient);
+            recipe.getIngredients().add(new SnapshotRecipe.Ingredient(ingredient,
+                    new BigDecimal(AMOUNTS[random.nextInt(AMOUNTS.length)]), (long) uom + 1));
+        }
+
+        StringBuilder directions = new StringBuilder();
+        int steps = logNormal(random, 6, 0.4, 2, 20);
+        for (int step = 1; step <= steps; step++) {
+            directions.append(step).append(". ").append(String.format(STEPS[random.nextInt(STEPS.length)],
+                    ingredients.get(random.nextInt(ingredients.size())), 1 + random.nextInt(20))).append('\n');
+        }
+        recipe.setDirections(directions.toString());
+
+        if (random.nextDouble() < 0.7) {
+            recipe.setNotes(notes(random, logNormal(random, 45, 0.9, 3, 2000)));
+        }
+
+        int categoryCount = random.nextDouble() < 0.55 ? 1 : random.nextDouble() < 0.78 ? 2 : 3;
+        while (recipe.getCategoryIds().size() < categoryCount) {
+            long categoryId = CATEGORY_SAMPLER.next(random) + 1;
+            if (!recipe.getCategoryIds().contains(categoryId)) {
+                recipe.getCategoryIds().add(categoryId);
+            }
+        }
+
+        if (imageRatio > 0 && random.nextDouble() < imageRatio) {
+            int image = random.nextInt(IMAGE_POOL_SIZE);
+            recipe.setImage(image(image));
+            recipe.setImageSize((long) recipe.getImage().length);
+            recipe.setImageHash(imagePoolHashes[image]);
+        }
+        return recipe;
+    }
+
+    private static String notes(Random random, int words) {
+        StringBuilder notes = new StringBuilder();
+        int written = 0;
+        while (written < words) {
+            String sentence = NOTES[random.nextInt(NOTES.length)];
+            if (notes.length() > 0) {
+                notes.append(' ');
+            }
+            notes.append(sentence);
+            written += sentence.split(" ").length;
+        }
+        return notes.toString();
+    }
+
+    /*
+     * The images are generated once per generator and shared by the recipes, generating and
+     * hashing a new image for every recipe would take longer than inserting it.
+     */
+    private byte[] image(int image) {
+        if (imagePool == null) {
+            Random random = new Random(mix(seed));
+            imagePool = new byte[IMAGE_POOL_SIZE][];
+            imagePoolHashes = new String[IMAGE_POOL_SIZE];
+
+            for (int i = 0; i < IMAGE_POOL_SIZE; i++) {
+                byte[] bytes = new byte[logNormal(random, 120 * 1024, 0.7, 4 * 1024, 4 * 1024 * 1024)];
+                random.nextBytes(bytes);
+                // the start and end markers of a JPEG file
+                bytes[0] = (byte) 0xFF;
+                bytes[1] = (byte) 0xD8;
+                bytes[bytes.length - 2] = (byte) 0xFF;
+                bytes[bytes.length - 1] = (byte) 0xD9;
+                imagePool[i] = bytes;
+                imagePoolHashes[i] = DigestUtils.md5DigestAsHex(bytes);
+            }
+        }
+        return imagePool[image];
+    }
+
+    // A number around the median, most numbers are close to it and a few are much larger
+    private static int logNormal(Random random, double median, double sigma, int min, int max) {
+        long value = Math.round(median * Math.exp(sigma * random.nextGaussian()));
+        return (int) Math.max(min, Math.min(max, value));
+    }
+
+    // The finalizer of SplitMix64, seeds that differ in one bit give unrelated random numbers
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * Picks an index with the given weights, a binary search in the cumulative weights. With the
+     * weights of Zipf's law the first index is picked most often and every following index less
+     * often, like the words of a text.
+     */
+    static class Sampler {
+
+        private final double[] cumulative;
+
+        private Sampler(double[] weights) {
+            cumulative = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+        }
+
+        static Sampler weighted(double[] weights) {
+            return new Sampler(weights);
+        }
+
+        static Sampler zipf(int size, double exponent) {
+            double[] weights = new double[size];
+            for (int i = 0; i < size; i++) {
+                weights[i] = 1 / Math.pow(i + 1, exponent);
+            }
+            return new Sampler(weights);
+        }
+
+        int next(Random random) {
+            double value = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, value);
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kokabmedia.recipe.snapshot;
+
+import com.kokabmedia.recipe.services.CatalogSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+//Enables Lombok to generate a logger field.
+@Slf4j
+/*
+ * Adds a synthetic catalog of the given number of recipes to the database from the command
+ * line, for load and scale tests:
+ *
+ * java -Xmx4g -jar recipe-application.jar --recipe.generate.recipes=1000000
+ *
+ * recipe.generate.seed chooses another catalog (1 by default) and recipe.generate.image-ratio
+ * gives the share of the recipes with an image (none by default). With recipe.generate.file
+ * the catalog is written to a snapshot file instead, that is restored in seconds with
+ * recipe.snapshot.restore as often as a test needs it:
+ *
+ * java -jar recipe-application.jar --spring.main.web-application-type=none
+ *      --recipe.generate.recipes=1000000 --recipe.generate.file=catalog.snapshot
+ *
+ * The @ConditionalOnProperty annotation only creates the bean when the property is set.
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.generate.recipes")
+public class CatalogGeneratorRunner implements ApplicationRunner {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final Environment environment;
+
+    public CatalogGeneratorRunner(CatalogSnapshotService catalogSnapshotService, Environment environment) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long recipes = environment.getProperty("recipe.generate.recipes", Long.class);
+        CatalogGenerator generator = new CatalogGenerator(environment.getProperty("recipe.generate.seed", Long.class, 1L));
+        generator.setImageRatio(environment.getProperty("recipe.generate.image-ratio", Double.class, 0.0));
+
+        String fileName = environment.getProperty("recipe.generate.file");
+        if (fileName == null) {
+            catalogSnapshotService.generateCatalog(generator, recipes);
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Path file = Paths.get(fileName);
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(partFile)) {
+            generator.write(recipes, writer);
+        }
+        Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+
+        log.info("Wrote a snapshot of " + recipes + " generated recipes to " + file + " in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+}
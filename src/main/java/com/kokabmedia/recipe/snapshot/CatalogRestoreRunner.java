@@ -0,0 +1,40 @@
+package com.kokabmedia.recipe.snapshot;
+
+import com.kokabmedia.recipe.services.CatalogSnapshotService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/*
+ * Restores a catalog snapshot when the application starts, for staging and performance test
+ * environments that need a large catalog. The snapshot is given with the recipe.snapshot.restore
+ * property:
+ *
+ * java -jar recipe-application.jar --recipe.snapshot.restore=catalog.snapshot
+ *
+ * The recipes of the RecipeBootstrap are replaced by the recipes of the snapshot.
+ *
+ * The @ConditionalOnProperty annotation only creates the bean when the property is set.
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.snapshot.restore")
+public class CatalogRestoreRunner implements ApplicationRunner {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final Environment environment;
+
+    public CatalogRestoreRunner(CatalogSnapshotService catalogSnapshotService, Environment environment) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        catalogSnapshotService.restoreSnapshot(Paths.get(environment.getProperty("recipe.snapshot.restore")));
+    }
+}
@@ -0,0 +1,243 @@
+package com.kokabmedia.recipe.snapshot;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.kokabmedia.recipe.snapshot.CatalogSnapshotWriter.*;
+
+/*
+ * Reads a catalog snapshot of the CatalogSnapshotWriter and hands its records to a Handler in
+ * the order they were written, all units of measure and categories before the recipes.
+ *
+ * The file is mapped into memory in windows of WINDOW_SIZE bytes, a record is read straight
+ * from the pages of the file without copying it into a buffer first, and a file of several
+ * gigabytes is read without a larger heap. When the next record does not fit into the rest of
+ * the window the window is moved to start at the record.
+ *
+ * A file that is not a snapshot, or that ends before its END record, fails with an
+ * IOException, so a snapshot that was not written completely is never restored in part
+ * without notice. Every length and count inside a record is checked against the end of the
+ * record before it is read, a broken record fails with an IOException as well and never reads
+ * the bytes of the next record or past the window.
+ */
+public class CatalogSnapshotReader implements Closeable {
+
+    static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /*
+     * Receives the records of a snapshot. The SnapshotRecipe is a new object for every recipe
+     * and may be kept by the handler.
+     */
+    public interface Handler {
+
+        void unitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor)
+                throws IOException;
+
+        void category(long id, String description) throws IOException;
+
+        void recipe(SnapshotRecipe recipe) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long recordStart;
+    private int end;
+
+    public CatalogSnapshotReader(Path file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    CatalogSnapshotReader(Path file, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+
+        try {
+            ensure(Long.BYTES + Integer.BYTES);
+        } catch (EOFException e) {
+            channel.close();
+            throw new IOException(file + " is not a recipe catalog snapshot");
+        }
+        long magic = window.getLong();
+        int version = window.getInt();
+        if (magic != MAGIC || version != VERSION) {
+            channel.close();
+            throw new IOException(file + " is not a recipe catalog snapshot of version " + VERSION);
+        }
+    }
+
+    // Reads all records and returns the number of recipes
+    public long read(Handler handler) throws IOException {
+        long unitsOfMeasure = 0;
+        long categories = 0;
+        long recipes = 0;
+
+        while (true) {
+            ensure(Integer.BYTES);
+            recordStart = windowStart + window.position();
+            int length = window.getInt();
+            if (length < 1) {
+                throw brokenRecord();
+            }
+            ensure(length);
+            end = window.position() + length;
+
+            byte kind = window.get();
+            switch (kind) {
+                case UNIT_OF_MEASURE:
+                    handler.unitOfMeasure(getLong(), getString(), getString(), getDecimal());
+                    unitsOfMeasure++;
+                    break;
+                case CATEGORY:
+                    handler.category(getLong(), getString());
+                    categories++;
+                    break;
+                case RECIPE:
+                    handler.recipe(getRecipe());
+                    recipes++;
+                    break;
+                case END:
+                    if (getLong() != unitsOfMeasure || getLong() != categories || getLong() != recipes) {
+                        throw new IOException("The snapshot does not hold the number of records of its END record");
+                    }
+                    return recipes;
+                default:
+                    throw new IOException("Unknown record " + kind + " at byte " + recordStart);
+            }
+
+            if (window.position() != end) {
+                throw brokenRecord();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private IOException brokenRecord() {
+        return new IOException("Broken record at byte " + recordStart);
+    }
+
+    private SnapshotRecipe getRecipe() throws IOException {
+        SnapshotRecipe recipe = new SnapshotRecipe();
+        recipe.setId(getLong());
+        recipe.setDescription(getString());
+        recipe.setPrepTime(getInteger());
+        recipe.setCookTime(getInteger());
+        recipe.setServings(getInteger());
+        recipe.setSource(getString());
+        recipe.setUrl(getString());
+        recipe.setDifficulty(getString());
+        recipe.setDirections(getString());
+        recipe.setImage(getBytes());
+        recipe.setImageSize(getNumber());
+        recipe.setImageHash(getString());
+        recipe.setNotes(getString());
+
+        for (long i = getCount(); i > 0; i--) {
+            recipe.getCategoryIds().add(getLong());
+        }
+        for (long i = getCount(); i > 0; i--) {
+            recipe.getIngredients().add(new SnapshotRecipe.Ingredient(getString(), getDecimal(), getNumber()));
+        }
+        return recipe;
+    }
+
+    // Maps the next bytes of the file when fewer than the given number are left in the window
+    private void ensure(int bytes) throws IOException {
+        if (window != null && window.remaining() >= bytes) {
+            return;
+        }
+
+        long position = window == null ? 0 : windowStart + window.position();
+        if (position + bytes > size) {
+            throw new EOFException("The snapshot ends at byte " + size + " before its END record");
+        }
+
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                Math.max(bytes, Math.min(windowSize, size - position)));
+    }
+
+    private Long getNumber() throws IOException {
+        long value = getVarLong();
+        if (value == 0) {
+            return null;
+        }
+        value--;
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // An id or a count is never written as null, a null number here is a broken record
+    private long getLong() throws IOException {
+        Long value = getNumber();
+        if (value == null) {
+            throw brokenRecord();
+        }
+        return value;
+    }
+
+    // Every counted value takes at least one byte, so a count is never larger than the rest of the record
+    private long getCount() throws IOException {
+        long count = getLong();
+        if (count < 0 || count > end - window.position()) {
+            throw brokenRecord();
+        }
+        return count;
+    }
+
+    private Integer getInteger() throws IOException {
+        Long value = getNumber();
+        return value == null ? null : value.intValue();
+    }
+
+    private String getString() throws IOException {
+        byte[] bytes = getBytes();
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private BigDecimal getDecimal() throws IOException {
+        String value = getString();
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private byte[] getBytes() throws IOException {
+        long length = getVarLong();
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > end - window.position()) {
+            throw brokenRecord();
+        }
+        byte[] bytes = new byte[(int) (length - 1)];
+        window.get(bytes);
+        return bytes;
+    }
+
+    private long getVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (window.position() >= end || shift > 63) {
+                throw brokenRecord();
+            }
+            byte b = window.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.kokabmedia.recipe.snapshot;
+
+import com.kokabmedia.recipe.services.CatalogSnapshotService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/*
+ * Writes a catalog snapshot of the database from the command line, the file is given with the
+ * recipe.snapshot.write property:
+ *
+ * java -jar recipe-application.jar --spring.profiles.active=prod --spring.main.web-application-type=none
+ *      --recipe.snapshot.write=catalog.snapshot
+ *
+ * The @ConditionalOnProperty annotation only creates the bean when the property is set.
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.snapshot.write")
+public class CatalogSnapshotRunner implements ApplicationRunner {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final Environment environment;
+
+    public CatalogSnapshotRunner(CatalogSnapshotService catalogSnapshotService, Environment environment) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        catalogSnapshotService.writeSnapshot(Paths.get(environment.getProperty("recipe.snapshot.write")));
+    }
+}
@@ -0,0 +1,202 @@
+package com.kokabmedia.recipe.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Writes a catalog snapshot, the units of measure, categories and recipes of the database in a
+ * compact binary file that the CatalogSnapshotReader reads back.
+ *
+ * The file starts with the MAGIC number and the VERSION of the format, followed by one record
+ * per unit of measure, category and recipe and an END record with the number of records of
+ * every kind. Every record is an int with its length, the byte of its kind and its fields.
+ * Numbers are written as variable length integers, in one byte up to 63, and strings as their
+ * UTF-8 bytes after their length, null is written as a length of 0. A recipe with its notes,
+ * ingredients and categories is one record, the reader never has to look elsewhere in the
+ * file to restore it.
+ *
+ * The records are collected in a direct buffer and written to the FileChannel one megabyte at
+ * a time.
+ */
+public class CatalogSnapshotWriter implements Closeable {
+
+    // "RCPSNAP" and the byte 0
+    static final long MAGIC = 0x524350534E415000L;
+    static final int VERSION = 1;
+
+    static final byte END = 0;
+    static final byte UNIT_OF_MEASURE = 1;
+    static final byte CATEGORY = 2;
+    static final byte RECIPE = 3;
+
+    private final FileChannel channel;
+    private final ByteBuffer output = ByteBuffer.allocateDirect(1024 * 1024);
+    private ByteBuffer record = ByteBuffer.allocate(64 * 1024);
+
+    private long unitsOfMeasure;
+    private long categories;
+    private long recipes;
+
+    public CatalogSnapshotWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        output.putLong(MAGIC).putInt(VERSION);
+    }
+
+    public void writeUnitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor)
+            throws IOException {
+        startRecord(UNIT_OF_MEASURE);
+        putNumber(id);
+        putString(description);
+        putString(measureType);
+        putString(baseUnitFactor == null ? null : baseUnitFactor.toPlainString());
+        endRecord();
+        unitsOfMeasure++;
+    }
+
+    public void writeCategory(long id, String description) throws IOException {
+        startRecord(CATEGORY);
+        putNumber(id);
+        putString(description);
+        endRecord();
+        categories++;
+    }
+
+    public void writeRecipe(SnapshotRecipe recipe) throws IOException {
+        startRecord(RECIPE);
+        putNumber(recipe.getId());
+        putString(recipe.getDescription());
+        putNumber(recipe.getPrepTime());
+        putNumber(recipe.getCookTime());
+        putNumber(recipe.getServings());
+        putString(recipe.getSource());
+        putString(recipe.getUrl());
+        putString(recipe.getDifficulty());
+        putString(recipe.getDirections());
+        putBytes(recipe.getImage());
+        putNumber(recipe.getImageSize());
+        putString(recipe.getImageHash());
+        putString(recipe.getNotes());
+
+        putNumber(recipe.getCategoryIds().size());
+        for (Long categoryId : recipe.getCategoryIds()) {
+            putNumber(categoryId);
+        }
+
+        putNumber(recipe.getIngredients().size());
+        for (SnapshotRecipe.Ingredient ingredient : recipe.getIngredients()) {
+            putString(ingredient.getDescription());
+            putString(ingredient.getAmount() == null ? null : ingredient.getAmount().toPlainString());
+            putNumber(ingredient.getUomId());
+        }
+        endRecord();
+        recipes++;
+    }
+
+    /*
+     * Writes the END record and makes sure the file is on the disk, a snapshot without it is
+     * not read. Returns the number of recipes.
+     */
+    public long finish() throws IOException {
+        startRecord(END);
+        putNumber(unitsOfMeasure);
+        putNumber(categories);
+        putNumber(recipes);
+        endRecord();
+
+        flush();
+        channel.force(true);
+        return recipes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void startRecord(byte kind) {
+        record.clear();
+        record.put(kind);
+    }
+
+    private void endRecord() throws IOException {
+        record.flip();
+        if (output.remaining() < Integer.BYTES + record.remaining()) {
+            flush();
+        }
+
+        if (output.remaining() < Integer.BYTES + record.remaining()) {
+            // a record larger than the buffer, like a recipe with a big image, is written directly
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).putInt(0, record.remaining());
+            writeFully(length);
+            writeFully(record);
+        } else {
+            output.putInt(record.remaining());
+            output.put(record);
+        }
+    }
+
+    private void flush() throws IOException {
+        output.flip();
+        writeFully(output);
+        output.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /*
+     * Writes a number that may be null as a variable length integer of seven bits per byte.
+     * The number is zigzag encoded, so small negative numbers stay short as well, and 1 is
+     * added so that 0 stands for null.
+     */
+    private void putNumber(Number value) {
+        if (value == null) {
+            putVarLong(0);
+        } else {
+            long number = value.longValue();
+            putVarLong(((number << 1) ^ (number >> 63)) + 1);
+        }
+    }
+
+    private void putString(String value) {
+        putBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void putBytes(byte[] value) {
+        if (value == null) {
+            putVarLong(0);
+            return;
+        }
+        putVarLong(value.length + 1L);
+        ensureCapacity(value.length);
+        record.put(value);
+    }
+
+    private void putVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            record.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        record.put((byte) value);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (record.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes));
+            record.flip();
+            larger.put(record);
+            record = larger;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.kokabmedia.recipe.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * One recipe of a catalog snapshot with its notes, ingredients and the ids of its categories,
+ * as the columns of its rows. The categories and units of measure are written to the snapshot
+ * before the recipes and referenced by their id.
+ *
+ * Getter and Setter methods of this class are provided with the Lombok framework.
+ */
+@Getter
+@Setter
+public class SnapshotRecipe {
+
+    private long id;
+    private String description;
+    private Integer prepTime;
+    private Integer cookTime;
+    private Integer servings;
+    private String source;
+    private String url;
+    private String difficulty;
+    private String directions;
+    private byte[] image;
+    private Long imageSize;
+    private String imageHash;
+    private String notes;
+    private List<Long> categoryIds = new ArrayList<>();
+    private List<Ingredient> ingredients = new ArrayList<>();
+
+    @Getter
+    public static class Ingredient {
+
+        private final String description;
+        private final BigDecimal amount;
+        private final Long uomId;
+
+        public Ingredient(String description, BigDecimal amount, Long uomId) {
+            this.description = description;
+            this.amount = amount;
+            this.uomId = uomId;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- Indexes for the query paths that look up or sort rows by description:
+-- UnitOfMeasureRepository.findByDescription, CategoryRepository.findByDescription and the
+-- recipes of a category that are sorted by description.
+create index idx_unit_of_measure_description on unit_of_measure (description);
+create index idx_category_description on category (description);
+create index idx_recipe_description on recipe (description);
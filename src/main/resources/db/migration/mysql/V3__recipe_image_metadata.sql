@@ -0,0 +1,6 @@
+-- Size and MD5 hash of the recipe image, the views describe the image without loading the bytes.
+-- The size of the images that are already there is filled in, the views only show an image
+-- that has a size. Their hash stays empty until the image is uploaded again.
+alter table recipe add column image_hash varchar(255);
+alter table recipe add column image_size bigint;
+update recipe set image_size = length(image) where image is not null;
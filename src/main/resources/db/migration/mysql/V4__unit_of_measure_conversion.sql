@@ -0,0 +1,13 @@
+-- Measure type and factor to the base unit of the measure type, used to convert between units.
+-- The units of measure that are already there get the values of seed/reference-data.json, the
+-- ReferenceDataLoader only inserts missing units and never changes existing rows.
+alter table unit_of_measure add column base_unit_factor decimal(19,6);
+alter table unit_of_measure add column measure_type varchar(255);
+update unit_of_measure set measure_type = 'VOLUME', base_unit_factor = 1 where description = 'Teaspoon' and measure_type is null;
+update unit_of_measure set measure_type = 'VOLUME', base_unit_factor = 3 where description = 'Tablespoon' and measure_type is null;
+update unit_of_measure set measure_type = 'VOLUME', base_unit_factor = 48 where description = 'Cup' and measure_type is null;
+update unit_of_measure set measure_type = 'VOLUME', base_unit_factor = 0.0625 where description = 'Pinch' and measure_type is null;
+update unit_of_measure set measure_type = 'WEIGHT', base_unit_factor = 1 where description = 'Ounce' and measure_type is null;
+update unit_of_measure set measure_type = 'COUNT', base_unit_factor = 1 where description = 'Each' and measure_type is null;
+update unit_of_measure set measure_type = 'VOLUME', base_unit_factor = 0.125 where description = 'Dash' and measure_type is null;
+update unit_of_measure set measure_type = 'VOLUME', base_unit_factor = 96 where description = 'Pint' and measure_type is null;
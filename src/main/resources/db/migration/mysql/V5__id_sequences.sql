@@ -0,0 +1,9 @@
+-- Recipe, ingredient and notes ids come from the *_seq tables, MySQL has no sequences. They start
+-- above the ids that were generated by auto_increment before, one allocation of 50 ids past the
+-- highest id.
+create table recipe_seq (next_val bigint) engine=InnoDB;
+insert into recipe_seq select coalesce(max(id), 0) + 51 from recipe;
+create table ingredient_seq (next_val bigint) engine=InnoDB;
+insert into ingredient_seq select coalesce(max(id), 0) + 51 from ingredient;
+create table notes_seq (next_val bigint) engine=InnoDB;
+insert into notes_seq select coalesce(max(id), 0) + 51 from notes;
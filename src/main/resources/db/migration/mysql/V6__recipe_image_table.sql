@@ -0,0 +1,7 @@
+-- The recipe image gets a table of its own, a select of a recipe no longer reads the image bytes
+-- and does not depend on the bytecode enhancement of the entities for that. The images that are
+-- already there are moved.
+create table recipe_image (recipe_id bigint not null, image longblob, primary key (recipe_id)) engine=InnoDB;
+alter table recipe_image add constraint fk_recipe_image_recipe foreign key (recipe_id) references recipe (id);
+insert into recipe_image (recipe_id, image) select id, image from recipe where image is not null;
+alter table recipe drop column image;
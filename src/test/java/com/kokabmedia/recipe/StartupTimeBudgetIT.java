@@ -0,0 +1,141 @@
+package com.kokabmedia.recipe;
+
+import com.kokabmedia.recipe.bootstrap.WarmUpCoordinator;
+import com.kokabmedia.recipe.monitoring.StartupProfiler;
+import com.kokabmedia.recipe.services.RecipeService;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/*
+ * Starts the application with the startup profiling, once with all beans created at startup and
+ * once with the lazy profile. Every startup has to stay within the startup time budget, and the
+ * lazy startup has to create fewer beans.
+ *
+ * The application listens before the warm-up finished, a startup ends when the health endpoint
+ * reports the node as ready. Every startup has its own H2 database, the database of the other
+ * tests is not changed.
+ *
+ * The first startup in a JVM spends most of its time loading and compiling classes, which says
+ * little about the application. One startup runs before the tests and is not measured, the budget
+ * of 10 seconds leaves some headroom over the 3 to 5 seconds a startup takes after it, so a slower
+ * startup fails the test. The budget can be changed with -Dstartup.budget.seconds=...
+ *
+ * A wall clock budget depends on the machine, on a busy build server a startup can take longer
+ * than the budget without any change to the application. This is an integration test and is not
+ * run with the other integration tests, run it on demand with:
+ * mvn -Dtest=StartupTimeBudgetIT test
+ */
+public class StartupTimeBudgetIT {
+
+    private static final long BUDGET_SECONDS = Long.getLong("startup.budget.seconds", 10);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void loadClasses() throws Exception {
+        try (ConfigurableApplicationContext context = start("startup-classes", "default")) {
+            awaitReady(context);
+        }
+    }
+
+    @Test
+    public void startupWithinBudget() throws Exception {
+        //given
+        Path reportFile = folder.getRoot().toPath().resolve("startup.txt");
+
+        //when
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("startup-eager", "default",
+                "--recipe.startup.report-file=" + reportFile)) {
+            awaitReady(context);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+            //then
+            assertTrue("Startup took " + millis + " ms", millis < TimeUnit.SECONDS.toMillis(BUDGET_SECONDS));
+            assertEquals(HttpStatus.OK, health(context));
+
+            // the seeding is no longer part of the startup, only the reference data is
+            List<String> listeners = names(context.getBean(StartupProfiler.class).getListenerTimings());
+            assertTrue(listeners.toString(), listeners.contains("ReferenceDataLoader (ContextRefreshedEvent)"));
+            assertFalse(listeners.toString(), listeners.stream().anyMatch(name -> name.startsWith("RecipeBootstrap")));
+
+            String report = new String(Files.readAllBytes(reportFile), StandardCharsets.UTF_8);
+            assertTrue(report, report.contains("Slowest beans"));
+            assertTrue(report, report.contains("ReferenceDataLoader (ContextRefreshedEvent)"));
+        }
+    }
+
+    @Test
+    public void lazyStartupCreatesFewerBeans() throws Exception {
+        int eagerBeans;
+        try (ConfigurableApplicationContext context = start("startup-all", "default")) {
+            awaitReady(context);
+            eagerBeans = context.getBean(StartupProfiler.class).getBeanTimings().size();
+        }
+
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("startup-lazy", "default,lazy")) {
+            awaitReady(context);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            int lazyBeans = context.getBean(StartupProfiler.class).getBeanTimings().size();
+
+            assertTrue("Lazy startup took " + millis + " ms", millis < TimeUnit.SECONDS.toMillis(BUDGET_SECONDS));
+            assertTrue("Lazy startup created " + lazyBeans + " of " + eagerBeans + " beans", lazyBeans < eagerBeans);
+
+            // a lazy bean is created when it is used
+            assertFalse(context.getBean(RecipeService.class).getRecipes().isEmpty());
+        }
+    }
+
+    // The settings are command line arguments, default properties would lose against application.properties
+    private static ConfigurableApplicationContext start(String database, String profiles, String... args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList("--server.port=0", "--spring.jmx.enabled=false",
+                "--recipe.startup.profile=true", "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.jpa.show-sql=false"));
+        arguments.addAll(Arrays.asList(args));
+
+        return new SpringApplicationBuilder(RecipeApplication.class)
+                .profiles(profiles.split(","))
+                .run(arguments.toArray(new String[0]));
+    }
+
+    // Polls the warm-up like the health check of a load balancer, until it is ready or the budget is used up
+    private static void awaitReady(ConfigurableApplicationContext context) throws InterruptedException {
+        WarmUpCoordinator warmUpCoordinator = context.getBean(WarmUpCoordinator.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BUDGET_SECONDS);
+
+        while (warmUpCoordinator.getState() != WarmUpCoordinator.State.UP && System.nanoTime() < deadline) {
+            assertNotEquals(WarmUpCoordinator.State.FAILED, warmUpCoordinator.getState());
+            Thread.sleep(50);
+        }
+        assertEquals(WarmUpCoordinator.State.UP, warmUpCoordinator.getState());
+    }
+
+    private static HttpStatus health(ConfigurableApplicationContext context) {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        return new TestRestTemplate().getForEntity("http://localhost:" + port + "/actuator/health", String.class)
+                .getStatusCode();
+    }
+
+    private static List<String> names(List<StartupProfiler.Timing> timings) {
+        return timings.stream().map(StartupProfiler.Timing::getName).collect(Collectors.toList());
+    }
+}
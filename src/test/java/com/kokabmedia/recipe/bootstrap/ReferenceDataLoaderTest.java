@@ -0,0 +1,150 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import com.kokabmedia.recipe.domain.MeasureType;
+import com.kokabmedia.recipe.services.UnitOfMeasureConversionService;
+import com.kokabmedia.recipe.services.UnitOfMeasureService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+public class ReferenceDataLoaderTest {
+
+    @Mock
+    ApplicationContext applicationContext;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    UnitOfMeasureConversionService unitOfMeasureConversionService;
+
+    @Mock
+    UnitOfMeasureService unitOfMeasureService;
+
+    ReferenceDataLoader loader;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        loader = new ReferenceDataLoader(applicationContext, jdbcTemplate,
+                provider(UnitOfMeasureConversionService.class, unitOfMeasureConversionService),
+                provider(UnitOfMeasureService.class, unitOfMeasureService));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void insertsOnlyMissingRows() throws Exception {
+        //given
+        when(jdbcTemplate.queryForList("select description from category", String.class))
+                .thenReturn(Collections.singletonList("American"));
+        when(jdbcTemplate.queryForList("select description from unit_of_measure", String.class))
+                .thenReturn(Collections.singletonList("Cup"));
+
+        ReferenceData referenceData = new ReferenceData();
+        referenceData.setCategories(Arrays.asList("American", "Mexican"));
+        referenceData.setUnitsOfMeasure(Arrays.asList(uom("Cup", MeasureType.VOLUME, "48"),
+                uom("Pinch", MeasureType.VOLUME, "0.0625")));
+
+        //when
+        loader.load(referenceData);
+
+        //then
+        ArgumentCaptor<List<Object[]>> categoryRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into category"), categoryRows.capture());
+        assertEquals(1, categoryRows.getValue().size());
+        assertArrayEquals(new Object[]{"Mexican"}, categoryRows.getValue().get(0));
+
+        ArgumentCaptor<List<Object[]>> uomRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into unit_of_measure"), uomRows.capture());
+        assertEquals(1, uomRows.getValue().size());
+        assertArrayEquals(new Object[]{"Pinch", "VOLUME", new BigDecimal("0.0625")}, uomRows.getValue().get(0));
+
+        verify(unitOfMeasureConversionService, times(1)).reload();
+        verify(unitOfMeasureService, times(1)).refresh();
+    }
+
+    @Test
+    public void upToDateDatabaseIsOnlyRead() throws Exception {
+        //given
+        when(jdbcTemplate.queryForList("select description from category", String.class))
+                .thenReturn(Collections.singletonList("American"));
+        when(jdbcTemplate.queryForList("select description from unit_of_measure", String.class))
+                .thenReturn(Collections.singletonList("Cup"));
+
+        ReferenceData referenceData = new ReferenceData();
+        referenceData.setCategories(Collections.singletonList("American"));
+        referenceData.setUnitsOfMeasure(Collections.singletonList(uom("Cup", MeasureType.VOLUME, "48")));
+
+        //when
+        loader.load(referenceData);
+
+        //then
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(String.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyZeroInteractions(unitOfMeasureConversionService, unitOfMeasureService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void loadsSeedFileIntoEmptyDatabase() throws Exception {
+        //given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(Collections.emptyList());
+
+        //when
+        loader.onApplicationEvent(new ContextRefreshedEvent(applicationContext));
+
+        //then
+        ArgumentCaptor<List<Object[]>> categoryRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into category"), categoryRows.capture());
+        assertEquals(4, categoryRows.getValue().size());
+
+        ArgumentCaptor<List<Object[]>> uomRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into unit_of_measure"), uomRows.capture());
+        assertEquals(8, uomRows.getValue().size());
+        assertArrayEquals(new Object[]{"Teaspoon", "VOLUME", BigDecimal.ONE}, uomRows.getValue().get(0));
+    }
+
+    @Test
+    public void childContextIsIgnored() throws Exception {
+        //when
+        loader.onApplicationEvent(new ContextRefreshedEvent(mock(ApplicationContext.class)));
+
+        //then
+        verifyZeroInteractions(jdbcTemplate, unitOfMeasureConversionService, unitOfMeasureService);
+    }
+
+    private static ReferenceData.UnitOfMeasure uom(String description, MeasureType measureType, String factor) {
+        ReferenceData.UnitOfMeasure uom = new ReferenceData.UnitOfMeasure();
+        uom.setDescription(description);
+        uom.setMeasureType(measureType);
+        uom.setBaseUnitFactor(new BigDecimal(factor));
+        return uom;
+    }
+
+    private static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean(type.getSimpleName(), bean);
+        return beanFactory.getBeanProvider(type);
+    }
+}
@@ -0,0 +1,114 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.ConfigurableWebServerApplicationContext;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class WarmUpCoordinatorTest {
+
+    @Mock
+    WarmUpStep seeding;
+
+    @Mock
+    WarmUpStep caches;
+
+    @Mock
+    TaskExecutor taskExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void stepsRunRightAwayWithoutWebServer() throws Exception {
+        //given
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        WarmUpCoordinator coordinator = new WarmUpCoordinator(context, Arrays.asList(seeding, caches), taskExecutor);
+
+        //when
+        coordinator.onApplicationEvent(readyEvent(context));
+
+        //then
+        InOrder inOrder = inOrder(seeding, caches);
+        inOrder.verify(seeding).warmUp();
+        inOrder.verify(caches).warmUp();
+        verifyZeroInteractions(taskExecutor);
+        assertEquals(WarmUpCoordinator.State.UP, coordinator.getState());
+    }
+
+    @Test
+    public void stepsRunOnTheExecutorWithWebServer() throws Exception {
+        //given
+        ConfigurableWebServerApplicationContext context = mock(ConfigurableWebServerApplicationContext.class);
+        when(context.getWebServer()).thenReturn(mock(WebServer.class));
+        WarmUpCoordinator coordinator = new WarmUpCoordinator(context, Arrays.asList(seeding, caches), taskExecutor);
+
+        //when
+        coordinator.onApplicationEvent(readyEvent(context));
+
+        //then
+        ArgumentCaptor<Runnable> warmUp = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskExecutor).execute(warmUp.capture());
+        verifyZeroInteractions(seeding, caches);
+        assertEquals(WarmUpCoordinator.State.RUNNING, coordinator.getState());
+
+        warmUp.getValue().run();
+        verify(caches).warmUp();
+        assertEquals(WarmUpCoordinator.State.UP, coordinator.getState());
+    }
+
+    @Test
+    public void failingStepFailsTheStartup() throws Exception {
+        //given
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        WarmUpCoordinator coordinator = new WarmUpCoordinator(context, Arrays.asList(seeding, caches), taskExecutor);
+        doThrow(new RuntimeException("no database")).when(seeding).warmUp();
+
+        //when
+        try {
+            coordinator.onApplicationEvent(readyEvent(context));
+            fail("Expected the warm-up to fail");
+        } catch (IllegalStateException expected) {
+            //then
+            assertEquals("no database", expected.getCause().getMessage());
+        }
+        verifyZeroInteractions(caches);
+        assertEquals(WarmUpCoordinator.State.FAILED, coordinator.getState());
+    }
+
+    @Test
+    public void warmUpRunsOnlyOnceForItsOwnContext() throws Exception {
+        //given
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        WarmUpCoordinator coordinator = new WarmUpCoordinator(context, Arrays.asList(seeding, caches), taskExecutor);
+
+        //when
+        coordinator.onApplicationEvent(readyEvent(mock(ConfigurableApplicationContext.class)));
+        assertEquals(WarmUpCoordinator.State.STARTING, coordinator.getState());
+        coordinator.onApplicationEvent(readyEvent(context));
+        coordinator.onApplicationEvent(readyEvent(context));
+
+        //then
+        verify(seeding, times(1)).warmUp();
+        verify(caches, times(1)).warmUp();
+    }
+
+    private static ApplicationReadyEvent readyEvent(ConfigurableApplicationContext context) {
+        return new ApplicationReadyEvent(new SpringApplication(), new String[0], context);
+    }
+}
@@ -0,0 +1,68 @@
+package com.kokabmedia.recipe.bootstrap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class WarmUpHealthIndicatorTest {
+
+    @Mock
+    WarmUpCoordinator warmUpCoordinator;
+
+    WarmUpHealthIndicator healthIndicator;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        healthIndicator = new WarmUpHealthIndicator(warmUpCoordinator);
+    }
+
+    @Test
+    public void outOfServiceWhileWarmingUp() throws Exception {
+        //given
+        when(warmUpCoordinator.getState()).thenReturn(WarmUpCoordinator.State.RUNNING);
+        when(warmUpCoordinator.getCurrentStep()).thenReturn("CacheWarmUp");
+
+        //when
+        Health health = healthIndicator.health();
+
+        //then
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("CacheWarmUp", health.getDetails().get("step"));
+    }
+
+    @Test
+    public void upAfterWarmUp() throws Exception {
+        //given
+        when(warmUpCoordinator.getState()).thenReturn(WarmUpCoordinator.State.UP);
+        when(warmUpCoordinator.getDurationMillis()).thenReturn(1200L);
+
+        //when
+        Health health = healthIndicator.health();
+
+        //then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1200L, health.getDetails().get("durationMillis"));
+    }
+
+    @Test
+    public void downWhenWarmUpFailed() throws Exception {
+        //given
+        when(warmUpCoordinator.getState()).thenReturn(WarmUpCoordinator.State.FAILED);
+        when(warmUpCoordinator.getFailure()).thenReturn(new RuntimeException("no database"));
+
+        //when
+        Health health = healthIndicator.health();
+
+        //then
+        assertEquals(Status.DOWN, health.getStatus());
+        assertTrue(health.getDetails().get("error").toString().contains("no database"));
+    }
+}
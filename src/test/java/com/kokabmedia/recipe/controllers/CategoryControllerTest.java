@@ -0,0 +1,95 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.commands.CategoryCommand;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.exceptions.NotFoundException;
+import com.kokabmedia.recipe.services.CategoryRecipeCountService;
+import com.kokabmedia.recipe.services.CategoryService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class CategoryControllerTest {
+
+    @Mock
+    CategoryService categoryService;
+
+    @Mock
+    CategoryRecipeCountService categoryRecipeCountService;
+
+    CategoryController controller;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        controller = new CategoryController(categoryService, categoryRecipeCountService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ControllerExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testListCategories() throws Exception {
+        //given
+        when(categoryService.listAllCategories()).thenReturn(Collections.singletonList(new CategoryCommand()));
+        when(categoryRecipeCountService.getRecipeCounts()).thenReturn(Collections.singletonMap(1L, 2L));
+
+        //then
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("category/list"))
+                .andExpect(model().attributeExists("categories"))
+                .andExpect(model().attributeExists("recipeCounts"));
+
+        verify(categoryRecipeCountService, times(1)).getRecipeCounts();
+    }
+
+    @Test
+    public void testShowCategory() throws Exception {
+        //given
+        CategoryCommand categoryCommand = new CategoryCommand();
+        categoryCommand.setId(1L);
+
+        when(categoryService.findCommandById(anyLong())).thenReturn(categoryCommand);
+        when(categoryRecipeCountService.getRecipeCount(anyLong())).thenReturn(1L);
+        when(categoryService.findRecipesByCategoryId(anyLong(), anyInt())).thenReturn(
+                new SliceImpl<>(Collections.singletonList(new Recipe()), PageRequest.of(1, 20), false));
+
+        //then
+        mockMvc.perform(get("/category/1/show").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("category/show"))
+                .andExpect(model().attributeExists("category"))
+                .andExpect(model().attribute("recipeCount", 1L))
+                .andExpect(model().attributeExists("recipes"));
+
+        verify(categoryService, times(1)).findRecipesByCategoryId(1L, 1);
+    }
+
+    @Test
+    public void testShowCategoryNotFound() throws Exception {
+        //given
+        when(categoryService.findCommandById(anyLong())).thenThrow(NotFoundException.class);
+
+        //then
+        mockMvc.perform(get("/category/1/show"))
+                .andExpect(status().isNotFound())
+                .andExpect(view().name("404error"));
+    }
+}
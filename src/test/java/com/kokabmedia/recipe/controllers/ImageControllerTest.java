@@ -75,21 +75,9 @@ public class ImageControllerTest {
     public void renderImageFromDB() throws Exception {
 
         //given
-        RecipeCommand command = new RecipeCommand();
-        command.setId(1L);
-
         String s = "fake image text";
-        Byte[] bytesBoxed = new Byte[s.getBytes().length];
-
-        int i = 0;
 
-        for (byte primByte : s.getBytes()){
-            bytesBoxed[i++] = primByte;
-        }
-
-        command.setImage(bytesBoxed);
-
-        when(recipeService.findCommandById(anyLong())).thenReturn(command);
+        when(imageService.findImageByRecipeId(anyLong())).thenReturn(s.getBytes());
 
         //when
         MockHttpServletResponse response = mockMvc.perform(get("/recipe/1/recipeimage"))
@@ -99,6 +87,7 @@ public class ImageControllerTest {
         byte[] reponseBytes = response.getContentAsByteArray();
 
         assertEquals(s.getBytes().length, reponseBytes.length);
+        verify(recipeService, never()).findCommandById(anyLong());
     }
 
     @Test
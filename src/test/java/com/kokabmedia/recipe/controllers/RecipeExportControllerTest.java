@@ -0,0 +1,73 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.exporter.RecipeExportFormat;
+import com.kokabmedia.recipe.services.RecipeExportService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class RecipeExportControllerTest {
+
+    @Mock
+    RecipeExportService recipeExportService;
+
+    RecipeExportController controller;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        controller = new RecipeExportController(recipeExportService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testExportRecipes() throws Exception {
+        //given
+        when(recipeExportService.exportRecipes(any(OutputStream.class), eq(RecipeExportFormat.CSV))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("id,description\r\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+
+        //when
+        MvcResult result = mockMvc.perform(get("/export/recipes").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"recipes.csv\""))
+                .andExpect(content().string("id,description\r\n"));
+    }
+
+    @Test
+    public void testExportRecipesAsJsonLinesByDefault() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(get("/export/recipes")).andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"recipes.ndjson\""));
+
+        verify(recipeExportService, times(1)).exportRecipes(any(OutputStream.class), eq(RecipeExportFormat.NDJSON));
+    }
+}
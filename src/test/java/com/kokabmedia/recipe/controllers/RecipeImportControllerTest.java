@@ -0,0 +1,73 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.importer.RecipeImportReport;
+import com.kokabmedia.recipe.services.RecipeImportService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.Reader;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class RecipeImportControllerTest {
+
+    @Mock
+    RecipeImportService recipeImportService;
+
+    RecipeImportController controller;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        controller = new RecipeImportController(recipeImportService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testImportRecipes() throws Exception {
+        //given
+        RecipeImportReport report = new RecipeImportReport(0);
+        report.lineRead(1);
+        report.batchCommitted(1, 1);
+        report.completed(1);
+
+        when(recipeImportService.importRecipes(any(Reader.class), eq(0L), any())).thenReturn(report);
+
+        //then
+        mockMvc.perform(post("/import/recipes").contentType("application/x-ndjson")
+                .content("{\"description\":\"Perfect Guacamole\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipesImported", is(1)))
+                .andExpect(jsonPath("$.complete", is(true)));
+    }
+
+    @Test
+    public void testImportRecipesResumesAfterSkippedLines() throws Exception {
+        //given
+        RecipeImportReport report = new RecipeImportReport(500);
+        report.failed("duplicate key");
+
+        when(recipeImportService.importRecipes(any(Reader.class), eq(500L), any())).thenReturn(report);
+
+        //then
+        mockMvc.perform(post("/import/recipes").param("skip", "500").contentType("application/x-ndjson")
+                .content(""))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.lastCommittedLine", is(500)))
+                .andExpect(jsonPath("$.failure", is("duplicate key")));
+
+        verify(recipeImportService, times(1)).importRecipes(any(Reader.class), eq(500L), any());
+    }
+}
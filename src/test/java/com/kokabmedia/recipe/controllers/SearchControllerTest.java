@@ -0,0 +1,112 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.search.PantryMatch;
+import com.kokabmedia.recipe.search.SearchHit;
+import com.kokabmedia.recipe.services.FacetService;
+import com.kokabmedia.recipe.services.PantrySearchService;
+import com.kokabmedia.recipe.services.RecipeSearchService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Predicate;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class SearchControllerTest {
+
+    @Mock
+    RecipeSearchService recipeSearchService;
+
+    @Mock
+    PantrySearchService pantrySearchService;
+
+    @Mock
+    FacetService facetService;
+
+    SearchController controller;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        controller = new SearchController(recipeSearchService, pantrySearchService, facetService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testSearch() throws Exception {
+        //given
+        when(recipeSearchService.search(anyString(), anyInt(), anyBoolean(), any())).thenReturn(new SliceImpl<>(
+                Collections.singletonList(new SearchHit(1L, "Perfect Guacamole", 1.5f, "<b>avocado</b>")),
+                PageRequest.of(1, 20), false));
+
+        when(recipeSearchService.findRecipeIds(anyString(), anyBoolean())).thenReturn(new long[]{1L});
+        Predicate<Long> filter = recipeId -> true;
+        when(facetService.filter(anyList())).thenReturn(filter);
+
+        //then
+        mockMvc.perform(get("/search").param("q", "avocado").param("page", "1").param("fuzzy", "true")
+                .param("facet", "category:Mexican").param("facet", "difficulty:EASY"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/results"))
+                .andExpect(model().attribute("query", "avocado"))
+                .andExpect(model().attribute("selectedFacets", Arrays.asList("category:Mexican", "difficulty:EASY")))
+                .andExpect(model().attributeExists("hits"))
+                .andExpect(model().attributeExists("facets"));
+
+        verify(recipeSearchService, times(1)).search("avocado", 1, true, filter);
+        verify(recipeSearchService, times(1)).findRecipeIds("avocado", true);
+        verify(facetService, times(1)).countFacets(new long[]{1L}, Arrays.asList("category:Mexican", "difficulty:EASY"));
+    }
+
+    @Test
+    public void testSearchWithoutQuery() throws Exception {
+        //given
+        when(recipeSearchService.search(anyString(), anyInt(), anyBoolean(), any())).thenReturn(new SliceImpl<>(
+                Collections.<SearchHit>emptyList(), PageRequest.of(0, 20), false));
+
+        //then
+        mockMvc.perform(get("/search").param("page", "-1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/results"));
+
+        verify(recipeSearchService, times(1)).search(eq(""), eq(0), eq(false), any());
+        verify(facetService, times(1)).filter(Collections.emptyList());
+    }
+
+    @Test
+    public void testPantry() throws Exception {
+        //given
+        when(pantrySearchService.findRecipes(anyCollection(), anyInt())).thenReturn(new SliceImpl<>(
+                Collections.singletonList(new PantryMatch(1L, "Perfect Guacamole", 1, 2,
+                        Collections.singletonList("lime juice"))),
+                PageRequest.of(0, 20), false));
+
+        //then
+        mockMvc.perform(get("/pantry").param("ingredients", "ripe avocados\r\n\nserrano chiles, minced\n"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/pantry"))
+                .andExpect(model().attributeExists("ingredients"))
+                .andExpect(model().attributeExists("matches"));
+
+        verify(pantrySearchService, times(1)).findRecipes(
+                Arrays.asList("ripe avocados", "serrano chiles, minced"), 0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.search.Suggestion;
+import com.kokabmedia.recipe.services.TypeaheadService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class TypeaheadControllerTest {
+
+    @Mock
+    TypeaheadService typeaheadService;
+
+    TypeaheadController controller;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        controller = new TypeaheadController(typeaheadService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testCompleteIngredients() throws Exception {
+        //given
+        when(typeaheadService.completeIngredients("oni")).thenReturn(
+                Collections.singletonList(new Suggestion("onion", 12)));
+
+        //then
+        mockMvc.perform(get("/typeahead/ingredients").param("q", "oni"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].text", is("onion")))
+                .andExpect(jsonPath("$[0].count", is(12)));
+    }
+
+    @Test
+    public void testCompleteRecipes() throws Exception {
+        //given
+        when(typeaheadService.completeRecipes("")).thenReturn(Collections.emptyList());
+
+        //then
+        mockMvc.perform(get("/typeahead/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(typeaheadService, times(1)).completeRecipes("");
+    }
+}
@@ -0,0 +1,150 @@
+package com.kokabmedia.recipe.controllers;
+
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import com.kokabmedia.recipe.domain.Category;
+import com.kokabmedia.recipe.repositories.CategoryRepository;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.services.RecipeService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+/*
+ * Renders every page with the real Thymeleaf templates while the open session in view is
+ * disabled and lazy loading outside of a transaction is forbidden. Any association that a
+ * template reads but that was not loaded by the fetch plan of the service throws a
+ * LazyInitializationException during rendering and fails the request.
+ *
+ * The test class must not be @Transactional, a test transaction would keep the persistence
+ * context open while the view is rendered and hide missing fetches.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.properties.hibernate.enable_lazy_load_no_trans=false"})
+@AutoConfigureMockMvc
+public class ViewRenderingIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RecipeService recipeService;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    Long recipeId;
+    Long ingredientId;
+    Long categoryId;
+
+    @Before
+    public void setUp() throws Exception {
+        recipeId = recipeRepository.findAll().iterator().next().getId();
+
+        RecipeCommand recipeCommand = recipeService.findCommandById(recipeId);
+        ingredientId = recipeCommand.getIngredients().iterator().next().getId();
+
+        Category category = categoryRepository.findByDescription("American").get();
+        categoryId = category.getId();
+    }
+
+    @Test
+    public void renderIndex() throws Exception {
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"));
+    }
+
+    @Test
+    public void renderRecipePages() throws Exception {
+        mockMvc.perform(get("/recipe/" + recipeId + "/show"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/show"));
+
+        mockMvc.perform(get("/recipe/" + recipeId + "/update"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/recipeform"));
+
+        mockMvc.perform(get("/recipe/new"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/recipeform"));
+
+        mockMvc.perform(get("/recipe/" + recipeId + "/image"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/imageuploadform"));
+    }
+
+    @Test
+    public void renderIngredientPages() throws Exception {
+        mockMvc.perform(get("/recipe/" + recipeId + "/ingredients"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/ingredient/list"));
+
+        mockMvc.perform(get("/recipe/" + recipeId + "/ingredient/" + ingredientId + "/show"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/ingredient/show"));
+
+        mockMvc.perform(get("/recipe/" + recipeId + "/ingredient/" + ingredientId + "/update"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/ingredient/ingredientform"));
+
+        mockMvc.perform(get("/recipe/" + recipeId + "/ingredient/new"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recipe/ingredient/ingredientform"));
+    }
+
+    @Test
+    public void renderCategoryPages() throws Exception {
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("category/list"));
+
+        mockMvc.perform(get("/category/" + categoryId + "/show"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("category/show"));
+    }
+
+    @Test
+    public void renderSearchResults() throws Exception {
+        mockMvc.perform(get("/search").param("q", "guacamole"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/results"));
+
+        mockMvc.perform(get("/search"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/results"));
+
+        mockMvc.perform(get("/search").param("q", "guacamole").param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/results"));
+
+        mockMvc.perform(get("/search").param("q", "guacamole tacos")
+                .param("facet", "category:Mexican").param("facet", "difficulty:EASY"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/results"));
+    }
+
+    @Test
+    public void renderPantryResults() throws Exception {
+        mockMvc.perform(get("/pantry").param("ingredients", "ripe avocados\nKosher salt"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/pantry"));
+
+        mockMvc.perform(get("/pantry"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search/pantry"));
+    }
+}
@@ -45,4 +45,26 @@ public class CategoryToCategoryCommandTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void sameCategorySharesCommand() throws Exception {
+        //given
+        Category category = new Category();
+        category.setId(ID_VALUE);
+        category.setDescription(DESCRIPTION);
+
+        //when
+        CategoryCommand categoryCommand = convter.convert(category);
+
+        //then
+        assertSame(categoryCommand, convter.convert(category));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void sharedCommandCannotBeChanged() throws Exception {
+        Category category = new Category();
+        category.setId(ID_VALUE);
+
+        convter.convert(category).setDescription(DESCRIPTION);
+    }
+
+}
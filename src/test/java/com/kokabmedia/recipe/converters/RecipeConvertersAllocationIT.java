@@ -0,0 +1,142 @@
+package com.kokabmedia.recipe.converters;
+
+import com.kokabmedia.recipe.commands.CategoryCommand;
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import com.kokabmedia.recipe.commands.UnitOfMeasureCommand;
+import com.kokabmedia.recipe.domain.*;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Allocation profiling test for the shared unit of measure and category commands. The bytes
+ * allocated by the current thread are read from the JVM before and after converting the same
+ * recipes with the converters of the application and with converters that create a new unit of
+ * measure and category command for every ingredient and category, like the converters did
+ * before. The shared commands have to allocate less per recipe.
+ *
+ * This is an integration test and is not run with the unit tests, run it with:
+ * mvn -Dtest=RecipeConvertersAllocationIT test
+ */
+public class RecipeConvertersAllocationIT {
+
+    private static final int RECIPES = 200;
+    private static final int ROUNDS = 50;
+
+    RecipeToRecipeCommand converter;
+    RecipeToRecipeCommand copyingConverter;
+    List<Recipe> recipes;
+    com.sun.management.ThreadMXBean threadMXBean;
+
+    @Before
+    public void setUp() throws Exception {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        converter = new RecipeToRecipeCommand(
+                new CategoryToCategoryCommand(),
+                new IngredientToIngredientCommand(new UnitOfMeasureToUnitOfMeasureCommand()),
+                new NotesToNotesCommand());
+
+        copyingConverter = new RecipeToRecipeCommand(
+                new CategoryToCategoryCommand() {
+                    @Override
+                    public CategoryCommand convert(Category source) {
+                        CategoryCommand command = new CategoryCommand();
+                        command.setId(source.getId());
+                        command.setDescription(source.getDescription());
+                        return command;
+                    }
+                },
+                new IngredientToIngredientCommand(new UnitOfMeasureToUnitOfMeasureCommand() {
+                    @Override
+                    public UnitOfMeasureCommand convert(UnitOfMeasure unitOfMeasure) {
+                        UnitOfMeasureCommand command = new UnitOfMeasureCommand();
+                        command.setId(unitOfMeasure.getId());
+                        command.setDescription(unitOfMeasure.getDescription());
+                        return command;
+                    }
+                }),
+                new NotesToNotesCommand());
+
+        List<UnitOfMeasure> uoms = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            UnitOfMeasure uom = new UnitOfMeasure();
+            uom.setId(i);
+            uom.setDescription("Uom " + i);
+            uoms.add(uom);
+        }
+
+        List<Category> categories = new ArrayList<>();
+        for (long i = 1; i <= 4; i++) {
+            Category category = new Category();
+            category.setId(i);
+            category.setDescription("Category " + i);
+            categories.add(category);
+        }
+
+        recipes = new ArrayList<>(RECIPES);
+        long ingredientId = 1;
+        for (int r = 0; r < RECIPES; r++) {
+            Recipe recipe = new Recipe();
+            recipe.setId((long) r + 1);
+            recipe.getCategories().add(categories.get(r % categories.size()));
+            recipe.getCategories().add(categories.get((r + 1) % categories.size()));
+
+            for (int i = 0; i < 10; i++) {
+                Ingredient ingredient = new Ingredient();
+                ingredient.setId(ingredientId++);
+                ingredient.setAmount(BigDecimal.ONE);
+                ingredient.setUom(uoms.get(i % uoms.size()));
+                recipe.getIngredients().add(ingredient);
+            }
+            recipes.add(recipe);
+        }
+    }
+
+    @Test
+    public void sharedCommandsAllocateLessPerRecipe() throws Exception {
+        // warm up the JIT so escape analysis is the same for both measurements
+        for (int i = 0; i < ROUNDS; i++) {
+            convert(copyingConverter);
+            convert(converter);
+        }
+
+        long copying = allocatedBytes(copyingConverter);
+        long shared = allocatedBytes(converter);
+
+        System.out.println(String.format("Bytes allocated per recipe: new commands %d, shared commands %d",
+                copying / (RECIPES * ROUNDS), shared / (RECIPES * ROUNDS)));
+
+        assertTrue("The shared commands do not allocate less than new commands", shared < copying);
+    }
+
+    private void convert(RecipeToRecipeCommand recipeConverter) {
+        List<RecipeCommand> commands = new ArrayList<>(RECIPES);
+        for (Recipe recipe : recipes) {
+            commands.add(recipeConverter.convert(recipe));
+        }
+        assertEquals(RECIPES, commands.size());
+    }
+
+    private long allocatedBytes(RecipeToRecipeCommand recipeConverter) {
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            convert(recipeConverter);
+        }
+
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+}
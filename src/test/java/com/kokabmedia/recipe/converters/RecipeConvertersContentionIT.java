@@ -0,0 +1,132 @@
+package com.kokabmedia.recipe.converters;
+
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import com.kokabmedia.recipe.domain.*;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Contention benchmark for the converters. The same recipe is converted to a command and back
+ * by one thread and then by one thread per core, all threads share the same converter instances
+ * like the request threads do. Without a lock in the converters the throughput has to grow with
+ * the number of threads.
+ *
+ * This is an integration test and is not run with the unit tests, run it with:
+ * mvn -Dtest=RecipeConvertersContentionIT test
+ */
+public class RecipeConvertersContentionIT {
+
+    private static final long WARMUP_MILLIS = 1000;
+    private static final long MEASURE_MILLIS = 2000;
+
+    RecipeToRecipeCommand recipeToRecipeCommand;
+    RecipeCommandToRecipe recipeCommandToRecipe;
+    Recipe recipe;
+
+    @Before
+    public void setUp() throws Exception {
+        recipeToRecipeCommand = new RecipeToRecipeCommand(
+                new CategoryToCategoryCommand(),
+                new IngredientToIngredientCommand(new UnitOfMeasureToUnitOfMeasureCommand()),
+                new NotesToNotesCommand());
+
+        recipeCommandToRecipe = new RecipeCommandToRecipe(
+                new CategoryCommandToCategory(),
+                new IngredientCommandToIngredient(new UnitOfMeasureCommandToUnitOfMeasure()),
+                new NotesCommandToNotes());
+
+        recipe = new Recipe();
+        recipe.setId(1L);
+        recipe.setDescription("Perfect Guacamole");
+        recipe.setDifficulty(Difficulty.EASY);
+
+        Notes notes = new Notes();
+        notes.setId(1L);
+        recipe.setNotes(notes);
+
+        for (long i = 1; i <= 3; i++) {
+            Category category = new Category();
+            category.setId(i);
+            recipe.getCategories().add(category);
+        }
+
+        UnitOfMeasure uom = new UnitOfMeasure();
+        uom.setId(1L);
+
+        for (long i = 1; i <= 10; i++) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setId(i);
+            ingredient.setAmount(new BigDecimal(i));
+            ingredient.setUom(uom);
+            recipe.getIngredients().add(ingredient);
+        }
+    }
+
+    @Test
+    public void throughputScalesWithCores() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        // warm up the JIT before measuring
+        measure(cores, WARMUP_MILLIS);
+
+        double single = measure(1, MEASURE_MILLIS);
+        double parallel = measure(cores, MEASURE_MILLIS);
+
+        System.out.println(String.format("Recipe conversions per second: 1 thread %.0f, %d threads %.0f (x%.2f)",
+                single, cores, parallel, parallel / single));
+
+        // on a single core machine there is nothing to scale
+        Assume.assumeTrue(cores >= 2);
+
+        assertTrue("Conversion throughput does not scale with the number of threads",
+                parallel > single * Math.min(cores, 4) * 0.5);
+    }
+
+    // Returns the number of round trip conversions per second of all threads together
+    private double measure(int threads, long millis) throws InterruptedException {
+        LongAdder conversions = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (running.get()) {
+                    RecipeCommand command = recipeToRecipeCommand.convert(recipe);
+                    assertNotNull(recipeCommandToRecipe.convert(command));
+                    conversions.increment();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(millis);
+        running.set(false);
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        return conversions.sum() / ((System.nanoTime() - begin) / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -100,4 +100,25 @@ public class RecipeToRecipeCommandTest {
 
     }
 
+    @Test
+    public void convertImageHandle() throws Exception {
+        //given
+        Recipe recipe = new Recipe();
+        recipe.setId(RECIPE_ID);
+        recipe.setImageSize(3L);
+        recipe.setImageHash("abc");
+
+        //when
+        RecipeCommand command = converter.convert(recipe);
+
+        //then
+        assertEquals(RECIPE_ID, command.getImage().getRecipeId());
+        assertEquals(Long.valueOf(3L), command.getImage().getSize());
+        assertEquals("abc", command.getImage().getHash());
+    }
+
+    @Test
+    public void convertWithoutImage() throws Exception {
+        assertNull(converter.convert(new Recipe()).getImage());
+    }
 }
@@ -44,4 +44,42 @@ public class UnitOfMeasureToUnitOfMeasureCommandTest {
         assertEquals(DESCRIPTION, uomc.getDescription());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void sameUnitOfMeasureSharesCommand() throws Exception {
+        //given
+        UnitOfMeasure uom = new UnitOfMeasure();
+        uom.setId(LONG_VALUE);
+        uom.setDescription(DESCRIPTION);
+
+        UnitOfMeasure sameUom = new UnitOfMeasure();
+        sameUom.setId(LONG_VALUE);
+        sameUom.setDescription(DESCRIPTION);
+
+        //then
+        assertSame(converter.convert(uom), converter.convert(sameUom));
+    }
+
+    @Test
+    public void changedDescriptionIsConvertedAgain() throws Exception {
+        //given
+        UnitOfMeasure uom = new UnitOfMeasure();
+        uom.setId(LONG_VALUE);
+        uom.setDescription(DESCRIPTION);
+        converter.convert(uom);
+
+        //when
+        uom.setDescription("Gallon");
+
+        //then
+        assertEquals("Gallon", converter.convert(uom).getDescription());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void sharedCommandCannotBeChanged() throws Exception {
+        UnitOfMeasure uom = new UnitOfMeasure();
+        uom.setId(LONG_VALUE);
+
+        converter.convert(uom).setDescription(DESCRIPTION);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.kokabmedia.recipe.exporter;
+
+import com.kokabmedia.recipe.domain.Difficulty;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CsvRecipeExportWriterTest {
+
+    @Test
+    public void write() throws Exception {
+        //given
+        ExportedRecipe recipe = new ExportedRecipe();
+        recipe.setId(1L);
+        recipe.setDescription("Guacamole, the \"perfect\" one");
+        recipe.setDifficulty(Difficulty.EASY);
+        recipe.setPrepTime(10);
+        recipe.setDirections("Cut.\nMash.");
+        recipe.setCategories(Arrays.asList("Mexican", "American"));
+        recipe.setIngredients(Arrays.asList(
+                new ExportedRecipe.Ingredient("ripe avocados", new BigDecimal("2.00"), "Each"),
+                new ExportedRecipe.Ingredient("fresh lime juice", new BigDecimal("0.5"), "Tablespoon")));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CsvRecipeExportWriter writer = new CsvRecipeExportWriter(output);
+
+        //when
+        writer.write(recipe);
+        writer.flush();
+
+        //then
+        assertEquals(CsvRecipeExportWriter.HEADER + "\r\n"
+                        + "1,\"Guacamole, the \"\"perfect\"\" one\",EASY,10,,,,,Mexican; American,"
+                        + "2 Each ripe avocados; 0.5 Tablespoon fresh lime juice,\"Cut.\nMash.\",\r\n",
+                new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void flushWritesHeaderOfEmptyExport() throws Exception {
+        //given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        new CsvRecipeExportWriter(output).flush();
+
+        //then
+        assertEquals(CsvRecipeExportWriter.HEADER + "\r\n", new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
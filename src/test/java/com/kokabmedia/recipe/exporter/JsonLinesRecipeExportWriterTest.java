@@ -0,0 +1,66 @@
+package com.kokabmedia.recipe.exporter;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import com.kokabmedia.recipe.domain.Difficulty;
+import com.kokabmedia.recipe.importer.RecipeLineReader;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class JsonLinesRecipeExportWriterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    public void writeCanBeImportedAgain() throws Exception {
+        //given
+        ExportedRecipe recipe = new ExportedRecipe();
+        recipe.setId(1L);
+        recipe.setDescription("Perfect \"Guacamole\"");
+        recipe.setDifficulty(Difficulty.EASY);
+        recipe.setPrepTime(10);
+        recipe.setDirections("Cut the avocado.\nMash it.");
+        recipe.setNotes("Serve right away.");
+        recipe.setCategories(Arrays.asList("Mexican", "American"));
+        recipe.setIngredients(Arrays.asList(
+                new ExportedRecipe.Ingredient("ripe avocados", new BigDecimal("2"), "Each"),
+                new ExportedRecipe.Ingredient("salt", null, null)));
+
+        ExportedRecipe second = new ExportedRecipe();
+        second.setId(2L);
+        second.setDescription("Spicy Tacos");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonLinesRecipeExportWriter writer = new JsonLinesRecipeExportWriter(objectMapper, output);
+
+        //when
+        writer.write(recipe);
+        writer.write(second);
+        writer.flush();
+
+        //then
+        String exported = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(2, exported.split("\n").length);
+        assertFalse(exported.contains("null"));
+
+        RecipeLineReader reader = new RecipeLineReader(new StringReader(exported), objectMapper);
+        RecipeCommand command = reader.next().getCommand();
+
+        assertEquals("Perfect \"Guacamole\"", command.getDescription());
+        assertEquals(Difficulty.EASY, command.getDifficulty());
+        assertEquals("Cut the avocado.\nMash it.", command.getDirections());
+        assertEquals("Serve right away.", command.getNotes().getRecipeNotes());
+        assertEquals(2, command.getCategories().size());
+        assertEquals(2, command.getIngredients().size());
+        assertEquals("Spicy Tacos", reader.next().getCommand().getDescription());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,82 @@
+package com.kokabmedia.recipe.importer;
+
+import com.kokabmedia.recipe.services.RecipeImportService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RecipeImportRunnerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    RecipeImportService recipeImportService;
+
+    RecipeImportRunner runner;
+
+    Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        file = folder.newFile("catalog.ndjson").toPath();
+        runner = new RecipeImportRunner(recipeImportService,
+                new MockEnvironment().withProperty("recipe.import.file", file.toString()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void runKeepsCheckpointWhenImportStops() throws Exception {
+        //given
+        when(recipeImportService.importRecipes(any(Reader.class), eq(0L), any())).thenAnswer(invocation -> {
+            RecipeImportReport report = new RecipeImportReport(0);
+            report.batchCommitted(500, 500);
+            ((Consumer<RecipeImportReport>) invocation.getArgument(2)).accept(report);
+            report.failed("connection lost");
+            return report;
+        });
+
+        //when
+        runner.run(new DefaultApplicationArguments(new String[0]));
+
+        //then
+        Path checkpoint = RecipeImportRunner.checkpointOf(file);
+        assertEquals("500", new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void runResumesFromCheckpoint() throws Exception {
+        //given
+        Path checkpoint = RecipeImportRunner.checkpointOf(file);
+        Files.write(checkpoint, "500".getBytes(StandardCharsets.UTF_8));
+
+        RecipeImportReport report = new RecipeImportReport(500);
+        report.completed(600);
+        when(recipeImportService.importRecipes(any(Reader.class), eq(500L), any())).thenReturn(report);
+
+        //when
+        runner.run(new DefaultApplicationArguments(new String[0]));
+
+        //then
+        verify(recipeImportService, times(1)).importRecipes(any(Reader.class), eq(500L), any());
+        assertFalse(Files.exists(checkpoint));
+    }
+}
@@ -0,0 +1,67 @@
+package com.kokabmedia.recipe.importer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kokabmedia.recipe.domain.Difficulty;
+import com.kokabmedia.recipe.importer.RecipeLineReader.RecipeLine;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import static org.junit.Assert.*;
+
+public class RecipeLineReaderTest {
+
+    static final String INPUT = "{\"description\":\"Perfect Guacamole\",\"difficulty\":\"EASY\",\"prepTime\":10,"
+            + "\"categories\":[{\"description\":\"Mexican\"}],"
+            + "\"ingredients\":[{\"description\":\"ripe avocados\",\"amount\":2,\"uom\":{\"description\":\"Each\"}}]}\n"
+            + "\n"
+            + "{\"description\": \n"
+            + "{\"description\":\"Lemon Cake\",\"unknown\":true}\n";
+
+    RecipeLineReader reader;
+
+    @Before
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        reader = new RecipeLineReader(new StringReader(INPUT), objectMapper);
+    }
+
+    @Test
+    public void next() throws Exception {
+        //when
+        RecipeLine first = reader.next();
+        RecipeLine second = reader.next();
+        RecipeLine third = reader.next();
+
+        //then
+        assertEquals(1, first.getNumber());
+        assertNull(first.getError());
+        assertEquals("Perfect Guacamole", first.getCommand().getDescription());
+        assertEquals(Difficulty.EASY, first.getCommand().getDifficulty());
+        assertEquals("Mexican", first.getCommand().getCategories().iterator().next().getDescription());
+        assertEquals(new BigDecimal(2), first.getCommand().getIngredients().iterator().next().getAmount());
+
+        assertEquals(3, second.getNumber());
+        assertNull(second.getCommand());
+        assertTrue(second.getError().startsWith("not a valid recipe"));
+
+        assertEquals(4, third.getNumber());
+        assertEquals("Lemon Cake", third.getCommand().getDescription());
+
+        assertNull(reader.next());
+        assertEquals(4, reader.getLineNumber());
+    }
+
+    @Test
+    public void skip() throws Exception {
+        //when
+        reader.skip(3);
+
+        //then
+        assertEquals(3, reader.getLineNumber());
+        assertEquals("Lemon Cake", reader.next().getCommand().getDescription());
+    }
+}
@@ -0,0 +1,122 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConnectionHoldTrackerTest {
+
+    ConnectionHoldTracker tracker;
+
+    @Mock
+    Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        tracker = new ConnectionHoldTracker();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void trackBackgroundConnection() throws Exception {
+        //when
+        tracker.acquired(connection);
+
+        //then
+        assertEquals(1, tracker.getOpenHolds().size());
+        assertTrue(tracker.getHolders().isEmpty());
+
+        tracker.released(connection);
+        tracker.released(connection);
+
+        assertTrue(tracker.getOpenHolds().isEmpty());
+
+        List<Map<String, Object>> holders = tracker.getHolders();
+        assertEquals(1, holders.size());
+        assertEquals(ConnectionHoldTracker.BACKGROUND, holders.get(0).get("path"));
+        assertEquals(1L, holders.get(0).get("count"));
+    }
+
+    @Test
+    public void trackRequestConnectionByUrlPattern() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/recipe/1/show");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/recipe/{id}/show");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        //when
+        tracker.acquired(connection);
+        tracker.released(connection);
+
+        //then
+        assertEquals("GET /recipe/{id}/show", tracker.getHolders().get(0).get("path"));
+    }
+
+    @Test
+    public void trackUnmatchedRequestsUnderOnePath() throws Exception {
+        //given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("GET", "/no/such/page/1")));
+
+        //when
+        tracker.acquired(connection);
+        tracker.released(connection);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("POST", "/no/such/page/2")));
+        tracker.acquired(connection);
+        tracker.released(connection);
+
+        //then
+        List<Map<String, Object>> holders = tracker.getHolders();
+        assertEquals(1, holders.size());
+        assertEquals(ConnectionHoldTracker.UNMATCHED, holders.get(0).get("path"));
+        assertEquals(2L, holders.get(0).get("count"));
+    }
+
+    @Test
+    public void holdersAreSortedByTotalHoldTime() throws Exception {
+        //given
+        tracker.record("GET /short", 1_000_000L);
+        tracker.record("GET /long", 50_000_000L);
+        tracker.record("GET /long", 30_000_000L);
+
+        //when
+        List<Map<String, Object>> holders = tracker.getHolders();
+
+        //then
+        assertEquals("GET /long", holders.get(0).get("path"));
+        assertEquals(2L, holders.get(0).get("count"));
+        assertEquals(80L, holders.get(0).get("totalMillis"));
+        assertEquals(50L, holders.get(0).get("maxMillis"));
+        assertEquals(40d, holders.get(0).get("averageMillis"));
+        assertEquals("GET /short", holders.get(1).get("path"));
+    }
+
+    @Test
+    public void reset() throws Exception {
+        tracker.record("GET /long", 50_000_000L);
+
+        tracker.reset();
+
+        assertTrue(tracker.getHolders().isEmpty());
+    }
+}
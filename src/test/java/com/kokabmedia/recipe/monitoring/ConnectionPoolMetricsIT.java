@@ -0,0 +1,82 @@
+package com.kokabmedia.recipe.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ConnectionPoolMetricsIT {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ConnectionHoldersEndpoint connectionHoldersEndpoint;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void dataSourceIsConfiguredHikariPool() throws Exception {
+        assertTrue(dataSource instanceof HikariDataSource);
+
+        HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+        assertEquals("recipe-pool", hikariDataSource.getPoolName());
+        assertEquals(20000L, hikariDataSource.getLeakDetectionThreshold());
+    }
+
+    @Test
+    public void poolMetricsArePublished() throws Exception {
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "recipe-pool").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.idle").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections.usage").timer());
+    }
+
+    @Test
+    public void startupConnectionsAreCountedAsBackground() throws Exception {
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> holders =
+                (List<Map<String, Object>>) connectionHoldersEndpoint.connectionHolders().get("holders");
+
+        assertTrue(holders.stream().anyMatch(holder -> ConnectionHoldTracker.BACKGROUND.equals(holder.get("path"))));
+    }
+
+    @Test
+    public void jdbcTemplateConnectionsAreCounted() throws Exception {
+        //given
+        long holds = countHolds();
+
+        //when
+        jdbcTemplate.queryForObject("select count(*) from recipe", Long.class);
+
+        //then
+        assertEquals(holds + 1, countHolds());
+        assertTrue(((List<?>) connectionHoldersEndpoint.connectionHolders().get("open")).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private long countHolds() {
+        List<Map<String, Object>> holders =
+                (List<Map<String, Object>>) connectionHoldersEndpoint.connectionHolders().get("holders");
+
+        return holders.stream().mapToLong(holder -> (Long) holder.get("count")).sum();
+    }
+}
@@ -0,0 +1,77 @@
+package com.kokabmedia.recipe.monitoring;
+
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.domain.UnitOfMeasure;
+import com.kokabmedia.recipe.repositories.UnitOfMeasureRepository;
+import com.kokabmedia.recipe.services.RecipeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class HibernateStatisticsMetricsIT {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    RecipeService recipeService;
+
+    @Autowired
+    UnitOfMeasureRepository unitOfMeasureRepository;
+
+    @Test
+    public void hibernateUsesMeteredStatistics() throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        assertTrue(sessionFactory.getStatistics() instanceof MeteredStatistics);
+        assertTrue(sessionFactory.getStatistics().isStatisticsEnabled());
+    }
+
+    @Test
+    public void queriesAndEntityLoadsArePublished() throws Exception {
+        //when
+        recipeService.getRecipes();
+
+        //then
+        assertFalse(meterRegistry.find("hibernate.query").timers().isEmpty());
+        assertTrue(meterRegistry.get("hibernate.entity.loads").tag("entity", Recipe.class.getName())
+                .counter().count() > 0);
+
+        // the totals are published by Spring Boot Actuator
+        assertNotNull(meterRegistry.find("hibernate.flushes").functionCounter());
+    }
+
+    @Test
+    public void secondLevelCacheHitsArePublishedPerRegion() throws Exception {
+        //given
+        Long uomId = unitOfMeasureRepository.findByDescription("Teaspoon").get().getId();
+
+        //when
+        unitOfMeasureRepository.findById(uomId);
+        unitOfMeasureRepository.findById(uomId);
+
+        //then
+        Counter hits = meterRegistry.get("hibernate.cache.region.requests")
+                .tags("region", UnitOfMeasure.class.getName(), "result", "hit").counter();
+        assertTrue(hits.count() > 0);
+
+        double hitRatio = meterRegistry.get("hibernate.cache.region.hit.ratio")
+                .tag("region", UnitOfMeasure.class.getName()).gauge().value();
+        assertTrue(hitRatio > 0 && hitRatio <= 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.kokabmedia.recipe.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MeteredStatisticsTest {
+
+    public static final String QUERY = "select r from Recipe r";
+    public static final String RECIPE = "com.kokabmedia.recipe.domain.Recipe";
+    public static final String NOTES = "com.kokabmedia.recipe.domain.Notes";
+
+    // Hibernate looks up the persisters of the entities and collections in the metamodel
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    SessionFactoryImplementor sessionFactory;
+
+    MeterRegistry meterRegistry;
+
+    MeteredStatistics statistics;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        meterRegistry = new SimpleMeterRegistry();
+        statistics = new MeteredStatistics(sessionFactory, meterRegistry);
+    }
+
+    @Test
+    public void queryExecutionsAreTimedPerQuery() throws Exception {
+        //when
+        statistics.queryExecuted(QUERY, 2, 10);
+        statistics.queryExecuted(QUERY, 2, 30);
+
+        //then
+        Timer timer = meterRegistry.get("hibernate.query").tag("query", QUERY).timer();
+        assertEquals(2, timer.count());
+        assertEquals(40, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        // the totals of Hibernate are still kept
+        assertEquals(2, statistics.getQueryExecutionCount());
+        assertEquals(2, statistics.getQueryStatistics(QUERY).getExecutionCount());
+    }
+
+    @Test
+    public void entityLoadsAndFetchesAreCountedPerEntity() throws Exception {
+        //when
+        statistics.loadEntity(RECIPE);
+        statistics.loadEntity(RECIPE);
+        statistics.fetchEntity(NOTES);
+
+        //then
+        assertEquals(2, meterRegistry.get("hibernate.entity.loads").tag("entity", RECIPE).counter().count(), 0.001);
+        assertEquals(1, meterRegistry.get("hibernate.entity.fetches").tag("entity", NOTES).counter().count(), 0.001);
+        assertNull(meterRegistry.find("hibernate.entity.fetches").tag("entity", RECIPE).counter());
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void collectionFetchesAreCountedPerRole() throws Exception {
+        //when
+        statistics.fetchCollection(RECIPE + ".ingredients");
+
+        //then
+        assertEquals(1, meterRegistry.get("hibernate.collection.fetches")
+                .tag("role", RECIPE + ".ingredients").counter().count(), 0.001);
+    }
+}
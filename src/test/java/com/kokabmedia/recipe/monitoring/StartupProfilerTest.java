@@ -0,0 +1,90 @@
+package com.kokabmedia.recipe.monitoring;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StartupProfilerTest {
+
+    StartupProfiler startupProfiler;
+
+    @Before
+    public void setUp() throws Exception {
+        startupProfiler = new StartupProfiler(10, null);
+    }
+
+    @Test
+    public void ownTimeExcludesTheBeansCreatedOnTheWay() throws Exception {
+        //given
+        startupProfiler.beanStarted("recipeService");
+        startupProfiler.beanStarted("recipeRepository");
+        Thread.sleep(30);
+        startupProfiler.beanFinished("recipeRepository");
+        Thread.sleep(5);
+
+        //when
+        startupProfiler.beanFinished("recipeService");
+
+        //then
+        List<StartupProfiler.Timing> timings = startupProfiler.getBeanTimings();
+        assertEquals(2, timings.size());
+        assertEquals("recipeRepository", timings.get(0).getName());
+
+        StartupProfiler.Timing service = timings.get(1);
+        assertEquals("recipeService", service.getName());
+        assertTrue(service.getTotalNanos() >= timings.get(0).getTotalNanos() + service.getOwnNanos());
+    }
+
+    @Test
+    public void beanThatNeverStartedIsIgnored() throws Exception {
+        //given
+        startupProfiler.beanStarted("recipeService");
+        startupProfiler.beanStarted("failingBean");
+
+        //when
+        startupProfiler.beanFinished("factoryBeanObject");
+        startupProfiler.beanFinished("recipeService");
+
+        //then
+        List<StartupProfiler.Timing> timings = startupProfiler.getBeanTimings();
+        assertEquals(1, timings.size());
+        assertEquals("recipeService", timings.get(0).getName());
+    }
+
+    @Test
+    public void listenerTimesAreAddedUpPerEvent() throws Exception {
+        //given
+        startupProfiler.listenerFinished("RecipeBootstrap", "ContextRefreshedEvent", 300);
+        startupProfiler.listenerFinished("ReferenceDataLoader", "ContextRefreshedEvent", 200);
+
+        //when
+        startupProfiler.listenerFinished("ReferenceDataLoader", "ContextRefreshedEvent", 200);
+
+        //then
+        List<StartupProfiler.Timing> timings = startupProfiler.getListenerTimings();
+        assertEquals("ReferenceDataLoader (ContextRefreshedEvent)", timings.get(0).getName());
+        assertEquals(400, timings.get(0).getOwnNanos());
+        assertEquals(2, timings.get(0).getCount());
+        assertEquals("RecipeBootstrap (ContextRefreshedEvent)", timings.get(1).getName());
+    }
+
+    @Test
+    public void reportRanksTheSlowestFirst() throws Exception {
+        //given
+        startupProfiler.beanStarted("fastBean");
+        startupProfiler.beanFinished("fastBean");
+        startupProfiler.beanStarted("slowBean");
+        Thread.sleep(20);
+        startupProfiler.beanFinished("slowBean");
+
+        //when
+        String report = startupProfiler.report(1234);
+
+        //then
+        assertTrue(report, report.startsWith("Startup took 1234 ms, 2 beans were created"));
+        assertTrue(report, report.indexOf("slowBean") < report.indexOf("fastBean"));
+    }
+}
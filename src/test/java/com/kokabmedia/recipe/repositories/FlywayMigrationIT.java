@@ -0,0 +1,88 @@
+package com.kokabmedia.recipe.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/*
+ * Runs the MySQL migrations against H2 in MySQL mode and lets Hibernate validate the entities
+ * against the migrated schema with the MySQL dialect, the same as the dev and prod profiles do
+ * on MySQL.
+ *
+ * A database that was created with the create script before Flyway is baselined at version 1,
+ * the later migrations have to bring it and its rows up to date.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flyway;MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.initialization-mode=never",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/mysql",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQL5InnoDBDialect"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class FlywayMigrationIT {
+
+    @Autowired
+    Flyway flyway;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void allMigrationsAreApplied() throws Exception {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("6", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    public void descriptionIndexesExist() throws Exception {
+        for (String index : new String[]{"IDX_UNIT_OF_MEASURE_DESCRIPTION", "IDX_CATEGORY_DESCRIPTION",
+                "IDX_RECIPE_DESCRIPTION"}) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.indexes where index_name = ?", Integer.class, index);
+            assertTrue(index + " is missing", count > 0);
+        }
+    }
+
+    @Test
+    public void baselinedDatabaseIsMigrated() throws Exception {
+        //given
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:flyway-baselined;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/mysql/V1__baseline.sql"))
+                .execute(dataSource);
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+        database.update("insert into unit_of_measure (description) values ('Cup')");
+        database.update("insert into recipe (id, description, image) values (120, 'Tacos', X'01020304')");
+
+        //when
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/mysql")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        //then
+        assertEquals("VOLUME", database.queryForObject(
+                "select measure_type from unit_of_measure where description = 'Cup'", String.class));
+        assertEquals(0, new BigDecimal(48).compareTo(database.queryForObject(
+                "select base_unit_factor from unit_of_measure where description = 'Cup'", BigDecimal.class)));
+        assertEquals(Long.valueOf(4), database.queryForObject("select image_size from recipe", Long.class));
+        assertEquals(Long.valueOf(4), database.queryForObject(
+                "select length(image) from recipe_image where recipe_id = 120", Long.class));
+        assertEquals(Long.valueOf(171), database.queryForObject("select next_val from recipe_seq", Long.class));
+        assertEquals(Long.valueOf(51), database.queryForObject("select next_val from notes_seq", Long.class));
+    }
+}
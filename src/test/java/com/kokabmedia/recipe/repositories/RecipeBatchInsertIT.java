@@ -0,0 +1,137 @@
+package com.kokabmedia.recipe.repositories;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Notes;
+import com.kokabmedia.recipe.domain.Recipe;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(RecipeBatchInsertIT.BatchCountingConfig.class)
+public class RecipeBatchInsertIT {
+
+    public static final int INGREDIENTS = 100;
+    public static final int BATCH_SIZE = 50;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Before
+    public void setUp() throws Exception {
+        BatchCountingListener.BATCHES.clear();
+    }
+
+    @Test
+    public void saveRecipeWithHundredIngredientsUsesTwoIngredientBatches() throws Exception {
+        //given
+        Recipe recipe = new Recipe();
+        recipe.setDescription("Batch Recipe");
+
+        Notes notes = new Notes();
+        notes.setRecipeNotes("Batch Notes");
+        recipe.setNotes(notes);
+
+        for (int i = 0; i < INGREDIENTS; i++) {
+            recipe.addIngredient(new Ingredient("Ingredient " + i, BigDecimal.ONE, null));
+        }
+
+        //when
+        recipeRepository.save(recipe);
+        entityManager.flush();
+
+        //then
+        assertEquals(INGREDIENTS / BATCH_SIZE, batchCount("insert into ingredient"));
+        assertEquals(INGREDIENTS, batchedStatements("insert into ingredient"));
+        assertEquals(1, batchCount("insert into recipe"));
+        assertEquals(1, batchCount("insert into notes"));
+    }
+
+    private long batchCount(String sqlPrefix) {
+        return BatchCountingListener.BATCHES.stream()
+                .filter(batch -> batch.sql.startsWith(sqlPrefix + " "))
+                .count();
+    }
+
+    private int batchedStatements(String sqlPrefix) {
+        return BatchCountingListener.BATCHES.stream()
+                .filter(batch -> batch.sql.startsWith(sqlPrefix + " "))
+                .mapToInt(batch -> batch.size)
+                .sum();
+    }
+
+    /*
+     * Wraps the test DataSource in a datasource-proxy that records every JDBC batch that is
+     * executed together with its SQL and the number of statements in the batch.
+     */
+    @TestConfiguration
+    static class BatchCountingConfig {
+
+        @Bean
+        public static BeanPostProcessor batchCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create((DataSource) bean)
+                                .listener(new BatchCountingListener())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class BatchCountingListener implements QueryExecutionListener {
+
+        static final List<Batch> BATCHES = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (execInfo.isBatch()) {
+                BATCHES.add(new Batch(queryInfoList.get(0).getQuery().trim().toLowerCase(), execInfo.getBatchSize()));
+            }
+        }
+    }
+
+    static class Batch {
+
+        final String sql;
+        final int size;
+
+        Batch(String sql, int size) {
+            this.sql = sql;
+            this.size = size;
+        }
+    }
+}
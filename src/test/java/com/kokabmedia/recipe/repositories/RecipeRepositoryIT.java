@@ -0,0 +1,59 @@
+package com.kokabmedia.recipe.repositories;
+
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.domain.RecipeImage;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class RecipeRepositoryIT {
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Autowired
+    RecipeImageRepository recipeImageRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    /*
+     * The image is a RecipeImage in a table of its own, loading a recipe does not load it, with
+     * or without the bytecode enhancement of the entities.
+     */
+    @Test
+    public void imageIsNotLoadedWithRecipe() throws Exception {
+        //given
+        Recipe recipe = new Recipe();
+        recipe.setDescription("Image Recipe");
+        recipe.setImageSize(3L);
+        RecipeImage recipeImage = new RecipeImage();
+        recipeImage.setRecipe(recipe);
+        recipeImage.setImage(new Byte[]{1, 2, 3});
+        Long id = entityManager.persist(recipe).getId();
+        entityManager.persistAndFlush(recipeImage);
+        entityManager.clear();
+
+        //when
+        Recipe loadedRecipe = recipeRepository.findById(id).get();
+
+        //then
+        assertEquals("Image Recipe", loadedRecipe.getDescription());
+        for (Object key : entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityKeys()) {
+            assertNotEquals(RecipeImage.class.getName(), ((EntityKey) key).getEntityName());
+        }
+        assertArrayEquals(new Byte[]{1, 2, 3}, recipeImageRepository.findImageByRecipeId(id));
+    }
+}
@@ -1,25 +1,38 @@
 package com.kokabmedia.recipe.repositories;
 
+import com.kokabmedia.recipe.bootstrap.ReferenceDataLoader;
 import com.kokabmedia.recipe.domain.UnitOfMeasure;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
 
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 @RunWith(SpringRunner.class)
 @DataJpaTest
+@Import(ReferenceDataLoader.class)
 public class UnitOfMeasureRepositoryIT {
 
     @Autowired
     UnitOfMeasureRepository unitOfMeasureRepository;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @Before
     public void setUp() throws Exception {
     }
@@ -40,4 +53,21 @@ public class UnitOfMeasureRepositoryIT {
         assertEquals("Cup", uomOptional.get().getDescription());
     }
 
+    /*
+     * Runs without the test transaction so every repository call has its own session, the
+     * second read can then only be served by the second level cache.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdUsesSecondLevelCache() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Long id = unitOfMeasureRepository.findByDescription("Cup").get().getId();
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+
+        unitOfMeasureRepository.findById(id);
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hitsBefore);
+    }
+
 }
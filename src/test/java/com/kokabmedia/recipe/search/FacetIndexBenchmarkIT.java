@@ -0,0 +1,89 @@
+package com.kokabmedia.recipe.search;
+
+import com.kokabmedia.recipe.domain.Difficulty;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Latency benchmark for the facet counts. A million synthetic recipes with a difficulty, one
+ * or two of fifty categories and a total time are indexed. Then the facets of result sets of a
+ * hundred thousand random recipes are counted, with and without a selected value. The average
+ * count has to stay below 20 milliseconds.
+ *
+ * The number of recipes can be changed with -Dfacet.benchmark.recipes=...
+ *
+ * This is an integration test and is not run with the unit tests, run it with:
+ * mvn -Dtest=FacetIndexBenchmarkIT test
+ */
+public class FacetIndexBenchmarkIT {
+
+    private static final int RECIPES = Integer.getInteger("facet.benchmark.recipes", 1_000_000);
+    private static final int CATEGORIES = 50;
+    private static final int RESULT_SIZE = 100_000;
+    private static final int WARMUP_COUNTS = 50;
+    private static final int MEASURED_COUNTS = 200;
+    private static final long MAX_AVERAGE_MILLIS = 20;
+
+    FacetIndex index;
+    Random random;
+
+    @Before
+    public void setUp() throws Exception {
+        random = new Random(42);
+
+        index = new FacetIndex();
+        for (long id = 1; id <= RECIPES; id++) {
+            List<String> categories = random.nextBoolean()
+                    ? Collections.singletonList(category())
+                    : Arrays.asList(category(), category());
+            index.put(id, FacetIndex.values(Difficulty.values()[random.nextInt(4)], categories,
+                    random.nextInt(60), random.nextInt(120)));
+        }
+    }
+
+    @Test
+    public void averageCountLatency() throws Exception {
+        List<String> selected = Collections.singletonList("difficulty:EASY");
+
+        for (int i = 0; i < WARMUP_COUNTS; i++) {
+            index.count(resultSet(), i % 2 == 0 ? selected : Collections.<String>emptyList());
+        }
+
+        long start = System.nanoTime();
+        int values = 0;
+        for (int i = 0; i < MEASURED_COUNTS; i++) {
+            Map<String, List<FacetCount>> counts =
+                    index.count(resultSet(), i % 2 == 0 ? selected : Collections.<String>emptyList());
+            values += counts.get(FacetIndex.CATEGORY).size();
+        }
+        long averageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / MEASURED_COUNTS;
+
+        System.out.println("Recipes: " + index.size() + ", result set: " + RESULT_SIZE
+                + ", average count: " + averageMillis + " ms");
+
+        assertEquals(CATEGORIES * MEASURED_COUNTS, values);
+        assertTrue("average count took " + averageMillis + " ms", averageMillis < MAX_AVERAGE_MILLIS);
+    }
+
+    private long[] resultSet() {
+        long[] recipeIds = new long[RESULT_SIZE];
+        for (int i = 0; i < recipeIds.length; i++) {
+            recipeIds[i] = 1 + random.nextInt(RECIPES);
+        }
+        return recipeIds;
+    }
+
+    private String category() {
+        return "Category " + random.nextInt(CATEGORIES);
+    }
+}
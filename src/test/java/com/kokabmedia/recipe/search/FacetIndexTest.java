@@ -0,0 +1,142 @@
+package com.kokabmedia.recipe.search;
+
+import com.kokabmedia.recipe.domain.Difficulty;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FacetIndexTest {
+
+    FacetIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new FacetIndex();
+
+        index.put(1L, FacetIndex.values(Difficulty.EASY, Arrays.asList("Mexican"), 10, 0));
+        index.put(2L, FacetIndex.values(Difficulty.MODERATE, Arrays.asList("Mexican", "American"), 15, 20));
+        index.put(3L, FacetIndex.values(Difficulty.EASY, Arrays.asList("Italian"), 20, 60));
+        index.put(4L, FacetIndex.values(null, Collections.<String>emptyList(), null, null));
+    }
+
+    @Test
+    public void values() throws Exception {
+        assertEquals(Arrays.asList("difficulty:KIND_OF_HARD", "category:Fast Food", "time:30", "time:60"),
+                FacetIndex.values(Difficulty.KIND_OF_HARD, Arrays.asList("Fast Food"), 25, null));
+        assertEquals(Arrays.asList("time:longer"),
+                FacetIndex.values(null, Collections.<String>emptyList(), 30, 31));
+    }
+
+    @Test
+    public void countAllRecipes() throws Exception {
+        //when
+        Map<String, List<FacetCount>> counts = index.count(new long[]{1L, 2L, 3L, 4L}, Collections.<String>emptyList());
+
+        //then
+        assertEquals(Arrays.asList(FacetIndex.DIFFICULTY, FacetIndex.CATEGORY, FacetIndex.TIME),
+                Arrays.asList(counts.keySet().toArray()));
+        assertEquals("Easy (2), Moderate (1)", format(counts.get(FacetIndex.DIFFICULTY)));
+        assertEquals("Mexican (2), American (1), Italian (1)", format(counts.get(FacetIndex.CATEGORY)));
+        assertEquals("15 min or less (1), 30 min or less (1), 60 min or less (2), Over 60 min (1)",
+                format(counts.get(FacetIndex.TIME)));
+    }
+
+    @Test
+    public void countResultSet() throws Exception {
+        //when
+        Map<String, List<FacetCount>> counts = index.count(new long[]{2L, 3L, 99L}, Collections.<String>emptyList());
+
+        //then
+        assertEquals("Easy (1), Moderate (1)", format(counts.get(FacetIndex.DIFFICULTY)));
+        assertEquals("American (1), Italian (1), Mexican (1)", format(counts.get(FacetIndex.CATEGORY)));
+    }
+
+    @Test
+    public void countSelectedValues() throws Exception {
+        //when
+        Map<String, List<FacetCount>> counts = index.count(new long[]{1L, 2L, 3L, 4L},
+                Collections.singletonList("category:Mexican"));
+
+        //then
+        assertEquals("Easy (1), Moderate (1)", format(counts.get(FacetIndex.DIFFICULTY)));
+        assertEquals("Mexican (2), American (1)", format(counts.get(FacetIndex.CATEGORY)));
+        assertTrue(counts.get(FacetIndex.CATEGORY).get(0).isSelected());
+        assertEquals("category:Mexican", counts.get(FacetIndex.CATEGORY).get(0).getKey());
+        assertFalse(counts.get(FacetIndex.CATEGORY).get(1).isSelected());
+    }
+
+    @Test
+    public void countUnknownValue() throws Exception {
+        assertTrue(index.count(new long[]{1L, 2L}, Collections.singletonList("category:French")).isEmpty());
+    }
+
+    @Test
+    public void matches() throws Exception {
+        assertTrue(index.matches(2L, Arrays.asList("category:Mexican", "difficulty:MODERATE")));
+        assertFalse(index.matches(1L, Arrays.asList("category:Mexican", "difficulty:MODERATE")));
+        assertFalse(index.matches(1L, Collections.singletonList("category:French")));
+        assertTrue(index.matches(4L, Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void putReplacesRecipe() throws Exception {
+        //when
+        index.put(3L, FacetIndex.values(Difficulty.HARD, Arrays.asList("American"), 5, 5));
+
+        //then
+        Map<String, List<FacetCount>> counts = index.count(new long[]{1L, 2L, 3L}, Collections.<String>emptyList());
+        assertEquals("Easy (1), Moderate (1), Hard (1)", format(counts.get(FacetIndex.DIFFICULTY)));
+        assertEquals("American (2), Mexican (2)", format(counts.get(FacetIndex.CATEGORY)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void removeRecipeReusesItsNumber() throws Exception {
+        //when
+        index.remove(1L);
+        index.put(5L, FacetIndex.values(Difficulty.HARD, Collections.<String>emptyList(), null, null));
+
+        //then
+        Map<String, List<FacetCount>> counts = index.count(new long[]{1L, 2L, 3L, 5L}, Collections.<String>emptyList());
+        assertEquals("Easy (1), Moderate (1), Hard (1)", format(counts.get(FacetIndex.DIFFICULTY)));
+        assertFalse(index.matches(5L, Collections.singletonList("category:Mexican")));
+        assertFalse(index.matches(1L, Collections.singletonList("difficulty:EASY")));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void countsOverManyRecipes() throws Exception {
+        //given
+        FacetIndex manyRecipes = new FacetIndex();
+        long[] recipeIds = new long[1000];
+        for (int i = 0; i < recipeIds.length; i++) {
+            recipeIds[i] = i + 1;
+            manyRecipes.put(recipeIds[i], FacetIndex.values(Difficulty.values()[i % 4],
+                    Collections.singletonList("Category " + i % 3), i % 90, null));
+        }
+
+        //when
+        Map<String, List<FacetCount>> counts = manyRecipes.count(recipeIds, Collections.singletonList("difficulty:EASY"));
+
+        //then
+        assertEquals("Easy (250)", format(counts.get(FacetIndex.DIFFICULTY)));
+        assertEquals(250, counts.get(FacetIndex.CATEGORY).stream().mapToInt(FacetCount::getCount).sum());
+    }
+
+    private static String format(List<FacetCount> counts) {
+        StringBuilder text = new StringBuilder();
+        for (FacetCount count : counts) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(count.getLabel()).append(" (").append(count.getCount()).append(")");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Latency benchmark for the search index. One million synthetic recipes with the word
+ * distribution of natural text (a few very common words and a long tail of rare ones) are
+ * indexed, then queries of two and three words are searched. The average search, snippets
+ * included, has to stay below 10 milliseconds.
+ *
+ * The number of recipes can be changed with -Dsearch.benchmark.recipes=...
+ *
+ * This is an integration test and is not run with the unit tests, run it with:
+ * mvn -Dtest=InvertedIndexBenchmarkIT test
+ */
+public class InvertedIndexBenchmarkIT {
+
+    private static final int RECIPES = Integer.getInteger("search.benchmark.recipes", 1_000_000);
+    private static final int VOCABULARY = 20_000;
+    private static final int WARMUP_QUERIES = 200;
+    private static final int MEASURED_QUERIES = 1000;
+    private static final long MAX_AVERAGE_MILLIS = 10;
+
+    InvertedIndex index;
+    String[] words;
+    Random random;
+
+    @Before
+    public void setUp() throws Exception {
+        random = new Random(42);
+
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "w" + Integer.toString(i, 36);
+        }
+
+        index = new InvertedIndex();
+        for (long id = 1; id <= RECIPES; id++) {
+            List<String> ingredients = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                ingredients.add(text(2));
+            }
+            index.put(new SearchDocument(id, text(4), text(20), null, ingredients));
+        }
+    }
+
+    @Test
+    public void averageSearchLatency() throws Exception {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            index.search(query(), 20);
+        }
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            found += index.search(query(), 20).size();
+        }
+        long averageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / MEASURED_QUERIES;
+
+        System.out.println("Recipes: " + index.size() + ", average search: " + averageMillis + " ms");
+
+        assertFalse(found == 0);
+        assertTrue("average search took " + averageMillis + " ms", averageMillis < MAX_AVERAGE_MILLIS);
+    }
+
+    // Queries use the words that are neither stop words nor too rare to be found
+    private String query() {
+        StringBuilder query = new StringBuilder();
+        int terms = 2 + random.nextInt(2);
+        for (int i = 0; i < terms; i++) {
+            query.append(words[50 + random.nextInt(2000)]).append(' ');
+        }
+        return query.toString();
+    }
+
+    // Words are picked with a Zipf like distribution, the first words are the most common
+    private String text(int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int word = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+            text.append(words[word]).append(' ');
+        }
+        return text.toString();
+    }
+}
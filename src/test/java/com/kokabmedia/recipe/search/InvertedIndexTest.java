@@ -0,0 +1,194 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InvertedIndexTest {
+
+    InvertedIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new InvertedIndex();
+
+        index.put(new SearchDocument(1L, "Perfect Guacamole", "Cut the avocado, mash it with lime juice.",
+                null, Arrays.asList("ripe avocados", "lime juice", "salt")));
+        index.put(new SearchDocument(2L, "Spicy Grilled Chicken Tacos", "Grill the chicken and slice it.",
+                "Serve with guacamole made from one avocado.", Arrays.asList("chicken thighs", "corn tortillas")));
+        index.put(new SearchDocument(3L, "Lemon Cake", "Bake the cake for 40 minutes.",
+                null, Arrays.asList("lemons", "flour", "sugar")));
+    }
+
+    @Test
+    public void searchRanksDescriptionAboveText() throws Exception {
+        //when
+        List<SearchHit> hits = index.search("guacamole", 10);
+
+        //then
+        assertEquals(2, hits.size());
+        assertEquals(Long.valueOf(1L), hits.get(0).getRecipeId());
+        assertEquals(Long.valueOf(2L), hits.get(1).getRecipeId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    public void searchMatchesAnyTerm() throws Exception {
+        //when
+        List<SearchHit> hits = index.search("Chicken CAKE", 10);
+
+        //then
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    public void searchLimitsHits() throws Exception {
+        //when
+        List<SearchHit> hits = index.search("the", 2);
+
+        //then
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    public void searchWithoutMatch() throws Exception {
+        assertTrue(index.search("pizza", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void searchBuildsSnippet() throws Exception {
+        //when
+        List<SearchHit> hits = index.search("lime", 10);
+
+        //then
+        assertEquals(1, hits.size());
+        assertTrue(hits.get(0).getSnippet().contains("<b>lime</b>"));
+    }
+
+    @Test
+    public void putReplacesRecipe() throws Exception {
+        //when
+        index.put(new SearchDocument(3L, "Chocolate Cake", "Bake the cake.", null, Collections.<String>emptyList()));
+
+        //then
+        assertEquals(3, index.size());
+        assertTrue(index.search("lemon", 10).isEmpty());
+        assertEquals(Long.valueOf(3L), index.search("chocolate", 10).get(0).getRecipeId());
+    }
+
+    @Test
+    public void removeRecipe() throws Exception {
+        //when
+        index.remove(1L);
+
+        //then
+        assertEquals(2, index.size());
+        List<SearchHit> hits = index.search("avocado", 10);
+        assertEquals(1, hits.size());
+        assertEquals(Long.valueOf(2L), hits.get(0).getRecipeId());
+    }
+
+    @Test
+    public void compactionKeepsRecipes() throws Exception {
+        //given
+        for (long id = 100; id < 3100; id++) {
+            index.put(new SearchDocument(id, "Recipe " + id, "Stir well.", null, null));
+        }
+
+        //when
+        for (long id = 100; id < 3100; id++) {
+            index.remove(id);
+        }
+
+        //then
+        assertEquals(3, index.size());
+        assertTrue(index.search("stir", 10).isEmpty());
+        assertEquals(Long.valueOf(1L), index.search("guacamole", 10).get(0).getRecipeId());
+        index.remove(1L);
+        assertEquals(1, index.search("guacamole", 10).size());
+    }
+
+    @Test
+    public void idfFallsWithDocumentFrequency() throws Exception {
+        assertTrue(InvertedIndex.idf(1, 100) > InvertedIndex.idf(10, 100));
+        assertTrue(InvertedIndex.idf(100, 100) > 0);
+    }
+
+    @Test
+    public void fuzzySearchFindsMisspelledDescriptions() throws Exception {
+        //given
+        index.put(new SearchDocument(4L, "Perfect Guacomole", "Mash the avocado.",
+                null, Collections.<String>emptyList()));
+
+        //when
+        List<SearchHit> exact = index.search("guacomole", 10);
+        List<SearchHit> fuzzy = index.search("guacomole", 10, true);
+
+        //then
+        assertEquals(1, exact.size());
+        assertEquals(3, fuzzy.size());
+        assertEquals(Long.valueOf(4L), fuzzy.get(0).getRecipeId());
+        assertTrue(fuzzy.get(1).getSnippet().contains("<b>"));
+    }
+
+    @Test
+    public void fuzzySearchForgetsRemovedDescriptions() throws Exception {
+        //when
+        index.remove(1L);
+
+        //then
+        assertTrue(index.search("guacamoel", 10, true).isEmpty());
+        assertEquals(1, index.search("guacamole", 10, true).size());
+    }
+
+    @Test
+    public void searchWithFilter() throws Exception {
+        //when
+        List<SearchHit> hits = index.search("avocado guacamole", 1, false, recipeId -> recipeId != 1L);
+
+        //then
+        assertEquals(1, hits.size());
+        assertEquals(Long.valueOf(2L), hits.get(0).getRecipeId());
+    }
+
+    @Test
+    public void failedSearchLeavesNoScores() throws Exception {
+        //given
+        float score = index.search("guacamole", 10).get(0).getScore();
+        try {
+            index.search("guacamole", 10, false, recipeId -> {
+                throw new IllegalStateException("Filter failed");
+            });
+            fail("The filter did not fail");
+        } catch (IllegalStateException e) {
+            // the scores of the failed search are left in the array of the thread
+        }
+
+        //when
+        List<SearchHit> hits = index.search("guacamole", 10);
+
+        //then
+        assertEquals(score, hits.get(0).getScore(), 0f);
+    }
+
+    @Test
+    public void findRecipeIds() throws Exception {
+        //given
+        index.remove(2L);
+
+        //when
+        long[] recipeIds = index.findRecipeIds("guacamole cake", false);
+        Arrays.sort(recipeIds);
+
+        //then
+        assertArrayEquals(new long[]{1L, 3L}, recipeIds);
+        assertEquals(0, index.findRecipeIds("pizza", false).length);
+        assertEquals(1, index.findRecipeIds("guacamoel", true).length);
+    }
+}
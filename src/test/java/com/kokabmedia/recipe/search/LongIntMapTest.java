@@ -0,0 +1,66 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongIntMapTest {
+
+    LongIntMap map;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new LongIntMap();
+    }
+
+    @Test
+    public void putGetRemove() throws Exception {
+        //when
+        map.put(42L, 1);
+        map.put(7L, 2);
+        map.put(42L, 3);
+
+        //then
+        assertEquals(3, map.get(42L));
+        assertEquals(2, map.get(7L));
+        assertEquals(-1, map.get(8L));
+        assertEquals(2, map.size());
+
+        assertEquals(3, map.remove(42L));
+        assertEquals(-1, map.remove(42L));
+        assertEquals(-1, map.get(42L));
+        assertEquals(1, map.size());
+    }
+
+    // Compares the map with a HashMap for random puts and removes of colliding keys
+    @Test
+    public void randomChangesMatchHashMap() throws Exception {
+        //given
+        Random random = new Random(42);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        //when
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.remove(key));
+            } else {
+                int value = random.nextInt(1000);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+
+        //then
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 2000 * 1024L; key += 1024) {
+            assertEquals(expected.getOrDefault(key, -1).intValue(), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Latency benchmark for the pantry search. Half a million synthetic recipes with ten
+ * ingredients each are indexed, a few ingredients are very common and most are rare. Then
+ * pantries of fifteen ingredients are searched, every search looks at every recipe. The
+ * average search has to stay below 50 milliseconds on a single core, the chunks of the index
+ * are searched in parallel and more cores divide the time.
+ *
+ * The number of recipes can be changed with -Dpantry.benchmark.recipes=...
+ *
+ * This is an integration test and is not run with the unit tests, run it with:
+ * mvn -Dtest=PantryIndexBenchmarkIT test
+ */
+public class PantryIndexBenchmarkIT {
+
+    private static final int RECIPES = Integer.getInteger("pantry.benchmark.recipes", 500_000);
+    private static final int INGREDIENTS = 5_000;
+    private static final int INGREDIENTS_PER_RECIPE = 10;
+    private static final int PANTRY_SIZE = 15;
+    private static final int WARMUP_SEARCHES = 50;
+    private static final int MEASURED_SEARCHES = 200;
+    private static final long MAX_AVERAGE_MILLIS = 50;
+
+    PantryIndex index;
+    Random random;
+
+    @Before
+    public void setUp() throws Exception {
+        random = new Random(42);
+
+        // Like the service, the most common ingredients get the smallest ids
+        List<String> commonIngredients = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS; i++) {
+            commonIngredients.add("ingredient " + i);
+        }
+
+        index = new PantryIndex(commonIngredients);
+        for (long id = 1; id <= RECIPES; id++) {
+            List<String> ingredients = new ArrayList<>();
+            for (int i = 0; i < INGREDIENTS_PER_RECIPE; i++) {
+                ingredients.add(ingredient());
+            }
+            index.put(id, "Recipe " + id, ingredients);
+        }
+    }
+
+    @Test
+    public void averageSearchLatency() throws Exception {
+        for (int i = 0; i < WARMUP_SEARCHES; i++) {
+            index.search(pantry(), 20);
+        }
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < MEASURED_SEARCHES; i++) {
+            found += index.search(pantry(), 20).size();
+        }
+        long averageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / MEASURED_SEARCHES;
+
+        System.out.println("Recipes: " + index.size() + ", ingredients: " + index.ingredientCount()
+                + ", average search: " + averageMillis + " ms");
+
+        assertFalse(found == 0);
+        assertTrue("average search took " + averageMillis + " ms", averageMillis < MAX_AVERAGE_MILLIS);
+    }
+
+    private List<String> pantry() {
+        List<String> pantry = new ArrayList<>();
+        for (int i = 0; i < PANTRY_SIZE; i++) {
+            pantry.add(ingredient());
+        }
+        return pantry;
+    }
+
+    // Ingredients are picked with a Zipf like distribution, salt is more common than saffron
+    private String ingredient() {
+        return "ingredient " + ((int) Math.pow(INGREDIENTS, random.nextDouble()) - 1);
+    }
+}
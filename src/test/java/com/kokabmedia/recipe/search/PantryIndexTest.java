@@ -0,0 +1,116 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PantryIndexTest {
+
+    PantryIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new PantryIndex();
+
+        index.put(1L, "Perfect Guacamole", Arrays.asList("ripe avocados", "Kosher salt", "lime juice", "Cilantro"));
+        index.put(2L, "Salted Avocado", Arrays.asList("ripe avocados", "kosher  salt"));
+        index.put(3L, "Lemon Cake", Arrays.asList("lemons", "flour", "sugar"));
+    }
+
+    @Test
+    public void normalize() throws Exception {
+        assertEquals("kosher salt", IngredientVocabulary.normalize("  Kosher, SALT "));
+        assertEquals("", IngredientVocabulary.normalize(null));
+    }
+
+    @Test
+    public void searchRanksByCoverage() throws Exception {
+        //when
+        List<PantryMatch> matches = index.search(Arrays.asList("Ripe Avocados", "kosher salt", "pepper"), 10);
+
+        //then
+        assertEquals(2, matches.size());
+
+        assertEquals(Long.valueOf(2L), matches.get(0).getRecipeId());
+        assertEquals(2, matches.get(0).getMatchedIngredients());
+        assertEquals(1.0, matches.get(0).getCoverage(), 0.0);
+        assertTrue(matches.get(0).getMissingIngredients().isEmpty());
+
+        assertEquals(Long.valueOf(1L), matches.get(1).getRecipeId());
+        assertEquals(0.5, matches.get(1).getCoverage(), 0.0);
+        assertEquals(Arrays.asList("lime juice", "cilantro"), matches.get(1).getMissingIngredients());
+    }
+
+    @Test
+    public void searchWithUnknownIngredients() throws Exception {
+        assertTrue(index.search(Collections.singletonList("pepper"), 10).isEmpty());
+        assertTrue(index.search(Collections.<String>emptyList(), 10).isEmpty());
+    }
+
+    @Test
+    public void putReplacesIngredients() throws Exception {
+        //when
+        index.put(3L, "Lemon Cake", Arrays.asList("lemons", "flour", "sugar", "ripe avocados"));
+
+        //then
+        assertEquals(3, index.size());
+        assertEquals(3, index.search(Collections.singletonList("ripe avocados"), 10).size());
+    }
+
+    @Test
+    public void removeMovesLastRecipe() throws Exception {
+        //when
+        index.remove(1L);
+
+        //then
+        assertEquals(2, index.size());
+        assertEquals(Long.valueOf(3L), index.search(Collections.singletonList("flour"), 10).get(0).getRecipeId());
+        assertEquals(Long.valueOf(2L), index.search(Collections.singletonList("ripe avocados"), 10).get(0).getRecipeId());
+    }
+
+    @Test
+    public void searchManyChunksAndIngredients() throws Exception {
+        //given, more ingredients than fit into one word and more recipes than fit into one chunk
+        index = new PantryIndex();
+        for (long id = 1; id <= 3 * PantryIndex.CHUNK_SIZE; id++) {
+            List<String> ingredients = new ArrayList<>();
+            ingredients.add("salt");
+            ingredients.add("spice " + (id % 500));
+            index.put(id, "Recipe " + id, ingredients);
+        }
+
+        //when
+        List<PantryMatch> matches = index.search(Arrays.asList("salt", "spice 499"), 5);
+
+        //then
+        assertEquals(5, matches.size());
+        assertEquals(Long.valueOf(499L), matches.get(0).getRecipeId());
+        assertEquals(Long.valueOf(999L), matches.get(1).getRecipeId());
+        assertEquals(1.0, matches.get(4).getCoverage(), 0.0);
+    }
+
+    @Test
+    public void compactionKeepsIngredients() throws Exception {
+        //when, every replace leaves the words of the old ingredients unused
+        for (int i = 0; i < 10000; i++) {
+            index.put(1L, "Perfect Guacamole", Arrays.asList("ripe avocados", "Kosher salt", "lime juice", "Cilantro"));
+            index.put(10L + i, "Recipe " + i, Collections.singletonList("water"));
+            index.remove(10L + i);
+        }
+
+        //then
+        assertEquals(3, index.size());
+        List<PantryMatch> matches = index.search(Arrays.asList("ripe avocados", "kosher salt", "flour"), 10);
+        assertEquals(3, matches.size());
+        assertEquals(Long.valueOf(2L), matches.get(0).getRecipeId());
+        assertEquals(Long.valueOf(1L), matches.get(1).getRecipeId());
+        assertEquals(Arrays.asList("lime juice", "cilantro"), matches.get(1).getMissingIngredients());
+        assertEquals(Long.valueOf(3L), matches.get(2).getRecipeId());
+    }
+}
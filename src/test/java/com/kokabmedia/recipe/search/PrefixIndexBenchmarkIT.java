@@ -0,0 +1,84 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Latency benchmark for the typeahead. Two million uses of two hundred thousand different
+ * ingredient texts are added, a few texts are used very often and most only a few times.
+ * Then the prefixes of random texts are completed one character at a time, like a user
+ * typing. The 99th percentile of the completions has to stay below 5 milliseconds.
+ *
+ * This is an integration test and is not run with the unit tests, run it with:
+ * mvn -Dtest=PrefixIndexBenchmarkIT test
+ */
+public class PrefixIndexBenchmarkIT {
+
+    private static final int TEXTS = 200_000;
+    private static final int USES = 2_000_000;
+    private static final int WARMUP_TEXTS = 2_000;
+    private static final int MEASURED_TEXTS = 5_000;
+    private static final long MAX_P99_MICROS = 5_000;
+
+    private static final String[] WORDS = {"red", "green", "fresh", "dried", "ground", "chopped", "onion",
+            "garlic", "pepper", "salt", "tomato", "chicken", "beef", "lime", "lemon", "juice", "oil", "butter",
+            "flour", "sugar", "cilantro", "cumin", "avocado", "cheese", "cream", "rice", "bean", "corn"};
+
+    PrefixIndex index;
+    String[] texts;
+    Random random;
+
+    @Before
+    public void setUp() throws Exception {
+        random = new Random(42);
+
+        texts = new String[TEXTS];
+        for (int i = 0; i < TEXTS; i++) {
+            texts[i] = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+        }
+
+        index = new PrefixIndex();
+        for (int i = 0; i < USES; i++) {
+            index.add(texts[(int) Math.pow(TEXTS, random.nextDouble()) - 1]);
+        }
+    }
+
+    @Test
+    public void keystrokeLatency() throws Exception {
+        for (int i = 0; i < WARMUP_TEXTS; i++) {
+            type(texts[random.nextInt(TEXTS)], new long[64], 0);
+        }
+
+        long[] micros = new long[MEASURED_TEXTS * 64];
+        int keystrokes = 0;
+        for (int i = 0; i < MEASURED_TEXTS; i++) {
+            keystrokes = type(texts[random.nextInt(TEXTS)], micros, keystrokes);
+        }
+
+        long[] sorted = Arrays.copyOf(micros, keystrokes);
+        Arrays.sort(sorted);
+        long p50 = sorted[keystrokes / 2];
+        long p99 = sorted[keystrokes * 99 / 100];
+
+        System.out.println("Texts: " + index.size() + ", keystrokes: " + keystrokes
+                + ", p50: " + p50 + " us, p99: " + p99 + " us");
+
+        assertTrue("p99 of the completions was " + p99 + " us", p99 < MAX_P99_MICROS);
+    }
+
+    // Completes every prefix of the text and records the time of every completion
+    private int type(String text, long[] micros, int keystrokes) {
+        for (int length = 1; length <= text.length() && keystrokes < micros.length; length++) {
+            long start = System.nanoTime();
+            index.complete(text.substring(0, length), PrefixIndex.MAX_SUGGESTIONS);
+            micros[keystrokes++] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        }
+        return keystrokes;
+    }
+}
@@ -0,0 +1,154 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class PrefixIndexTest {
+
+    PrefixIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new PrefixIndex();
+
+        index.add("Onion");
+        index.add("onion");
+        index.add("onion ");
+        index.add("onions");
+        index.add("Red  Onion");
+        index.add("orange juice");
+        index.add("orange juice");
+        index.add("oregano");
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).collect(Collectors.toList());
+    }
+
+    @Test
+    public void completeRanksByFrequency() throws Exception {
+        //when
+        List<Suggestion> suggestions = index.complete("o", 10);
+
+        //then
+        assertEquals(4, suggestions.size());
+        assertEquals("Onion", suggestions.get(0).getText());
+        assertEquals(3, suggestions.get(0).getCount());
+        assertEquals("orange juice", suggestions.get(1).getText());
+        assertEquals(2, suggestions.get(1).getCount());
+    }
+
+    @Test
+    public void completeIgnoresCaseAndSpaces() throws Exception {
+        assertEquals(5, index.size());
+        assertEquals("Red Onion", texts(index.complete("  RED o", 10)).get(0));
+        assertTrue(index.complete("red onion x", 10).isEmpty());
+    }
+
+    @Test
+    public void completeEndsInsideEdge() throws Exception {
+        //when
+        List<String> suggestions = texts(index.complete("onio", 10));
+
+        //then
+        assertEquals(2, suggestions.size());
+        assertEquals("Onion", suggestions.get(0));
+        assertEquals("onions", suggestions.get(1));
+    }
+
+    @Test
+    public void completeLimitsSuggestions() throws Exception {
+        assertEquals(2, index.complete("o", 2).size());
+        assertTrue(index.complete("x", 10).isEmpty());
+        assertTrue(index.complete("", 10).isEmpty());
+    }
+
+    @Test
+    public void removeLowersCount() throws Exception {
+        //when
+        index.remove("ONION");
+        index.remove("onion");
+
+        //then
+        List<Suggestion> suggestions = index.complete("o", 10);
+        assertEquals("orange juice", suggestions.get(0).getText());
+        assertEquals(1, suggestions.stream().filter(suggestion -> suggestion.getText().equals("Onion"))
+                .findFirst().get().getCount());
+    }
+
+    @Test
+    public void removeLastUse() throws Exception {
+        //when
+        index.remove("oregano");
+        index.remove("oregano");
+        index.remove("unknown");
+
+        //then
+        assertEquals(4, index.size());
+        assertFalse(texts(index.complete("o", 10)).contains("oregano"));
+        assertTrue(index.complete("ore", 10).isEmpty());
+        assertEquals("orange juice", texts(index.complete("or", 10)).get(0));
+    }
+
+    @Test
+    public void topListsOfLargeSubtrees() throws Exception {
+        //given
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j <= i % 20; j++) {
+                index.add("salt " + i);
+            }
+        }
+
+        //when
+        List<Suggestion> suggestions = index.complete("salt", PrefixIndex.MAX_SUGGESTIONS);
+
+        //then
+        assertEquals(PrefixIndex.MAX_SUGGESTIONS, suggestions.size());
+        assertEquals("salt 119", suggestions.get(0).getText());
+        assertEquals(20, suggestions.get(0).getCount());
+        for (Suggestion suggestion : suggestions) {
+            assertEquals(20, suggestion.getCount());
+        }
+    }
+
+    @Test
+    public void randomChangesMatchCountedCompletions() throws Exception {
+        //given
+        index = new PrefixIndex();
+        Map<String, Integer> counts = new HashMap<>();
+        Random random = new Random(7);
+
+        //when
+        for (int i = 0; i < 20000; i++) {
+            String text = "ab".charAt(random.nextInt(2)) + Integer.toString(random.nextInt(300), 3);
+            if (random.nextInt(3) == 0) {
+                index.remove(text);
+                counts.computeIfPresent(text, (key, count) -> count == 1 ? null : count - 1);
+            } else {
+                index.add(text);
+                counts.merge(text, 1, Integer::sum);
+            }
+        }
+
+        //then
+        for (String prefix : new String[]{"a", "b", "a1", "b2", "a10", "b21", "a102"}) {
+            List<String> expected = new ArrayList<>(counts.keySet());
+            expected.removeIf(text -> !text.startsWith(prefix));
+            expected.sort(Comparator.comparingInt((String text) -> -counts.get(text)).thenComparing(text -> text));
+
+            assertEquals(prefix, expected.subList(0, Math.min(expected.size(), PrefixIndex.MAX_SUGGESTIONS)),
+                    texts(index.complete(prefix, PrefixIndex.MAX_SUGGESTIONS)));
+        }
+        assertEquals(counts.size(), index.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class SnippetsTest {
+
+    @Test
+    public void marksAndEscapesTerms() throws Exception {
+        //given
+        SearchDocument document = new SearchDocument(1L, "Guacamole", "Mash the avocado <gently> & add salt.",
+                null, Collections.<String>emptyList());
+
+        //when
+        String snippet = Snippets.build(document, Tokenizer.terms("avocado salt"));
+
+        //then
+        assertEquals("Mash the <b>avocado</b> &lt;gently&gt; &amp; add <b>salt</b>.", snippet);
+    }
+
+    @Test
+    public void cutsLongTextAroundTerms() throws Exception {
+        //given
+        StringBuilder directions = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            directions.append("stir the pot. ");
+        }
+        directions.append("Add the cilantro. ");
+        for (int i = 0; i < 50; i++) {
+            directions.append("stir the pot. ");
+        }
+        SearchDocument document = new SearchDocument(1L, "Soup", directions.toString(), null, null);
+
+        //when
+        String snippet = Snippets.build(document, Tokenizer.terms("cilantro"), 40);
+
+        //then
+        assertTrue(snippet.startsWith("..."));
+        assertTrue(snippet.endsWith("..."));
+        assertTrue(snippet.contains("<b>cilantro</b>"));
+    }
+
+    @Test
+    public void prefersFieldWithMostTerms() throws Exception {
+        //given
+        SearchDocument document = new SearchDocument(1L, "Tacos", "Warm the tortillas.", null,
+                Arrays.asList("corn tortillas", "chicken"));
+
+        //when
+        String snippet = Snippets.build(document, Tokenizer.terms("chicken tortillas"));
+
+        //then
+        assertEquals("corn <b>tortillas</b>, <b>chicken</b>", snippet);
+    }
+
+    @Test
+    public void fallsBackToStartOfText() throws Exception {
+        //given
+        SearchDocument document = new SearchDocument(1L, "Tacos", "Warm the tortillas.", null, null);
+
+        //when
+        String snippet = Snippets.build(document, Tokenizer.terms("pizza"));
+
+        //then
+        assertEquals("Warm the tortillas.", snippet);
+    }
+}
@@ -0,0 +1,77 @@
+package com.kokabmedia.recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TrigramIndexTest {
+
+    TrigramIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new TrigramIndex();
+
+        index.add("guacamole");
+        index.add("tacos");
+        index.add("chicken");
+        index.add("chickpea");
+        index.add("pie");
+    }
+
+    @Test
+    public void similarWordsFindsTypos() throws Exception {
+        //when
+        Map<String, Integer> similar = index.similarWords("guacomole");
+
+        //then
+        assertEquals(1, similar.size());
+        assertEquals(Integer.valueOf(1), similar.get("guacamole"));
+    }
+
+    @Test
+    public void similarWordsIncludesTheWord() throws Exception {
+        //when
+        Map<String, Integer> similar = index.similarWords("chicken");
+
+        //then
+        assertEquals(Integer.valueOf(0), similar.get("chicken"));
+        assertEquals(Integer.valueOf(2), similar.get("chickpea"));
+        assertFalse(similar.containsKey("guacamole"));
+    }
+
+    @Test
+    public void shortWordsHaveToMatch() throws Exception {
+        assertTrue(index.similarWords("pye").isEmpty());
+        assertEquals(Integer.valueOf(1), index.similarWords("tacs").get("tacos"));
+    }
+
+    @Test
+    public void removedWordsAreNotFound() throws Exception {
+        //given
+        index.add("tacos");
+
+        //when
+        index.remove("tacos");
+
+        //then
+        assertTrue(index.similarWords("tacoz").containsKey("tacos"));
+
+        index.remove("tacos");
+        assertTrue(index.similarWords("tacoz").isEmpty());
+    }
+
+    @Test
+    public void editDistance() throws Exception {
+        assertEquals(0, TrigramIndex.editDistance("guacamole", "guacamole", 2));
+        assertEquals(1, TrigramIndex.editDistance("guacomole", "guacamole", 2));
+        assertEquals(2, TrigramIndex.editDistance("gaucamole", "guacamole", 2));
+        assertEquals(1, TrigramIndex.editDistance("taco", "tacos", 1));
+        assertEquals(2, TrigramIndex.editDistance("chicken", "chickpea", 2));
+        assertEquals(2, TrigramIndex.editDistance("chicken", "chickpea", 1));
+        assertEquals(2, TrigramIndex.editDistance("pie", "pizza", 1));
+    }
+}
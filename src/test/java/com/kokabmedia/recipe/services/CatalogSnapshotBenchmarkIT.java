@@ -0,0 +1,67 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.snapshot.CatalogGenerator;
+import com.kokabmedia.recipe.snapshot.CatalogSnapshotWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Restore benchmark for catalog snapshots. A snapshot of fifty thousand recipes of the
+ * CatalogGenerator is written and restored into the H2 database of the application, with the
+ * search indexes and category counts built again afterwards. The restore has to take less than
+ * a minute.
+ *
+ * The number of recipes can be changed with -Dsnapshot.benchmark.recipes=...
+ *
+ * This is an integration test and is not run with the unit tests, run it with:
+ * mvn -Dtest=CatalogSnapshotBenchmarkIT test
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.type=info",
+        "logging.level.com.kokabmedia.recipe=info"})
+public class CatalogSnapshotBenchmarkIT {
+
+    private static final int RECIPES = Integer.getInteger("snapshot.benchmark.recipes", 50_000);
+    private static final long MAX_RESTORE_SECONDS = 60;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Test
+    public void restoreTime() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("catalog.snapshot");
+
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            new CatalogGenerator(42).write(RECIPES, writer);
+        }
+
+        long started = System.nanoTime();
+        long restored = catalogSnapshotService.restoreSnapshot(file);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        System.out.println("Restored " + restored + " recipes from " + Files.size(file) / 1024 + " KB in "
+                + millis + " ms");
+
+        assertEquals(RECIPES, recipeRepository.count());
+        assertTrue("Restore took " + millis + " ms", millis < TimeUnit.SECONDS.toMillis(MAX_RESTORE_SECONDS));
+    }
+}
@@ -0,0 +1,193 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.SearchHit;
+import com.kokabmedia.recipe.snapshot.CatalogGenerator;
+import com.kokabmedia.recipe.snapshot.CatalogSnapshotWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Writes a snapshot of the recipes of the H2 database and restores it again. The restored
+ * recipes have new ids, the test compares them by their description. A generated catalog is
+ * added to the recipes of the database and removed again by restoring a snapshot.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CatalogSnapshotServiceIT {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    RecipeService recipeService;
+
+    @Autowired
+    RecipeSearchService recipeSearchService;
+
+    @Autowired
+    CategoryRecipeCountService categoryRecipeCountService;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Autowired
+    UnitOfMeasureConversionService unitOfMeasureConversionService;
+
+    @Autowired
+    UnitOfMeasureService unitOfMeasureService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testWriteAndRestoreSnapshot() throws Exception {
+        //given
+        Path file = folder.getRoot().toPath().resolve("catalog.snapshot");
+        List<String> before = descriptions();
+        long countsBefore = categoryRecipeCountService.getRecipeCounts().values().stream().mapToLong(Long::longValue).sum();
+
+        //when
+        long written = catalogSnapshotService.writeSnapshot(file);
+        long restored = catalogSnapshotService.restoreSnapshot(file);
+
+        //then
+        assertEquals(before.size(), written);
+        assertEquals(written, restored);
+        assertEquals(before, descriptions());
+        assertEquals(countsBefore,
+                categoryRecipeCountService.getRecipeCounts().values().stream().mapToLong(Long::longValue).sum());
+
+        Recipe recipe = recipeRepository.findAll().iterator().next();
+        Slice<SearchHit> hits = recipeSearchService.search(recipe.getDescription(), 0, false);
+        assertEquals(recipe.getId(), hits.getContent().get(0).getRecipeId());
+
+        RecipeCommand restoredRecipe = recipeService.findCommandById(recipe.getId());
+        assertNotNull(restoredRecipe.getNotes());
+        assertFalse(restoredRecipe.getIngredients().isEmpty());
+        assertFalse(restoredRecipe.getCategories().isEmpty());
+
+        // the sequences are past the restored ids, a new recipe can be saved
+        RecipeCommand copy = new RecipeCommand();
+        copy.setDescription("Restored Copy");
+        copy.setDirections("Copy.");
+        RecipeCommand saved = recipeService.saveRecipeCommand(copy);
+        assertNotNull(saved.getId());
+        recipeService.deleteById(saved.getId());
+    }
+
+    @Test
+    public void testGenerateCatalog() throws Exception {
+        //given
+        Path file = folder.getRoot().toPath().resolve("before.snapshot");
+        catalogSnapshotService.writeSnapshot(file);
+        long before = recipeRepository.count();
+        CatalogGenerator generator = new CatalogGenerator(42);
+
+        try {
+            //when
+            long generated = catalogSnapshotService.generateCatalog(generator, 1500);
+
+            //then
+            assertEquals(1500, generated);
+            assertEquals(before + 1500, recipeRepository.count());
+
+            Slice<SearchHit> hits = recipeSearchService.search("star anise", 0, false);
+            assertFalse(hits.getContent().isEmpty());
+
+            RecipeCommand recipe = recipeService.findCommandById(hits.getContent().get(0).getRecipeId());
+            assertFalse(recipe.getIngredients().isEmpty());
+            assertFalse(recipe.getCategories().isEmpty());
+        } finally {
+            // the other tests of the application context expect the recipes of the RecipeBootstrap
+            catalogSnapshotService.restoreSnapshot(file);
+        }
+    }
+
+    @Test
+    public void testTruncatedSnapshotIsNotRestored() throws Exception {
+        //given
+        Path file = folder.getRoot().toPath().resolve("complete.snapshot");
+        Path truncated = folder.getRoot().toPath().resolve("truncated.snapshot");
+        catalogSnapshotService.writeSnapshot(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8));
+        List<String> before = descriptions();
+
+        //when
+        try {
+            catalogSnapshotService.restoreSnapshot(truncated);
+            fail("Expected the truncated snapshot to be rejected");
+        } catch (IOException expected) {
+        }
+
+        //then
+        assertEquals(before, descriptions());
+    }
+
+    @Test
+    public void testRestoredUnitOfMeasureCanBeConverted() throws Exception {
+        //given
+        Path before = folder.getRoot().toPath().resolve("before.snapshot");
+        Path file = folder.getRoot().toPath().resolve("gallon.snapshot");
+        catalogSnapshotService.writeSnapshot(before);
+        unitOfMeasureConversionService.isConvertible(1L, 1L);
+
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.writeUnitOfMeasure(1, "Teaspoon", "VOLUME", BigDecimal.ONE);
+            writer.writeUnitOfMeasure(2, "Gallon", "VOLUME", new BigDecimal(768));
+            writer.finish();
+        }
+
+        try {
+            //when
+            catalogSnapshotService.restoreSnapshot(file);
+
+            //then
+            Long gallon = uomId("Gallon");
+            assertEquals(0, new BigDecimal(768).compareTo(
+                    unitOfMeasureConversionService.convert(BigDecimal.ONE, gallon, uomId("Teaspoon"))));
+        } finally {
+            catalogSnapshotService.restoreSnapshot(before);
+            jdbcTemplate.update("delete from unit_of_measure where description = 'Gallon'");
+            unitOfMeasureService.refresh();
+            unitOfMeasureConversionService.reload();
+        }
+    }
+
+    private Long uomId(String description) {
+        return jdbcTemplate.queryForObject("select id from unit_of_measure where description = ?", Long.class,
+                description);
+    }
+
+    private List<String> descriptions() {
+        List<String> descriptions = new ArrayList<>();
+        for (Recipe recipe : recipeRepository.findAll()) {
+            descriptions.add(recipe.getDescription());
+        }
+        descriptions.sort(null);
+        return descriptions;
+    }
+}
@@ -0,0 +1,103 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.repositories.CategoryRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class CategoryRecipeCountServiceImplTest {
+
+    CategoryRecipeCountServiceImpl service;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(categoryRepository.countRecipesPerCategory()).thenReturn(Arrays.asList(
+                new Object[]{1L, 2L},
+                new Object[]{2L, 5L}));
+
+        service = new CategoryRecipeCountServiceImpl(categoryRepository);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void getRecipeCounts() throws Exception {
+        //when
+        Map<Long, Long> counts = service.getRecipeCounts();
+
+        //then
+        assertEquals(2, counts.size());
+        assertEquals(Long.valueOf(2L), counts.get(1L));
+        assertEquals(Long.valueOf(5L), counts.get(2L));
+        assertEquals(0L, service.getRecipeCount(3L));
+        verify(categoryRepository, times(1)).countRecipesPerCategory();
+    }
+
+    @Test
+    public void updateRecipeCountsAppliesDelta() throws Exception {
+        //given
+        service.getRecipeCounts();
+
+        //when
+        service.updateRecipeCounts(new HashSet<>(Arrays.asList(1L, 2L)), new HashSet<>(Arrays.asList(2L, 3L)));
+
+        //then
+        assertEquals(1L, service.getRecipeCount(1L));
+        assertEquals(5L, service.getRecipeCount(2L));
+        assertEquals(1L, service.getRecipeCount(3L));
+        verify(categoryRepository, times(1)).countRecipesPerCategory();
+    }
+
+    @Test
+    public void updateRecipeCountsWaitsForCommit() throws Exception {
+        //given
+        service.getRecipeCounts();
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        service.updateRecipeCounts(Collections.<Long>emptySet(), Collections.singleton(1L));
+
+        //then
+        assertEquals(2L, service.getRecipeCount(1L));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        assertEquals(3L, service.getRecipeCount(1L));
+    }
+
+    @Test
+    public void rebuildReadsCountsAgain() throws Exception {
+        //given
+        service.getRecipeCounts();
+
+        //when
+        service.rebuild();
+
+        //then
+        verify(categoryRepository, times(2)).countRecipesPerCategory();
+    }
+}
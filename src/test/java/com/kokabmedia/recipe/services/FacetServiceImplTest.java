@@ -0,0 +1,126 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Category;
+import com.kokabmedia.recipe.domain.Difficulty;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.FacetCount;
+import com.kokabmedia.recipe.search.FacetIndex;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FacetServiceImplTest {
+
+    @Rule
+    public TransactionSynchronizationRule transaction = new TransactionSynchronizationRule();
+
+    FacetServiceImpl service;
+
+    @Mock
+    RecipeRepository recipeRepository;
+
+    long[] allRecipes;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        List<Object[]> recipes = new ArrayList<>();
+        List<Object[]> categories = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            recipes.add(new Object[]{id, id <= 6 ? Difficulty.EASY : Difficulty.HARD, 10, (int) id * 5});
+            categories.add(new Object[]{id, "Mexican"});
+        }
+        categories.add(new Object[]{10L, "American"});
+
+        when(recipeRepository.findFacetsAfterId(eq(0L), any(Pageable.class))).thenReturn(recipes);
+        when(recipeRepository.findFacetsAfterId(eq(10L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(recipeRepository.findCategoryDescriptions(0L, 10L)).thenReturn(categories);
+
+        service = new FacetServiceImpl(recipeRepository);
+        allRecipes = new long[]{1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L};
+    }
+
+    @Test
+    public void countFacetsBuildsIndexOnce() throws Exception {
+        //when
+        Map<String, List<FacetCount>> counts = service.countFacets(allRecipes, Collections.<String>emptyList());
+        service.countFacets(new long[]{1L}, Collections.<String>emptyList());
+
+        //then
+        assertEquals(2, counts.get(FacetIndex.DIFFICULTY).size());
+        assertEquals(6, counts.get(FacetIndex.DIFFICULTY).get(0).getCount());
+        assertEquals(10, counts.get(FacetIndex.CATEGORY).get(0).getCount());
+        assertEquals(1, counts.get(FacetIndex.CATEGORY).get(1).getCount());
+        verify(recipeRepository, times(2)).findFacetsAfterId(anyLong(), any(Pageable.class));
+        verify(recipeRepository, times(1)).findCategoryDescriptions(anyLong(), anyLong());
+    }
+
+    @Test
+    public void filter() throws Exception {
+        //when
+        Predicate<Long> filter = service.filter(Collections.singletonList("category:American"));
+
+        //then
+        assertTrue(filter.test(10L));
+        assertFalse(filter.test(1L));
+        assertTrue(service.filter(Collections.<String>emptyList()).test(1L));
+    }
+
+    @Test
+    public void indexRecipeWaitsForCommit() throws Exception {
+        //given
+        service.countFacets(allRecipes, Collections.<String>emptyList());
+        transaction.begin();
+
+        Category category = new Category();
+        category.setDescription("Italian");
+        Recipe recipe = new Recipe();
+        recipe.setId(11L);
+        recipe.setDifficulty(Difficulty.MODERATE);
+        recipe.getCategories().add(category);
+
+        //when
+        service.indexRecipe(recipe);
+
+        //then
+        assertFalse(service.countFacets(allRecipes, Collections.singletonList("category:Italian")).containsKey(FacetIndex.CATEGORY));
+
+        transaction.commit();
+        List<FacetCount> categories = service.countFacets(allRecipes, Collections.singletonList("category:Italian"))
+                .get(FacetIndex.CATEGORY);
+        assertEquals("Italian", categories.get(0).getLabel());
+        assertEquals(1, categories.get(0).getCount());
+    }
+
+    @Test
+    public void removeRecipe() throws Exception {
+        //given
+        service.countFacets(allRecipes, Collections.<String>emptyList());
+
+        //when
+        service.removeRecipe(10L);
+
+        //then
+        List<FacetCount> categories = service.countFacets(allRecipes, Collections.<String>emptyList())
+                .get(FacetIndex.CATEGORY);
+        assertEquals(1, categories.size());
+        assertEquals(9, categories.get(0).getCount());
+    }
+}
@@ -1,6 +1,8 @@
 package com.kokabmedia.recipe.services;
 
 import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.domain.RecipeImage;
+import com.kokabmedia.recipe.repositories.RecipeImageRepository;
 import com.kokabmedia.recipe.repositories.RecipeRepository;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,7 +14,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Optional;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 
@@ -21,13 +23,16 @@ public class ImageServiceImplTest {
     @Mock
     RecipeRepository recipeRepository;
 
+    @Mock
+    RecipeImageRepository recipeImageRepository;
+
     ImageService imageService;
 
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
 
-        imageService = new ImageServiceImpl(recipeRepository);
+        imageService = new ImageServiceImpl(recipeRepository, recipeImageRepository);
     }
 
     @Test
@@ -44,14 +49,35 @@ public class ImageServiceImplTest {
         when(recipeRepository.findById(anyLong())).thenReturn(recipeOptional);
 
         ArgumentCaptor<Recipe> argumentCaptor = ArgumentCaptor.forClass(Recipe.class);
+        ArgumentCaptor<RecipeImage> imageCaptor = ArgumentCaptor.forClass(RecipeImage.class);
 
         //when
         imageService.saveImageFile(id, multipartFile);
 
         //then
+        verify(recipeImageRepository, times(1)).save(imageCaptor.capture());
+        assertSame(recipe, imageCaptor.getValue().getRecipe());
+        assertEquals(multipartFile.getBytes().length, imageCaptor.getValue().getImage().length);
+
         verify(recipeRepository, times(1)).save(argumentCaptor.capture());
         Recipe savedRecipe = argumentCaptor.getValue();
-        assertEquals(multipartFile.getBytes().length, savedRecipe.getImage().length);
+        assertEquals(Long.valueOf(multipartFile.getBytes().length), savedRecipe.getImageSize());
+        assertNotNull(savedRecipe.getImageHash());
+    }
+
+    @Test
+    public void findImageByRecipeId() throws Exception {
+        //given
+        Byte[] byteObjects = {1, 2, 3};
+
+        when(recipeImageRepository.findImageByRecipeId(anyLong())).thenReturn(byteObjects);
+
+        //when
+        byte[] bytes = imageService.findImageByRecipeId(1L);
+
+        //then
+        assertArrayEquals(new byte[]{1, 2, 3}, bytes);
+        verify(recipeRepository, never()).findById(anyLong());
     }
 
 }
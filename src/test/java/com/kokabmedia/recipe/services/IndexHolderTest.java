@@ -0,0 +1,112 @@
+package com.kokabmedia.recipe.services;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class IndexHolderTest {
+
+    @Rule
+    public TransactionSynchronizationRule transaction = new TransactionSynchronizationRule();
+
+    @Test
+    public void indexIsBuiltOnce() throws Exception {
+        //given
+        AtomicInteger builds = new AtomicInteger();
+        IndexHolder<List<Long>> holder = new IndexHolder<>(() -> {
+            builds.incrementAndGet();
+            return new ArrayList<>();
+        });
+
+        //when
+        holder.get();
+        holder.get();
+
+        //then
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    public void changeIsAppliedAfterCommit() throws Exception {
+        //given
+        IndexHolder<List<Long>> holder = new IndexHolder<>(ArrayList::new);
+        holder.get();
+        transaction.begin();
+
+        //when
+        holder.afterCommit(index -> index.add(1L));
+
+        //then
+        assertTrue(holder.get().isEmpty());
+        transaction.commit();
+        assertEquals(Arrays.asList(1L), holder.get());
+    }
+
+    @Test
+    public void changeBeforeFirstBuildIsDropped() throws Exception {
+        //given
+        IndexHolder<List<Long>> holder = new IndexHolder<>(ArrayList::new);
+
+        //when
+        holder.afterCommit(index -> index.add(1L));
+
+        //then
+        assertTrue(holder.get().isEmpty());
+    }
+
+    @Test
+    public void changeCommittedDuringRebuildIsKept() throws Exception {
+        //given
+        List<IndexHolder<List<Long>>> holders = new ArrayList<>();
+        AtomicInteger builds = new AtomicInteger();
+        holders.add(new IndexHolder<>(() -> {
+            // the second build has read the database when recipe 2 is committed
+            if (builds.incrementAndGet() == 2) {
+                holders.get(0).afterCommit(index -> index.add(2L));
+            }
+            return new ArrayList<>(Arrays.asList(1L));
+        }));
+        IndexHolder<List<Long>> holder = holders.get(0);
+        holder.get();
+
+        //when
+        holder.rebuild();
+
+        //then
+        assertEquals(Arrays.asList(1L, 2L), holder.get());
+
+        holder.afterCommit(index -> index.add(3L));
+        assertEquals(Arrays.asList(1L, 2L, 3L), holder.get());
+    }
+
+    @Test
+    public void failedRebuildKeepsCurrentIndex() throws Exception {
+        //given
+        AtomicInteger builds = new AtomicInteger();
+        IndexHolder<List<Long>> holder = new IndexHolder<>(() -> {
+            if (builds.incrementAndGet() == 2) {
+                throw new IllegalStateException("no database");
+            }
+            return new ArrayList<>(Arrays.asList(1L));
+        });
+        List<Long> index = holder.get();
+
+        //when
+        try {
+            holder.rebuild();
+            fail("Expected the rebuild to fail");
+        } catch (IllegalStateException expected) {
+        }
+        holder.afterCommit(currentIndex -> currentIndex.add(2L));
+
+        //then
+        assertSame(index, holder.get());
+        assertEquals(Arrays.asList(1L, 2L), holder.get());
+    }
+}
@@ -0,0 +1,117 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.PantryMatch;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PantrySearchServiceImplTest {
+
+    @Rule
+    public TransactionSynchronizationRule transaction = new TransactionSynchronizationRule();
+
+    PantrySearchServiceImpl service;
+
+    @Mock
+    RecipeRepository recipeRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        List<Object[]> recipes = new ArrayList<>();
+        List<Object[]> ingredients = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            recipes.add(new Object[]{id, "Salty dish " + id});
+            ingredients.add(new Object[]{id, "salt"});
+            ingredients.add(new Object[]{id, "water"});
+        }
+        recipes.add(new Object[]{26L, "Perfect Guacamole"});
+        ingredients.add(new Object[]{26L, "ripe avocados"});
+
+        when(recipeRepository.findDescriptionsAfterId(eq(0L), any(Pageable.class))).thenReturn(recipes);
+        when(recipeRepository.findDescriptionsAfterId(eq(26L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(recipeRepository.findIngredientDescriptions(0L, 26L)).thenReturn(ingredients);
+
+        service = new PantrySearchServiceImpl(recipeRepository);
+    }
+
+    @Test
+    public void findRecipesBuildsIndexOnce() throws Exception {
+        //when
+        Slice<PantryMatch> matches = service.findRecipes(Collections.singletonList("Ripe avocados"), 0);
+        service.findRecipes(Collections.singletonList("salt"), 0);
+
+        //then
+        assertEquals(1, matches.getNumberOfElements());
+        assertEquals(Long.valueOf(26L), matches.getContent().get(0).getRecipeId());
+        verify(recipeRepository, times(2)).findDescriptionsAfterId(anyLong(), any(Pageable.class));
+        verify(recipeRepository, times(1)).findIngredientDescriptions(anyLong(), anyLong());
+    }
+
+    @Test
+    public void findRecipesReturnsPages() throws Exception {
+        //when
+        Slice<PantryMatch> first = service.findRecipes(Collections.singletonList("water"), 0);
+        Slice<PantryMatch> second = service.findRecipes(Collections.singletonList("water"), 1);
+
+        //then
+        assertEquals(PantrySearchServiceImpl.PAGE_SIZE, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(5, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    public void indexRecipeWaitsForCommit() throws Exception {
+        //given
+        service.findRecipes(Collections.singletonList("salt"), 0);
+        transaction.begin();
+
+        Recipe recipe = new Recipe();
+        recipe.setId(27L);
+        recipe.setDescription("Lemon Cake");
+        Ingredient ingredient = new Ingredient();
+        ingredient.setDescription("lemons");
+        recipe.addIngredient(ingredient);
+
+        //when
+        service.indexRecipe(recipe);
+
+        //then
+        assertFalse(service.findRecipes(Collections.singletonList("lemons"), 0).hasContent());
+
+        transaction.commit();
+        assertEquals(Long.valueOf(27L),
+                service.findRecipes(Collections.singletonList("lemons"), 0).getContent().get(0).getRecipeId());
+    }
+
+    @Test
+    public void removeRecipe() throws Exception {
+        //given
+        service.findRecipes(Collections.singletonList("ripe avocados"), 0);
+
+        //when
+        service.removeRecipe(26L);
+
+        //then
+        assertFalse(service.findRecipes(Collections.singletonList("ripe avocados"), 0).hasContent());
+    }
+}
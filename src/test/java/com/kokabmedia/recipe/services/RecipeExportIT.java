@@ -0,0 +1,58 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.exporter.RecipeExportFormat;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RecipeExportIT {
+
+    @Autowired
+    RecipeExportService recipeExportService;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Test
+    public void testExportRecipes() throws Exception {
+        //given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        String description = recipeRepository.findAll().iterator().next().getDescription();
+
+        //when
+        long exported = recipeExportService.exportRecipes(output, RecipeExportFormat.NDJSON);
+
+        //then
+        String export = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(recipeRepository.count(), exported);
+        assertEquals(exported, export.split("\n").length);
+        assertTrue(export.contains("\"description\":\"" + description + "\""));
+        assertTrue(export.contains("\"uom\":{\"description\":\"Each\"}"));
+    }
+
+    @Test
+    public void testExportRecipesAsCsv() throws Exception {
+        //given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        String description = recipeRepository.findAll().iterator().next().getDescription();
+
+        //when
+        long exported = recipeExportService.exportRecipes(output, RecipeExportFormat.CSV);
+
+        //then
+        String export = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(exported > 0);
+        assertTrue(export.startsWith("id,description,difficulty,"));
+        assertTrue(export.contains("," + description + ","));
+    }
+}
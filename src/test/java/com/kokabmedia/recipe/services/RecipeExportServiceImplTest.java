@@ -0,0 +1,88 @@
+package com.kokabmedia.recipe.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kokabmedia.recipe.domain.Difficulty;
+import com.kokabmedia.recipe.exporter.RecipeExportFormat;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RecipeExportServiceImplTest {
+
+    RecipeExportServiceImpl service;
+
+    @Mock
+    RecipeRepository recipeRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        service = new RecipeExportServiceImpl(recipeRepository, new ObjectMapper());
+    }
+
+    @Test
+    public void exportRecipesInBatches() throws Exception {
+        //given
+        List<Object[]> firstBatch = new ArrayList<>();
+        firstBatch.add(new Object[]{1L, "Perfect Guacamole", 10, null, 4, null, null, Difficulty.EASY, "Mash.", "Serve cold."});
+        firstBatch.add(new Object[]{3L, "Spicy Tacos", 20, 15, null, null, null, null, "Grill.", null});
+
+        when(recipeRepository.findExportAfterId(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(recipeRepository.findExportAfterId(eq(3L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(recipeRepository.findCategoryDescriptions(0L, 3L)).thenReturn(Arrays.asList(
+                new Object[]{1L, "Mexican"}, new Object[]{3L, "Mexican"}, new Object[]{3L, "American"}));
+        when(recipeRepository.findIngredientsForExport(0L, 3L)).thenReturn(Collections.singletonList(
+                new Object[]{1L, "ripe avocados", new BigDecimal("2"), "Each"}));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        long exported = service.exportRecipes(output, RecipeExportFormat.NDJSON);
+
+        //then
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"description\":\"Perfect Guacamole\",\"prepTime\":10,\"servings\":4,"
+                + "\"difficulty\":\"EASY\",\"directions\":\"Mash.\",\"notes\":{\"recipeNotes\":\"Serve cold.\"},"
+                + "\"categories\":[{\"description\":\"Mexican\"}],"
+                + "\"ingredients\":[{\"description\":\"ripe avocados\",\"amount\":2,\"uom\":{\"description\":\"Each\"}}]}",
+                lines[0]);
+        assertEquals("{\"id\":3,\"description\":\"Spicy Tacos\",\"prepTime\":20,\"cookTime\":15,\"directions\":\"Grill.\","
+                + "\"categories\":[{\"description\":\"Mexican\"},{\"description\":\"American\"}],\"ingredients\":[]}",
+                lines[1]);
+        verify(recipeRepository, times(2)).findExportAfterId(any(), any(Pageable.class));
+    }
+
+    @Test
+    public void exportRecipesWithoutRecipes() throws Exception {
+        //given
+        when(recipeRepository.findExportAfterId(eq(0L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when
+        long exported = service.exportRecipes(output, RecipeExportFormat.CSV);
+
+        //then
+        assertEquals(0, exported);
+        assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).startsWith("id,description,"));
+        verify(recipeRepository, never()).findCategoryDescriptions(any(), any());
+    }
+}
@@ -0,0 +1,64 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.importer.RecipeImportReport;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.SearchHit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+/*
+ * Imports into the H2 database of the application, the import commits its own batches so the
+ * test deletes the imported recipes again instead of rolling back a test transaction.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RecipeImportIT {
+
+    @Autowired
+    RecipeImportService recipeImportService;
+
+    @Autowired
+    RecipeService recipeService;
+
+    @Autowired
+    RecipeSearchService recipeSearchService;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Test
+    public void testImportRecipes() throws Exception {
+        //given
+        String input = "{\"description\":\"Imported Quesadilla\",\"directions\":\"Fold and fry.\",\"servings\":2,"
+                + "\"categories\":[{\"description\":\"mexican\"}],"
+                + "\"ingredients\":[{\"description\":\"cheddar\",\"amount\":1,\"uom\":{\"description\":\"cup\"}}]}\n"
+                + "{\"description\":\"Imported Nonsense\",\"categories\":[{\"description\":\"Martian\"}]}\n";
+
+        //when
+        RecipeImportReport report = recipeImportService.importRecipes(new StringReader(input), 0, progress -> { });
+
+        //then
+        assertTrue(report.isComplete());
+        assertEquals(1, report.getRecipesImported());
+        assertEquals(1, report.getInvalidLines());
+
+        Slice<SearchHit> hits = recipeSearchService.search("quesadilla", 0, false);
+        assertEquals(1, hits.getNumberOfElements());
+
+        Long recipeId = hits.getContent().get(0).getRecipeId();
+        Recipe recipe = recipeRepository.findById(recipeId).get();
+        assertEquals("Mexican", recipe.getCategories().iterator().next().getDescription());
+        assertEquals("Cup", recipe.getIngredients().iterator().next().getUom().getDescription());
+
+        recipeService.deleteById(recipeId);
+    }
+}
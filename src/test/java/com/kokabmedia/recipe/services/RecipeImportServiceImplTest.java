@@ -0,0 +1,197 @@
+package com.kokabmedia.recipe.services;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kokabmedia.recipe.commands.CategoryCommand;
+import com.kokabmedia.recipe.commands.UnitOfMeasureCommand;
+import com.kokabmedia.recipe.converters.CategoryCommandToCategory;
+import com.kokabmedia.recipe.converters.IngredientCommandToIngredient;
+import com.kokabmedia.recipe.converters.NotesCommandToNotes;
+import com.kokabmedia.recipe.converters.RecipeCommandToRecipe;
+import com.kokabmedia.recipe.converters.UnitOfMeasureCommandToUnitOfMeasure;
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.importer.RecipeImportReport;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+public class RecipeImportServiceImplTest {
+
+    RecipeImportServiceImpl service;
+
+    @Mock
+    RecipeRepository recipeRepository;
+
+    @Mock
+    UnitOfMeasureService unitOfMeasureService;
+
+    @Mock
+    CategoryService categoryService;
+
+    @Mock
+    CategoryRecipeCountService categoryRecipeCountService;
+
+    @Mock
+    RecipeChangeListener recipeChangeListener;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    List<RecipeImportReport> progress;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        UnitOfMeasureCommand cup = new UnitOfMeasureCommand();
+        cup.setId(3L);
+        cup.setDescription("Cup");
+        when(unitOfMeasureService.listAllUoms()).thenReturn(new HashSet<>(Collections.singletonList(cup)));
+
+        CategoryCommand mexican = new CategoryCommand();
+        mexican.setId(2L);
+        mexican.setDescription("Mexican");
+        when(categoryService.listAllCategories()).thenReturn(Collections.singletonList(mexican));
+
+        when(recipeRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecipeCommandToRecipe recipeCommandToRecipe = new RecipeCommandToRecipe(new CategoryCommandToCategory(),
+                new IngredientCommandToIngredient(new UnitOfMeasureCommandToUnitOfMeasure()), new NotesCommandToNotes());
+
+        service = new RecipeImportServiceImpl(recipeRepository, recipeCommandToRecipe, unitOfMeasureService,
+                categoryService, categoryRecipeCountService, Collections.singletonList(recipeChangeListener),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), transactionManager);
+        service.batchSize = 2;
+
+        progress = new ArrayList<>();
+    }
+
+    @Test
+    public void importRecipesInBatches() throws Exception {
+        //when
+        RecipeImportReport report = service.importRecipes(new StringReader(recipes(5)), 0, progress::add);
+
+        //then
+        assertTrue(report.isComplete());
+        assertEquals(5, report.getRecipesImported());
+        assertEquals(5, report.getLastCommittedLine());
+        assertEquals(3, progress.size());
+        verify(recipeRepository, times(3)).saveAll(anyIterable());
+        verify(transactionManager, times(3)).commit(any());
+        verify(recipeChangeListener, times(5)).indexRecipe(any(Recipe.class));
+        verify(categoryRecipeCountService, times(5)).updateRecipeCounts(new HashSet<>(),
+                new HashSet<>(Collections.singletonList(2L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void importRecipesResolvesReferencesByDescription() throws Exception {
+        //given
+        String line = "{\"id\":99,\"description\":\"Perfect Guacamole\",\"directions\":\"Mash\","
+                + "\"categories\":[{\"id\":7,\"description\":\" mexican \"}],"
+                + "\"ingredients\":[{\"description\":\"avocado\",\"amount\":1,\"uom\":{\"description\":\"CUP\"}}]}";
+        ArgumentCaptor<Iterable<Recipe>> saved = ArgumentCaptor.forClass(Iterable.class);
+
+        //when
+        service.importRecipes(new StringReader(line), 0, progress::add);
+
+        //then
+        verify(recipeRepository).saveAll(saved.capture());
+        Recipe recipe = saved.getValue().iterator().next();
+        Ingredient ingredient = recipe.getIngredients().iterator().next();
+
+        assertNull(recipe.getId());
+        assertEquals(Long.valueOf(2L), recipe.getCategories().iterator().next().getId());
+        assertEquals(Long.valueOf(3L), ingredient.getUom().getId());
+        assertSame(recipe, ingredient.getRecipe());
+    }
+
+    @Test
+    public void importRecipesReportsInvalidLines() throws Exception {
+        //given
+        String input = String.join("\n", Arrays.asList(
+                recipe("Perfect Guacamole", "Mexican", "Cup"),
+                recipe("Pizza", "Italian", "Cup"),
+                recipe("Lemon Cake", "Mexican", "Handful"),
+                recipe("ab", "Mexican", "Cup"),
+                "not json",
+                recipe("Spicy Tacos", "Mexican", "Cup")));
+
+        //when
+        RecipeImportReport report = service.importRecipes(new StringReader(input), 0, progress::add);
+
+        //then
+        assertTrue(report.isComplete());
+        assertEquals(2, report.getRecipesImported());
+        assertEquals(4, report.getInvalidLines());
+        assertEquals("line 2: unknown category Italian", report.getErrors().get(0));
+        assertEquals("line 3: unknown unit of measure Handful", report.getErrors().get(1));
+        assertEquals("line 4: description size must be between 3 and 255", report.getErrors().get(2));
+        assertTrue(report.getErrors().get(3).startsWith("line 5: not a valid recipe"));
+    }
+
+    @Test
+    public void importRecipesSkipsCommittedLines() throws Exception {
+        //when
+        RecipeImportReport report = service.importRecipes(new StringReader(recipes(5)), 4, progress::add);
+
+        //then
+        assertEquals(4, report.getSkippedLines());
+        assertEquals(1, report.getRecipesImported());
+        assertEquals(5, report.getLastCommittedLine());
+        verify(recipeChangeListener, times(1)).indexRecipe(any(Recipe.class));
+    }
+
+    @Test
+    public void importRecipesStopsWhenBatchFails() throws Exception {
+        //given
+        when(recipeRepository.saveAll(anyIterable()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        //when
+        RecipeImportReport report = service.importRecipes(new StringReader(recipes(5)), 0, progress::add);
+
+        //then
+        assertFalse(report.isComplete());
+        assertEquals(2, report.getRecipesImported());
+        assertEquals(2, report.getLastCommittedLine());
+        assertTrue(report.getFailure().contains("duplicate"));
+        verify(transactionManager, times(1)).rollback(any());
+        assertEquals(1, progress.size());
+    }
+
+    private static String recipes(int count) {
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            input.append(recipe("Recipe " + i, "Mexican", "Cup")).append('\n');
+        }
+        return input.toString();
+    }
+
+    private static String recipe(String description, String category, String uom) {
+        return "{\"description\":\"" + description + "\",\"directions\":\"Cook it.\",\"prepTime\":10,"
+                + "\"categories\":[{\"description\":\"" + category + "\"}],"
+                + "\"ingredients\":[{\"description\":\"salt\",\"amount\":1,\"uom\":{\"description\":\"" + uom + "\"}}]}";
+    }
+}
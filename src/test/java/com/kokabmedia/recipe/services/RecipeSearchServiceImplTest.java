@@ -0,0 +1,148 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.SearchHit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RecipeSearchServiceImplTest {
+
+    @Rule
+    public TransactionSynchronizationRule transaction = new TransactionSynchronizationRule();
+
+    RecipeSearchServiceImpl service;
+
+    @Mock
+    RecipeRepository recipeRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        List<Object[]> recipes = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            recipes.add(new Object[]{id, "Chicken dish " + id, "Cook the chicken.", null});
+        }
+        recipes.add(new Object[]{26L, "Perfect Guacamole", "Mash the avocado.", "Serve fresh."});
+
+        when(recipeRepository.findSearchTextAfterId(eq(0L), any(Pageable.class))).thenReturn(recipes);
+        when(recipeRepository.findSearchTextAfterId(eq(26L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(recipeRepository.findIngredientDescriptions(0L, 26L)).thenReturn(
+                Collections.singletonList(new Object[]{26L, "ripe avocados"}));
+
+        service = new RecipeSearchServiceImpl(recipeRepository);
+    }
+
+    @Test
+    public void searchBuildsIndexOnce() throws Exception {
+        //when
+        Slice<SearchHit> hits = service.search("avocados", 0, false);
+        service.search("chicken", 0, false);
+
+        //then
+        assertEquals(1, hits.getNumberOfElements());
+        assertEquals(Long.valueOf(26L), hits.getContent().get(0).getRecipeId());
+        assertFalse(hits.hasNext());
+        verify(recipeRepository, times(2)).findSearchTextAfterId(anyLong(), any(Pageable.class));
+        verify(recipeRepository, times(1)).findIngredientDescriptions(anyLong(), anyLong());
+    }
+
+    @Test
+    public void searchReturnsPages() throws Exception {
+        //when
+        Slice<SearchHit> first = service.search("chicken", 0, false);
+        Slice<SearchHit> second = service.search("chicken", 1, false);
+        Slice<SearchHit> third = service.search("chicken", 2, false);
+
+        //then
+        assertEquals(RecipeSearchServiceImpl.PAGE_SIZE, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(5, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+        assertFalse(third.hasContent());
+    }
+
+    @Test
+    public void indexRecipeWaitsForCommit() throws Exception {
+        //given
+        service.search("chicken", 0, false);
+        transaction.begin();
+
+        Recipe recipe = new Recipe();
+        recipe.setId(27L);
+        recipe.setDescription("Lemon Cake");
+        Ingredient ingredient = new Ingredient();
+        ingredient.setDescription("lemons");
+        recipe.addIngredient(ingredient);
+
+        //when
+        service.indexRecipe(recipe);
+
+        //then
+        assertFalse(service.search("lemons", 0, false).hasContent());
+
+        transaction.commit();
+        assertEquals(Long.valueOf(27L), service.search("lemons", 0, false).getContent().get(0).getRecipeId());
+    }
+
+    @Test
+    public void removeRecipe() throws Exception {
+        //given
+        service.search("avocado", 0, false);
+
+        //when
+        service.removeRecipe(26L);
+
+        //then
+        assertFalse(service.search("avocado", 0, false).hasContent());
+    }
+
+    @Test
+    public void changesBeforeFirstSearchAreIgnored() throws Exception {
+        //when
+        service.removeRecipe(26L);
+
+        //then
+        verifyZeroInteractions(recipeRepository);
+        assertTrue(service.search("avocado", 0, false).hasContent());
+    }
+
+    @Test
+    public void recipeSavedDuringRebuildIsFound() throws Exception {
+        //given
+        service.search("chicken", 0, false);
+
+        Recipe recipe = new Recipe();
+        recipe.setId(27L);
+        recipe.setDescription("Lemon Cake");
+
+        // the recipe is committed after the rebuild read the database, before the new index is used
+        when(recipeRepository.findSearchTextAfterId(eq(26L), any(Pageable.class))).thenAnswer(invocation -> {
+            service.indexRecipe(recipe);
+            return Collections.emptyList();
+        });
+
+        //when
+        service.rebuild();
+
+        //then
+        assertEquals(Long.valueOf(27L), service.search("lemon", 0, false).getContent().get(0).getRecipeId());
+    }
+}
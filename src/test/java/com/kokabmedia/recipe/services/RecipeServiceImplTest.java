@@ -3,14 +3,18 @@ package com.kokabmedia.recipe.services;
 import com.kokabmedia.recipe.commands.RecipeCommand;
 import com.kokabmedia.recipe.converters.RecipeCommandToRecipe;
 import com.kokabmedia.recipe.converters.RecipeToRecipeCommand;
+import com.kokabmedia.recipe.domain.Category;
 import com.kokabmedia.recipe.domain.Recipe;
 import com.kokabmedia.recipe.exceptions.NotFoundException;
+import com.kokabmedia.recipe.repositories.RecipeImageRepository;
 import com.kokabmedia.recipe.repositories.RecipeRepository;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -27,17 +31,31 @@ public class RecipeServiceImplTest {
     @Mock
     RecipeRepository recipeRepository;
 
+    @Mock
+    RecipeImageRepository recipeImageRepository;
+
     @Mock
     RecipeToRecipeCommand recipeToRecipeCommand;
 
     @Mock
     RecipeCommandToRecipe recipeCommandToRecipe;
 
+    @Mock
+    CategoryRecipeCountService categoryRecipeCountService;
+
+    @Mock
+    RecipeSearchService recipeSearchService;
+
+    @Mock
+    PantrySearchService pantrySearchService;
+
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
 
-        recipeService = new RecipeServiceImpl(recipeRepository, recipeCommandToRecipe, recipeToRecipeCommand);
+        recipeService = new RecipeServiceImpl(recipeRepository, recipeImageRepository, recipeCommandToRecipe, recipeToRecipeCommand,
+                categoryRecipeCountService,
+                Arrays.asList(recipeSearchService, pantrySearchService));
     }
 
     @Test
@@ -115,6 +133,85 @@ public class RecipeServiceImplTest {
         //no 'when', since method has void return type
 
         //then
+        verify(recipeImageRepository, times(1)).deleteByRecipeId(idToDelete);
         verify(recipeRepository, times(1)).deleteById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDeleteByIdUpdatesRecipeCounts() throws Exception {
+
+        //given
+        when(recipeRepository.findCategoryIdsByRecipeId(anyLong())).thenReturn(Collections.singleton(3L));
+
+        //when
+        recipeService.deleteById(2L);
+
+        //then
+        verify(categoryRecipeCountService, times(1)).updateRecipeCounts(Collections.singleton(3L), new HashSet<>());
+    }
+
+    @Test
+    public void testSaveRecipeCommandUpdatesRecipeCounts() throws Exception {
+
+        //given
+        RecipeCommand command = new RecipeCommand();
+        command.setId(2L);
+
+        Category category = new Category();
+        category.setId(4L);
+
+        Recipe recipe = new Recipe();
+        recipe.setId(2L);
+        recipe.getCategories().add(category);
+
+        Category oldCategory = new Category();
+        oldCategory.setId(3L);
+
+        Recipe storedRecipe = new Recipe();
+        storedRecipe.setId(2L);
+        storedRecipe.getCategories().add(oldCategory);
+
+        when(recipeCommandToRecipe.convert(any())).thenReturn(recipe);
+        when(recipeRepository.save(any())).thenReturn(recipe);
+        when(recipeRepository.findById(anyLong())).thenReturn(Optional.of(storedRecipe));
+
+        //when
+        recipeService.saveRecipeCommand(command);
+
+        //then
+        verify(categoryRecipeCountService, times(1)).updateRecipeCounts(Collections.singleton(3L),
+                Collections.singleton(4L));
+    }
+
+    @Test
+    public void testSaveRecipeCommandIndexesRecipe() throws Exception {
+
+        //given
+        RecipeCommand command = new RecipeCommand();
+        command.setId(2L);
+
+        Recipe recipe = new Recipe();
+        recipe.setId(2L);
+
+        when(recipeCommandToRecipe.convert(any())).thenReturn(recipe);
+        when(recipeRepository.save(any())).thenReturn(recipe);
+
+        //when
+        recipeService.saveRecipeCommand(command);
+
+        //then
+        verify(recipeSearchService, times(1)).indexRecipe(recipe);
+        verify(pantrySearchService, times(1)).indexRecipe(recipe);
+    }
+
+    @Test
+    public void testDeleteByIdRemovesRecipeFromSearchIndex() throws Exception {
+
+        //when
+        recipeService.deleteById(2L);
+
+        //then
+        verify(recipeSearchService, times(1)).removeRecipe(2L);
+        verify(pantrySearchService, times(1)).removeRecipe(2L);
+    }
+}
@@ -0,0 +1,31 @@
+package com.kokabmedia.recipe.services;
+
+import org.junit.rules.ExternalResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Stands in for a transaction in the tests of the index services. begin() starts collecting
+ * the synchronizations that are registered for the commit, commit() runs their afterCommit()
+ * like a committed transaction would. The synchronizations are cleared after every test.
+ */
+public class TransactionSynchronizationRule extends ExternalResource {
+
+    public void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    public void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Override
+    protected void after() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.Ingredient;
+import com.kokabmedia.recipe.domain.Recipe;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.search.Suggestion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TypeaheadServiceImplTest {
+
+    @Rule
+    public TransactionSynchronizationRule transaction = new TransactionSynchronizationRule();
+
+    TypeaheadServiceImpl service;
+
+    @Mock
+    RecipeRepository recipeRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(recipeRepository.findDescriptionsAfterId(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(
+                new Object[]{1L, "Perfect Guacamole"},
+                new Object[]{2L, "Spicy Grilled Chicken Tacos"}));
+        when(recipeRepository.findDescriptionsAfterId(eq(2L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(recipeRepository.findIngredientDescriptions(0L, 2L)).thenReturn(Arrays.asList(
+                new Object[]{1L, "Kosher salt"},
+                new Object[]{1L, "ripe avocados"},
+                new Object[]{2L, "kosher salt"},
+                new Object[]{2L, "kiwi"}));
+
+        service = new TypeaheadServiceImpl(recipeRepository);
+    }
+
+    @Test
+    public void completeBuildsIndexesOnce() throws Exception {
+        //when
+        List<Suggestion> ingredients = service.completeIngredients("k");
+        List<Suggestion> recipes = service.completeRecipes("sp");
+
+        //then
+        assertEquals(2, ingredients.size());
+        assertEquals("Kosher salt", ingredients.get(0).getText());
+        assertEquals(2, ingredients.get(0).getCount());
+        assertEquals("Spicy Grilled Chicken Tacos", recipes.get(0).getText());
+        verify(recipeRepository, times(2)).findDescriptionsAfterId(anyLong(), any(Pageable.class));
+        verify(recipeRepository, times(1)).findIngredientDescriptions(anyLong(), anyLong());
+    }
+
+    @Test
+    public void indexRecipeReplacesTextsAfterCommit() throws Exception {
+        //given
+        service.completeIngredients("k");
+        transaction.begin();
+
+        Recipe recipe = new Recipe();
+        recipe.setId(2L);
+        recipe.setDescription("Chicken Tacos");
+        Ingredient ingredient = new Ingredient();
+        ingredient.setDescription("kale");
+        recipe.addIngredient(ingredient);
+
+        //when
+        service.indexRecipe(recipe);
+
+        //then
+        assertEquals(2, service.completeIngredients("k").size());
+
+        transaction.commit();
+
+        List<Suggestion> ingredients = service.completeIngredients("k");
+        assertEquals(2, ingredients.size());
+        assertEquals("kale", ingredients.get(0).getText());
+        assertEquals("Kosher salt", ingredients.get(1).getText());
+        assertEquals(1, ingredients.get(1).getCount());
+        assertTrue(service.completeRecipes("spicy").isEmpty());
+        assertEquals("Chicken Tacos", service.completeRecipes("chi").get(0).getText());
+    }
+
+    @Test
+    public void removeRecipe() throws Exception {
+        //given
+        service.completeIngredients("k");
+
+        //when
+        service.removeRecipe(1L);
+
+        //then
+        assertTrue(service.completeIngredients("ripe").isEmpty());
+        assertTrue(service.completeRecipes("perfect").isEmpty());
+        assertEquals(1, service.completeIngredients("kosher").get(0).getCount());
+    }
+}
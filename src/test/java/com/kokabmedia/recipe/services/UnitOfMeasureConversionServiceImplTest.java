@@ -0,0 +1,102 @@
+package com.kokabmedia.recipe.services;
+
+import com.kokabmedia.recipe.domain.MeasureType;
+import com.kokabmedia.recipe.domain.UnitOfMeasure;
+import com.kokabmedia.recipe.exceptions.NotFoundException;
+import com.kokabmedia.recipe.repositories.UnitOfMeasureRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class UnitOfMeasureConversionServiceImplTest {
+
+    public static final Long TEASPOON_ID = 1L;
+    public static final Long TABLESPOON_ID = 2L;
+    public static final Long CUP_ID = 3L;
+    public static final Long OUNCE_ID = 5L;
+    public static final Long EACH_ID = 6L;
+
+    UnitOfMeasureConversionService service;
+
+    @Mock
+    UnitOfMeasureRepository unitOfMeasureRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(unitOfMeasureRepository.findAll()).thenReturn(Arrays.asList(
+                uom(TEASPOON_ID, MeasureType.VOLUME, "1"),
+                uom(TABLESPOON_ID, MeasureType.VOLUME, "3"),
+                uom(CUP_ID, MeasureType.VOLUME, "48"),
+                uom(OUNCE_ID, MeasureType.WEIGHT, "1"),
+                uom(EACH_ID, null, null)));
+
+        service = new UnitOfMeasureConversionServiceImpl(unitOfMeasureRepository);
+    }
+
+    @Test
+    public void convertTablespoonToTeaspoon() throws Exception {
+        BigDecimal teaspoons = service.convert(new BigDecimal(2), TABLESPOON_ID, TEASPOON_ID);
+
+        assertEquals(0, new BigDecimal(6).compareTo(teaspoons));
+    }
+
+    @Test
+    public void convertTeaspoonToCup() throws Exception {
+        BigDecimal cups = service.convert(new BigDecimal(12), TEASPOON_ID, CUP_ID);
+
+        assertEquals(0, new BigDecimal("0.25").compareTo(cups));
+    }
+
+    @Test
+    public void convertToSameUnit() throws Exception {
+        assertEquals(0, new BigDecimal(4).compareTo(service.convert(new BigDecimal(4), EACH_ID, EACH_ID)));
+    }
+
+    @Test
+    public void isConvertible() throws Exception {
+        assertTrue(service.isConvertible(CUP_ID, TABLESPOON_ID));
+        assertFalse(service.isConvertible(CUP_ID, OUNCE_ID));
+        assertFalse(service.isConvertible(EACH_ID, TEASPOON_ID));
+        assertFalse(service.isConvertible(CUP_ID, 99L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convertDifferentMeasureTypes() throws Exception {
+        service.convert(BigDecimal.ONE, CUP_ID, OUNCE_ID);
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void convertUnknownUnit() throws Exception {
+        service.convert(BigDecimal.ONE, 99L, CUP_ID);
+    }
+
+    @Test
+    public void matrixIsBuiltOnce() throws Exception {
+        service.convert(BigDecimal.ONE, CUP_ID, TEASPOON_ID);
+        service.convert(BigDecimal.ONE, TABLESPOON_ID, TEASPOON_ID);
+        service.isConvertible(CUP_ID, OUNCE_ID);
+
+        verify(unitOfMeasureRepository, times(1)).findAll();
+
+        service.reload();
+
+        verify(unitOfMeasureRepository, times(2)).findAll();
+    }
+
+    private UnitOfMeasure uom(Long id, MeasureType measureType, String baseUnitFactor) {
+        UnitOfMeasure uom = new UnitOfMeasure();
+        uom.setId(id);
+        uom.setMeasureType(measureType);
+        uom.setBaseUnitFactor(baseUnitFactor == null ? null : new BigDecimal(baseUnitFactor));
+        return uom;
+    }
+}
@@ -10,9 +10,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.*;
 
 public class UnitOfMeasureServiceImplTest {
@@ -52,4 +54,76 @@ public class UnitOfMeasureServiceImplTest {
         verify(unitOfMeasureRepository, times(1)).findAll();
     }
 
+    @Test
+    public void listAllUomsIsSortedByDescription() throws Exception {
+        //given
+        Set<UnitOfMeasure> unitOfMeasures = new HashSet<>();
+        UnitOfMeasure uom1 = new UnitOfMeasure();
+        uom1.setId(1L);
+        uom1.setDescription("Teaspoon");
+        unitOfMeasures.add(uom1);
+
+        UnitOfMeasure uom2 = new UnitOfMeasure();
+        uom2.setId(2L);
+        uom2.setDescription("Cup");
+        unitOfMeasures.add(uom2);
+
+        when(unitOfMeasureRepository.findAll()).thenReturn(unitOfMeasures);
+
+        //when
+        Iterator<UnitOfMeasureCommand> commands = service.listAllUoms().iterator();
+
+        //then
+        assertEquals("Cup", commands.next().getDescription());
+        assertEquals("Teaspoon", commands.next().getDescription());
+    }
+
+    @Test
+    public void listAllUomsIsServedFromSnapshot() throws Exception {
+        //given
+        when(unitOfMeasureRepository.findAll()).thenReturn(new HashSet<>());
+
+        //when
+        Set<UnitOfMeasureCommand> first = service.listAllUoms();
+        Set<UnitOfMeasureCommand> second = service.listAllUoms();
+
+        //then
+        assertSame(first, second);
+        verify(unitOfMeasureRepository, times(1)).findAll();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void listAllUomsCommandsCannotBeChanged() throws Exception {
+        //given
+        Set<UnitOfMeasure> unitOfMeasures = new HashSet<>();
+        UnitOfMeasure uom = new UnitOfMeasure();
+        uom.setId(1L);
+        uom.setDescription("Teaspoon");
+        unitOfMeasures.add(uom);
+        when(unitOfMeasureRepository.findAll()).thenReturn(unitOfMeasures);
+
+        //when
+        service.listAllUoms().iterator().next().setDescription("Changed");
+    }
+
+    @Test
+    public void refreshReloadsSnapshot() throws Exception {
+        //given
+        when(unitOfMeasureRepository.findAll()).thenReturn(new HashSet<>());
+        service.listAllUoms();
+
+        //when
+        service.refresh();
+
+        //then
+        verify(unitOfMeasureRepository, times(2)).findAll();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void listAllUomsIsUnmodifiable() throws Exception {
+        when(unitOfMeasureRepository.findAll()).thenReturn(new HashSet<>());
+
+        service.listAllUoms().add(new UnitOfMeasureCommand());
+    }
+
 }
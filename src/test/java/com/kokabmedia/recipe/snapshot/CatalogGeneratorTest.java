@@ -0,0 +1,191 @@
+package com.kokabmedia.recipe.snapshot;
+
+import com.kokabmedia.recipe.bootstrap.ReferenceData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CatalogGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sameSeedGeneratesSameCatalog() throws Exception {
+        //given
+        CatalogGenerator generator = new CatalogGenerator(42);
+        CatalogGenerator sameSeed = new CatalogGenerator(42);
+        CatalogGenerator otherSeed = new CatalogGenerator(43);
+
+        //when
+        SnapshotRecipe recipe = generator.recipe(7);
+
+        //then
+        assertEquals(describe(recipe), describe(sameSeed.recipe(7)));
+        assertNotEquals(describe(recipe), describe(otherSeed.recipe(7)));
+        // a recipe does not depend on the recipes before it
+        assertEquals(describe(generate(generator, 10).get(6)), describe(recipe));
+    }
+
+    @Test
+    public void recipesHaveRealisticDistributions() throws Exception {
+        //given
+        CatalogGenerator generator = new CatalogGenerator(1);
+
+        //when
+        List<SnapshotRecipe> recipes = generate(generator, 5000);
+
+        //then
+        long ingredients = 0;
+        long withNotes = 0;
+        for (SnapshotRecipe recipe : recipes) {
+            assertTrue(recipe.getIngredients().size() >= 2 && recipe.getIngredients().size() <= 30);
+            assertTrue(recipe.getCategoryIds().size() >= 1 && recipe.getCategoryIds().size() <= 3);
+            assertEquals(recipe.getCategoryIds().size(), new HashSet<>(recipe.getCategoryIds()).size());
+            assertNotNull(recipe.getDescription());
+            assertNotNull(recipe.getDirections());
+            assertNotNull(recipe.getDifficulty());
+            assertNull(recipe.getImage());
+            ingredients += recipe.getIngredients().size();
+            withNotes += recipe.getNotes() == null ? 0 : 1;
+        }
+
+        double averageIngredients = (double) ingredients / recipes.size();
+        assertTrue("Average ingredients " + averageIngredients, averageIngredients > 8 && averageIngredients < 11);
+        assertTrue("Recipes with notes " + withNotes, withNotes > 3200 && withNotes < 3800);
+
+        // salt is in many more recipes than star anise
+        assertTrue(count(recipes, "salt") > 10 * count(recipes, "star anise"));
+    }
+
+    @Test
+    public void imagesForTheGivenShareOfRecipes() throws Exception {
+        //given
+        CatalogGenerator generator = new CatalogGenerator(1);
+        generator.setImageRatio(0.5);
+
+        //when
+        List<SnapshotRecipe> recipes = generate(generator, 400);
+
+        //then
+        int withImage = 0;
+        for (SnapshotRecipe recipe : recipes) {
+            if (recipe.getImage() != null) {
+                withImage++;
+                assertEquals(recipe.getImage().length, recipe.getImageSize().longValue());
+                assertEquals(DigestUtils.md5DigestAsHex(recipe.getImage()), recipe.getImageHash());
+                assertTrue(recipe.getImageSize() >= 4 * 1024 && recipe.getImageSize() <= 4 * 1024 * 1024);
+            }
+        }
+        assertTrue("Recipes with image " + withImage, withImage > 150 && withImage < 250);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void imageRatioAboveOne() throws Exception {
+        new CatalogGenerator(1).setImageRatio(1.5);
+    }
+
+    @Test
+    public void unitsOfMeasureOfTheReferenceData() throws Exception {
+        //given
+        CatalogGenerator generator = new CatalogGenerator(1);
+        List<String> unitsOfMeasure = new ArrayList<>();
+
+        //when
+        generator.generate(0, new Collector(new ArrayList<>(), new ArrayList<>()) {
+            @Override
+            public void unitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor) {
+                unitsOfMeasure.add(id + " " + description + " " + measureType + " " + baseUnitFactor);
+            }
+        });
+
+        //then
+        List<String> expected = new ArrayList<>();
+        for (ReferenceData.UnitOfMeasure uom : ReferenceData.readSeedFile().getUnitsOfMeasure()) {
+            expected.add((expected.size() + 1) + " " + uom.getDescription() + " " + uom.getMeasureType() + " "
+                    + uom.getBaseUnitFactor());
+        }
+        assertEquals(expected, unitsOfMeasure);
+    }
+
+    @Test
+    public void writeSnapshotFile() throws Exception {
+        //given
+        Path file = folder.getRoot().toPath().resolve("generated.snapshot");
+        CatalogGenerator generator = new CatalogGenerator(5);
+
+        //when
+        long written;
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            written = generator.write(100, writer);
+        }
+
+        //then
+        assertEquals(100, written);
+        List<SnapshotRecipe> read = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        try (CatalogSnapshotReader reader = new CatalogSnapshotReader(file)) {
+            assertEquals(100, reader.read(new Collector(read, categories)));
+        }
+        assertEquals(100, read.size());
+        assertEquals(describe(generator.recipe(100)), describe(read.get(99)));
+        assertTrue(categories.contains("Mexican"));
+    }
+
+    private static List<SnapshotRecipe> generate(CatalogGenerator generator, long recipes) throws IOException {
+        List<SnapshotRecipe> generated = new ArrayList<>();
+        assertEquals(recipes, generator.generate(recipes, new Collector(generated, new ArrayList<>())));
+        return generated;
+    }
+
+    private static long count(List<SnapshotRecipe> recipes, String ingredient) {
+        return recipes.stream().flatMap(recipe -> recipe.getIngredients().stream())
+                .filter(recipeIngredient -> recipeIngredient.getDescription().equals(ingredient)).count();
+    }
+
+    private static String describe(SnapshotRecipe recipe) {
+        StringBuilder description = new StringBuilder(recipe.getDescription()).append('|')
+                .append(recipe.getDirections()).append('|').append(recipe.getNotes()).append('|')
+                .append(recipe.getCategoryIds());
+        for (SnapshotRecipe.Ingredient ingredient : recipe.getIngredients()) {
+            description.append('|').append(ingredient.getDescription()).append(' ')
+                    .append(ingredient.getAmount()).append(' ').append(ingredient.getUomId());
+        }
+        return description.toString();
+    }
+
+    private static class Collector implements CatalogSnapshotReader.Handler {
+
+        private final List<SnapshotRecipe> recipes;
+        private final List<String> categories;
+
+        Collector(List<SnapshotRecipe> recipes, List<String> categories) {
+            this.recipes = recipes;
+            this.categories = categories;
+        }
+
+        @Override
+        public void unitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor) {
+        }
+
+        @Override
+        public void category(long id, String description) {
+            categories.add(description);
+        }
+
+        @Override
+        public void recipe(SnapshotRecipe recipe) {
+            recipes.add(recipe);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.kokabmedia.recipe.snapshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CatalogSnapshotReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readWhatWasWritten() throws Exception {
+        //given
+        Path file = folder.newFile().toPath();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.writeUnitOfMeasure(6, "Pinch", "VOLUME", new BigDecimal("0.0625"));
+            writer.writeCategory(3, "Mexican");
+            for (long id = 1; id <= 100; id++) {
+                writer.writeRecipe(recipe(id));
+            }
+            assertEquals(100, writer.finish());
+        }
+        Recorder recorder = new Recorder();
+
+        //when
+        long recipes;
+        // a window of 256 bytes is moved many times, also in the middle of the file
+        try (CatalogSnapshotReader reader = new CatalogSnapshotReader(file, 256)) {
+            recipes = reader.read(recorder);
+        }
+
+        //then
+        assertEquals(100, recipes);
+        assertEquals(Arrays.asList("6 Pinch VOLUME 0.0625", "3 Mexican"), recorder.records);
+        assertEquals(100, recorder.recipes.size());
+
+        SnapshotRecipe recipe = recorder.recipes.get(41);
+        assertEquals(42, recipe.getId());
+        assertEquals("Recipe 42 with ümlauts", recipe.getDescription());
+        assertEquals(Integer.valueOf(42), recipe.getPrepTime());
+        assertNull(recipe.getCookTime());
+        assertEquals(Integer.valueOf(-1), recipe.getServings());
+        assertEquals("EASY", recipe.getDifficulty());
+        assertArrayEquals(new byte[]{1, 2, 42}, recipe.getImage());
+        assertEquals(Long.valueOf(3), recipe.getImageSize());
+        assertNull(recipe.getImageHash());
+        assertEquals("Serve cold.", recipe.getNotes());
+        assertEquals(Arrays.asList(3L), recipe.getCategoryIds());
+        assertEquals(2, recipe.getIngredients().size());
+        assertEquals(new BigDecimal("1.50"), recipe.getIngredients().get(0).getAmount());
+        assertEquals(Long.valueOf(6), recipe.getIngredients().get(0).getUomId());
+        assertNull(recipe.getIngredients().get(1).getAmount());
+        assertNull(recipe.getIngredients().get(1).getUomId());
+    }
+
+    @Test(expected = IOException.class)
+    public void readFailsWithoutEndRecord() throws Exception {
+        //given
+        Path file = folder.newFile().toPath();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.writeRecipe(recipe(1));
+            writer.finish();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        //when
+        try (CatalogSnapshotReader reader = new CatalogSnapshotReader(file)) {
+            reader.read(new Recorder());
+        }
+    }
+
+    @Test
+    public void readFailsForLengthBeyondRecord() throws Exception {
+        //given
+        Path file = folder.newFile().toPath();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.writeCategory(3, "Mexican");
+            writer.finish();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        // the header, the record length, the kind and the id come before the length of the description
+        bytes[Long.BYTES + Integer.BYTES + Integer.BYTES + 2] = 0x7F;
+        Files.write(file, bytes);
+
+        //when
+        try (CatalogSnapshotReader reader = new CatalogSnapshotReader(file)) {
+            reader.read(new Recorder());
+            fail("The broken record was read");
+        } catch (IOException e) {
+            //then
+            assertEquals("Broken record at byte 12", e.getMessage());
+        }
+    }
+
+    @Test
+    public void readFailsForMissingId() throws Exception {
+        //given
+        Path file = folder.newFile().toPath();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.writeCategory(3, "Mexican");
+            writer.finish();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        // an id of null is written as 0
+        bytes[Long.BYTES + Integer.BYTES + Integer.BYTES + 1] = 0;
+        Files.write(file, bytes);
+
+        //when
+        try (CatalogSnapshotReader reader = new CatalogSnapshotReader(file)) {
+            reader.read(new Recorder());
+            fail("The broken record was read");
+        } catch (IOException e) {
+            //then
+            assertEquals("Broken record at byte 12", e.getMessage());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void openFailsForOtherFiles() throws Exception {
+        //given
+        Path file = folder.newFile().toPath();
+        Files.write(file, "{\"description\":\"Perfect Guacamole\"}\n".getBytes("UTF-8"));
+
+        //when
+        new CatalogSnapshotReader(file).close();
+    }
+
+    private static SnapshotRecipe recipe(long id) {
+        SnapshotRecipe recipe = new SnapshotRecipe();
+        recipe.setId(id);
+        recipe.setDescription("Recipe " + id + " with ümlauts");
+        recipe.setPrepTime((int) id);
+        recipe.setServings(-1);
+        recipe.setDifficulty("EASY");
+        recipe.setDirections("Mix.");
+        recipe.setImage(new byte[]{1, 2, (byte) id});
+        recipe.setImageSize(3L);
+        recipe.setNotes("Serve cold.");
+        recipe.getCategoryIds().add(3L);
+        recipe.getIngredients().add(new SnapshotRecipe.Ingredient("salt", new BigDecimal("1.50"), 6L));
+        recipe.getIngredients().add(new SnapshotRecipe.Ingredient("pepper", null, null));
+        return recipe;
+    }
+
+    static class Recorder implements CatalogSnapshotReader.Handler {
+
+        final List<String> records = new ArrayList<>();
+        final List<SnapshotRecipe> recipes = new ArrayList<>();
+
+        @Override
+        public void unitOfMeasure(long id, String description, String measureType, BigDecimal baseUnitFactor) {
+            records.add(id + " " + description + " " + measureType + " " + baseUnitFactor);
+        }
+
+        @Override
+        public void category(long id, String description) {
+            records.add(id + " " + description);
+        }
+
+        @Override
+        public void recipe(SnapshotRecipe recipe) {
+            recipes.add(recipe);
+        }
+    }
+}
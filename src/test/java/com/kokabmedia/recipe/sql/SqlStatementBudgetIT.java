@@ -0,0 +1,149 @@
+package com.kokabmedia.recipe.sql;
+
+import com.kokabmedia.recipe.commands.IngredientCommand;
+import com.kokabmedia.recipe.commands.RecipeCommand;
+import com.kokabmedia.recipe.exporter.RecipeExportFormat;
+import com.kokabmedia.recipe.repositories.CategoryRepository;
+import com.kokabmedia.recipe.repositories.RecipeRepository;
+import com.kokabmedia.recipe.services.IngredientService;
+import com.kokabmedia.recipe.services.RecipeExportService;
+import com.kokabmedia.recipe.services.RecipeService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * SQL statement budgets of the main pages and save paths. The budgets are the number of
+ * statements the code runs today, a change that runs more statements, like an N+1 select for
+ * every recipe or ingredient, fails this test. Lower a budget when a change makes a path
+ * cheaper.
+ *
+ * The second level cache is emptied before every test so the budgets are measured with a cold
+ * cache and do not depend on the order of the tests.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementCountingConfig.class)
+public class SqlStatementBudgetIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RecipeService recipeService;
+
+    @Autowired
+    IngredientService ingredientService;
+
+    @Autowired
+    RecipeExportService recipeExportService;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Long recipeId;
+    Long categoryId;
+
+    @Before
+    public void setUp() throws Exception {
+        recipeId = recipeRepository.findAll().iterator().next().getId();
+        categoryId = categoryRepository.findByDescription("Mexican").get().getId();
+
+        entityManagerFactory.getCache().evictAll();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    public void indexPage() throws Exception {
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+
+        SqlStatementCounter.assertSelectCount(1);
+    }
+
+    @Test
+    public void recipeShowPage() throws Exception {
+        mockMvc.perform(get("/recipe/" + recipeId + "/show")).andExpect(status().isOk());
+
+        // the recipe with its collections, the notes id and the notes
+        SqlStatementCounter.assertSelectCount(3);
+    }
+
+    @Test
+    public void ingredientListPage() throws Exception {
+        mockMvc.perform(get("/recipe/" + recipeId + "/ingredients")).andExpect(status().isOk());
+
+        SqlStatementCounter.assertSelectCount(3);
+    }
+
+    @Test
+    public void categoryShowPage() throws Exception {
+        mockMvc.perform(get("/category/" + categoryId + "/show")).andExpect(status().isOk());
+
+        SqlStatementCounter.assertSelectCount(3);
+    }
+
+    @Test
+    public void exportRecipes() throws Exception {
+        recipeExportService.exportRecipes(new ByteArrayOutputStream(), RecipeExportFormat.NDJSON);
+
+        // the recipes, their categories and their ingredients, and the empty page after the last recipe
+        SqlStatementCounter.assertSelectCount(4);
+    }
+
+    @Test
+    public void saveRecipeCommand() throws Exception {
+        //given
+        RecipeCommand recipeCommand = recipeService.findCommandById(recipeId);
+        recipeCommand.setDescription("Budget Recipe");
+        SqlStatementCounter.reset();
+
+        //when
+        recipeService.saveRecipeCommand(recipeCommand);
+
+        //then
+        // the recipe with its categories, ingredients and notes, the merge reads nothing and the
+        // categories are written again
+        SqlStatementCounter.assertSelectCount(1);
+        SqlStatementCounter.assertUpdateCount(1);
+        SqlStatementCounter.assertInsertCount(1);
+        SqlStatementCounter.assertDeleteCount(1);
+    }
+
+    @Test
+    public void saveIngredientCommand() throws Exception {
+        //given
+        RecipeCommand recipeCommand = recipeService.findCommandById(recipeId);
+        Long ingredientId = recipeCommand.getIngredients().iterator().next().getId();
+        IngredientCommand ingredientCommand = ingredientService.findByRecipeIdAndIngredientId(recipeId, ingredientId);
+        ingredientCommand.setDescription("Budget Ingredient");
+        SqlStatementCounter.reset();
+
+        //when
+        ingredientService.saveIngredientCommand(ingredientCommand);
+
+        //then
+        SqlStatementCounter.assertSelectCount(3);
+        SqlStatementCounter.assertUpdateCount(1);
+        SqlStatementCounter.assertInsertCount(0);
+        SqlStatementCounter.assertDeleteCount(0);
+    }
+}
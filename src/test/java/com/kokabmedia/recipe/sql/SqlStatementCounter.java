@@ -0,0 +1,82 @@
+package com.kokabmedia.recipe.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.fail;
+
+/*
+ * Counts the SQL statements that are sent to the database, the SqlStatementCountingConfig
+ * registers this listener on a datasource-proxy around the DataSource of the test.
+ *
+ * A test resets the counter, runs one service call or MockMvc request and asserts a budget for
+ * the number of SELECT, INSERT, UPDATE and DELETE statements:
+ *
+ *     SqlStatementCounter.reset();
+ *     mockMvc.perform(get("/"));
+ *     SqlStatementCounter.assertSelectCount(1);
+ *
+ * A change that turns one query into one query per recipe (an N+1 problem) exceeds the budget
+ * and fails the test with the list of executed statements. A JDBC batch is counted as one
+ * statement, it is sent to the database in one round trip.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static void assertSelectCount(int max) {
+        assertCount("select", max);
+    }
+
+    public static void assertInsertCount(int max) {
+        assertCount("insert", max);
+    }
+
+    public static void assertUpdateCount(int max) {
+        assertCount("update", max);
+    }
+
+    public static void assertDeleteCount(int max) {
+        assertCount("delete", max);
+    }
+
+    public static int count(String type) {
+        return statements(type).size();
+    }
+
+    private static void assertCount(String type, int max) {
+        List<String> statements = statements(type);
+
+        if (statements.size() > max) {
+            fail("Expected at most " + max + " " + type.toUpperCase(Locale.ROOT) + " statements but "
+                    + statements.size() + " were executed:\n" + String.join("\n", statements));
+        }
+    }
+
+    private static List<String> statements(String type) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith(type + " "))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            STATEMENTS.add(queryInfo.getQuery().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT));
+        }
+    }
+}
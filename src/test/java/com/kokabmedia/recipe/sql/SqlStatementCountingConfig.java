@@ -0,0 +1,33 @@
+package com.kokabmedia.recipe.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/*
+ * Import this configuration with @Import(SqlStatementCountingConfig.class) to count the SQL
+ * statements of a test with the SqlStatementCounter. The DataSource is wrapped in a
+ * datasource-proxy, so the HikariCP pool metrics are not bound in these tests.
+ */
+@TestConfiguration
+public class SqlStatementCountingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .listener(new SqlStatementCounter())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}